@@ -5,16 +5,12 @@
 
 package software.amazon.smithy.rulesengine.aws.language.functions;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicLong;
 import software.amazon.smithy.model.node.Node;
-import software.amazon.smithy.rulesengine.aws.language.functions.partition.Partition;
-import software.amazon.smithy.rulesengine.aws.language.functions.partition.PartitionOutputs;
 import software.amazon.smithy.rulesengine.aws.language.functions.partition.Partitions;
 import software.amazon.smithy.rulesengine.language.evaluation.type.Type;
 import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
@@ -24,7 +20,6 @@ import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression
 import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionNode;
 import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.LibraryFunction;
-import software.amazon.smithy.utils.MapUtils;
 import software.amazon.smithy.utils.SmithyInternalApi;
 import software.amazon.smithy.utils.SmithyUnstableApi;
 
@@ -44,19 +39,13 @@ public final class AwsPartition extends LibraryFunction {
 
     private static final Definition DEFINITION = new Definition();
 
-    // The following are mutable to allow for overriding the contents
-    // of the PARTITIONS list for test use cases. They MUST NOT have
-    // contents exposed directly, only through copies as is done in
-    // the `evaluate` method below.
-    private static final List<Partition> PARTITIONS = new ArrayList<>();
-    private static final Map<String, Partition> REGION_MAP = new HashMap<>();
-
-    static {
-        PARTITIONS.addAll(Partitions.fromNode(
-                        Node.parse(Partitions.class.getResourceAsStream("partitions.json")))
-                .getPartitions());
-        initializeRegionMap();
-    }
+    // The resolver is replaced as a whole when partitions are overridden for test use cases,
+    // so evaluations on other threads see either the old or the new partitions.
+    private static volatile PartitionResolver resolver = new PartitionResolver(Partitions.fromNode(
+            Node.parse(Partitions.class.getResourceAsStream("partitions.json"))).getPartitions());
+
+    // Incremented when partitions are overridden so that cached results of the old partitions aren't reused.
+    private static final AtomicLong VERSION = new AtomicLong();
 
     private AwsPartition(FunctionNode functionNode) {
         super(DEFINITION, functionNode);
@@ -69,18 +58,8 @@ public final class AwsPartition extends LibraryFunction {
      */
     @SmithyInternalApi
     public static void overridePartitions(Partitions partitions) {
-        PARTITIONS.clear();
-        PARTITIONS.addAll(partitions.getPartitions());
-        initializeRegionMap();
-    }
-
-    private static void initializeRegionMap() {
-        REGION_MAP.clear();
-        for (Partition partition : PARTITIONS) {
-            for (String region : partition.getRegions().keySet()) {
-                REGION_MAP.put(region, partition);
-            }
-        }
+        resolver = new PartitionResolver(partitions.getPartitions());
+        VERSION.incrementAndGet();
     }
 
     /**
@@ -139,49 +118,19 @@ public final class AwsPartition extends LibraryFunction {
             return returnType;
         }
 
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+
+        @Override
+        public long getStateVersion() {
+            return VERSION.get();
+        }
+
         @Override
         public Value evaluate(List<Value> arguments) {
-            String regionName = arguments.get(0).expectStringValue().getValue();
-            Partition matchedPartition;
-            boolean inferred = false;
-
-            // Known region
-            matchedPartition = REGION_MAP.get(regionName);
-            if (matchedPartition == null) {
-                // Try matching on region name pattern
-                for (Partition partition : PARTITIONS) {
-                    Pattern regex = Pattern.compile(partition.getRegionRegex());
-                    if (regex.matcher(regionName).matches()) {
-                        matchedPartition = partition;
-                        inferred = true;
-                        break;
-                    }
-                }
-            }
-
-            // Default to the `aws` partition.
-            if (matchedPartition == null) {
-                for (Partition partition : PARTITIONS) {
-                    if (partition.getId().equals("aws")) {
-                        matchedPartition = partition;
-                        break;
-                    }
-                }
-            }
-
-            if (matchedPartition == null) {
-                throw new RuntimeException("Unable to match a partition for region " + regionName);
-            }
-
-            PartitionOutputs matchedPartitionOutputs = matchedPartition.getOutputs();
-            return Value.recordValue(MapUtils.of(
-                    NAME, Value.stringValue(matchedPartition.getId()),
-                    DNS_SUFFIX, Value.stringValue(matchedPartitionOutputs.getDnsSuffix()),
-                    DUAL_STACK_DNS_SUFFIX, Value.stringValue(matchedPartitionOutputs.getDualStackDnsSuffix()),
-                    SUPPORTS_FIPS, Value.booleanValue(matchedPartitionOutputs.supportsFips()),
-                    SUPPORTS_DUAL_STACK, Value.booleanValue(matchedPartitionOutputs.supportsDualStack()),
-                    INFERRED, Value.booleanValue(inferred),
-                    IMPLICIT_GLOBAL_REGION, Value.stringValue(matchedPartitionOutputs.getImplicitGlobalRegion())));
+            return resolver.resolve(arguments.get(0).expectStringValue().getValue());
         }
 
         @Override
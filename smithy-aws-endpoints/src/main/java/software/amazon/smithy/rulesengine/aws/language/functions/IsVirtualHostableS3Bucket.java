@@ -93,6 +93,11 @@ public final class IsVirtualHostableS3Bucket extends LibraryFunction {
             return Type.booleanType();
         }
 
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+
         @Override
         public Value evaluate(List<Value> arguments) {
             String hostLabel = arguments.get(0).expectStringValue().getValue();
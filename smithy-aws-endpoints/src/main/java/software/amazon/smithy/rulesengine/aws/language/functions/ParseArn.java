@@ -96,6 +96,11 @@ public final class ParseArn extends LibraryFunction {
             return returnType;
         }
 
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+
         @Override
         public Value evaluate(List<Value> arguments) {
             String value = arguments.get(0).expectStringValue().getValue();
@@ -0,0 +1,92 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.rulesengine.aws.language.functions;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import software.amazon.smithy.rulesengine.aws.language.functions.partition.Partition;
+import software.amazon.smithy.rulesengine.aws.language.functions.partition.PartitionOutputs;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.utils.MapUtils;
+
+/**
+ * Resolves the partition of a region for {@link AwsPartition}.
+ *
+ * <p>The region patterns of each partition are compiled once, and the values
+ * returned for each partition are created once and shared between calls,
+ * since their maps can't be modified. A resolver is immutable, so it can be
+ * used by many threads and replaced as a whole when partitions are overridden.
+ */
+final class PartitionResolver {
+    private final Map<String, Value> regions = new HashMap<>();
+    private final Pattern[] patterns;
+    private final Value[] inferredValues;
+    private final Value defaultValue;
+
+    PartitionResolver(List<Partition> partitions) {
+        patterns = new Pattern[partitions.size()];
+        inferredValues = new Value[partitions.size()];
+        Value aws = null;
+
+        for (int i = 0; i < partitions.size(); i++) {
+            Partition partition = partitions.get(i);
+            Value value = createValue(partition, false);
+            patterns[i] = Pattern.compile(partition.getRegionRegex());
+            inferredValues[i] = createValue(partition, true);
+            for (String region : partition.getRegions().keySet()) {
+                regions.put(region, value);
+            }
+            if (aws == null && partition.getId().equals("aws")) {
+                aws = value;
+            }
+        }
+
+        defaultValue = aws;
+    }
+
+    /**
+     * Resolves the partition of a region.
+     *
+     * <p>Regions that are listed by a partition resolve to that partition.
+     * Other regions resolve to the first partition whose region pattern
+     * matches the region, and are marked as inferred. Regions that don't
+     * match any pattern default to the {@code aws} partition.
+     *
+     * @param regionName Region to resolve.
+     * @return Returns the partition record of the region.
+     */
+    Value resolve(String regionName) {
+        Value known = regions.get(regionName);
+        if (known != null) {
+            return known;
+        }
+
+        for (int i = 0; i < patterns.length; i++) {
+            if (patterns[i].matcher(regionName).matches()) {
+                return inferredValues[i];
+            }
+        }
+
+        if (defaultValue == null) {
+            throw new RuntimeException("Unable to match a partition for region " + regionName);
+        }
+        return defaultValue;
+    }
+
+    private static Value createValue(Partition partition, boolean inferred) {
+        PartitionOutputs outputs = partition.getOutputs();
+        return Value.recordValue(MapUtils.of(
+                AwsPartition.NAME, Value.stringValue(partition.getId()),
+                AwsPartition.DNS_SUFFIX, Value.stringValue(outputs.getDnsSuffix()),
+                AwsPartition.DUAL_STACK_DNS_SUFFIX, Value.stringValue(outputs.getDualStackDnsSuffix()),
+                AwsPartition.SUPPORTS_FIPS, Value.booleanValue(outputs.supportsFips()),
+                AwsPartition.SUPPORTS_DUAL_STACK, Value.booleanValue(outputs.supportsDualStack()),
+                AwsPartition.INFERRED, Value.booleanValue(inferred),
+                AwsPartition.IMPLICIT_GLOBAL_REGION, Value.stringValue(outputs.getImplicitGlobalRegion())));
+    }
+}
@@ -43,6 +43,7 @@ public class AwsPartitionTest {
     public void overridesPartitions() {
         RecordValue result = evalWithRegion("us-west-1");
         assertThat(result.get(AwsPartition.INFERRED).expectBooleanValue().getValue(), equalTo(false));
+        long version = AwsPartition.getDefinition().getStateVersion();
 
         // Remove the enumerated regions, so the same region is now inferred.
         AwsPartition.overridePartitions(Partitions.builder()
@@ -62,6 +63,8 @@ public class AwsPartitionTest {
 
         result = evalWithRegion("us-west-1");
         assertThat(result.get(AwsPartition.INFERRED).expectBooleanValue().getValue(), equalTo(true));
+        // Cached results of the old partitions aren't reused, since the version is part of the cache key.
+        assertThat(AwsPartition.getDefinition().getStateVersion(), not(equalTo(version)));
 
         // Set the partitions back to what they were.
         AwsPartition.overridePartitions(Partitions.fromNode(
@@ -0,0 +1,87 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.rulesengine.aws.language.functions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.rulesengine.aws.language.functions.partition.Partition;
+import software.amazon.smithy.rulesengine.aws.language.functions.partition.PartitionOutputs;
+import software.amazon.smithy.rulesengine.aws.language.functions.partition.RegionOverride;
+import software.amazon.smithy.rulesengine.language.evaluation.value.RecordValue;
+import software.amazon.smithy.utils.ListUtils;
+
+public class PartitionResolverTest {
+    private static Partition partition(String id, String regex, String... regions) {
+        Partition.Builder builder = Partition.builder()
+                .id(id)
+                .regionRegex(regex)
+                .outputs(PartitionOutputs.builder()
+                        .name(id)
+                        .dnsSuffix(id + ".com")
+                        .dualStackDnsSuffix(id + ".aws")
+                        .supportsFips(true)
+                        .supportsDualStack(true)
+                        .implicitGlobalRegion(id + "-global")
+                        .build());
+        for (String region : regions) {
+            builder.putRegion(region, RegionOverride.builder().build());
+        }
+        return builder.build();
+    }
+
+    private static final List<Partition> PARTITIONS = ListUtils.of(
+            partition("aws", "^us-\\w+-\\d+$", "us-east-1"),
+            partition("aws-other", "^other-\\w+-\\d+$", "other-west-1"));
+
+    private static String name(RecordValue value) {
+        return value.get(AwsPartition.NAME).expectStringValue().getValue();
+    }
+
+    private static boolean inferred(RecordValue value) {
+        return value.get(AwsPartition.INFERRED).expectBooleanValue().getValue();
+    }
+
+    @Test
+    public void resolvesListedRegions() {
+        PartitionResolver resolver = new PartitionResolver(PARTITIONS);
+        RecordValue value = resolver.resolve("other-west-1").expectRecordValue();
+
+        assertThat(name(value), equalTo("aws-other"));
+        assertThat(value.get(AwsPartition.DNS_SUFFIX).expectStringValue().getValue(), equalTo("aws-other.com"));
+        assertThat(inferred(value), equalTo(false));
+        assertThat(resolver.resolve("other-west-1"), sameInstance(value));
+    }
+
+    @Test
+    public void infersRegionsFromPatterns() {
+        PartitionResolver resolver = new PartitionResolver(PARTITIONS);
+        RecordValue value = resolver.resolve("other-south-9").expectRecordValue();
+
+        assertThat(name(value), equalTo("aws-other"));
+        assertThat(inferred(value), equalTo(true));
+        assertThat(resolver.resolve("other-north-2"), sameInstance(value));
+    }
+
+    @Test
+    public void defaultsToAwsPartition() {
+        RecordValue value = new PartitionResolver(PARTITIONS).resolve("mars-1").expectRecordValue();
+
+        assertThat(name(value), equalTo("aws"));
+        assertThat(inferred(value), equalTo(false));
+    }
+
+    @Test
+    public void failsWithoutAwsPartition() {
+        PartitionResolver resolver = new PartitionResolver(ListUtils.of(PARTITIONS.get(1)));
+
+        assertThrows(RuntimeException.class, () -> resolver.resolve("mars-1"));
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.build;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a graph of build tasks using a bounded number of workers.
+ *
+ * <p>A task is started once all of its dependencies have completed. Tasks
+ * are started in the order they became ready, with one exception: a serial
+ * plugin task never runs at the same time as any other plugin task. Once a
+ * serial plugin task is ready, no plugin task that became ready after it is
+ * started until the serial task completes. Tasks that are not plugins are
+ * not affected by serial plugins.
+ *
+ * <p>Tasks are expected to handle their own errors. If a task throws, no
+ * more tasks are started and the exception is rethrown from {@link #run()}
+ * after the running tasks complete.
+ */
+final class BuildScheduler {
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final int workers;
+    private final List<Task> tasks = new ArrayList<>();
+    private final LinkedList<Task> ready = new LinkedList<>();
+    private int running;
+    private int runningPlugins;
+    private boolean serialRunning;
+    private int completed;
+    private Throwable failure;
+
+    BuildScheduler(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("The number of build workers must be greater than 0: " + workers);
+        }
+        this.workers = workers;
+    }
+
+    enum Kind {
+        TASK,
+        PLUGIN,
+        SERIAL_PLUGIN
+    }
+
+    /**
+     * A unit of work in the build graph.
+     */
+    static final class Task {
+        private final String name;
+        private final Kind kind;
+        private final Runnable action;
+        private final List<Task> dependents = new ArrayList<>();
+        private int pendingDependencies;
+        private volatile long nanos;
+
+        private Task(String name, Kind kind, Runnable action) {
+            this.name = name;
+            this.kind = kind;
+            this.action = action;
+        }
+
+        /**
+         * Requires that the given task completes before this task starts.
+         *
+         * @param dependency Task to depend on.
+         * @return Returns the task.
+         */
+        Task dependsOn(Task dependency) {
+            dependency.dependents.add(this);
+            pendingDependencies++;
+            return this;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the amount of time it took to run the task.
+         *
+         * @return Returns the task duration, or zero if the task hasn't run.
+         */
+        Duration getDuration() {
+            return Duration.ofNanos(nanos);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Adds a task to the graph.
+     *
+     * @param name Name of the task used when logging.
+     * @param kind The kind of task, used to determine what can run concurrently.
+     * @param action Action to run.
+     * @return Returns the created task.
+     */
+    Task addTask(String name, Kind kind, Runnable action) {
+        Task task = new Task(name, kind, action);
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Runs every task and waits for them to complete.
+     *
+     * <p>When configured with a single worker, tasks are run in the calling
+     * thread.
+     */
+    void run() {
+        ExecutorService executor = workers == 1 ? null : Executors.newFixedThreadPool(workers, createThreadFactory());
+
+        try {
+            synchronized (this) {
+                for (Task task : tasks) {
+                    if (task.pendingDependencies == 0) {
+                        ready.add(task);
+                    }
+                }
+            }
+
+            List<Task> started;
+            while ((started = awaitDispatch()) != null) {
+                for (Task task : started) {
+                    if (executor == null) {
+                        execute(task);
+                    } else {
+                        executor.execute(() -> execute(task));
+                    }
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new SmithyBuildException(failure);
+        }
+    }
+
+    // Waits until tasks can be started, returning null when there is nothing left to do.
+    private synchronized List<Task> awaitDispatch() {
+        while (true) {
+            if (completed == tasks.size() || (failure != null && running == 0)) {
+                return null;
+            } else if (failure == null) {
+                List<Task> started = dispatch();
+                if (!started.isEmpty()) {
+                    return started;
+                }
+            }
+
+            if (running == 0) {
+                throw new IllegalStateException("Build tasks contain a cycle: " + tasks);
+            }
+
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SmithyBuildException("Interrupted while waiting for build tasks to complete", e);
+            }
+        }
+    }
+
+    private List<Task> dispatch() {
+        List<Task> started = new ArrayList<>();
+        // Plugins can't start while a serial plugin is running or while an earlier serial plugin is waiting.
+        boolean pluginsBlocked = serialRunning;
+        Iterator<Task> iterator = ready.iterator();
+
+        while (iterator.hasNext() && running < workers) {
+            Task task = iterator.next();
+            if (task.kind == Kind.PLUGIN) {
+                if (pluginsBlocked) {
+                    continue;
+                }
+                runningPlugins++;
+            } else if (task.kind == Kind.SERIAL_PLUGIN) {
+                if (pluginsBlocked) {
+                    continue;
+                }
+                pluginsBlocked = true;
+                if (runningPlugins > 0) {
+                    continue;
+                }
+                runningPlugins++;
+                serialRunning = true;
+            }
+            iterator.remove();
+            started.add(task);
+            running++;
+        }
+
+        return started;
+    }
+
+    private void execute(Task task) {
+        long start = System.nanoTime();
+        Throwable error = null;
+
+        try {
+            task.action.run();
+        } catch (Throwable e) {
+            error = e;
+        }
+
+        task.nanos = System.nanoTime() - start;
+        complete(task, error);
+    }
+
+    private synchronized void complete(Task task, Throwable error) {
+        running--;
+        completed++;
+
+        if (task.kind != Kind.TASK) {
+            runningPlugins--;
+            if (task.kind == Kind.SERIAL_PLUGIN) {
+                serialRunning = false;
+            }
+        }
+
+        if (error != null && failure == null) {
+            failure = error;
+        }
+
+        for (Task dependent : task.dependents) {
+            if (--dependent.pendingDependencies == 0) {
+                ready.add(dependent);
+            }
+        }
+
+        notifyAll();
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        int pool = POOL_COUNT.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "smithy-build-" + pool + "-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
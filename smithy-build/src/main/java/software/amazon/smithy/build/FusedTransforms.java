@@ -0,0 +1,152 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.build;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.MixinTrait;
+import software.amazon.smithy.model.traits.TraitDefinition;
+import software.amazon.smithy.model.transform.ModelTransformException;
+import software.amazon.smithy.model.transform.ModelTransformer;
+
+/**
+ * Collects consecutive {@link ShapeLocalTransformer}s of a projection and
+ * applies them in a single pass over the shapes of a model.
+ *
+ * <p>The shapes that are updated by the transformers are replaced using a
+ * single call to {@link ModelTransformer#replaceShapes}, and the shapes that
+ * are removed are removed using a single call to
+ * {@link ModelTransformer#removeShapes}, so references to removed shapes are
+ * cleaned up once rather than once per transformer.
+ *
+ * <p>Removing a trait definition or a mixin changes the traits of other
+ * shapes, which later transformers would have seen if they were applied one
+ * after the other. If a fused pass would remove one of these shapes, the
+ * transformers are applied one after the other instead.
+ */
+final class FusedTransforms {
+
+    private static final Logger LOGGER = Logger.getLogger(FusedTransforms.class.getName());
+
+    private final List<ShapeLocalTransformer> transformers = new ArrayList<>();
+    private final List<TransformContext> contexts = new ArrayList<>();
+
+    /**
+     * Queues a transformer to be applied if it can be fused.
+     *
+     * <p>Every queued transformer must be given a context that contains the
+     * model that the queued transformers will be applied to.
+     *
+     * @param transformer Transformer to queue.
+     * @param context Context to apply the transformer with.
+     * @return Returns true if the transformer was queued.
+     */
+    boolean add(ProjectionTransformer transformer, TransformContext context) {
+        if (!(transformer instanceof ShapeLocalTransformer)
+                || !transformer.getAdditionalProjections(context).isEmpty()) {
+            return false;
+        }
+
+        transformers.add((ShapeLocalTransformer) transformer);
+        contexts.add(context);
+        return true;
+    }
+
+    /**
+     * Applies the queued transformers to a model and clears the queue.
+     *
+     * @param modelTransformer Model transformer used to update the model.
+     * @param model Model to transform.
+     * @return Returns the transformed model.
+     */
+    Model apply(ModelTransformer modelTransformer, Model model) {
+        try {
+            if (transformers.isEmpty()) {
+                return model;
+            } else if (transformers.size() == 1) {
+                return transformers.get(0).transform(contexts.get(0));
+            } else {
+                return applyFused(modelTransformer, model);
+            }
+        } finally {
+            transformers.clear();
+            contexts.clear();
+        }
+    }
+
+    private Model applyFused(ModelTransformer modelTransformer, Model model) {
+        List<Function<Shape, Shape>> functions = new ArrayList<>(transformers.size());
+        for (int i = 0; i < transformers.size(); i++) {
+            functions.add(transformers.get(i).createShapeFunction(contexts.get(i)));
+        }
+
+        List<Shape> replacements = new ArrayList<>();
+        Set<ShapeId> removed = new HashSet<>();
+
+        for (Shape shape : model.toSet()) {
+            boolean removable = !Prelude.isPreludeShape(shape) && canRemoveShape(model, shape);
+            Shape current = shape;
+            for (Function<Shape, Shape> function : functions) {
+                Shape result = function.apply(current);
+                if (result != null) {
+                    current = result;
+                } else if (removable) {
+                    removed.add(shape.getId());
+                    break;
+                }
+            }
+
+            if (!removed.contains(shape.getId()) && !current.equals(shape)) {
+                if (!current.getId().equals(shape.getId())) {
+                    throw new ModelTransformException(String.format(
+                            "Mapped shapes must have the same shape ID. Expected %s, but found %s",
+                            shape.getId(), current.getId()));
+                }
+                replacements.add(current);
+            }
+        }
+
+        for (ShapeId id : removed) {
+            Shape shape = model.expectShape(id);
+            if (shape.hasTrait(TraitDefinition.class) || shape.hasTrait(MixinTrait.class)) {
+                LOGGER.fine(() -> "Applying transforms one at a time because they remove " + id);
+                return applySequentially(model);
+            }
+        }
+
+        Model result = modelTransformer.replaceShapes(model, replacements);
+        List<Shape> removedShapes = new ArrayList<>(removed.size());
+        for (ShapeId id : removed) {
+            removedShapes.add(result.expectShape(id));
+        }
+        return modelTransformer.removeShapes(result, removedShapes);
+    }
+
+    private Model applySequentially(Model model) {
+        for (int i = 0; i < transformers.size(); i++) {
+            model = transformers.get(i).transform(contexts.get(i).toBuilder().model(model).build());
+        }
+        return model;
+    }
+
+    // Mirrors ModelTransformer#filterShapes, which never removes members of lists and maps.
+    private static boolean canRemoveShape(Model model, Shape shape) {
+        return !shape.isMemberShape() || model.getShape(shape.asMemberShape().get().getContainer())
+                .filter(container -> container.isStructureShape()
+                        || container.isUnionShape()
+                        || container.isEnumShape()
+                        || container.isIntEnumShape())
+                .isPresent();
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.ModelSerializer;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.IoUtils;
+
+/**
+ * A local, content-addressed cache of the files created by plugins.
+ *
+ * <p>Each plugin run is keyed by a hash of everything the plugin is given:
+ * the projected and original models, validation events, plugin settings,
+ * the projection and artifact names, the contents of model sources, and
+ * the classpath used to load plugins. When a plugin is run with a key that
+ * is already in the cache, the files it previously created are restored
+ * into its {@link FileManifest} instead of executing the plugin.
+ *
+ * <p>Plugins can opt out of caching by returning false from
+ * {@link SmithyBuildPlugin#isCacheable()}. Only files written to disk by
+ * the default {@link FileManifest} are stored in the cache, and plugin runs
+ * that didn't track any files in their manifest are never stored.
+ *
+ * <p>A cache can be shared by concurrent builds and by multiple processes.
+ */
+public final class PluginCache {
+
+    private static final Logger LOGGER = Logger.getLogger(PluginCache.class.getName());
+    private static final String FORMAT_VERSION = "1";
+    private static final String INDEX_FILE = "index";
+    private static final String FILES_DIR = "files";
+
+    private final Path directory;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private PluginCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a plugin cache that stores entries in the given directory.
+     *
+     * <p>The directory is created when the first entry is stored.
+     *
+     * @param directory Directory used to store cache entries.
+     * @return Returns the created cache.
+     */
+    public static PluginCache create(Path directory) {
+        return new PluginCache(directory.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Gets the directory where cache entries are stored.
+     *
+     * @return Returns the cache directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the number of plugin runs that were restored from the cache.
+     *
+     * @return Returns the number of cache hits.
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of cacheable plugin runs that were not found in the cache.
+     *
+     * @return Returns the number of cache misses.
+     */
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Computes a hash of a model and its validation events.
+     *
+     * @param model Model to hash.
+     * @param events Validation events of the model.
+     * @return Returns the hex encoded hash.
+     */
+    static String hashModel(Model model, List<ValidationEvent> events) {
+        Hasher hasher = new Hasher();
+        Node serialized = ModelSerializer.builder().build().serialize(model).withDeepSortedKeys();
+        hasher.add(Node.printJson(serialized));
+        List<String> sortedEvents = events.stream().map(ValidationEvent::toString).sorted()
+                .collect(Collectors.toList());
+        hasher.add(String.valueOf(sortedEvents.size()));
+        sortedEvents.forEach(hasher::add);
+        return hasher.hex();
+    }
+
+    /**
+     * Computes a hash of the inputs that are shared by every plugin in a build.
+     *
+     * <p>This includes the contents of every source file and the
+     * classpath used to load plugins.
+     *
+     * @param sources Model sources of the build.
+     * @param pluginClassLoader Class loader used to load plugins, or null.
+     * @return Returns the hex encoded hash.
+     */
+    static String hashBuild(Collection<Path> sources, ClassLoader pluginClassLoader) {
+        Hasher hasher = new Hasher();
+        hasher.add(FORMAT_VERSION);
+
+        List<Path> sortedSources = new ArrayList<>(sources);
+        sortedSources.sort(null);
+        for (Path source : sortedSources) {
+            hasher.add(source.toString());
+            for (Path file : listFiles(source)) {
+                hasher.add(source.relativize(file).toString());
+                hasher.addFile(file);
+            }
+        }
+
+        for (Path entry : getClasspath(pluginClassLoader)) {
+            hasher.addClasspathEntry(entry);
+        }
+
+        // Built-in plugins and the model used by every plugin come from these libraries.
+        hasher.addClasspathEntry(getCodeSource(SmithyBuild.class));
+        hasher.addClasspathEntry(getCodeSource(Model.class));
+
+        return hasher.hex();
+    }
+
+    /**
+     * Computes the key of a plugin run.
+     *
+     * @param buildHash Hash of the build created by {@link #hashBuild}.
+     * @param projectedModelHash Hash of the projected model created by {@link #hashModel}.
+     * @param originalModelHash Hash of the original model created by {@link #hashModel}.
+     * @param projectionName Name of the projection.
+     * @param artifactName Artifact name of the plugin.
+     * @param plugin Plugin being run.
+     * @param settings Plugin settings.
+     * @return Returns the cache key.
+     */
+    static String computeKey(
+            String buildHash,
+            String projectedModelHash,
+            String originalModelHash,
+            String projectionName,
+            String artifactName,
+            SmithyBuildPlugin plugin,
+            ObjectNode settings
+    ) {
+        Hasher hasher = new Hasher();
+        hasher.add(buildHash);
+        hasher.add(projectedModelHash);
+        hasher.add(originalModelHash);
+        hasher.add(projectionName);
+        hasher.add(artifactName);
+        hasher.add(plugin.getName());
+        hasher.add(plugin.getClass().getName());
+        hasher.addClasspathEntry(getCodeSource(plugin.getClass()));
+        hasher.add(Node.printJson(settings.withDeepSortedKeys()));
+        return hasher.hex();
+    }
+
+    /**
+     * Restores the files of a cache entry into a manifest.
+     *
+     * @param key Key of the entry to restore.
+     * @param manifest Manifest to write files to.
+     * @return Returns true if the entry was found and restored.
+     */
+    boolean restore(String key, FileManifest manifest) {
+        Path entry = resolveEntry(key);
+        Path index = entry.resolve(INDEX_FILE);
+
+        if (Files.isRegularFile(index)) {
+            try {
+                for (String relativePath : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                    if (!relativePath.isEmpty()) {
+                        Path file = entry.resolve(FILES_DIR).resolve(relativePath);
+                        try (InputStream stream = Files.newInputStream(file)) {
+                            manifest.writeFile(relativePath, stream);
+                        }
+                    }
+                }
+                hits.incrementAndGet();
+                return true;
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.warning(() -> "Unable to restore plugin cache entry " + entry + ": " + e.getMessage());
+            }
+        }
+
+        misses.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Stores the files of a manifest in the cache.
+     *
+     * <p>Nothing is stored unless the manifest writes files to disk and tracked
+     * at least one file. A plugin that writes files without registering them in
+     * its manifest would otherwise be restored as an empty entry and skipped.
+     *
+     * @param key Key of the entry to store.
+     * @param manifest Manifest that contains the files to store.
+     */
+    void store(String key, FileManifest manifest) {
+        Path entry = resolveEntry(key);
+        if (!(manifest instanceof DefaultFileManifest) || Files.exists(entry)) {
+            return;
+        }
+
+        List<String> relativePaths = new ArrayList<>();
+        for (Path file : manifest.getFiles()) {
+            relativePaths.add(toRelativePath(manifest.getBaseDir().relativize(file)));
+        }
+
+        if (relativePaths.isEmpty()) {
+            LOGGER.fine(() -> "Not caching plugin run " + key + " because its manifest tracked no files");
+            return;
+        }
+
+        // Entries are written to a temporary directory and moved into place so that readers never see
+        // partially written entries.
+        Path temp = directory.resolve("tmp-" + UUID.randomUUID());
+        try {
+            Files.createDirectories(temp.resolve(FILES_DIR));
+            for (String relativePath : relativePaths) {
+                Path target = temp.resolve(FILES_DIR).resolve(relativePath);
+                Files.createDirectories(target.getParent());
+                Files.copy(manifest.getBaseDir().resolve(relativePath), target);
+            }
+            Files.write(temp.resolve(INDEX_FILE), relativePaths, StandardCharsets.UTF_8);
+            Files.createDirectories(entry.getParent());
+            Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            // Another build stored the same entry.
+            IoUtils.rmdir(temp);
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warning(() -> "Unable to store plugin cache entry " + entry + ": " + e.getMessage());
+            IoUtils.rmdir(temp);
+        }
+    }
+
+    private Path resolveEntry(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static String toRelativePath(Path path) {
+        List<String> parts = new ArrayList<>();
+        for (Path part : path) {
+            parts.add(part.toString());
+        }
+        return String.join("/", parts);
+    }
+
+    private static List<Path> listFiles(Path path) {
+        if (Files.isRegularFile(path)) {
+            List<Path> result = new ArrayList<>();
+            result.add(path);
+            return result;
+        } else if (!Files.isDirectory(path)) {
+            return new ArrayList<>();
+        }
+
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Path> getClasspath(ClassLoader classLoader) {
+        List<Path> result = new ArrayList<>();
+        if (classLoader instanceof URLClassLoader) {
+            for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+                Path path = toPath(url);
+                if (path != null) {
+                    result.add(path);
+                }
+            }
+        } else {
+            for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+                if (!entry.isEmpty()) {
+                    result.add(Paths.get(entry));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Path getCodeSource(Class<?> type) {
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        return codeSource == null ? null : toPath(codeSource.getLocation());
+    }
+
+    private static Path toPath(URL url) {
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static final class Hasher {
+        private final MessageDigest digest;
+
+        Hasher() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void add(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            add(bytes, bytes.length);
+        }
+
+        void addFile(Path file) {
+            try (InputStream stream = Files.newInputStream(file)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+                add("");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Classpath entries are identified by their path, size, and last modified time rather than
+        // their contents, since classpaths can be large and are often shared between builds.
+        void addClasspathEntry(Path entry) {
+            if (entry == null) {
+                add("<none>");
+                return;
+            }
+            add(entry.toString());
+            List<Path> files = listFiles(entry);
+            for (Path file : files) {
+                try {
+                    add(file.toString() + ':' + Files.size(file) + ':' + Files.getLastModifiedTime(file).toMillis());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        String hex() {
+            StringBuilder result = new StringBuilder();
+            for (byte b : digest.digest()) {
+                result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return result.toString();
+        }
+
+        private void add(byte[] bytes, int length) {
+            digest.update((byte) (length >>> 24));
+            digest.update((byte) (length >>> 16));
+            digest.update((byte) (length >>> 8));
+            digest.update((byte) length);
+            digest.update(bytes, 0, length);
+        }
+    }
+}
@@ -15,6 +15,7 @@
 
 package software.amazon.smithy.build;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -33,12 +34,18 @@ public final class ProjectionResult {
     private final Model model;
     private final Map<String, FileManifest> pluginManifests;
     private final List<ValidationEvent> events;
+    private final Duration validationTime;
+    private final Duration transformTime;
+    private final Map<String, Duration> pluginTimes;
 
     private ProjectionResult(Builder builder) {
         this.projectionName = SmithyBuilder.requiredState("projectionName", builder.projectionName);
         this.model = SmithyBuilder.requiredState("model", builder.model);
         this.events = builder.events.copy();
         this.pluginManifests = builder.pluginManifests.copy();
+        this.validationTime = builder.validationTime;
+        this.transformTime = builder.transformTime;
+        this.pluginTimes = builder.pluginTimes.copy();
     }
 
     /**
@@ -91,6 +98,39 @@ public final class ProjectionResult {
         return events;
     }
 
+    /**
+     * Gets the amount of time spent validating the projected model.
+     *
+     * <p>Projections that have no transforms reuse the validation events of
+     * the model they were created from, and report a duration of zero.
+     *
+     * @return Returns the validation time.
+     */
+    public Duration getValidationTime() {
+        return validationTime;
+    }
+
+    /**
+     * Gets the amount of time spent creating the projected model.
+     *
+     * <p>This includes merging projection imports, applying transforms, and
+     * validating the projected model.
+     *
+     * @return Returns the time spent creating the projected model.
+     */
+    public Duration getTransformTime() {
+        return transformTime;
+    }
+
+    /**
+     * Gets the amount of time each plugin took to run.
+     *
+     * @return Returns a map of plugin artifact names to the time spent running the plugin.
+     */
+    public Map<String, Duration> getPluginTimes() {
+        return pluginTimes;
+    }
+
     /**
      * Gets the results of each plugin.
      *
@@ -121,6 +161,9 @@ public final class ProjectionResult {
         private Model model;
         private final BuilderRef<Map<String, FileManifest>> pluginManifests = BuilderRef.forUnorderedMap();
         private final BuilderRef<List<ValidationEvent>> events = BuilderRef.forList();
+        private final BuilderRef<Map<String, Duration>> pluginTimes = BuilderRef.forOrderedMap();
+        private Duration validationTime = Duration.ZERO;
+        private Duration transformTime = Duration.ZERO;
 
         @Override
         public ProjectionResult build() {
@@ -186,5 +229,39 @@ public final class ProjectionResult {
             events.forEach(this::addEvent);
             return this;
         }
+
+        /**
+         * Sets the amount of time spent validating the projected model.
+         *
+         * @param validationTime Validation time to set.
+         * @return Returns the builder.
+         */
+        public Builder validationTime(Duration validationTime) {
+            this.validationTime = Objects.requireNonNull(validationTime);
+            return this;
+        }
+
+        /**
+         * Sets the amount of time spent creating the projected model.
+         *
+         * @param transformTime Transform time to set.
+         * @return Returns the builder.
+         */
+        public Builder transformTime(Duration transformTime) {
+            this.transformTime = Objects.requireNonNull(transformTime);
+            return this;
+        }
+
+        /**
+         * Sets the amount of time a plugin took to run.
+         *
+         * @param artifactName Name of the plugin artifact.
+         * @param time Time spent running the plugin.
+         * @return Returns the builder.
+         */
+        public Builder putPluginTime(String artifactName, Duration time) {
+            pluginTimes.get().put(artifactName, Objects.requireNonNull(time));
+            return this;
+        }
     }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.build;
+
+import java.util.function.Function;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * A {@link ProjectionTransformer} that transforms each shape of a model
+ * without looking at any other shape.
+ *
+ * <p>Consecutive shape-local transformers of a projection are fused
+ * together: the shape function of each transformer is applied to every
+ * shape in a single pass over the model, and the shapes that are removed
+ * by any of the transformers are removed from the model at once rather
+ * than creating an intermediate model for each transformer.
+ */
+public interface ShapeLocalTransformer extends ProjectionTransformer {
+    /**
+     * Creates a function that transforms a single shape.
+     *
+     * <p>The function receives a shape and returns the same shape, returns
+     * an updated copy of the shape that only differs by its traits, or
+     * returns null to remove the shape. The function must only inspect the
+     * given shape. Prelude shapes and the members of lists and maps are
+     * never removed, even if the function returns null for them.
+     *
+     * <p>Calling {@link #transform} must be equivalent to applying this
+     * function to every shape of the model.
+     *
+     * @param context Transformation context.
+     * @return Returns the created function.
+     * @throws IllegalArgumentException if the arguments are invalid.
+     */
+    Function<Shape, Shape> createShapeFunction(TransformContext context);
+}
@@ -61,6 +61,8 @@ public final class SmithyBuild {
     Set<Path> sources = new HashSet<>();
     Predicate<String> projectionFilter = name -> true;
     Predicate<String> pluginFilter = name -> true;
+    int workerCount = Runtime.getRuntime().availableProcessors();
+    PluginCache pluginCache;
 
     public SmithyBuild() {}
 
@@ -433,6 +435,43 @@ public final class SmithyBuild {
         return this;
     }
 
+    /**
+     * Sets the number of workers used to apply transforms and run plugins.
+     *
+     * <p>Transforms and plugins of every projection are run concurrently
+     * using up to this many threads. Plugins that are
+     * {@link SmithyBuildPlugin#isSerial() serial} never run at the same time
+     * as other plugins. A value of 1 runs every task in the calling thread.
+     * Defaults to the number of available processors.
+     *
+     * @param workerCount Number of workers to use.
+     * @return Returns the builder.
+     * @throws IllegalArgumentException if the worker count is less than 1.
+     */
+    public SmithyBuild workerCount(int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("workerCount must be greater than 0: " + workerCount);
+        }
+        this.workerCount = workerCount;
+        return this;
+    }
+
+    /**
+     * Sets a cache used to restore the files created by plugins.
+     *
+     * <p>When set, {@link SmithyBuildPlugin#isCacheable() cacheable}
+     * plugins that were previously run with the same inputs are not
+     * executed. Instead, the files they created are restored from the
+     * cache. No cache is used by default.
+     *
+     * @param pluginCache Cache to use, or null to disable caching.
+     * @return Returns the builder.
+     */
+    public SmithyBuild pluginCache(PluginCache pluginCache) {
+        this.pluginCache = pluginCache;
+        return this;
+    }
+
     // Lazy initialization holder class idiom.
     private static final class DefaultPathHolder {
         private static final Path DEFAULT_PATH = resolveDefaultPath();
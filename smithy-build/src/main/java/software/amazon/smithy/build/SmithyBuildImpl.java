@@ -17,6 +17,7 @@ package software.amazon.smithy.build;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +29,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -41,6 +43,7 @@ import software.amazon.smithy.build.model.SmithyBuildConfig;
 import software.amazon.smithy.build.model.TransformConfig;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.loader.ValidationBaseline;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.transform.ModelTransformer;
 import software.amazon.smithy.model.validation.ValidatedResult;
@@ -73,6 +76,8 @@ final class SmithyBuildImpl {
     private final Set<Path> sources;
     private final Predicate<String> projectionFilter;
     private final Predicate<String> pluginFilter;
+    private final int workerCount;
+    private final PluginCache pluginCache;
 
     private static final class ResolvedPlugin {
         final PluginId id;
@@ -86,6 +91,37 @@ final class SmithyBuildImpl {
         }
     }
 
+    // The state of a projection that is shared between its build tasks. Tasks that depend on
+    // each other are ordered by the scheduler, so each field is safely published to later tasks.
+    private static final class ProjectionRun {
+        final String name;
+        final ProjectionConfig config;
+        final List<ResolvedPlugin> plugins;
+        final FileManifest[] manifests;
+        final boolean[] applied;
+        final Throwable[] pluginErrors;
+        final BuildScheduler.Task[] pluginTasks;
+        BuildScheduler.Task transformTask;
+        Model resolvedModel;
+        Model projectedModel;
+        String resolvedModelHash;
+        String projectedModelHash;
+        ValidatedResult<Model> modelResult;
+        ProjectionResult.Builder resultBuilder;
+        ProjectionResult earlyResult;
+        Throwable failure;
+
+        ProjectionRun(String name, ProjectionConfig config, List<ResolvedPlugin> plugins) {
+            this.name = name;
+            this.config = config;
+            this.plugins = plugins;
+            manifests = new FileManifest[plugins.size()];
+            applied = new boolean[plugins.size()];
+            pluginErrors = new Throwable[plugins.size()];
+            pluginTasks = new BuildScheduler.Task[plugins.size()];
+        }
+    }
+
     SmithyBuildImpl(SmithyBuild builder) {
         config = prepareConfig(SmithyBuilder.requiredState("config", builder.config));
         sources = builder.sources;
@@ -125,6 +161,8 @@ final class SmithyBuildImpl {
         pluginClassLoader = builder.pluginClassLoader;
         projectionFilter = builder.projectionFilter;
         pluginFilter = builder.pluginFilter;
+        workerCount = builder.workerCount;
+        pluginCache = builder.pluginCache;
     }
 
     private static SmithyBuildConfig prepareConfig(SmithyBuildConfig config) {
@@ -175,13 +213,15 @@ final class SmithyBuildImpl {
             Consumer<ProjectionResult> projectionResultConsumer,
             BiConsumer<String, Throwable> projectionExceptionConsumer
     ) {
-        ValidatedResult<Model> resolvedModel = createBaseModel();
+        AtomicReference<ValidationBaseline> baseline = new AtomicReference<>();
+        ValidatedResult<Model> resolvedModel = createBaseModel(baseline::set);
+        // Inputs shared by every plugin are only hashed once per build.
+        String buildHash = pluginCache == null ? null : PluginCache.hashBuild(sources, pluginClassLoader);
 
-        // Some plugins need things like file locks and can't be run in parallel with other plugins.
-        // When a serial plugin is encountered for a projection, run the projection immediately.
-        // Parallel projections are collected into a list and run in parallel after serial projections.
-        // Note: we may later decide to run all parallel plugins in parallel across projections.
-        List<Runnable> parallelProjections = new ArrayList<>();
+        // Transforms and plugins of every projection are scheduled as a graph of tasks that run concurrently.
+        // Some plugins need things like file locks and can't be run in parallel with other plugins, so the
+        // scheduler never runs serial plugins at the same time as any other plugin.
+        BuildScheduler scheduler = new BuildScheduler(workerCount);
 
         for (Map.Entry<String, ProjectionConfig> entry : config.getProjections().entrySet()) {
             String projectionName = entry.getKey();
@@ -191,23 +231,62 @@ final class SmithyBuildImpl {
                 continue;
             }
 
-            List<ResolvedPlugin> resolvedPlugins = resolvePlugins(projectionName, config);
-
-            if (areAnyResolvedPluginsSerial(resolvedPlugins)) {
-                executeSerialProjection(resolvedModel, projectionName, config, resolvedPlugins,
-                                        projectionResultConsumer, projectionExceptionConsumer);
-            } else {
-                parallelProjections.add(() -> {
-                    executeSerialProjection(resolvedModel, projectionName, config, resolvedPlugins,
-                                            projectionResultConsumer, projectionExceptionConsumer);
-                });
+            List<ResolvedPlugin> resolvedPlugins = new ArrayList<>();
+            for (ResolvedPlugin resolvedPlugin : resolvePlugins(projectionName, config)) {
+                if (pluginFilter.test(resolvedPlugin.id.getArtifactName())) {
+                    resolvedPlugins.add(resolvedPlugin);
+                }
             }
+
+            ProjectionRun run = new ProjectionRun(projectionName, config, resolvedPlugins);
+            scheduleProjection(scheduler, run, resolvedModel, baseline.get(), buildHash,
+                               projectionResultConsumer, projectionExceptionConsumer);
         }
 
-        if (parallelProjections.size() == 1) {
-            parallelProjections.get(0).run();
-        } else if (!parallelProjections.isEmpty()) {
-            parallelProjections.parallelStream().forEach(Runnable::run);
+        scheduler.run();
+    }
+
+    private void scheduleProjection(
+            BuildScheduler scheduler,
+            ProjectionRun run,
+            ValidatedResult<Model> baseModel,
+            ValidationBaseline baseline,
+            String buildHash,
+            Consumer<ProjectionResult> projectionResultConsumer,
+            BiConsumer<String, Throwable> projectionExceptionConsumer
+    ) {
+        run.transformTask = scheduler.addTask(run.name, BuildScheduler.Kind.TASK, () -> {
+            try {
+                createProjectedModel(run, baseModel, baseline);
+            } catch (Throwable e) {
+                run.failure = e;
+            }
+        });
+
+        BuildScheduler.Task finishTask = scheduler.addTask(run.name + " result", BuildScheduler.Kind.TASK, () -> {
+            finishProjection(run, projectionResultConsumer, projectionExceptionConsumer);
+        });
+        finishTask.dependsOn(run.transformTask);
+
+        for (int i = 0; i < run.plugins.size(); i++) {
+            int index = i;
+            ResolvedPlugin resolvedPlugin = run.plugins.get(i);
+            BuildScheduler.Kind kind = resolvedPlugin.plugin.isSerial()
+                    ? BuildScheduler.Kind.SERIAL_PLUGIN
+                    : BuildScheduler.Kind.PLUGIN;
+            String taskName = run.name + " " + resolvedPlugin.id;
+            run.pluginTasks[i] = scheduler.addTask(taskName, kind, () -> {
+                // Plugins are skipped when the projected model couldn't be created.
+                if (run.failure == null && run.earlyResult == null) {
+                    try {
+                        applyPlugin(run, index, buildHash);
+                    } catch (Throwable e) {
+                        run.pluginErrors[index] = e;
+                    }
+                }
+            });
+            run.pluginTasks[i].dependsOn(run.transformTask);
+            finishTask.dependsOn(run.pluginTasks[i]);
         }
     }
 
@@ -256,54 +335,26 @@ final class SmithyBuildImpl {
         throw new SmithyBuildException(message);
     }
 
-    private boolean areAnyResolvedPluginsSerial(List<ResolvedPlugin> resolvedPlugins) {
-        for (ResolvedPlugin plugin : resolvedPlugins) {
-            if (plugin.plugin.isSerial()) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private void executeSerialProjection(
-            ValidatedResult<Model> baseModel,
-            String name,
-            ProjectionConfig config,
-            List<ResolvedPlugin> resolvedPlugins,
-            Consumer<ProjectionResult> projectionResultConsumer,
-            BiConsumer<String, Throwable> projectionExceptionConsumer
-    ) {
-        // Errors that occur while invoking the result callback must not
-        // cause the exception callback to be invoked.
-        ProjectionResult result = null;
-
-        try {
-            result = applyProjection(name, config, baseModel, resolvedPlugins);
-        } catch (Throwable e) {
-            projectionExceptionConsumer.accept(name, e);
-        }
-
-        if (result != null) {
-            projectionResultConsumer.accept(result);
-        }
-    }
-
-    private ValidatedResult<Model> createBaseModel() {
+    private ValidatedResult<Model> createBaseModel(Consumer<ValidationBaseline> baselineListener) {
         if (!config.getImports().isEmpty()) {
             LOGGER.fine(() -> "Merging the following imports into the loaded model: " + config.getImports());
         }
 
         ModelAssembler assembler = modelAssemblerSupplier.get().addModel(model);
         config.getImports().forEach(assembler::addImport);
+        if (config.isIncrementalProjectionValidation()) {
+            assembler.validationBaselineListener(baselineListener);
+        }
         return assembler.assemble();
     }
 
-    private ProjectionResult applyProjection(
-            String projectionName,
-            ProjectionConfig projection,
+    private void createProjectedModel(
+            ProjectionRun run,
             ValidatedResult<Model> baseModel,
-            List<ResolvedPlugin> resolvedPlugins
-    ) throws Throwable {
+            ValidationBaseline baseline
+    ) {
+        String projectionName = run.name;
+        ProjectionConfig projection = run.config;
         Model resolvedModel = baseModel.unwrap();
         LOGGER.fine(() -> String.format("Creating the `%s` projection", projectionName));
 
@@ -314,30 +365,34 @@ final class SmithyBuildImpl {
                     projectionName, projection.getImports()));
             ModelAssembler assembler = modelAssemblerSupplier.get().addModel(resolvedModel);
             projection.getImports().forEach(assembler::addImport);
+            AtomicReference<ValidationBaseline> projectionBaseline = new AtomicReference<>();
+            if (baseline != null) {
+                assembler.validationBaseline(baseline).validationBaselineListener(projectionBaseline::set);
+            }
             baseModel = assembler.assemble();
+            baseline = projectionBaseline.get();
 
             // Fail if the model can't be merged with the imports.
             if (baseModel.isBroken() || !baseModel.getResult().isPresent()) {
                 LOGGER.severe(String.format(
                         "The model could not be merged with the following imports: [%s]",
                         projection.getImports()));
-                return ProjectionResult.builder()
+                run.earlyResult = ProjectionResult.builder()
                         // Create an empty model so that ProjectionResult can be created when
                         // the Model can't be assembled.
                         .model(Model.builder().build())
                         .projectionName(projectionName)
                         .events(baseModel.getValidationEvents())
                         .build();
+                return;
             }
 
             resolvedModel = baseModel.unwrap();
         }
 
-        // Create the base directory where all projection artifacts are stored.
-        Path baseProjectionDir = outputDirectory.resolve(projectionName);
-
         Model projectedModel = resolvedModel;
         ValidatedResult<Model> modelResult = baseModel;
+        Duration validationTime = Duration.ZERO;
 
         // Don't do another round of validation and transforms if there are no transforms.
         // This is the case on the source projection, for example.
@@ -346,39 +401,86 @@ final class SmithyBuildImpl {
                     projection.getTransforms().stream().map(TransformConfig::getName).collect(Collectors.toList())));
             projectedModel = applyProjectionTransforms(
                     baseModel, resolvedModel, projectionName, Collections.emptySet());
-            modelResult = modelAssemblerSupplier.get().addModel(projectedModel).assemble();
+            ModelAssembler assembler = modelAssemblerSupplier.get().addModel(projectedModel);
+            if (baseline != null) {
+                // Only validate the shapes that transforms changed, and reuse the events of everything else.
+                assembler.validationBaseline(baseline);
+            }
+            long start = System.nanoTime();
+            modelResult = assembler.assemble();
+            validationTime = Duration.ofNanos(System.nanoTime() - start);
+            long millis = validationTime.toMillis();
+            boolean incremental = baseline != null;
+            LOGGER.fine(() -> String.format("Validated `%s` projection in %d ms%s", projectionName, millis,
+                                            incremental ? " (incremental)" : ""));
         } else {
             LOGGER.fine(() -> String.format("No transforms to apply for projection %s", projectionName));
         }
 
-        // Keep track of the first error created by plugins to fail the build after all plugins have run.
-        Throwable firstPluginError = null;
-        ProjectionResult.Builder resultBuilder = ProjectionResult.builder()
+        run.resolvedModel = resolvedModel;
+        run.projectedModel = projectedModel;
+        run.modelResult = modelResult;
+        run.resultBuilder = ProjectionResult.builder()
                 .projectionName(projectionName)
                 .model(projectedModel)
-                .events(modelResult.getValidationEvents());
-
-        for (ResolvedPlugin resolvedPlugin : resolvedPlugins) {
-            if (pluginFilter.test(resolvedPlugin.id.getArtifactName())) {
-                try {
-                    applyPlugin(projectionName, projection, baseProjectionDir, resolvedPlugin,
-                            projectedModel, resolvedModel, modelResult, resultBuilder);
-                } catch (Throwable e) {
-                    if (firstPluginError == null) {
-                        firstPluginError = e;
-                    } else {
-                        // Only log subsequent errors, since the first one is thrown.
-                        LOGGER.severe(String.format("Plugin `%s` failed: %s", resolvedPlugin.id, e));
-                    }
+                .events(modelResult.getValidationEvents())
+                .validationTime(validationTime);
+
+        if (pluginCache != null) {
+            run.resolvedModelHash = PluginCache.hashModel(resolvedModel, baseModel.getValidationEvents());
+            run.projectedModelHash = projectedModel == resolvedModel && modelResult == baseModel
+                    ? run.resolvedModelHash
+                    : PluginCache.hashModel(projectedModel, modelResult.getValidationEvents());
+        }
+
+        // Create the manifests where plugin artifacts are stored before running plugins concurrently.
+        Path baseProjectionDir = outputDirectory.resolve(projectionName);
+        for (int i = 0; i < run.plugins.size(); i++) {
+            run.manifests[i] = fileManifestFactory.apply(baseProjectionDir.resolve(run.plugins.get(i).id
+                    .getArtifactName()));
+        }
+    }
+
+    private void finishProjection(
+            ProjectionRun run,
+            Consumer<ProjectionResult> projectionResultConsumer,
+            BiConsumer<String, Throwable> projectionExceptionConsumer
+    ) {
+        if (run.failure != null) {
+            projectionExceptionConsumer.accept(run.name, run.failure);
+            return;
+        } else if (run.earlyResult != null) {
+            projectionResultConsumer.accept(run.earlyResult);
+            return;
+        }
+
+        // Keep track of the first error created by plugins to fail the projection after all plugins have run.
+        Throwable firstPluginError = null;
+        ProjectionResult.Builder resultBuilder = run.resultBuilder.transformTime(run.transformTask.getDuration());
+
+        for (int i = 0; i < run.plugins.size(); i++) {
+            ResolvedPlugin resolvedPlugin = run.plugins.get(i);
+            String artifactName = resolvedPlugin.id.getArtifactName();
+            if (run.pluginErrors[i] != null) {
+                if (firstPluginError == null) {
+                    firstPluginError = run.pluginErrors[i];
+                } else {
+                    // Only log subsequent errors, since the first one is reported.
+                    LOGGER.severe(String.format("Plugin `%s` failed: %s", resolvedPlugin.id, run.pluginErrors[i]));
                 }
+            } else if (run.applied[i]) {
+                resultBuilder.addPluginManifest(artifactName, run.manifests[i]);
+                resultBuilder.putPluginTime(artifactName, run.pluginTasks[i].getDuration());
             }
         }
 
+        // Errors that occur while invoking the result callback must not
+        // cause the exception callback to be invoked.
         if (firstPluginError != null) {
-            throw firstPluginError;
+            projectionExceptionConsumer.accept(run.name, firstPluginError);
+        } else {
+            projectionResultConsumer.accept(resultBuilder.build());
         }
-
-        return resultBuilder.build();
     }
 
     private Model applyProjectionTransforms(
@@ -388,6 +490,8 @@ final class SmithyBuildImpl {
             Set<String> visited
     ) {
         Model originalModel = baseModel.unwrap();
+        // Consecutive shape-local transforms are queued and then applied in a single pass over the model.
+        FusedTransforms fused = new FusedTransforms();
 
         for (Pair<ObjectNode, ProjectionTransformer> transformerBinding : transformers.get(projectionName)) {
             TransformContext context = TransformContext.builder()
@@ -399,48 +503,63 @@ final class SmithyBuildImpl {
                     .sources(sources)
                     .settings(transformerBinding.left)
                     .build();
+            if (fused.add(transformerBinding.right, context)) {
+                continue;
+            }
+            Model fusedModel = fused.apply(modelTransformer, currentModel);
+            if (fusedModel != currentModel) {
+                currentModel = fusedModel;
+                context = context.toBuilder().model(currentModel).build();
+            }
             currentModel = transformerBinding.right.transform(context);
             Collection<String> queuedProjections = transformerBinding.right.getAdditionalProjections(context);
             currentModel = applyQueuedProjections(queuedProjections, context, currentModel, visited);
         }
 
-        return currentModel;
+        return fused.apply(modelTransformer, currentModel);
     }
 
-    private void applyPlugin(
-            String projectionName,
-            ProjectionConfig projection,
-            Path baseProjectionDir,
-            ResolvedPlugin resolvedPlugin,
-            Model projectedModel,
-            Model resolvedModel,
-            ValidatedResult<Model> modelResult,
-            ProjectionResult.Builder resultBuilder
-    ) {
+    private void applyPlugin(ProjectionRun run, int index, String buildHash) {
+        ResolvedPlugin resolvedPlugin = run.plugins.get(index);
         PluginId id = resolvedPlugin.id;
+        String projectionName = run.name;
 
-        // Create the manifest where plugin artifacts are stored.
-        Path pluginBaseDir = baseProjectionDir.resolve(id.getArtifactName());
-        FileManifest manifest = fileManifestFactory.apply(pluginBaseDir);
-
-        if (resolvedPlugin.plugin.requiresValidModel() && modelResult.isBroken()) {
+        if (resolvedPlugin.plugin.requiresValidModel() && run.modelResult.isBroken()) {
             LOGGER.fine(() -> String.format("Skipping `%s` plugin for `%s` projection because the model is broken",
                                             id, projectionName));
-        } else {
-            LOGGER.info(() -> String.format("Applying `%s` plugin to `%s` projection", id, projectionName));
-            resolvedPlugin.plugin
-                    .execute(PluginContext.builder()
-                    .model(projectedModel)
-                    .originalModel(resolvedModel)
-                    .projection(projectionName, projection)
-                    .events(modelResult.getValidationEvents())
-                    .settings(resolvedPlugin.config)
-                    .fileManifest(manifest)
-                    .pluginClassLoader(pluginClassLoader)
-                    .sources(sources)
-                    .artifactName(id.hasArtifactName() ? id.getArtifactName() : null)
-                    .build());
-            resultBuilder.addPluginManifest(id.getArtifactName(), manifest);
+            return;
+        }
+
+        String cacheKey = null;
+        if (buildHash != null && resolvedPlugin.plugin.isCacheable()) {
+            cacheKey = PluginCache.computeKey(buildHash, run.projectedModelHash, run.resolvedModelHash,
+                                              projectionName, id.getArtifactName(), resolvedPlugin.plugin,
+                                              resolvedPlugin.config);
+            if (pluginCache.restore(cacheKey, run.manifests[index])) {
+                LOGGER.info(() -> String.format("Restored `%s` plugin of `%s` projection from cache",
+                                                id, projectionName));
+                run.applied[index] = true;
+                return;
+            }
+        }
+
+        LOGGER.info(() -> String.format("Applying `%s` plugin to `%s` projection", id, projectionName));
+        resolvedPlugin.plugin
+                .execute(PluginContext.builder()
+                .model(run.projectedModel)
+                .originalModel(run.resolvedModel)
+                .projection(projectionName, run.config)
+                .events(run.modelResult.getValidationEvents())
+                .settings(resolvedPlugin.config)
+                .fileManifest(run.manifests[index])
+                .pluginClassLoader(pluginClassLoader)
+                .sources(sources)
+                .artifactName(id.hasArtifactName() ? id.getArtifactName() : null)
+                .build());
+        run.applied[index] = true;
+
+        if (cacheKey != null) {
+            pluginCache.store(cacheKey, run.manifests[index]);
         }
     }
 
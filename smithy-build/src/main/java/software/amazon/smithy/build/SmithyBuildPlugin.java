@@ -51,8 +51,12 @@ public interface SmithyBuildPlugin {
     }
 
     /**
-     * Plugins can choose whether or not projections they are in can be run in
-     * parallel with other projections.
+     * Plugins can choose whether or not they can be run in parallel with
+     * other plugins.
+     *
+     * <p>A serial plugin never runs at the same time as any other plugin,
+     * including plugins of other projections. Transforms of other
+     * projections can continue to run while a serial plugin runs.
      *
      * <p>By default plugins allow parallel execution.</p>
      *
@@ -63,6 +67,24 @@ public interface SmithyBuildPlugin {
         return false;
     }
 
+    /**
+     * Plugins can choose whether or not the files they create can be
+     * restored from a {@link PluginCache}.
+     *
+     * <p>Cached files are keyed by the models, validation events, settings,
+     * sources, and classpath given to the plugin. Plugins that read other
+     * inputs, like environment variables or files outside of their sources,
+     * or that have side effects other than writing to their file manifest,
+     * should return false.
+     *
+     * <p>By default plugins are cacheable.</p>
+     *
+     * @return Returns true if the plugin's files can be restored from a cache.
+     */
+    default boolean isCacheable() {
+        return true;
+    }
+
     /**
      * Executes the plugin, creating any number of artifacts.
      *
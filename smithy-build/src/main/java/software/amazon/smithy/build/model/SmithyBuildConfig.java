@@ -46,6 +46,7 @@ public final class SmithyBuildConfig implements ToSmithyBuilder<SmithyBuildConfi
     private final Map<String, ProjectionConfig> projections;
     private final Map<String, ObjectNode> plugins;
     private final boolean ignoreMissingPlugins;
+    private final boolean incrementalProjectionValidation;
     private final MavenConfig maven;
     private final long lastModifiedInMillis;
 
@@ -58,6 +59,7 @@ public final class SmithyBuildConfig implements ToSmithyBuilder<SmithyBuildConfi
         projections = builder.projections.copy();
         plugins = builder.plugins.copy();
         ignoreMissingPlugins = builder.ignoreMissingPlugins;
+        incrementalProjectionValidation = builder.incrementalProjectionValidation;
         maven = builder.maven;
         lastModifiedInMillis = builder.lastModifiedInMillis;
 
@@ -140,6 +142,7 @@ public final class SmithyBuildConfig implements ToSmithyBuilder<SmithyBuildConfi
                 .projections(projections)
                 .plugins(plugins)
                 .ignoreMissingPlugins(ignoreMissingPlugins)
+                .incrementalProjectionValidation(incrementalProjectionValidation)
                 .maven(maven);
     }
 
@@ -214,6 +217,19 @@ public final class SmithyBuildConfig implements ToSmithyBuilder<SmithyBuildConfi
         return ignoreMissingPlugins;
     }
 
+    /**
+     * Projected models are validated in their entirety by default. This
+     * setting can be set to true to only validate the shapes of a projected
+     * model that were changed by transforms, along with the shapes that
+     * depend on them, and reuse the validation events of the model the
+     * projection was created from for every other shape.
+     *
+     * @return Returns true if projections are validated incrementally.
+     */
+    public boolean isIncrementalProjectionValidation() {
+        return incrementalProjectionValidation;
+    }
+
     /**
      * Gets Maven dependency configuration.
      *
@@ -248,6 +264,7 @@ public final class SmithyBuildConfig implements ToSmithyBuilder<SmithyBuildConfi
         private String version;
         private String outputDirectory;
         private boolean ignoreMissingPlugins;
+        private boolean incrementalProjectionValidation;
         private MavenConfig maven;
         private long lastModifiedInMillis = 0;
 
@@ -314,6 +331,7 @@ public final class SmithyBuildConfig implements ToSmithyBuilder<SmithyBuildConfi
                         }
                     })
                     .getBooleanMember("ignoreMissingPlugins", this::ignoreMissingPlugins)
+                    .getBooleanMember("incrementalProjectionValidation", this::incrementalProjectionValidation)
                     .getMember("maven", MavenConfig::fromNode, this::maven);
             return this;
         }
@@ -345,6 +363,10 @@ public final class SmithyBuildConfig implements ToSmithyBuilder<SmithyBuildConfi
                 ignoreMissingPlugins(config.ignoreMissingPlugins);
             }
 
+            if (config.isIncrementalProjectionValidation()) {
+                incrementalProjectionValidation(true);
+            }
+
             return this;
         }
 
@@ -418,6 +440,18 @@ public final class SmithyBuildConfig implements ToSmithyBuilder<SmithyBuildConfi
             return this;
         }
 
+        /**
+         * Only validates the shapes of projected models that were changed by
+         * transforms, along with the shapes that depend on them.
+         *
+         * @param incrementalProjectionValidation Set to true to validate projections incrementally.
+         * @return Returns the builder.
+         */
+        public Builder incrementalProjectionValidation(boolean incrementalProjectionValidation) {
+            this.incrementalProjectionValidation = incrementalProjectionValidation;
+            return this;
+        }
+
         public Builder maven(MavenConfig maven) {
             this.maven = maven;
             return this;
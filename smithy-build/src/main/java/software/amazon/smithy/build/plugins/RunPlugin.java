@@ -54,6 +54,13 @@ public final class RunPlugin implements SmithyBuildPlugin {
         return true;
     }
 
+    // The process writes its files directly rather than through the file manifest, and its output
+    // depends on the command, arguments, and environment, none of which are part of a cache key.
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
     @Override
     public void execute(PluginContext context) {
         NodeMapper mapper = new NodeMapper();
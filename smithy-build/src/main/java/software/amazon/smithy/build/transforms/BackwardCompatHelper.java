@@ -123,6 +123,11 @@ abstract class BackwardCompatHelper<T> extends ConfigurableProjectionTransformer
 
     }
 
+    @Override
+    protected T deserializeConfig(TransformContext context) {
+        return super.deserializeConfig(updateContextIfNecessary(context));
+    }
+
     private TransformContext updateContextIfNecessary(TransformContext context) {
         ObjectNode original = context.getSettings();
 
@@ -62,20 +62,27 @@ public abstract class ConfigurableProjectionTransformer<T> implements Projection
 
     @Override
     public Model transform(TransformContext context) {
-        NodeMapper mapper = new NodeMapper();
-        T config = mapper.deserialize(context.getSettings(), getConfigType());
-        return transformWithConfig(context, config);
+        return transformWithConfig(context, deserializeConfig(context));
     }
 
     @Override
     public List<String> getAdditionalProjections(TransformContext context) {
         return getAdditionalProjectionsFunction().map(fn -> {
-            NodeMapper mapper = new NodeMapper();
-            T config = mapper.deserialize(context.getSettings(), getConfigType());
-            return fn.apply(context, config);
+            return fn.apply(context, deserializeConfig(context));
         }).orElseGet(ListUtils::of);
     }
 
+    /**
+     * Deserializes the configuration object from the settings of a context.
+     *
+     * @param context Transform context.
+     * @return Returns the deserialized configuration object.
+     */
+    protected T deserializeConfig(TransformContext context) {
+        NodeMapper mapper = new NodeMapper();
+        return mapper.deserialize(context.getSettings(), getConfigType());
+    }
+
     /**
      * Executes the transform using the deserialized configuration object.
      *
@@ -17,10 +17,13 @@ package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import software.amazon.smithy.build.ShapeLocalTransformer;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.shapes.Shape;
 
 /**
  * {@code excludeShapesByTag} removes shapes if they are tagged with one or more
@@ -28,7 +31,8 @@ import software.amazon.smithy.model.transform.ModelTransformer;
  *
  * <p>Prelude shapes are not removed by this transformer.
  */
-public final class ExcludeShapesByTag extends BackwardCompatHelper<ExcludeShapesByTag.Config> {
+public final class ExcludeShapesByTag extends BackwardCompatHelper<ExcludeShapesByTag.Config>
+        implements ShapeLocalTransformer {
 
     /**
      * {@code excludeShapesByTag} configuration.
@@ -72,11 +76,17 @@ public final class ExcludeShapesByTag extends BackwardCompatHelper<ExcludeShapes
 
     @Override
     protected Model transformWithConfig(TransformContext context, Config config) {
-        Set<String> includeTags = config.getTags();
-        ModelTransformer transformer = context.getTransformer();
-        Model model = context.getModel();
-        return transformer.filterShapes(model, shape -> {
-            return Prelude.isPreludeShape(shape) || shape.getTags().stream().noneMatch(includeTags::contains);
-        });
+        return context.getTransformer().filterShapes(context.getModel(), createFilter(config));
+    }
+
+    @Override
+    public Function<Shape, Shape> createShapeFunction(TransformContext context) {
+        Predicate<Shape> filter = createFilter(deserializeConfig(context));
+        return shape -> filter.test(shape) ? shape : null;
+    }
+
+    private static Predicate<Shape> createFilter(Config config) {
+        Set<String> excludeTags = config.getTags();
+        return shape -> Prelude.isPreludeShape(shape) || shape.getTags().stream().noneMatch(excludeTags::contains);
     }
 }
@@ -18,15 +18,20 @@ package software.amazon.smithy.build.transforms;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import software.amazon.smithy.build.ShapeLocalTransformer;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 
 /**
  * Removes shapes from the model if they are marked with a specific trait.
  */
-public final class ExcludeShapesByTrait extends ConfigurableProjectionTransformer<ExcludeShapesByTrait.Config> {
+public final class ExcludeShapesByTrait extends ConfigurableProjectionTransformer<ExcludeShapesByTrait.Config>
+        implements ShapeLocalTransformer {
 
     public static final class Config {
         private Set<String> traits = Collections.emptySet();
@@ -63,14 +68,22 @@ public final class ExcludeShapesByTrait extends ConfigurableProjectionTransforme
     }
 
     protected Model transformWithConfig(TransformContext context, Config config) {
+        return context.getTransformer().filterShapes(context.getModel(), createFilter(config));
+    }
+
+    @Override
+    public Function<Shape, Shape> createShapeFunction(TransformContext context) {
+        Predicate<Shape> filter = createFilter(deserializeConfig(context));
+        return shape -> filter.test(shape) ? shape : null;
+    }
+
+    private static Predicate<Shape> createFilter(Config config) {
         // Resolve relative IDs by defaulting to smithy.api# if the given trait ID is relative.
         Set<ShapeId> ids = new HashSet<>(config.getTraits().size());
         for (String id : config.getTraits()) {
             ids.add(ShapeId.fromOptionalNamespace(Prelude.NAMESPACE, id));
         }
 
-        return context.getTransformer().removeShapesIf(context.getModel(), shape -> {
-            return ids.stream().anyMatch(shape::hasTrait);
-        });
+        return shape -> ids.stream().noneMatch(shape::hasTrait);
     }
 }
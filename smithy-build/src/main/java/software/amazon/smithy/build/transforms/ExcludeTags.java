@@ -17,14 +17,17 @@ package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.function.Function;
+import software.amazon.smithy.build.ShapeLocalTransformer;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
 
 /**
  * {@code excludeTags} removes tags from shapes and trait definitions
  * that match any of the provided {@code tags}.
  */
-public final class ExcludeTags extends BackwardCompatHelper<ExcludeTags.Config> {
+public final class ExcludeTags extends BackwardCompatHelper<ExcludeTags.Config> implements ShapeLocalTransformer {
 
     /**
      * {@code excludeTags} configuration.
@@ -70,4 +73,9 @@ public final class ExcludeTags extends BackwardCompatHelper<ExcludeTags.Config>
     public Model transformWithConfig(TransformContext context, Config config) {
         return TagUtils.excludeShapeTags(context.getTransformer(), context.getModel(), config.getTags());
     }
+
+    @Override
+    public Function<Shape, Shape> createShapeFunction(TransformContext context) {
+        return TagUtils.createTagMapper(deserializeConfig(context).getTags(), true);
+    }
 }
@@ -17,10 +17,13 @@ package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import software.amazon.smithy.build.ShapeLocalTransformer;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.shapes.Shape;
 
 /**
  * {@code includeNamespaces} filters out shapes and trait definitions
@@ -28,7 +31,8 @@ import software.amazon.smithy.model.transform.ModelTransformer;
  *
  * <p>Note that this does not filter out prelude shapes or namespaces.
  */
-public final class IncludeNamespaces extends BackwardCompatHelper<IncludeNamespaces.Config> {
+public final class IncludeNamespaces extends BackwardCompatHelper<IncludeNamespaces.Config>
+        implements ShapeLocalTransformer {
 
     /**
      * {@code includeNamespaces} configuration.
@@ -70,11 +74,17 @@ public final class IncludeNamespaces extends BackwardCompatHelper<IncludeNamespa
 
     @Override
     protected Model transformWithConfig(TransformContext context, Config config) {
+        return context.getTransformer().filterShapes(context.getModel(), createFilter(config));
+    }
+
+    @Override
+    public Function<Shape, Shape> createShapeFunction(TransformContext context) {
+        Predicate<Shape> filter = createFilter(deserializeConfig(context));
+        return shape -> filter.test(shape) ? shape : null;
+    }
+
+    private static Predicate<Shape> createFilter(Config config) {
         Set<String> namespaces = config.getNamespaces();
-        Model model = context.getModel();
-        ModelTransformer transformer = context.getTransformer();
-        return transformer.filterShapes(model, shape -> {
-            return Prelude.isPreludeShape(shape) || namespaces.contains(shape.getId().getNamespace());
-        });
+        return shape -> Prelude.isPreludeShape(shape) || namespaces.contains(shape.getId().getNamespace());
     }
 }
@@ -17,15 +17,18 @@ package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.function.Function;
+import software.amazon.smithy.build.ShapeLocalTransformer;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
 
 /**
  * {@code includeTags} removes tags from shapes and trait
  * definitions that are not in the set of tags defined in
  * the {@code tags} property.
  */
-public final class IncludeTags extends BackwardCompatHelper<IncludeTags.Config> {
+public final class IncludeTags extends BackwardCompatHelper<IncludeTags.Config> implements ShapeLocalTransformer {
 
     /**
      * {@code includeTags} configuration.
@@ -71,4 +74,9 @@ public final class IncludeTags extends BackwardCompatHelper<IncludeTags.Config>
     public Model transformWithConfig(TransformContext context, Config config) {
         return TagUtils.includeShapeTags(context.getTransformer(), context.getModel(), config.getTags());
     }
+
+    @Override
+    public Function<Shape, Shape> createShapeFunction(TransformContext context) {
+        return TagUtils.createTagMapper(deserializeConfig(context).getTags(), false);
+    }
 }
@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.TagsTrait;
@@ -39,19 +40,23 @@ final class TagUtils {
         return includeExcludeShapeTags(transformer, model, tags, false);
     }
 
+    static Function<Shape, Shape> createTagMapper(Set<String> tags, boolean exclude) {
+        return shape -> intersectIfChanged(shape.getTags(), tags, exclude)
+                .map(intersection -> {
+                    TagsTrait.Builder builder = TagsTrait.builder();
+                    intersection.forEach(builder::addValue);
+                    return Shape.shapeToBuilder(shape).addTrait(builder.build()).build();
+                })
+                .orElse(shape);
+    }
+
     private static Model includeExcludeShapeTags(
             ModelTransformer transformer,
             Model model,
             Set<String> tags,
             boolean exclude
     ) {
-        return transformer.mapShapes(model, shape -> intersectIfChanged(shape.getTags(), tags, exclude)
-                .map(intersection -> {
-                    TagsTrait.Builder builder = TagsTrait.builder();
-                    intersection.forEach(builder::addValue);
-                    return Shape.shapeToBuilder(shape).addTrait(builder.build()).build();
-                })
-                .orElse(shape));
+        return transformer.mapShapes(model, createTagMapper(tags, exclude));
     }
 
     private static Optional<Set<String>> intersectIfChanged(
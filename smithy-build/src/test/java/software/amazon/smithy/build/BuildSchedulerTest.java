@@ -0,0 +1,126 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BuildSchedulerTest {
+    @Test
+    public void runsTasksAfterTheirDependencies() {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        BuildScheduler scheduler = new BuildScheduler(4);
+        BuildScheduler.Task a = scheduler.addTask("a", BuildScheduler.Kind.TASK, () -> order.add("a"));
+        BuildScheduler.Task b = scheduler.addTask("b", BuildScheduler.Kind.PLUGIN, () -> order.add("b"));
+        BuildScheduler.Task c = scheduler.addTask("c", BuildScheduler.Kind.TASK, () -> order.add("c"));
+        b.dependsOn(a);
+        c.dependsOn(b);
+        scheduler.run();
+
+        assertThat(order, contains("a", "b", "c"));
+    }
+
+    @Test
+    public void runsTasksInCallingThreadWithOneWorker() {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = new ArrayList<>();
+        BuildScheduler scheduler = new BuildScheduler(1);
+        for (int i = 0; i < 3; i++) {
+            scheduler.addTask("t" + i, BuildScheduler.Kind.PLUGIN, () -> threads.add(Thread.currentThread()));
+        }
+        scheduler.run();
+
+        assertThat(threads, contains(caller, caller, caller));
+    }
+
+    @Test
+    public void boundsConcurrencyByWorkerCount() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+        BuildScheduler scheduler = new BuildScheduler(2);
+        for (int i = 0; i < 10; i++) {
+            scheduler.addTask("t" + i, BuildScheduler.Kind.TASK, () -> {
+                max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep();
+                running.decrementAndGet();
+            });
+        }
+        scheduler.run();
+
+        assertThat(max.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    public void runsSerialPluginsAlone() {
+        AtomicInteger runningPlugins = new AtomicInteger();
+        AtomicInteger serialOverlaps = new AtomicInteger();
+        BuildScheduler scheduler = new BuildScheduler(4);
+        for (int i = 0; i < 12; i++) {
+            boolean serial = i % 3 == 0;
+            BuildScheduler.Kind kind = serial ? BuildScheduler.Kind.SERIAL_PLUGIN : BuildScheduler.Kind.PLUGIN;
+            scheduler.addTask("t" + i, kind, () -> {
+                int concurrent = runningPlugins.incrementAndGet();
+                sleep();
+                if (serial && (concurrent > 1 || runningPlugins.get() > 1)) {
+                    serialOverlaps.incrementAndGet();
+                }
+                runningPlugins.decrementAndGet();
+            });
+        }
+        scheduler.run();
+
+        assertThat(serialOverlaps.get(), equalTo(0));
+    }
+
+    @Test
+    public void rethrowsTaskFailuresAndStopsScheduling() {
+        RuntimeException error = new RuntimeException("boom");
+        AtomicInteger ran = new AtomicInteger();
+        BuildScheduler scheduler = new BuildScheduler(2);
+        BuildScheduler.Task failing = scheduler.addTask("a", BuildScheduler.Kind.TASK, () -> {
+            throw error;
+        });
+        scheduler.addTask("b", BuildScheduler.Kind.TASK, ran::incrementAndGet).dependsOn(failing);
+
+        RuntimeException thrown = Assertions.assertThrows(RuntimeException.class, scheduler::run);
+
+        assertThat(thrown, equalTo(error));
+        assertThat(ran.get(), equalTo(0));
+    }
+
+    @Test
+    public void detectsCycles() {
+        BuildScheduler scheduler = new BuildScheduler(2);
+        BuildScheduler.Task a = scheduler.addTask("a", BuildScheduler.Kind.TASK, () -> { });
+        BuildScheduler.Task b = scheduler.addTask("b", BuildScheduler.Kind.TASK, () -> { });
+        a.dependsOn(b);
+        b.dependsOn(a);
+
+        Assertions.assertThrows(IllegalStateException.class, scheduler::run);
+    }
+
+    @Test
+    public void requiresAtLeastOneWorker() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BuildScheduler(0));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.transforms.ExcludeShapesByTag;
+import software.amazon.smithy.build.transforms.ExcludeShapesByTrait;
+import software.amazon.smithy.build.transforms.ExcludeTags;
+import software.amazon.smithy.build.transforms.IncludeNamespaces;
+import software.amazon.smithy.build.transforms.RemoveUnusedShapes;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.Pair;
+
+public class FusedTransformsTest {
+
+    private static final String MODEL = "$version: \"2.0\"\n"
+            + "namespace smithy.example\n"
+            + "@tags([\"beta\"])\n"
+            + "@trait\n"
+            + "structure betaTrait {}\n"
+            + "structure Foo {\n"
+            + "    @tags([\"internal\"])\n"
+            + "    a: String\n"
+            + "    @tags([\"beta\"])\n"
+            + "    b: Bar\n"
+            + "    c: Baz\n"
+            + "}\n"
+            + "@tags([\"beta\", \"internal\"])\n"
+            + "structure Bar {}\n"
+            + "@deprecated\n"
+            + "structure Baz {}\n"
+            + "@betaTrait\n"
+            + "structure Qux {}\n"
+            + "list Names {\n"
+            + "    @tags([\"beta\"])\n"
+            + "    member: String\n"
+            + "}\n";
+
+    private static final String OTHER_MODEL = "$version: \"2.0\"\n"
+            + "namespace smithy.other\n"
+            + "structure Other {}\n";
+
+    private static Model createModel() {
+        return Model.assembler()
+                .addUnparsedModel("example.smithy", MODEL)
+                .addUnparsedModel("other.smithy", OTHER_MODEL)
+                .assemble()
+                .unwrap();
+    }
+
+    private static ObjectNode settings(String key, String... values) {
+        return Node.objectNode().withMember(key, Node.fromStrings(values));
+    }
+
+    private static Model applyFused(Model model, List<Pair<ObjectNode, ProjectionTransformer>> transforms) {
+        ModelTransformer modelTransformer = ModelTransformer.create();
+        FusedTransforms fused = new FusedTransforms();
+        for (Pair<ObjectNode, ProjectionTransformer> transform : transforms) {
+            TransformContext context = TransformContext.builder()
+                    .model(model)
+                    .transformer(modelTransformer)
+                    .settings(transform.left)
+                    .build();
+            assertThat(fused.add(transform.right, context), is(true));
+        }
+        return fused.apply(modelTransformer, model);
+    }
+
+    private static Model applySequentially(Model model, List<Pair<ObjectNode, ProjectionTransformer>> transforms) {
+        for (Pair<ObjectNode, ProjectionTransformer> transform : transforms) {
+            model = transform.right.transform(TransformContext.builder()
+                    .model(model)
+                    .settings(transform.left)
+                    .build());
+        }
+        return model;
+    }
+
+    @Test
+    public void fusedTransformsMatchSequentialTransforms() {
+        Model model = createModel();
+        List<Pair<ObjectNode, ProjectionTransformer>> transforms = ListUtils.of(
+                Pair.of(settings("traits", "deprecated"), new ExcludeShapesByTrait()),
+                Pair.of(settings("tags", "internal"), new ExcludeTags()),
+                // Tags were removed by the previous transform, so this removes nothing.
+                Pair.of(settings("tags", "internal"), new ExcludeShapesByTag()),
+                Pair.of(settings("namespaces", "smithy.example"), new IncludeNamespaces()));
+
+        Model fused = applyFused(model, transforms);
+
+        assertThat(fused, equalTo(applySequentially(model, transforms)));
+        assertThat(fused.getShape(ShapeId.from("smithy.example#Baz")).isPresent(), is(false));
+        assertThat(fused.getShape(ShapeId.from("smithy.other#Other")).isPresent(), is(false));
+        assertThat(fused.expectShape(ShapeId.from("smithy.example#Bar")).getTags(), contains("beta"));
+        assertThat(fused.expectShape(ShapeId.from("smithy.example#Foo"), StructureShape.class).getMemberNames(),
+                   contains("a", "b"));
+    }
+
+    @Test
+    public void appliesTransformsSequentiallyWhenTraitDefinitionsAreRemoved() {
+        Model model = createModel();
+        // Removing the trait definition removes the trait from Qux, so the second transform keeps Qux.
+        List<Pair<ObjectNode, ProjectionTransformer>> transforms = ListUtils.of(
+                Pair.of(settings("tags", "beta"), new ExcludeShapesByTag()),
+                Pair.of(settings("traits", "smithy.example#betaTrait"), new ExcludeShapesByTrait()));
+
+        Model fused = applyFused(model, transforms);
+
+        assertThat(fused, equalTo(applySequentially(model, transforms)));
+        assertThat(fused.getShape(ShapeId.from("smithy.example#Qux")).isPresent(), is(true));
+        assertThat(fused.getShape(ShapeId.from("smithy.example#betaTrait")).isPresent(), is(false));
+        assertThat(fused.getShape(ShapeId.from("smithy.example#Names$member")).isPresent(), is(true));
+    }
+
+    @Test
+    public void doesNotQueueTransformsThatAreNotShapeLocal() {
+        Model model = createModel();
+        FusedTransforms fused = new FusedTransforms();
+        TransformContext context = TransformContext.builder().model(model).build();
+
+        assertThat(fused.add(new RemoveUnusedShapes(), context), is(false));
+        assertThat(fused.apply(ModelTransformer.create(), model), sameInstance(model));
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.model.SmithyBuildConfig;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.utils.IoUtils;
+
+public class PluginCacheTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    public void before() throws IOException {
+        tempDir = Files.createTempDirectory(getClass().getName());
+    }
+
+    @AfterEach
+    public void after() {
+        IoUtils.rmdir(tempDir);
+    }
+
+    @Test
+    public void restoresFilesOfUnchangedPlugins() throws IOException {
+        PluginCache cache = PluginCache.create(tempDir.resolve("cache"));
+        CountingPlugin plugin = new CountingPlugin(true);
+        Model model = createModel("Foo");
+
+        build(cache, plugin, model, Node.objectNode(), tempDir.resolve("out1"));
+        build(cache, plugin, model, Node.objectNode(), tempDir.resolve("out2"));
+
+        assertThat(plugin.executions.get(), equalTo(1));
+        assertThat(cache.getMisses(), equalTo(4));
+        assertThat(cache.getHits(), equalTo(4));
+        assertThat(readOutput(tempDir.resolve("out2")), equalTo("Foo"));
+        assertThat(readNestedOutput(tempDir.resolve("out2")), equalTo("nested"));
+    }
+
+    @Test
+    public void missesWhenSettingsChange() {
+        PluginCache cache = PluginCache.create(tempDir.resolve("cache"));
+        CountingPlugin plugin = new CountingPlugin(true);
+        Model model = createModel("Foo");
+
+        build(cache, plugin, model, Node.objectNode(), tempDir.resolve("out1"));
+        build(cache, plugin, model, Node.objectNode().withMember("a", "b"), tempDir.resolve("out2"));
+
+        assertThat(plugin.executions.get(), equalTo(2));
+        assertThat(cache.getMisses(), equalTo(5));
+        assertThat(cache.getHits(), equalTo(3));
+    }
+
+    @Test
+    public void missesWhenModelChanges() throws IOException {
+        PluginCache cache = PluginCache.create(tempDir.resolve("cache"));
+        CountingPlugin plugin = new CountingPlugin(true);
+
+        build(cache, plugin, createModel("Foo"), Node.objectNode(), tempDir.resolve("out1"));
+        build(cache, plugin, createModel("Bar"), Node.objectNode(), tempDir.resolve("out2"));
+
+        assertThat(plugin.executions.get(), equalTo(2));
+        assertThat(cache.getMisses(), equalTo(8));
+        assertThat(cache.getHits(), equalTo(0));
+        assertThat(readOutput(tempDir.resolve("out2")), equalTo("Bar"));
+    }
+
+    @Test
+    public void ignoresPluginsThatAreNotCacheable() {
+        PluginCache cache = PluginCache.create(tempDir.resolve("cache"));
+        CountingPlugin plugin = new CountingPlugin(false);
+        Model model = createModel("Foo");
+
+        build(cache, plugin, model, Node.objectNode(), tempDir.resolve("out1"));
+        build(cache, plugin, model, Node.objectNode(), tempDir.resolve("out2"));
+
+        assertThat(plugin.executions.get(), equalTo(2));
+        assertThat(cache.getMisses(), equalTo(3));
+        assertThat(cache.getHits(), equalTo(3));
+    }
+
+    @Test
+    public void doesNotCachePluginsThatTrackNoFiles() {
+        PluginCache cache = PluginCache.create(tempDir.resolve("cache"));
+        CountingPlugin plugin = new CountingPlugin(true, false);
+        Model model = createModel("Foo");
+
+        build(cache, plugin, model, Node.objectNode(), tempDir.resolve("out1"));
+        build(cache, plugin, model, Node.objectNode(), tempDir.resolve("out2"));
+
+        assertThat(plugin.executions.get(), equalTo(2));
+    }
+
+    @Test
+    public void doesNotCacheInMemoryManifests() {
+        PluginCache cache = PluginCache.create(tempDir.resolve("cache"));
+        CountingPlugin plugin = new CountingPlugin(true);
+        SmithyBuildConfig config = createConfig(Node.objectNode());
+
+        for (int i = 0; i < 2; i++) {
+            new SmithyBuild()
+                    .config(config)
+                    .model(createModel("Foo"))
+                    .fileManifestFactory(MockManifest::new)
+                    .pluginFactory(createPluginFactory(plugin))
+                    .pluginCache(cache)
+                    .build();
+        }
+
+        assertThat(plugin.executions.get(), equalTo(2));
+        assertThat(cache.getHits(), equalTo(0));
+    }
+
+    @Test
+    public void keysIncludeModelEvents() {
+        Model model = createModel("Foo");
+        String withoutEvents = PluginCache.hashModel(model, Collections.emptyList());
+        String withEvents = PluginCache.hashModel(model, Model.assembler()
+                .addUnparsedModel("a.smithy", "$version: \"2.0\"\nnamespace a\nstructure A { b: Missing }\n")
+                .assemble()
+                .getValidationEvents());
+
+        assertThat(withoutEvents, equalTo(PluginCache.hashModel(createModel("Foo"), Collections.emptyList())));
+        assertThat(withoutEvents, not(equalTo(withEvents)));
+    }
+
+    private static void build(PluginCache cache, CountingPlugin plugin, Model model, ObjectNode settings, Path out) {
+        new SmithyBuild()
+                .config(createConfig(settings))
+                .model(model)
+                .outputDirectory(out)
+                .pluginFactory(createPluginFactory(plugin))
+                .pluginCache(cache)
+                .build();
+    }
+
+    // Built-in plugins are also applied to the source projection, so they are cached too.
+    private static Function<String, Optional<SmithyBuildPlugin>> createPluginFactory(SmithyBuildPlugin plugin) {
+        Function<String, Optional<SmithyBuildPlugin>> factory = SmithyBuildPlugin.createServiceFactory();
+        return name -> name.equals(plugin.getName()) ? Optional.of(plugin) : factory.apply(name);
+    }
+
+    private static SmithyBuildConfig createConfig(ObjectNode settings) {
+        return SmithyBuildConfig.builder()
+                .version(SmithyBuild.VERSION)
+                .plugins(Collections.singletonMap("counting", settings))
+                .build();
+    }
+
+    private static Model createModel(String name) {
+        return Model.builder().addShape(StringShape.builder().id("smithy.example#" + name).build()).build();
+    }
+
+    private static String readOutput(Path out) throws IOException {
+        return new String(Files.readAllBytes(out.resolve("source/counting/shape.txt")), StandardCharsets.UTF_8);
+    }
+
+    private static String readNestedOutput(Path out) throws IOException {
+        return new String(Files.readAllBytes(out.resolve("source/counting/a/b.txt")), StandardCharsets.UTF_8);
+    }
+
+    private static final class CountingPlugin implements SmithyBuildPlugin {
+        private final AtomicInteger executions = new AtomicInteger();
+        private final boolean cacheable;
+        private final boolean writeFiles;
+
+        CountingPlugin(boolean cacheable) {
+            this(cacheable, true);
+        }
+
+        CountingPlugin(boolean cacheable, boolean writeFiles) {
+            this.cacheable = cacheable;
+            this.writeFiles = writeFiles;
+        }
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return cacheable;
+        }
+
+        @Override
+        public void execute(PluginContext context) {
+            executions.incrementAndGet();
+            if (!writeFiles) {
+                return;
+            }
+            String shapes = context.getModel().shapes()
+                    .filter(shape -> shape.getId().getNamespace().equals("smithy.example"))
+                    .map(shape -> shape.getId().getName())
+                    .collect(Collectors.joining(","));
+            context.getFileManifest().writeFile("shape.txt", shapes);
+            context.getFileManifest().writeFile("a/b.txt", "nested");
+        }
+    }
+}
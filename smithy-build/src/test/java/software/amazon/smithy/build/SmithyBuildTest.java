@@ -37,10 +37,13 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
@@ -124,6 +127,28 @@ public class SmithyBuildTest {
         assertThat(resultB.getShape(ShapeId.from("ns.foo#String3")), not(Optional.empty()));
     }
 
+    @Test
+    public void incrementalProjectionValidationMatchesFullValidation() throws Exception {
+        SmithyBuildConfig incremental = SmithyBuildConfig.builder()
+                .load(Paths.get(getClass().getResource("incremental-validation-config.json").toURI()))
+                .outputDirectory(outputDirectory.toString())
+                .build();
+        SmithyBuildConfig full = incremental.toBuilder().incrementalProjectionValidation(false).build();
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("incremental-validation-model.smithy").toURI()))
+                .assemble()
+                .unwrap();
+        SmithyBuildResult expected = new SmithyBuild().config(full).model(model).build();
+        SmithyBuildResult actual = new SmithyBuild().config(incremental).model(model).build();
+
+        for (ProjectionResult result : expected.getProjectionResults()) {
+            ProjectionResult other = actual.getProjectionResult(result.getProjectionName()).get();
+            assertThat(other.getModel(), equalTo(result.getModel()));
+            assertThat(new HashSet<>(other.getEvents()), equalTo(new HashSet<>(result.getEvents())));
+        }
+        assertThat(actual.getProjectionResult("public").get().getEvents(), not(empty()));
+    }
+
     @Test
     public void buildsModels() throws Exception {
         SmithyBuildConfig config = SmithyBuildConfig.builder()
@@ -455,12 +480,80 @@ public class SmithyBuildTest {
         assertPluginPresent("test1Parallel", "hello1Parallel", source, b);
         assertPluginPresent("test2Parallel", "hello2Parallel", source);
 
-        // "source" contains serial and parallel plugins, so it runs serially and in insetion order.
-        // This test will need to be changed in the future if we ever optimize how plugins are run in the future.
+        // Serial plugins wait for every plugin that was started before them to complete.
         assertTrue(getPluginFileContents(source, "test1Parallel") < getPluginFileContents(source, "test1Serial"));
-        // The "b" projection has only parallel plugins, so it's a parallel projection. Parallel projections are run
-        // after all the serial projections.
-        assertTrue(getPluginFileContents(source, "test1Serial") < getPluginFileContents(b, "test1Parallel"));
+    }
+
+    @Test
+    public void neverRunsSerialPluginsAlongsideOtherPlugins() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        Map<String, SmithyBuildPlugin> plugins = new HashMap<>();
+        for (String name : ListUtils.of("test1Serial", "test2Serial", "test1Parallel", "test2Parallel")) {
+            boolean serial = name.endsWith("Serial");
+            plugins.put(name, new SmithyBuildPlugin() {
+                @Override
+                public String getName() {
+                    return name;
+                }
+
+                @Override
+                public boolean isSerial() {
+                    return serial;
+                }
+
+                @Override
+                public void execute(PluginContext context) {
+                    int concurrent = running.incrementAndGet();
+                    try {
+                        Thread.sleep(5);
+                        if (serial && (concurrent > 1 || running.get() > 1)) {
+                            overlapped.set(true);
+                        }
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }
+            });
+        }
+
+        Function<String, Optional<SmithyBuildPlugin>> factory = SmithyBuildPlugin.createServiceFactory();
+        Function<String, Optional<SmithyBuildPlugin>> composed = name -> OptionalUtils.or(
+                Optional.ofNullable(plugins.get(name)), () -> factory.apply(name));
+
+        SmithyBuildResult results = new SmithyBuild()
+                .pluginFactory(composed)
+                .fileManifestFactory(MockManifest::new)
+                .workerCount(4)
+                .config(SmithyBuildConfig.builder()
+                        .load(Paths.get(getClass().getResource("applies-serial-plugins.json").toURI()))
+                        .outputDirectory("/foo")
+                        .build())
+                .build();
+
+        assertFalse(overlapped.get());
+        assertThat(results.getProjectionResult("a").get().getPluginTimes().keySet(),
+                   hasItem("test2Serial"));
+    }
+
+    @Test
+    public void reportsTaskTimings() throws Exception {
+        SmithyBuildConfig config = SmithyBuildConfig.builder()
+                .load(Paths.get(getClass().getResource("simple-config.json").toURI()))
+                .outputDirectory(outputDirectory.toString())
+                .build();
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        SmithyBuildResult results = new SmithyBuild().config(config).model(model).workerCount(1).build();
+        ProjectionResult a = results.getProjectionResult("a").get();
+
+        assertThat(a.getPluginTimes().keySet(), equalTo(a.getPluginManifests().keySet()));
+        assertFalse(a.getTransformTime().isNegative());
+        assertFalse(a.getTransformTime().compareTo(a.getValidationTime()) < 0);
     }
 
     @Test
@@ -183,6 +183,29 @@ public class SmithyBuildConfigTest {
         assertThat(b.toBuilder().merge(a).build().isIgnoreMissingPlugins(), equalTo(true));
     }
 
+    @Test
+    public void convertingToBuilderRetainsIncrementalProjectionValidation() {
+        SmithyBuildConfig a = SmithyBuildConfig.builder()
+                .version("1")
+                .incrementalProjectionValidation(true)
+                .build();
+
+        assertThat(a.toBuilder().build().isIncrementalProjectionValidation(), equalTo(true));
+    }
+
+    @Test
+    public void mergingTakesIncrementalProjectionValidationFromEither() {
+        SmithyBuildConfig a = SmithyBuildConfig.builder()
+                .version("1")
+                .incrementalProjectionValidation(true)
+                .build();
+        SmithyBuildConfig b = SmithyBuildConfig.builder().version("1").build();
+
+        assertThat(b.isIncrementalProjectionValidation(), equalTo(false));
+        assertThat(a.toBuilder().merge(b).build().isIncrementalProjectionValidation(), equalTo(true));
+        assertThat(b.toBuilder().merge(a).build().isIncrementalProjectionValidation(), equalTo(true));
+    }
+
     @Test
     public void loadsFromNode() throws IOException {
         Path root = Paths.get("/");
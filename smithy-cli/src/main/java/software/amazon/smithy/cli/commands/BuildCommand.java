@@ -28,6 +28,7 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import software.amazon.smithy.build.FileManifest;
+import software.amazon.smithy.build.PluginCache;
 import software.amazon.smithy.build.ProjectionResult;
 import software.amazon.smithy.build.SmithyBuild;
 import software.amazon.smithy.build.model.SmithyBuildConfig;
@@ -85,6 +86,17 @@ final class BuildCommand implements Command {
     private static final class Options implements ArgumentReceiver {
         private String projection;
         private String plugin;
+        private boolean cache;
+        private String cacheDir;
+
+        @Override
+        public boolean testOption(String name) {
+            if (name.equals("--cache")) {
+                cache = true;
+                return true;
+            }
+            return false;
+        }
 
         @Override
         public Consumer<String> testParameter(String name) {
@@ -93,6 +105,8 @@ final class BuildCommand implements Command {
                     return value -> projection = value;
                 case "--plugin":
                     return value -> plugin = value;
+                case "--cache-dir":
+                    return value -> cacheDir = value;
                 default:
                     return null;
             }
@@ -102,6 +116,10 @@ final class BuildCommand implements Command {
         public void registerHelp(HelpPrinter printer) {
             printer.param("--projection", null, "PROJECTION_NAME", "Only generate artifacts for this projection.");
             printer.param("--plugin", null, "PLUGIN_NAME", "Only generate artifacts for this plugin.");
+            printer.option("--cache", null, "Restore plugin artifacts from a cache if their inputs are unchanged.");
+            printer.param("--cache-dir", null, "CACHE_PATH",
+                          "Directory of the plugin cache. Implies --cache. Defaults to a directory in the system "
+                          + "temp directory.");
         }
     }
 
@@ -125,7 +143,7 @@ final class BuildCommand implements Command {
         }
 
         Supplier<ModelAssembler> modelAssemblerSupplier = () -> {
-            ModelAssembler assembler = Model.assembler(classLoader);
+            ModelAssembler assembler = DaemonCaches.modelAssembler(classLoader);
             if (buildOptions.allowUnknownTraits()) {
                 assembler.putProperty(ModelAssembler.ALLOW_UNKNOWN_TRAITS, true);
             }
@@ -147,6 +165,14 @@ final class BuildCommand implements Command {
             smithyBuild.projectionFilter(name -> name.equals(options.projection));
         }
 
+        PluginCache pluginCache = null;
+        if (options.cacheDir != null) {
+            pluginCache = PluginCache.create(Paths.get(options.cacheDir));
+        } else if (options.cache) {
+            pluginCache = PluginCache.create(CliCache.getPluginCache().getPath());
+        }
+        smithyBuild.pluginCache(pluginCache);
+
         // Register sources with the builder.
         models.forEach(path -> smithyBuild.registerSources(Paths.get(path)));
 
@@ -162,6 +188,10 @@ final class BuildCommand implements Command {
                                        resultConsumer.projectionCount,
                                        resultConsumer.pluginCount,
                                        resultConsumer.artifactCount));
+                if (pluginCache != null) {
+                    buffer.println(String.format("Plugin cache: %d hit(s), %d miss(es)",
+                                                 pluginCache.getHits(), pluginCache.getMisses()));
+                }
             }
         }
 
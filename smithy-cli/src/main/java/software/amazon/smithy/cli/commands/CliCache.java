@@ -20,6 +20,14 @@ interface CliCache {
         return () -> ROOT_CACHE_DIR.resolve("templates");
     }
 
+    static CliCache getPluginCache() {
+        return () -> ROOT_CACHE_DIR.resolve("plugins");
+    }
+
+    static CliCache getDaemonCache() {
+        return () -> ROOT_CACHE_DIR.resolve("daemons");
+    }
+
     Path getPath();
 
     default boolean clear() {
@@ -0,0 +1,146 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.ValidatorFactory;
+
+/**
+ * Caches that let commands served by a {@code smithy daemon} reuse work done by earlier commands.
+ *
+ * <p>Caching is disabled unless the CLI is running as a daemon, since a
+ * single command has nothing to reuse.
+ */
+final class DaemonCaches {
+
+    private static final Logger LOGGER = Logger.getLogger(DaemonCaches.class.getName());
+    private static final int MAX_CLASS_LOADERS = 4;
+
+    private static volatile boolean enabled;
+
+    // Class loaders of resolved dependencies, keyed by the artifacts they load.
+    private static final Map<String, ClassLoader> CLASS_LOADERS = new LinkedHashMap<String, ClassLoader>(
+            MAX_CLASS_LOADERS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ClassLoader> eldest) {
+            if (size() <= MAX_CLASS_LOADERS) {
+                return false;
+            }
+            close(eldest.getValue());
+            return true;
+        }
+    };
+
+    // Trait and validator factories found with ServiceLoader, keyed by the class loader used to find them.
+    private static final Map<ClassLoader, Factories> FACTORIES = new WeakHashMap<>();
+
+    private DaemonCaches() {}
+
+    private static final class Factories {
+        final TraitFactory traitFactory;
+        final ValidatorFactory validatorFactory;
+
+        Factories(ClassLoader classLoader) {
+            traitFactory = TraitFactory.createServiceFactory(classLoader);
+            validatorFactory = ValidatorFactory.createServiceFactory(classLoader);
+        }
+    }
+
+    static void enable() {
+        enabled = true;
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets a class loader for the given artifacts, reusing a previously created loader if possible.
+     *
+     * <p>Loaders are reused only if every artifact has the same size and
+     * last modified time as when the loader was created.
+     *
+     * @param artifacts Artifacts to load.
+     * @param parent Parent class loader.
+     * @param factory Creates a class loader when none can be reused.
+     * @return Returns the class loader.
+     */
+    static ClassLoader classLoader(Collection<Path> artifacts, ClassLoader parent, Supplier<ClassLoader> factory) {
+        if (!enabled) {
+            return factory.get();
+        }
+
+        StringBuilder key = new StringBuilder();
+        key.append(System.identityHashCode(parent)).append('\n');
+        for (Path artifact : artifacts) {
+            key.append(artifact);
+            try {
+                key.append(':').append(Files.size(artifact))
+                        .append(':').append(Files.getLastModifiedTime(artifact).toMillis());
+            } catch (IOException e) {
+                // Missing artifacts fail when loaded, so don't reuse a loader for them.
+                return factory.get();
+            }
+            key.append('\n');
+        }
+
+        synchronized (CLASS_LOADERS) {
+            ClassLoader result = CLASS_LOADERS.get(key.toString());
+            if (result == null) {
+                result = factory.get();
+                CLASS_LOADERS.put(key.toString(), result);
+            } else {
+                LOGGER.fine(() -> "Reusing dependency class loader for " + artifacts);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Creates a model assembler that discovers traits and validators using the given class loader.
+     *
+     * <p>Services are only discovered once per class loader when caching is enabled.
+     *
+     * @param classLoader Class loader used to discover services.
+     * @return Returns the created assembler.
+     */
+    static ModelAssembler modelAssembler(ClassLoader classLoader) {
+        if (!enabled) {
+            return Model.assembler(classLoader);
+        }
+
+        Factories factories;
+        synchronized (FACTORIES) {
+            factories = FACTORIES.computeIfAbsent(classLoader, Factories::new);
+        }
+
+        return Model.assembler()
+                .traitFactory(factories.traitFactory)
+                .validatorFactory(factories.validatorFactory);
+    }
+
+    private static void close(ClassLoader classLoader) {
+        if (classLoader instanceof URLClassLoader) {
+            try {
+                ((URLClassLoader) classLoader).close();
+            } catch (IOException e) {
+                LOGGER.fine(() -> "Unable to close class loader: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+import software.amazon.smithy.cli.CliError;
+import software.amazon.smithy.cli.Command;
+import software.amazon.smithy.cli.SmithyCli;
+import software.amazon.smithy.cli.StandardOptions;
+
+/**
+ * Sends commands to a {@link DaemonServer}, starting one if necessary.
+ */
+final class DaemonClient {
+
+    private static final Logger LOGGER = Logger.getLogger(DaemonClient.class.getName());
+    private static final long START_TIMEOUT_MILLIS = 30000;
+    private static final long START_POLL_MILLIS = 50;
+
+    private final Path workingDirectory;
+    private final Duration idleTimeout;
+    private final String fingerprint = DaemonProtocol.fingerprint();
+
+    DaemonClient(Path workingDirectory, Duration idleTimeout) {
+        this.workingDirectory = workingDirectory;
+        this.idleTimeout = idleTimeout;
+    }
+
+    private static final class Response {
+        final boolean restart;
+        final int code;
+
+        Response(boolean restart, int code) {
+            this.restart = restart;
+            this.code = code;
+        }
+    }
+
+    /**
+     * Runs a CLI command using the daemon, starting a daemon if none is running.
+     *
+     * <p>If the daemon was started with a different classpath, it is
+     * replaced with a new daemon and the command is retried.
+     *
+     * @param args CLI arguments, starting with the command name.
+     * @param env CLI environment to write output to.
+     * @return Returns the exit code of the command.
+     */
+    int run(List<String> args, Command.Env env) {
+        List<String> resolvedArgs = addColorSetting(args, env);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            DaemonProtocol.State state = start();
+            Response response = send(state, DaemonProtocol.REQUEST_RUN, resolvedArgs, env);
+            if (response != null && !response.restart) {
+                return response.code;
+            }
+            LOGGER.fine("Smithy daemon needs to be restarted");
+            state.delete();
+        }
+
+        throw new CliError("Unable to run command using the Smithy daemon for " + workingDirectory);
+    }
+
+    /**
+     * Prints the status of the daemon.
+     *
+     * @param env CLI environment to write output to.
+     * @return Returns 0 if a daemon is running, or 1 if not.
+     */
+    int status(Command.Env env) {
+        DaemonProtocol.State state = DaemonProtocol.State.load(DaemonProtocol.State.resolveFile(workingDirectory));
+        Response response = state == null
+                ? null
+                : send(state, DaemonProtocol.REQUEST_STATUS, Collections.emptyList(), env);
+        if (response == null) {
+            env.stdout().println("No Smithy daemon is running for " + workingDirectory);
+            return 1;
+        }
+        return response.code;
+    }
+
+    /**
+     * Stops the daemon if one is running.
+     *
+     * @param env CLI environment to write output to.
+     * @return Returns the exit code.
+     */
+    int stop(Command.Env env) {
+        DaemonProtocol.State state = DaemonProtocol.State.load(DaemonProtocol.State.resolveFile(workingDirectory));
+        if (state == null || send(state, DaemonProtocol.REQUEST_STOP, Collections.emptyList(), env) == null) {
+            env.stderr().println("No Smithy daemon is running for " + workingDirectory);
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the running daemon, or starts a daemon in a new process.
+     *
+     * @return Returns the state of the running daemon.
+     */
+    DaemonProtocol.State start() {
+        Path stateFile = DaemonProtocol.State.resolveFile(workingDirectory);
+        DaemonProtocol.State state = findLiveDaemon(stateFile);
+        if (state != null) {
+            return state;
+        }
+
+        // Lock to prevent concurrent clients from starting more than one daemon.
+        Path lockFile = stateFile.resolveSibling(stateFile.getFileName() + ".lock");
+        try {
+            Files.createDirectories(lockFile.getParent());
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+                                                        StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                state = findLiveDaemon(stateFile);
+                return state != null ? state : spawn(stateFile);
+            }
+        } catch (IOException e) {
+            throw new CliError("Unable to start the Smithy daemon: " + e.getMessage(), 1, e);
+        }
+    }
+
+    private DaemonProtocol.State findLiveDaemon(Path stateFile) {
+        DaemonProtocol.State state = DaemonProtocol.State.load(stateFile);
+        if (state == null) {
+            return null;
+        } else if (!fingerprint.equals(state.fingerprint)) {
+            LOGGER.fine("Replacing Smithy daemon that uses a different classpath");
+            stopQuietly(state);
+            return null;
+        } else if (!isReachable(state)) {
+            // The daemon exited without removing its state file.
+            state.delete();
+            return null;
+        }
+        return state;
+    }
+
+    private DaemonProtocol.State spawn(Path stateFile) throws IOException {
+        Path javaHome = Paths.get(System.getProperty("java.home"));
+        Path java = javaHome.resolve("bin").resolve("java");
+        if (!Files.exists(java)) {
+            java = javaHome.resolve("bin").resolve("java.exe");
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(java.toString());
+        command.add("-classpath");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SmithyCli.class.getName());
+        command.add("daemon");
+        command.add("serve");
+        command.add("--idle-timeout");
+        command.add(String.valueOf(idleTimeout.getSeconds()));
+
+        Path logFile = DaemonProtocol.State.resolveLogFile(workingDirectory);
+        LOGGER.fine(() -> "Starting Smithy daemon: " + command);
+        Process process = new ProcessBuilder(command)
+                .directory(workingDirectory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(logFile.toFile()))
+                .start();
+        process.getOutputStream().close();
+
+        long deadline = System.currentTimeMillis() + START_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            DaemonProtocol.State state = DaemonProtocol.State.load(stateFile);
+            if (state != null && fingerprint.equals(state.fingerprint) && isReachable(state)) {
+                return state;
+            } else if (!process.isAlive()) {
+                throw new CliError("The Smithy daemon exited with code " + process.exitValue() + ". See "
+                                   + logFile + " for details.");
+            }
+            try {
+                Thread.sleep(START_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CliError("Interrupted while starting the Smithy daemon", 1, e);
+            }
+        }
+
+        process.destroy();
+        throw new CliError("Timed out waiting for the Smithy daemon to start. See " + logFile + " for details.");
+    }
+
+    private boolean isReachable(DaemonProtocol.State state) {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), state.port)) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void stopQuietly(DaemonProtocol.State state) {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), state.port)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DaemonProtocol.writeRequest(out, createRequest(state, DaemonProtocol.REQUEST_STOP,
+                                                           Collections.emptyList()));
+            socket.getInputStream().read();
+        } catch (IOException e) {
+            state.delete();
+        }
+    }
+
+    // Sends a request and copies its output to the environment, returning null if the daemon is unreachable.
+    private Response send(DaemonProtocol.State state, byte kind, List<String> args, Command.Env env) {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), state.port)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DaemonProtocol.writeRequest(out, createRequest(state, kind, args));
+
+            while (true) {
+                byte type = in.readByte();
+                String payload = DaemonProtocol.readString(in);
+                switch (type) {
+                    case DaemonProtocol.FRAME_STDOUT:
+                        env.stdout().append(payload).flush();
+                        break;
+                    case DaemonProtocol.FRAME_STDERR:
+                        env.stderr().append(payload).flush();
+                        break;
+                    case DaemonProtocol.FRAME_EXIT:
+                        return new Response(false, Integer.parseInt(payload));
+                    case DaemonProtocol.FRAME_RESTART:
+                        return new Response(true, 1);
+                    default:
+                        throw new CliError("Unknown Smithy daemon response frame: " + type);
+                }
+            }
+        } catch (ConnectException e) {
+            return null;
+        } catch (IOException e) {
+            throw new CliError("Error communicating with the Smithy daemon: " + e.getMessage(), 1, e);
+        }
+    }
+
+    private DaemonProtocol.Request createRequest(DaemonProtocol.State state, byte kind, List<String> args) {
+        return new DaemonProtocol.Request(kind, state.token, workingDirectory.toString(), fingerprint, args);
+    }
+
+    // The daemon has no terminal to detect colors with, so the client's color setting is sent with the command.
+    private static List<String> addColorSetting(List<String> args, Command.Env env) {
+        if (args.contains(StandardOptions.FORCE_COLOR) || args.contains(StandardOptions.NO_COLOR)) {
+            return args;
+        }
+
+        List<String> result = new ArrayList<>(args);
+        result.add(1, env.colors().isColorEnabled() ? StandardOptions.FORCE_COLOR : StandardOptions.NO_COLOR);
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import software.amazon.smithy.cli.ArgumentReceiver;
+import software.amazon.smithy.cli.Arguments;
+import software.amazon.smithy.cli.Cli;
+import software.amazon.smithy.cli.CliError;
+import software.amazon.smithy.cli.ColorFormatter;
+import software.amazon.smithy.cli.ColorTheme;
+import software.amazon.smithy.cli.Command;
+import software.amazon.smithy.cli.HelpPrinter;
+import software.amazon.smithy.cli.dependencies.DependencyResolver;
+
+final class DaemonCommand implements Command {
+
+    private static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 1800;
+
+    private final String parentCommandName;
+    private final DependencyResolver.Factory dependencyResolverFactory;
+
+    DaemonCommand(String parentCommandName, DependencyResolver.Factory dependencyResolverFactory) {
+        this.parentCommandName = parentCommandName;
+        this.dependencyResolverFactory = dependencyResolverFactory;
+    }
+
+    @Override
+    public String getName() {
+        return "daemon";
+    }
+
+    @Override
+    public String getSummary() {
+        return "Runs commands in a background JVM that stays warm between invocations.";
+    }
+
+    @Override
+    public int execute(Arguments arguments, Env env) {
+        arguments.addReceiver(new Options());
+        CommandAction action = HelpActionWrapper.fromCommand(
+                this, parentCommandName, this::getDocumentation, this::run);
+        return action.apply(arguments, env);
+    }
+
+    private static final class Options implements ArgumentReceiver {
+        private long idleTimeoutSeconds = DEFAULT_IDLE_TIMEOUT_SECONDS;
+
+        @Override
+        public Consumer<String> testParameter(String name) {
+            if (name.equals("--idle-timeout")) {
+                return value -> {
+                    try {
+                        idleTimeoutSeconds = Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new CliError("Invalid --idle-timeout value: " + value);
+                    }
+                    if (idleTimeoutSeconds < 0) {
+                        throw new CliError("--idle-timeout must not be negative: " + value);
+                    }
+                };
+            }
+            return null;
+        }
+
+        @Override
+        public void registerHelp(HelpPrinter printer) {
+            printer.param("--idle-timeout", null, "SECONDS",
+                          "Stop the daemon after it receives no commands for this long. Set to 0 to never stop. "
+                          + "Defaults to " + DEFAULT_IDLE_TIMEOUT_SECONDS + ".");
+        }
+    }
+
+    private String getDocumentation(ColorFormatter colors) {
+        String ls = System.lineSeparator();
+        return "A daemon serves the commands of a single working directory. Commands sent to it reuse the "
+               + "loaded prelude, discovered traits and validators, and resolved dependency class loaders of "
+               + "earlier commands." + ls + ls
+               + colors.style("run <command> [<args>]", ColorTheme.LITERAL)
+               + ": runs a command, starting a daemon if necessary. For example, "
+               + colors.style("smithy daemon run validate model/", ColorTheme.LITERAL) + "." + ls
+               + colors.style("start", ColorTheme.LITERAL) + ": starts a daemon in the background." + ls
+               + colors.style("stop", ColorTheme.LITERAL) + ": stops the running daemon." + ls
+               + colors.style("status", ColorTheme.LITERAL) + ": shows whether a daemon is running." + ls
+               + colors.style("serve", ColorTheme.LITERAL) + ": runs a daemon in the foreground." + ls + ls
+               + "A daemon is replaced automatically when the CLI's classpath or SMITHY_* environment "
+               + "variables change.";
+    }
+
+    private int run(Arguments arguments, Env env) {
+        List<String> positional = arguments.getPositional();
+        if (positional.isEmpty()) {
+            throw new CliError("Expected one of: run, start, stop, status, serve");
+        }
+
+        Options options = arguments.getReceiver(Options.class);
+        Duration idleTimeout = Duration.ofSeconds(options.idleTimeoutSeconds);
+        Path workingDirectory = Paths.get("").toAbsolutePath().normalize();
+        DaemonClient client = new DaemonClient(workingDirectory, idleTimeout);
+        String action = positional.get(0);
+
+        switch (action) {
+            case "run":
+                if (positional.size() < 2) {
+                    throw new CliError("Expected a command to run, for example: smithy daemon run validate");
+                }
+                return client.run(positional.subList(1, positional.size()), env);
+            case "start":
+                client.start();
+                return 0;
+            case "stop":
+                return client.stop(env);
+            case "status":
+                return client.status(env);
+            case "serve":
+                ClassLoader classLoader = env.classLoader();
+                DaemonCaches.enable();
+                new DaemonServer(workingDirectory, idleTimeout,
+                                 () -> new Cli(new SmithyCommand(dependencyResolverFactory), classLoader)).serve();
+                return 0;
+            default:
+                throw new CliError("Unknown daemon action: " + action);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.smithy.cli.SmithyCli;
+
+/**
+ * Wire format and shared state used by the {@code smithy daemon} client and server.
+ *
+ * <p>Every value is written as a length-prefixed UTF-8 string. A request
+ * starts with the protocol version, the daemon's token, the request kind,
+ * the client's working directory and classpath fingerprint, and the CLI
+ * arguments. The server responds with a sequence of frames, each starting
+ * with a frame type, that ends with an exit or restart frame.
+ */
+final class DaemonProtocol {
+
+    static final int VERSION = 1;
+
+    // Limits on what the server reads from a client, so that a request can't make it allocate unbounded memory.
+    static final int MAX_TOKEN_LENGTH = 256;
+    static final int MAX_REQUEST_STRING_LENGTH = 1024 * 1024;
+    static final int MAX_REQUEST_ARGS = 4096;
+
+    static final byte REQUEST_RUN = 1;
+    static final byte REQUEST_STATUS = 2;
+    static final byte REQUEST_STOP = 3;
+
+    static final byte FRAME_STDOUT = 1;
+    static final byte FRAME_STDERR = 2;
+    static final byte FRAME_EXIT = 3;
+    static final byte FRAME_RESTART = 4;
+
+    private DaemonProtocol() {}
+
+    static final class Request {
+        final byte kind;
+        final String token;
+        final String workingDirectory;
+        final String fingerprint;
+        final List<String> args;
+
+        Request(byte kind, String token, String workingDirectory, String fingerprint, List<String> args) {
+            this.kind = kind;
+            this.token = token;
+            this.workingDirectory = workingDirectory;
+            this.fingerprint = fingerprint;
+            this.args = args;
+        }
+    }
+
+    /**
+     * Location, port, and token of a daemon serving a working directory.
+     */
+    static final class State {
+        final Path file;
+        final int port;
+        final String token;
+        final String fingerprint;
+
+        State(Path file, int port, String token, String fingerprint) {
+            this.file = file;
+            this.port = port;
+            this.token = token;
+            this.fingerprint = fingerprint;
+        }
+
+        static Path resolveFile(Path workingDirectory) {
+            String name = sha256(workingDirectory.toString()).substring(0, 16);
+            return CliCache.getDaemonCache().getPath().resolve(name + ".properties");
+        }
+
+        static Path resolveLogFile(Path workingDirectory) {
+            Path file = resolveFile(workingDirectory);
+            return file.resolveSibling(file.getFileName().toString().replace(".properties", ".log"));
+        }
+
+        static State load(Path file) {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+
+            Properties properties = new Properties();
+            try (InputStream stream = Files.newInputStream(file)) {
+                properties.load(stream);
+                return new State(file,
+                                 Integer.parseInt(properties.getProperty("port")),
+                                 properties.getProperty("token"),
+                                 properties.getProperty("fingerprint"));
+            } catch (IOException | RuntimeException e) {
+                // The state file is being written or is corrupt, so treat the daemon as missing.
+                return null;
+            }
+        }
+
+        void write() {
+            Properties properties = new Properties();
+            properties.setProperty("port", String.valueOf(port));
+            properties.setProperty("token", token);
+            properties.setProperty("fingerprint", fingerprint);
+
+            try {
+                Files.createDirectories(file.getParent());
+                Path temp = Files.createTempFile(file.getParent(), "daemon", ".tmp");
+                try {
+                    // Only the current user can read the token used to connect to the daemon.
+                    Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+                } catch (UnsupportedOperationException e) {
+                    // Not a POSIX file system.
+                }
+                try (OutputStream stream = Files.newOutputStream(temp)) {
+                    properties.store(stream, "Smithy CLI daemon");
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void delete() {
+            // Only delete the file if another daemon hasn't replaced it.
+            State current = load(file);
+            if (current != null && current.token.equals(token)) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // Ignore; the client treats unreachable daemons as stopped.
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes a fingerprint of everything that requires a new daemon when changed.
+     *
+     * <p>This includes the CLI version, the JVM, the JARs and directories on
+     * the classpath of the CLI, and Smithy environment variables.
+     *
+     * @return Returns the computed fingerprint.
+     */
+    static String fingerprint() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(SmithyCli.getVersion()).append('\n');
+        builder.append(System.getProperty("java.home")).append('\n');
+
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                appendClasspathEntry(builder, Paths.get(entry));
+            }
+        }
+
+        for (Map.Entry<String, String> entry : new TreeMap<>(System.getenv()).entrySet()) {
+            if (entry.getKey().startsWith("SMITHY_")) {
+                builder.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+            }
+        }
+
+        return sha256(builder.toString());
+    }
+
+    private static void appendClasspathEntry(StringBuilder builder, Path entry) {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(entry)) {
+            try (Stream<Path> walk = Files.walk(entry)) {
+                files.addAll(walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            files.add(entry);
+        }
+
+        for (Path file : files) {
+            builder.append(file);
+            try {
+                builder.append(':').append(Files.size(file))
+                        .append(':').append(Files.getLastModifiedTime(file).toMillis());
+            } catch (IOException e) {
+                builder.append(":missing");
+            }
+            builder.append('\n');
+        }
+    }
+
+    static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder result = new StringBuilder();
+            for (byte b : digest.digest(value.getBytes(StandardCharsets.UTF_8))) {
+                result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void writeRequest(DataOutputStream out, Request request) throws IOException {
+        out.writeInt(VERSION);
+        writeString(out, request.token);
+        out.writeByte(request.kind);
+        writeString(out, request.workingDirectory);
+        writeString(out, request.fingerprint);
+        out.writeInt(request.args.size());
+        for (String arg : request.args) {
+            writeString(out, arg);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads the start of a request, up to and including its token.
+     *
+     * <p>The token is read before anything else so that the server can
+     * reject unauthenticated clients before reading the rest of the request.
+     *
+     * @param in Stream to read from.
+     * @return Returns the token sent by the client.
+     * @throws IOException if the request is invalid or can't be read.
+     */
+    static String readToken(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported Smithy daemon protocol version: " + version);
+        }
+        return readString(in, MAX_TOKEN_LENGTH);
+    }
+
+    /**
+     * Reads the rest of a request after its token.
+     *
+     * @param in Stream to read from.
+     * @param token Token that was read using {@link #readToken}.
+     * @return Returns the request.
+     * @throws IOException if the request is invalid or can't be read.
+     */
+    static Request readRequest(DataInputStream in, String token) throws IOException {
+        byte kind = in.readByte();
+        String workingDirectory = readString(in, MAX_REQUEST_STRING_LENGTH);
+        String fingerprint = readString(in, MAX_REQUEST_STRING_LENGTH);
+        int argCount = in.readInt();
+        if (argCount < 0 || argCount > MAX_REQUEST_ARGS) {
+            throw new IOException("Invalid Smithy daemon argument count: " + argCount);
+        }
+        List<String> args = new ArrayList<>(argCount);
+        for (int i = 0; i < argCount; i++) {
+            args.add(readString(in, MAX_REQUEST_STRING_LENGTH));
+        }
+        return new Request(kind, token, workingDirectory, fingerprint, args);
+    }
+
+    static void writeFrame(DataOutputStream out, byte type, String payload) throws IOException {
+        out.writeByte(type);
+        writeString(out, payload);
+        out.flush();
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        return readString(in, Integer.MAX_VALUE);
+    }
+
+    static String readString(DataInputStream in, int maxLength) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > maxLength) {
+            throw new IOException("Invalid Smithy daemon string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import software.amazon.smithy.cli.Cli;
+import software.amazon.smithy.cli.CliError;
+import software.amazon.smithy.cli.CliPrinter;
+
+/**
+ * Serves CLI commands from a long-running JVM.
+ *
+ * <p>The server listens on a loopback socket and writes its port and a
+ * random token to a state file that is only readable by the current user.
+ * Requests are served one at a time, since commands configure process-wide
+ * state like logging. The server shuts down when it is idle for too long,
+ * when asked to stop, or when the classpath of the CLI changes.
+ */
+final class DaemonServer {
+
+    private static final Logger LOGGER = Logger.getLogger(DaemonServer.class.getName());
+    private static final Duration REQUEST_READ_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Path workingDirectory;
+    private final Duration idleTimeout;
+    private final Duration requestReadTimeout;
+    private final Supplier<Cli> cliFactory;
+    private final String fingerprint = DaemonProtocol.fingerprint();
+    private final String token = createToken();
+    private final long startTime = System.currentTimeMillis();
+    private int requestCount;
+
+    /**
+     * @param workingDirectory Working directory that requests must come from.
+     * @param idleTimeout Time to wait for a request before shutting down, or zero to wait forever.
+     * @param cliFactory Creates the CLI used to run each command.
+     */
+    DaemonServer(Path workingDirectory, Duration idleTimeout, Supplier<Cli> cliFactory) {
+        this(workingDirectory, idleTimeout, REQUEST_READ_TIMEOUT, cliFactory);
+    }
+
+    /**
+     * @param workingDirectory Working directory that requests must come from.
+     * @param idleTimeout Time to wait for a request before shutting down, or zero to wait forever.
+     * @param requestReadTimeout Time to wait for a client to send its request before dropping it.
+     * @param cliFactory Creates the CLI used to run each command.
+     */
+    DaemonServer(Path workingDirectory, Duration idleTimeout, Duration requestReadTimeout,
+                 Supplier<Cli> cliFactory) {
+        this.workingDirectory = workingDirectory;
+        this.idleTimeout = idleTimeout;
+        this.requestReadTimeout = requestReadTimeout;
+        this.cliFactory = cliFactory;
+    }
+
+    /**
+     * Serves requests until the daemon shuts down.
+     *
+     * @throws UncheckedIOException if the server socket can't be created.
+     */
+    void serve() {
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout((int) Math.min(idleTimeout.toMillis(), Integer.MAX_VALUE));
+            DaemonProtocol.State state = new DaemonProtocol.State(
+                    DaemonProtocol.State.resolveFile(workingDirectory), server.getLocalPort(), token, fingerprint);
+            state.write();
+            LOGGER.info(() -> "Smithy daemon listening on port " + server.getLocalPort() + " for " + workingDirectory);
+
+            try {
+                boolean running = true;
+                while (running) {
+                    Socket accepted;
+                    try {
+                        accepted = server.accept();
+                    } catch (SocketTimeoutException e) {
+                        // Only the accept timeout means the daemon is idle; reading a request has its own timeout.
+                        LOGGER.info(() -> "Stopping Smithy daemon after being idle for " + idleTimeout);
+                        break;
+                    }
+                    try (Socket socket = accepted) {
+                        running = handle(socket);
+                    } catch (EOFException e) {
+                        // Clients connect without sending a request to check if the daemon is running.
+                        LOGGER.finest("Smithy daemon client disconnected without a request");
+                    } catch (IOException | UncheckedIOException e) {
+                        LOGGER.warning(() -> "Error handling Smithy daemon request: " + e.getMessage());
+                    }
+                }
+            } finally {
+                state.delete();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Handles a request, returning false if the daemon should stop.
+    private boolean handle(Socket socket) throws IOException {
+        socket.setSoTimeout((int) Math.min(requestReadTimeout.toMillis(), Integer.MAX_VALUE));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        DaemonProtocol.Request request;
+
+        try {
+            // Check the token before reading the rest of the request from the client.
+            String requestToken = DaemonProtocol.readToken(in);
+            if (!MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                                       requestToken.getBytes(StandardCharsets.UTF_8))) {
+                DaemonProtocol.writeFrame(out, DaemonProtocol.FRAME_STDERR, "Invalid Smithy daemon token\n");
+                DaemonProtocol.writeFrame(out, DaemonProtocol.FRAME_EXIT, "1");
+                return true;
+            }
+            request = DaemonProtocol.readRequest(in, requestToken);
+        } catch (SocketTimeoutException e) {
+            LOGGER.warning(() -> "Dropped Smithy daemon request that wasn't received within " + requestReadTimeout);
+            return true;
+        }
+        socket.setSoTimeout(0);
+
+        switch (request.kind) {
+            case DaemonProtocol.REQUEST_STOP:
+                DaemonProtocol.writeFrame(out, DaemonProtocol.FRAME_EXIT, "0");
+                return false;
+            case DaemonProtocol.REQUEST_STATUS:
+                DaemonProtocol.writeFrame(out, DaemonProtocol.FRAME_STDOUT, String.format(
+                        "Smithy daemon serving %s on port %d: up %d s, %d request(s) served%n",
+                        workingDirectory, socket.getLocalPort(),
+                        (System.currentTimeMillis() - startTime) / 1000, requestCount));
+                DaemonProtocol.writeFrame(out, DaemonProtocol.FRAME_EXIT, "0");
+                return true;
+            case DaemonProtocol.REQUEST_RUN:
+                // Restart when the client or the daemon's own JARs no longer match the loaded classes.
+                if (!fingerprint.equals(request.fingerprint) || !fingerprint.equals(DaemonProtocol.fingerprint())) {
+                    LOGGER.info("Stopping Smithy daemon because the CLI classpath changed");
+                    DaemonProtocol.writeFrame(out, DaemonProtocol.FRAME_RESTART, "");
+                    return false;
+                } else if (!workingDirectory.toString().equals(request.workingDirectory)) {
+                    DaemonProtocol.writeFrame(out, DaemonProtocol.FRAME_STDERR, String.format(
+                            "Smithy daemon serves %s, not %s%n", workingDirectory, request.workingDirectory));
+                    DaemonProtocol.writeFrame(out, DaemonProtocol.FRAME_EXIT, "1");
+                    return true;
+                }
+                requestCount++;
+                int code = run(request.args, out);
+                DaemonProtocol.writeFrame(out, DaemonProtocol.FRAME_EXIT, String.valueOf(code));
+                return true;
+            default:
+                throw new IOException("Unknown Smithy daemon request: " + request.kind);
+        }
+    }
+
+    private int run(List<String> args, DataOutputStream out) {
+        FramePrinter stdout = new FramePrinter(out, DaemonProtocol.FRAME_STDOUT);
+        FramePrinter stderr = new FramePrinter(out, DaemonProtocol.FRAME_STDERR);
+        LOGGER.fine(() -> "Smithy daemon running command: " + args);
+
+        try {
+            if (!args.isEmpty() && args.get(0).equals("daemon")) {
+                stderr.println("The daemon command can't be run by a Smithy daemon");
+                return 1;
+            }
+            Cli cli = cliFactory.get();
+            cli.stdout(stdout);
+            cli.stderr(stderr);
+            return cli.run(args.toArray(new String[0]));
+        } catch (CliError e) {
+            // The CLI already printed the error.
+            return e.code;
+        } finally {
+            stdout.flush();
+            stderr.flush();
+        }
+    }
+
+    private static String createToken() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder result = new StringBuilder();
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+
+    // Sends printed text to the client as frames. Commands can print from multiple threads, and
+    // both printers share a socket, so writes are synchronized on the stream.
+    private static final class FramePrinter implements CliPrinter {
+        private static final int MAX_BUFFER = 8192;
+        private final DataOutputStream out;
+        private final byte frameType;
+        private final StringBuilder buffer = new StringBuilder();
+
+        FramePrinter(DataOutputStream out, byte frameType) {
+            this.out = out;
+            this.frameType = frameType;
+        }
+
+        @Override
+        public CliPrinter append(char c) {
+            synchronized (out) {
+                buffer.append(c);
+                flushIfFull();
+            }
+            return this;
+        }
+
+        @Override
+        public CliPrinter append(CharSequence csq, int start, int end) {
+            synchronized (out) {
+                buffer.append(csq, start, end);
+                flushIfFull();
+            }
+            return this;
+        }
+
+        @Override
+        public void flush() {
+            synchronized (out) {
+                if (buffer.length() > 0) {
+                    try {
+                        DaemonProtocol.writeFrame(out, frameType, buffer.toString());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } finally {
+                        buffer.setLength(0);
+                    }
+                }
+            }
+        }
+
+        private void flushIfFull() {
+            if (buffer.length() >= MAX_BUFFER) {
+                flush();
+            }
+        }
+    }
+}
@@ -38,7 +38,8 @@ final class IsolatedRunnable implements Runnable {
     }
 
     private static ClassLoader createClassLoaderFromPaths(Collection<Path> artifacts, ClassLoader parent) {
-        return new URLClassLoader(createUrlsFromPaths(artifacts), parent);
+        return DaemonCaches.classLoader(artifacts, parent,
+                                        () -> new URLClassLoader(createUrlsFromPaths(artifacts), parent));
     }
 
     private static URL[] createUrlsFromPaths(Collection<Path> paths) {
@@ -317,6 +317,6 @@ final class ModelBuilder {
     }
 
     static ModelAssembler createModelAssembler(ClassLoader classLoader) {
-        return Model.assembler(classLoader).putProperty(ModelAssembler.DISABLE_JAR_CACHE, true);
+        return DaemonCaches.modelAssembler(classLoader).putProperty(ModelAssembler.DISABLE_JAR_CACHE, true);
     }
 }
@@ -88,11 +88,13 @@ final class SelectCommand implements Command {
 
     private String getDocumentation(ColorFormatter colors) {
         return "By default, each matching shape ID is printed to stdout on a new line. Pass --show or --show-traits "
-               + "to get JSON array output.";
+               + "to get JSON array output. Pass --explain to print how the selector is evaluated instead of "
+               + "its matches.";
     }
 
     private static final class Options implements ArgumentReceiver {
         private Selector selector;
+        private boolean explain;
         private final List<ShapeId> showTraits = new ArrayList<>();
         private final Set<Show> show = new TreeSet<>();
 
@@ -158,6 +160,9 @@ final class SelectCommand implements Command {
                 case "--vars":
                 case "--show-vars":
                     return deprecatedVars(name);
+                case "--explain":
+                    explain = true;
+                    return true;
                 default:
                     return false;
             }
@@ -201,6 +206,9 @@ final class SelectCommand implements Command {
 
         @Override
         public void registerHelp(HelpPrinter printer) {
+            printer.option("--explain", null,
+                           "Prints how the selector is evaluated, including the shapes sent through the selector "
+                           + "and the order of its filters, instead of the shapes that match.");
             printer.param("--selector", null, "SELECTOR",
                           "The Smithy selector to execute. Reads from STDIN when not provided.");
             printer.param("--show", null, "DATA",
@@ -253,6 +261,12 @@ final class SelectCommand implements Command {
     }
 
     enum OutputFormat {
+        EXPLAIN {
+            @Override
+            void dumpResults(Selector selector, Model model, Options options, CliPrinter stdout) {
+                stdout.append(selector.explain(model));
+            }
+        },
         SHAPE_ID_LINES {
             @Override
             void dumpResults(Selector selector, Model model, Options options, CliPrinter stdout) {
@@ -290,6 +304,9 @@ final class SelectCommand implements Command {
         abstract void dumpResults(Selector selector, Model model, Options options, CliPrinter stdout);
 
         static OutputFormat determineFormat(Options options) {
+            if (options.explain) {
+                return EXPLAIN;
+            }
             return options.showTraits.isEmpty() && options.show.isEmpty() ? SHAPE_ID_LINES : JSON;
         }
     }
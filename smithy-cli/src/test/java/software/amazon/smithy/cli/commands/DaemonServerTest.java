@@ -0,0 +1,242 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.cli.AnsiColorFormatter;
+import software.amazon.smithy.cli.Arguments;
+import software.amazon.smithy.cli.Cli;
+import software.amazon.smithy.cli.CliError;
+import software.amazon.smithy.cli.CliPrinter;
+import software.amazon.smithy.cli.Command;
+import software.amazon.smithy.utils.IoUtils;
+
+public class DaemonServerTest {
+
+    private Path workingDirectory;
+    private Thread serverThread;
+    private final List<List<String>> received = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    public void before() throws Exception {
+        workingDirectory = Files.createTempDirectory("smithy-daemon-test").toRealPath();
+        DaemonServer server = new DaemonServer(workingDirectory, Duration.ZERO, Duration.ofMillis(500),
+                                               () -> new Cli(new EchoCommand(), null));
+        serverThread = new Thread(server::serve);
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        Path stateFile = DaemonProtocol.State.resolveFile(workingDirectory);
+        for (int i = 0; i < 200 && DaemonProtocol.State.load(stateFile) == null; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @AfterEach
+    public void after() throws Exception {
+        new DaemonClient(workingDirectory, Duration.ZERO).stop(createEnv(new Output(), new Output()));
+        serverThread.join(5000);
+        IoUtils.rmdir(workingDirectory);
+    }
+
+    @Test
+    public void runsCommandsAndReturnsOutput() {
+        Output stdout = new Output();
+        Output stderr = new Output();
+        DaemonClient client = new DaemonClient(workingDirectory, Duration.ZERO);
+
+        int code = client.run(Arrays.asList("echo", "a", "b"), createEnv(stdout, stderr));
+
+        assertThat(code, equalTo(0));
+        assertThat(stdout.toString(), equalTo("a b\n"));
+        assertThat(received.get(0), equalTo(Arrays.asList("a", "b")));
+    }
+
+    @Test
+    public void returnsCommandErrors() {
+        Output stdout = new Output();
+        Output stderr = new Output();
+        DaemonClient client = new DaemonClient(workingDirectory, Duration.ZERO);
+
+        int code = client.run(Arrays.asList("echo", "fail"), createEnv(stdout, stderr));
+
+        assertThat(code, equalTo(3));
+        assertThat(stderr.toString(), containsString("failed"));
+    }
+
+    @Test
+    public void reusesRunningDaemon() {
+        DaemonClient client = new DaemonClient(workingDirectory, Duration.ZERO);
+        Output stdout = new Output();
+
+        client.run(Arrays.asList("echo", "1"), createEnv(stdout, new Output()));
+        client.run(Arrays.asList("echo", "2"), createEnv(stdout, new Output()));
+        int code = client.status(createEnv(stdout, new Output()));
+
+        assertThat(code, equalTo(0));
+        assertThat(stdout.toString(), containsString("2 request(s) served"));
+    }
+
+    @Test
+    public void refusesNestedDaemonCommands() {
+        Output stderr = new Output();
+        DaemonClient client = new DaemonClient(workingDirectory, Duration.ZERO);
+
+        int code = client.run(Arrays.asList("daemon", "stop"), createEnv(new Output(), stderr));
+
+        assertThat(code, equalTo(1));
+        assertThat(stderr.toString(), containsString("can't be run by a Smithy daemon"));
+        assertThat(received.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void stopsAndRemovesStateFile() throws Exception {
+        Path stateFile = DaemonProtocol.State.resolveFile(workingDirectory);
+        assertThat(DaemonProtocol.State.load(stateFile), notNullValue());
+
+        new DaemonClient(workingDirectory, Duration.ZERO).stop(createEnv(new Output(), new Output()));
+        serverThread.join(5000);
+
+        assertThat(serverThread.isAlive(), equalTo(false));
+        assertThat(DaemonProtocol.State.load(stateFile), nullValue());
+    }
+
+    @Test
+    public void rejectsInvalidTokens() throws IOException {
+        Path stateFile = DaemonProtocol.State.resolveFile(workingDirectory);
+        DaemonProtocol.State state = DaemonProtocol.State.load(stateFile);
+        new DaemonProtocol.State(stateFile, state.port, "invalid", state.fingerprint).write();
+        Output stderr = new Output();
+
+        try {
+            int code = new DaemonClient(workingDirectory, Duration.ZERO)
+                    .status(createEnv(new Output(), stderr));
+
+            assertThat(code, equalTo(1));
+            assertThat(stderr.toString(), containsString("Invalid Smithy daemon token"));
+        } finally {
+            state.write();
+        }
+    }
+
+    @Test
+    public void keepsServingAfterStalledRequests() throws Exception {
+        DaemonProtocol.State state = DaemonProtocol.State.load(DaemonProtocol.State.resolveFile(workingDirectory));
+
+        try (Socket stalled = new Socket(InetAddress.getLoopbackAddress(), state.port)) {
+            DataOutputStream out = new DataOutputStream(stalled.getOutputStream());
+            out.writeInt(DaemonProtocol.VERSION);
+            out.flush();
+
+            // The stalled request is dropped after its read timeout, and the daemon keeps serving.
+            Output stdout = new Output();
+            int code = new DaemonClient(workingDirectory, Duration.ZERO).status(createEnv(stdout, new Output()));
+
+            assertThat(code, equalTo(0));
+            assertThat(stdout.toString(), containsString("0 request(s) served"));
+            assertThat(serverThread.isAlive(), equalTo(true));
+        }
+    }
+
+    @Test
+    public void rejectsOversizedRequests() throws Exception {
+        DaemonProtocol.State state = DaemonProtocol.State.load(DaemonProtocol.State.resolveFile(workingDirectory));
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), state.port)) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeInt(DaemonProtocol.VERSION);
+            out.writeInt(Integer.MAX_VALUE);
+            out.flush();
+            assertThat(socket.getInputStream().read(), equalTo(-1));
+        }
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), state.port)) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeInt(DaemonProtocol.VERSION);
+            DaemonProtocol.writeString(out, state.token);
+            out.writeByte(DaemonProtocol.REQUEST_RUN);
+            DaemonProtocol.writeString(out, workingDirectory.toString());
+            DaemonProtocol.writeString(out, state.fingerprint);
+            out.writeInt(Integer.MAX_VALUE);
+            out.flush();
+            assertThat(socket.getInputStream().read(), equalTo(-1));
+        }
+
+        int code = new DaemonClient(workingDirectory, Duration.ZERO).status(createEnv(new Output(), new Output()));
+
+        assertThat(code, equalTo(0));
+        assertThat(received.isEmpty(), equalTo(true));
+    }
+
+    private static Command.Env createEnv(Output stdout, Output stderr) {
+        return new Command.Env(AnsiColorFormatter.NO_COLOR, stdout, stderr, DaemonServerTest.class.getClassLoader());
+    }
+
+    private final class EchoCommand implements Command {
+        @Override
+        public String getName() {
+            return "echo";
+        }
+
+        @Override
+        public String getSummary() {
+            return "";
+        }
+
+        @Override
+        public int execute(Arguments arguments, Env env) {
+            // Skip the command name. The color setting added by the client is parsed as a standard option.
+            arguments.shift();
+            List<String> positional = arguments.getPositional();
+            received.add(positional);
+            if (positional.contains("fail")) {
+                throw new CliError("failed", 3);
+            }
+            env.stdout().println(String.join(" ", positional));
+            return 0;
+        }
+    }
+
+    private static final class Output implements CliPrinter {
+        private final StringBuilder builder = new StringBuilder();
+
+        @Override
+        public synchronized CliPrinter append(char c) {
+            builder.append(c);
+            return this;
+        }
+
+        @Override
+        public synchronized CliPrinter append(CharSequence csq, int start, int end) {
+            builder.append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return builder.toString().replace(System.lineSeparator(), "\n");
+        }
+    }
+}
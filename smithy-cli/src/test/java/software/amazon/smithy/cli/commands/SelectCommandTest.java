@@ -53,6 +53,18 @@ public class SelectCommandTest {
         assertThat(result.stdout(), not(containsString("smithy.example#GetFooOutput")));
     }
 
+    @Test
+    public void explainsSelectorInsteadOfPrintingMatches() throws Exception {
+        String model = Paths.get(getClass().getResource("valid-model.smithy").toURI()).toString();
+        CliUtils.Result result = CliUtils.runSmithy("select", "--selector", "[id|name^=Foo] string",
+                                                    "--explain", model);
+
+        assertThat(result.code(), equalTo(0));
+        assertThat(result.stdout(), containsString("Starting shapes:"));
+        assertThat(result.stdout(), containsString("1. string (filter, moved from position 2)"));
+        assertThat(result.stdout(), not(containsString("smithy.example#FooId")));
+    }
+
     @Test
     public void printsJsonVarsToStdout() throws Exception {
         String model = Paths.get(getClass().getResource("valid-model.smithy").toURI()).toString();
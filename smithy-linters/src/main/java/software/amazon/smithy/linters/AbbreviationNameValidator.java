@@ -18,16 +18,20 @@ package software.amazon.smithy.linters;
 import static java.lang.String.format;
 import static software.amazon.smithy.model.validation.ValidationUtils.splitCamelCaseWord;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.NodeMapper;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidatorService;
 import software.amazon.smithy.utils.ListUtils;
@@ -36,7 +40,7 @@ import software.amazon.smithy.utils.ListUtils;
  * Emits a validation event if shapes or member names do not use strict
  * camelCasing (e.g., XmlRequest is preferred over XMLRequest).
  */
-public final class AbbreviationNameValidator extends AbstractValidator {
+public final class AbbreviationNameValidator extends AbstractValidator implements IncrementalValidator {
 
     /**
      * AbbreviationName configuration settings.
@@ -75,7 +79,16 @@ public final class AbbreviationNameValidator extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
-        return model.shapes()
+        return validateShapes(model, model.toSet());
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapes(model, shapes));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<Shape> shapes) {
+        return shapes.stream()
                 .flatMap(shape -> validateShapeName(model, shape))
                 .collect(Collectors.toList());
     }
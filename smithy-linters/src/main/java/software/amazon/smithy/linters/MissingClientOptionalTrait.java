@@ -16,15 +16,19 @@
 package software.amazon.smithy.linters;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.NodeMapper;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.ClientOptionalTrait;
 import software.amazon.smithy.model.traits.DefaultTrait;
 import software.amazon.smithy.model.traits.RequiredTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidatorService;
 
@@ -32,7 +36,7 @@ import software.amazon.smithy.model.validation.ValidatorService;
  * Validates that the clientOptional trait is applied based on the rules
  * defined in the validator.
  */
-public final class MissingClientOptionalTrait extends AbstractValidator {
+public final class MissingClientOptionalTrait extends AbstractValidator implements IncrementalValidator {
 
     /**
      * MissingClientOptionalTrait configuration settings.
@@ -89,8 +93,17 @@ public final class MissingClientOptionalTrait extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getMemberShapes());
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapes(model, shapes, MemberShape.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<MemberShape> members) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (MemberShape member : model.getMemberShapes()) {
+        for (MemberShape member : members) {
             if (member.hasTrait(ClientOptionalTrait.class)) {
                 continue;
             }
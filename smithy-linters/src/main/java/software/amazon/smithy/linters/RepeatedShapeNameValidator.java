@@ -19,13 +19,16 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.NodeMapper;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.UnionShape;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidatorService;
 
@@ -33,7 +36,7 @@ import software.amazon.smithy.model.validation.ValidatorService;
  * Validates that structure members and union member names do not
  * repeat their shape name as prefixes of their member or tag names.
  */
-public final class RepeatedShapeNameValidator extends AbstractValidator {
+public final class RepeatedShapeNameValidator extends AbstractValidator implements IncrementalValidator {
 
     public static final class Config {
         private boolean exactMatch = false;
@@ -64,11 +67,28 @@ public final class RepeatedShapeNameValidator extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getStructureShapes(), model.getUnionShapes());
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model,
+                              IncrementalValidator.getShapes(model, shapes, StructureShape.class),
+                              IncrementalValidator.getShapes(model, shapes, UnionShape.class));
+    }
+
+    private List<ValidationEvent> validateShapes(
+            Model model,
+            Collection<StructureShape> structures,
+            Collection<UnionShape> unions
+    ) {
         List<ValidationEvent> events = new ArrayList<>();
-        model.shapes(StructureShape.class)
-                .forEach(shape -> events.addAll(validateNames(model, shape, shape.getMemberNames())));
-        model.shapes(UnionShape.class)
-                .forEach(shape -> events.addAll(validateNames(model, shape, shape.getMemberNames())));
+        for (StructureShape shape : structures) {
+            events.addAll(validateNames(model, shape, shape.getMemberNames()));
+        }
+        for (UnionShape shape : unions) {
+            events.addAll(validateNames(model, shape, shape.getMemberNames()));
+        }
         return events;
     }
 
@@ -16,9 +16,11 @@
 package software.amazon.smithy.linters;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,11 +29,13 @@ import software.amazon.smithy.model.node.NodeMapper;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.NumberShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ShapeType;
 import software.amazon.smithy.model.shapes.ShapeVisitor;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.UnionShape;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidatorService;
 import software.amazon.smithy.utils.ListUtils;
@@ -61,7 +65,7 @@ import software.amazon.smithy.utils.OptionalUtils;
  * upper or lower-cased. Words a separated by underscores or a pair of
  * lower-then-upper-cased characters, i.e. wordWord.</p>
  */
-public final class ShouldHaveUsedTimestampValidator extends AbstractValidator {
+public final class ShouldHaveUsedTimestampValidator extends AbstractValidator implements IncrementalValidator {
 
     public static final class Config {
         private List<Pattern> additionalPatterns = new ArrayList<>();
@@ -108,6 +112,15 @@ public final class ShouldHaveUsedTimestampValidator extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.toSet());
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapes(model, shapes));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<Shape> shapes) {
         ShapeVisitor<List<ValidationEvent>> visitor = new ShapeVisitor.Default<List<ValidationEvent>>() {
             @Override
             protected List<ValidationEvent> getDefault(Shape shape) {
@@ -129,7 +142,7 @@ public final class ShouldHaveUsedTimestampValidator extends AbstractValidator {
             }
         };
 
-        return model.shapes().flatMap(shape -> shape.accept(visitor).stream()).collect(Collectors.toList());
+        return shapes.stream().flatMap(shape -> shape.accept(visitor).stream()).collect(Collectors.toList());
     }
 
     private List<ValidationEvent> validateStructure(
@@ -19,17 +19,21 @@ import static java.lang.String.format;
 import static software.amazon.smithy.model.validation.ValidationUtils.splitCamelCaseWord;
 import static software.amazon.smithy.model.validation.ValidationUtils.tickedList;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.node.NodeMapper;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidatorService;
 import software.amazon.smithy.utils.OptionalUtils;
@@ -44,7 +48,7 @@ import software.amazon.smithy.utils.OptionalUtils;
  * alternatives, then the event that is emitted contains the list of
  * alternate verbs to use.
  */
-public final class StandardOperationVerbValidator extends AbstractValidator {
+public final class StandardOperationVerbValidator extends AbstractValidator implements IncrementalValidator {
 
     /**
      * StandardOperationVerb configuration settings.
@@ -115,7 +119,16 @@ public final class StandardOperationVerbValidator extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
-        return model.shapes(OperationShape.class)
+        return validateShapes(model.getOperationShapes());
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(IncrementalValidator.getShapes(model, shapes, OperationShape.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Collection<OperationShape> operations) {
+        return operations.stream()
                 .flatMap(shape -> OptionalUtils.stream(validateShape(shape, config)))
                 .collect(Collectors.toList());
     }
@@ -19,17 +19,20 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.UnionShape;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidatorService;
 
 @Deprecated
-public final class StutteredShapeNameValidator extends AbstractValidator {
+public final class StutteredShapeNameValidator extends AbstractValidator implements IncrementalValidator {
 
     public static final class Provider extends ValidatorService.Provider {
         public Provider() {
@@ -39,11 +42,28 @@ public final class StutteredShapeNameValidator extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getStructureShapes(), model.getUnionShapes());
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model,
+                              IncrementalValidator.getShapes(model, shapes, StructureShape.class),
+                              IncrementalValidator.getShapes(model, shapes, UnionShape.class));
+    }
+
+    private List<ValidationEvent> validateShapes(
+            Model model,
+            Collection<StructureShape> structures,
+            Collection<UnionShape> unions
+    ) {
         List<ValidationEvent> events = new ArrayList<>();
-        model.shapes(StructureShape.class)
-                .forEach(shape -> events.addAll(validateNames(model, shape, shape.getMemberNames())));
-        model.shapes(UnionShape.class)
-                .forEach(shape -> events.addAll(validateNames(model, shape, shape.getMemberNames())));
+        for (StructureShape shape : structures) {
+            events.addAll(validateNames(model, shape, shape.getMemberNames()));
+        }
+        for (UnionShape shape : unions) {
+            events.addAll(validateNames(model, shape, shape.getMemberNames()));
+        }
         return events;
     }
 
@@ -0,0 +1,128 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.utils.IoUtils;
+
+/**
+ * Compares loading a large IDL file that is decoded into a String with
+ * loading the same file by scanning its bytes in place.
+ *
+ * <p>Importing a URL reads the file through an {@code InputStream} and
+ * decodes it into a String. Importing a Path reads the file into a byte
+ * buffer, or memory maps it if it's large enough, and tokenizes the
+ * bytes directly. The {@code bytes} counter reports bytes loaded per
+ * second. Run with {@code -prof gc} to see allocations per file in
+ * {@code gc.alloc.rate.norm}.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class IdlFileLoading {
+
+    @State(Scope.Benchmark)
+    public static class FileState {
+
+        @Param({"4", "16"})
+        public int megabytes;
+
+        public Path directory;
+        public Path file;
+        public URL url;
+        public long size;
+
+        @Setup
+        public void prepare() throws IOException {
+            directory = Files.createTempDirectory("smithy-idl-benchmark");
+            file = directory.resolve("large.smithy");
+            Files.write(file, createModel(megabytes * 1024L * 1024L).getBytes(StandardCharsets.UTF_8));
+            url = toUrl(file);
+            size = Files.size(file);
+        }
+
+        @TearDown
+        public void cleanup() {
+            IoUtils.rmdir(directory);
+        }
+
+        private static URL toUrl(Path path) {
+            try {
+                return path.toUri().toURL();
+            } catch (MalformedURLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private static String createModel(long targetSize) {
+            StringBuilder builder = new StringBuilder();
+            builder.append("$version: \"2.0\"\n\nnamespace smithy.example\n\n");
+            builder.append("list StringList {\n    member: String\n}\n\n");
+            for (int i = 0; builder.length() < targetSize; i++) {
+                builder.append("/// Documentation for generated structure ").append(i).append('\n');
+                builder.append("@tags([\"generated\", \"large\"])\n");
+                builder.append("structure Struct").append(i).append(" {\n");
+                builder.append("    @required\n");
+                builder.append("    @length(min: 1, max: 100)\n");
+                builder.append("    name: String\n");
+                builder.append("    count: Integer = ").append(i).append('\n');
+                builder.append("    description: String = \"A generated description for structure ")
+                        .append(i).append("\"\n");
+                builder.append("    tags: StringList\n");
+                builder.append("}\n\n");
+            }
+            return builder.toString();
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Benchmark
+    public Model loadDecodedString(FileState state, Counters counters) {
+        Model result = Model.assembler().disableValidation().addImport(state.url).assemble().unwrap();
+        counters.bytes += state.size;
+        return result;
+    }
+
+    @Benchmark
+    public Model loadBytesInPlace(FileState state, Counters counters) {
+        Model result = Model.assembler().disableValidation().addImport(state.file).assemble().unwrap();
+        counters.bytes += state.size;
+        return result;
+    }
+}
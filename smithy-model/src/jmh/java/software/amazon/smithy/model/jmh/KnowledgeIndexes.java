@@ -0,0 +1,129 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.NullableIndex;
+import software.amazon.smithy.model.knowledge.OperationIndex;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
+
+/**
+ * Measures contended {@code getKnowledge} calls from many threads.
+ *
+ * <p>The {@code get*} benchmarks look up indexes that were already
+ * computed, which is what validators do for nearly every call. The
+ * {@code stringKeyedSkipList} benchmark performs the same lookups
+ * against a skip list keyed by class name, which is how the blackboard
+ * used to be stored. The {@code computeAll} benchmark measures threads
+ * racing to compute the same indexes of a new model.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+@Fork(1)
+public class KnowledgeIndexes {
+
+    @State(Scope.Benchmark)
+    public static class CachedState {
+        public Model model;
+        public Map<String, KnowledgeIndex> skipList = new ConcurrentSkipListMap<>();
+
+        @Setup
+        public void prepare() {
+            model = createModel();
+            skipList.put(TopDownIndex.class.getName(), TopDownIndex.of(model));
+            skipList.put(OperationIndex.class.getName(), OperationIndex.of(model));
+            skipList.put(HttpBindingIndex.class.getName(), HttpBindingIndex.of(model));
+            skipList.put(NullableIndex.class.getName(), NullableIndex.of(model));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class NewModelState {
+        public Model template;
+        public volatile Model model;
+
+        @Setup(Level.Trial)
+        public void prepareTemplate() {
+            template = createModel();
+        }
+
+        // A new model instance has an empty blackboard, so every iteration computes the indexes again.
+        @Setup(Level.Iteration)
+        public void prepare() {
+            model = template.toBuilder().build();
+        }
+    }
+
+    private static Model createModel() {
+        StringBuilder idl = new StringBuilder("$version: \"2.0\"\nnamespace smithy.example\n");
+        idl.append("service Service {\n    version: \"1\"\n    operations: [");
+        for (int i = 0; i < 200; i++) {
+            idl.append("Op").append(i).append(", ");
+        }
+        idl.append("]\n}\n");
+        for (int i = 0; i < 200; i++) {
+            idl.append("@http(method: \"POST\", uri: \"/op").append(i).append("\")\n")
+                    .append("operation Op").append(i).append(" {\n")
+                    .append("    input := {\n")
+                    .append("        @httpHeader(\"x-a\")\n")
+                    .append("        a: String\n")
+                    .append("        b: Integer = 0\n")
+                    .append("    }\n}\n");
+        }
+        return Model.assembler()
+                .addUnparsedModel("knowledge.smithy", idl.toString())
+                .assemble()
+                .unwrap();
+    }
+
+    @Benchmark
+    public void getCachedIndexes(CachedState state, Blackhole blackhole) {
+        blackhole.consume(TopDownIndex.of(state.model));
+        blackhole.consume(OperationIndex.of(state.model));
+        blackhole.consume(HttpBindingIndex.of(state.model));
+        blackhole.consume(NullableIndex.of(state.model));
+    }
+
+    @Benchmark
+    public void stringKeyedSkipList(CachedState state, Blackhole blackhole) {
+        blackhole.consume(state.skipList.get(TopDownIndex.class.getName()));
+        blackhole.consume(state.skipList.get(OperationIndex.class.getName()));
+        blackhole.consume(state.skipList.get(HttpBindingIndex.class.getName()));
+        blackhole.consume(state.skipList.get(NullableIndex.class.getName()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Measurement(iterations = 20, batchSize = 1)
+    public void computeAll(NewModelState state, Blackhole blackhole) {
+        Model model = state.model;
+        blackhole.consume(HttpBindingIndex.of(model));
+        blackhole.consume(TopDownIndex.of(model));
+        blackhole.consume(NullableIndex.of(model));
+    }
+}
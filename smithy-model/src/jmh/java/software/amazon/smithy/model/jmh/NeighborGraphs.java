@@ -0,0 +1,173 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.NeighborProvider;
+import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.neighbor.Walker;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * Compares neighbor providers that retain a list of relationship objects
+ * for each shape with the compact, array-backed neighbor graph.
+ *
+ * <p>The {@code retain*} benchmarks build forward and reverse providers
+ * that include trait relationships and report the heap retained by them
+ * in the {@code retainedBytes} counter. Run with {@code -prof gc} to see
+ * the allocations of each build. The {@code walk*} and {@code reverse*}
+ * benchmarks measure traversal speed.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class NeighborGraphs {
+
+    @State(Scope.Benchmark)
+    public static class GraphState {
+
+        @Param({"10000", "50000"})
+        public int structures;
+
+        public Model model;
+        public ShapeId service = ShapeId.from("smithy.example#Service");
+        public NeighborProvider relationshipLists;
+        public NeighborProvider relationshipListsReverse;
+        public NeighborProvider compact;
+        public NeighborProvider compactReverse;
+
+        @Setup
+        public void prepare() {
+            model = Model.assembler()
+                    .addUnparsedModel("graph.smithy", createModel(structures))
+                    .disableValidation()
+                    .assemble()
+                    .unwrap();
+            NeighborProvider withTraits = NeighborProvider.withTraitRelationships(model, NeighborProvider.of(model));
+            relationshipLists = NeighborProvider.precomputed(model, withTraits);
+            relationshipListsReverse = NeighborProvider.reverse(model, relationshipLists);
+            compact = NeighborProvider.compact(model, withTraits);
+            compactReverse = NeighborProvider.compactReverse(model, compact);
+        }
+
+        private static String createModel(int structures) {
+            int operations = structures / 10;
+            StringBuilder builder = new StringBuilder("$version: \"2.0\"\nnamespace smithy.example\n");
+            builder.append("service Service {\n    version: \"1\"\n    operations: [");
+            for (int i = 0; i < operations; i++) {
+                builder.append("Op").append(i).append(", ");
+            }
+            builder.append("]\n}\n");
+            for (int i = 0; i < operations; i++) {
+                builder.append("operation Op").append(i).append(" {\n")
+                        .append("    input: Struct").append(i * 10).append('\n')
+                        .append("    output: Struct").append(i * 10 + 1).append('\n')
+                        .append("}\n");
+            }
+            for (int i = 0; i < structures; i++) {
+                builder.append("@documentation(\"Structure ").append(i).append("\")\n")
+                        .append("structure Struct").append(i).append(" {\n")
+                        .append("    @required\n")
+                        .append("    a: String\n")
+                        .append("    b: Integer\n")
+                        .append("    c: Struct").append((i + 1) % structures).append('\n')
+                        .append("}\n");
+            }
+            return builder.toString();
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class MemoryCounters {
+        public long retainedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytes = 0;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Measurement(iterations = 5, batchSize = 1)
+    public Object retainRelationshipLists(GraphState state, MemoryCounters counters) {
+        long before = usedHeap();
+        NeighborProvider forward = NeighborProvider.precomputed(
+                state.model, NeighborProvider.withTraitRelationships(state.model, NeighborProvider.of(state.model)));
+        NeighborProvider reverse = NeighborProvider.reverse(state.model, forward);
+        counters.retainedBytes = usedHeap() - before;
+        return new Object[] {forward, reverse};
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Measurement(iterations = 5, batchSize = 1)
+    public Object retainCompactGraph(GraphState state, MemoryCounters counters) {
+        long before = usedHeap();
+        NeighborProvider forward = NeighborProvider.compact(
+                state.model, NeighborProvider.withTraitRelationships(state.model, NeighborProvider.of(state.model)));
+        NeighborProvider reverse = NeighborProvider.compactReverse(state.model, forward);
+        reverse.getNeighbors(state.model.expectShape(state.service));
+        counters.retainedBytes = usedHeap() - before;
+        return new Object[] {forward, reverse};
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public Set<Shape> walkRelationshipLists(GraphState state) {
+        return new Walker(state.relationshipLists).walkShapes(state.model.expectShape(state.service));
+    }
+
+    @Benchmark
+    public Set<Shape> walkCompactGraph(GraphState state) {
+        return new Walker(state.compact).walkShapes(state.model.expectShape(state.service));
+    }
+
+    @Benchmark
+    public void reverseRelationshipLists(GraphState state, Blackhole blackhole) {
+        visitReverse(state.model, state.relationshipListsReverse, blackhole);
+    }
+
+    @Benchmark
+    public void reverseCompactGraph(GraphState state, Blackhole blackhole) {
+        visitReverse(state.model, state.compactReverse, blackhole);
+    }
+
+    private static void visitReverse(Model model, NeighborProvider provider, Blackhole blackhole) {
+        for (Shape shape : model.toSet()) {
+            for (Relationship rel : provider.getNeighbors(shape)) {
+                blackhole.consume(rel.getShape());
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelAssembler;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ParallelLoading {
+
+    private static final int FILE_COUNT = 1000;
+    private static final int STRUCTURES_PER_FILE = 20;
+
+    @State(Scope.Thread)
+    public static class LoadingState {
+
+        public Map<String, String> files = new LinkedHashMap<>();
+
+        @Setup
+        public void prepare() {
+            // Every file references shapes from the previous file to ensure that forward references are
+            // resolved across files.
+            for (int i = 0; i < FILE_COUNT; i++) {
+                files.put("file" + i + ".smithy", createFile(i));
+            }
+        }
+
+        private static String createFile(int index) {
+            StringBuilder builder = new StringBuilder();
+            builder.append("$version: \"2.0\"\n\n");
+            builder.append("namespace smithy.example\n\n");
+            for (int i = 0; i < STRUCTURES_PER_FILE; i++) {
+                builder.append("/// Documentation for structure ").append(i).append(" in file ").append(index)
+                        .append('\n');
+                builder.append("structure Struct").append(index).append('_').append(i).append(" {\n");
+                builder.append("    @required\n");
+                builder.append("    @length(min: 1, max: 100)\n");
+                builder.append("    name: String\n");
+                builder.append("    count: Integer = 0\n");
+                builder.append("    tags: StringList\n");
+                if (index > 0) {
+                    builder.append("    previous: Struct").append(index - 1).append('_').append(i).append('\n');
+                }
+                builder.append("}\n\n");
+            }
+            if (index == 0) {
+                builder.append("list StringList {\n    member: String\n}\n");
+            }
+            return builder.toString();
+        }
+    }
+
+    @Benchmark
+    public Model loadSequentially(LoadingState state) {
+        return createAssembler(state).assemble().unwrap();
+    }
+
+    @Benchmark
+    public Model loadInParallel(LoadingState state) {
+        return createAssembler(state)
+                .putProperty(ModelAssembler.PARALLEL_LOAD, true)
+                .assemble()
+                .unwrap();
+    }
+
+    private static ModelAssembler createAssembler(LoadingState state) {
+        ModelAssembler assembler = Model.assembler().disableValidation();
+        for (Map.Entry<String, String> entry : state.files.entrySet()) {
+            assembler.addUnparsedModel(entry.getKey(), entry.getValue());
+        }
+        return assembler;
+    }
+}
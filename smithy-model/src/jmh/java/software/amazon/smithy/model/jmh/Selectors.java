@@ -29,12 +29,17 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.ShapeOrdinalSet;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
+import software.amazon.smithy.model.knowledge.TraitMembershipIndex;
 import software.amazon.smithy.model.selector.Selector;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.traits.HttpQueryTrait;
 import software.amazon.smithy.model.traits.HttpTrait;
+import software.amazon.smithy.model.traits.ReadonlyTrait;
+import software.amazon.smithy.utils.ListUtils;
 
 @Warmup(iterations = 3)
 @Measurement(iterations = 3, timeUnit = TimeUnit.MICROSECONDS)
@@ -77,6 +82,41 @@ public class Selectors {
         }
     }
 
+    @State(Scope.Thread)
+    public static class PlannedSelectorState {
+
+        public Model model;
+        public Selector attributeThenTraitSelector = Selector.parse(
+                "[id|namespace = 'smithy.example'] member [trait|httpQuery]");
+        public Selector missingTraitSelector = Selector.parse("operation -[input]-> structure [trait|streaming]");
+        public Selector combinedTraitSelector = Selector.parse("[trait|readonly] :not([trait|http])");
+
+        @Setup
+        public void prepare() {
+            // Only a few members of a large model have the httpQuery trait.
+            StringBuilder idl = new StringBuilder("$version: \"2.0\"\nnamespace smithy.example\n");
+            for (int i = 0; i < 500; i++) {
+                idl.append("@http(method: \"GET\", uri: \"/op").append(i).append("\")\n")
+                        .append("@readonly\n")
+                        .append("operation Op").append(i).append(" {\n")
+                        .append("    input := {\n");
+                if (i % 50 == 0) {
+                    idl.append("        @httpQuery(\"q\")\n");
+                    idl.append("        query: String\n");
+                }
+                for (int j = 0; j < 10; j++) {
+                    idl.append("        @httpHeader(\"x-h").append(j).append("\")\n")
+                            .append("        header").append(j).append(": String\n");
+                }
+                idl.append("    }\n}\n");
+            }
+            model = Model.assembler()
+                    .addUnparsedModel("planned.smithy", idl.toString())
+                    .assemble()
+                    .unwrap();
+        }
+    }
+
     @Benchmark
     public Model loadsIdlModelWithoutValidation(SelectorState state) {
         return Model.assembler()
@@ -123,6 +163,42 @@ public class Selectors {
         return state.suboptimalHttpBindingSelector.select(state.model);
     }
 
+    // The planner starts from the shapes with the httpQuery trait instead of
+    // checking the namespace of every shape in the model.
+    @Benchmark
+    public Set<Shape> evaluateAttributeThenTraitSelector(PlannedSelectorState state) {
+        return state.attributeThenTraitSelector.select(state.model);
+    }
+
+    // The hand-written alternative to evaluateAttributeThenTraitSelector.
+    @Benchmark
+    public Set<Shape> evaluateAttributeThenTraitManually(PlannedSelectorState state) {
+        return state.model.getShapesWithTrait(HttpQueryTrait.class).stream()
+                .filter(Shape::isMemberShape)
+                .filter(shape -> shape.getId().getNamespace().equals("smithy.example"))
+                .collect(Collectors.toSet());
+    }
+
+    // No shape in the model has the streaming trait, so the planner doesn't
+    // traverse the input of any operation.
+    @Benchmark
+    public Set<Shape> evaluateMissingTraitSelector(PlannedSelectorState state) {
+        return state.missingTraitSelector.select(state.model);
+    }
+
+    // Every readonly operation has the http trait, so combining the bit sets of both
+    // traits leaves no shapes to send through the selector.
+    @Benchmark
+    public Set<Shape> evaluateCombinedTraitSelector(PlannedSelectorState state) {
+        return state.combinedTraitSelector.select(state.model);
+    }
+
+    @Benchmark
+    public ShapeOrdinalSet queryTraitMembershipIndex(PlannedSelectorState state) {
+        return TraitMembershipIndex.of(state.model)
+                .getShapesWithTraits(ListUtils.of(ReadonlyTrait.ID), ListUtils.of(HttpTrait.ID));
+    }
+
     // The is the hand-written alternative to evaluateHttpBindingSelector to provide
     // a baseline.
     @Benchmark
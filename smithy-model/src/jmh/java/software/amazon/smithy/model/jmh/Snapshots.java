@@ -0,0 +1,80 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelSnapshot;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ModelSerializer;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class Snapshots {
+
+    @State(Scope.Thread)
+    public static class SnapshotState {
+
+        public Model model;
+        public String json;
+        public byte[] snapshot;
+
+        @Setup
+        public void prepare() {
+            model = Model.assembler()
+                    .addImport(Snapshots.class.getResource("test-model.smithy"))
+                    .assemble()
+                    .unwrap();
+            json = Node.printJson(ModelSerializer.builder().build().serialize(model));
+            snapshot = writeSnapshot(model);
+        }
+    }
+
+    @Benchmark
+    public String writeJson(SnapshotState state) {
+        return Node.printJson(ModelSerializer.builder().build().serialize(state.model));
+    }
+
+    @Benchmark
+    public byte[] writeSnapshot(SnapshotState state) {
+        return writeSnapshot(state.model);
+    }
+
+    // Loads the JSON AST model without validation, since a snapshot contains an already validated model.
+    @Benchmark
+    public Model readJson(SnapshotState state) {
+        return Model.assembler()
+                .addUnparsedModel("test-model.json", state.json)
+                .disableValidation()
+                .assemble()
+                .unwrap();
+    }
+
+    @Benchmark
+    public Model readSnapshot(SnapshotState state) {
+        return ModelSnapshot.read(new ByteArrayInputStream(state.snapshot)).getModel();
+    }
+
+    private static byte[] writeSnapshot(Model model) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ModelSnapshot.of(model, Collections.emptyList(), "").write(output);
+        return output.toByteArray();
+    }
+}
@@ -15,21 +15,31 @@
 
 package software.amazon.smithy.model;
 
+import java.time.Duration;
 import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.ReusableKnowledgeIndex;
 import software.amazon.smithy.model.loader.ModelAssembler;
 import software.amazon.smithy.model.node.ExpectationNotMetException;
 import software.amazon.smithy.model.node.Node;
@@ -67,6 +77,7 @@ import software.amazon.smithy.model.traits.TraitFactory;
 import software.amazon.smithy.model.validation.ValidatorFactory;
 import software.amazon.smithy.utils.BuilderRef;
 import software.amazon.smithy.utils.SmithyBuilder;
+import software.amazon.smithy.utils.SmithyInternalApi;
 import software.amazon.smithy.utils.ToSmithyBuilder;
 
 /**
@@ -78,27 +89,55 @@ public final class Model implements ToSmithyBuilder<Model> {
     /** Specifies the highest supported version of the IDL. */
     public static final String MODEL_VERSION = "2.0";
 
+    private static final Logger LOGGER = Logger.getLogger(Model.class.getName());
+
     /** The map of metadata keys to their "node" values. */
     private final Map<String, Node> metadata;
 
     /** A map of shape ID to shapes that backs the shape map. */
-    private final Map<ShapeId, Shape> shapeMap;
+    private final PersistentShapeMap shapeMap;
 
     /** A cache of shapes of a specific type. */
     private final Map<Class<? extends Shape>, Set<? extends Shape>> cachedTypes = new ConcurrentHashMap<>();
 
-    /** Cache of computed {@link KnowledgeIndex} instances. */
-    private final Map<String, KnowledgeIndex> blackboard = new ConcurrentSkipListMap<>();
+    /** Cache of computed {@link KnowledgeIndex} instances, or of the tasks that are computing them. */
+    private final Map<Class<?>, Object> blackboard = new ConcurrentHashMap<>();
+
+    /** The knowledge index task each thread is waiting for, used to detect threads that wait on each other. */
+    private final Map<Thread, KnowledgeTask> waitingTasks = new ConcurrentHashMap<>();
 
     /** Lazily computed trait mappings. */
     private volatile TraitCache traitCache;
 
+    /** Lazily computed shape ordinals. */
+    private volatile ShapeOrdinals shapeOrdinals;
+
     /** Lazily computed hashcode. */
     private int hash;
 
     private Model(Builder builder) {
-        shapeMap = builder.shapeMap.copy();
+        shapeMap = builder.shapes.toMap();
         metadata = builder.metadata.copy();
+        if (builder.base != null) {
+            inheritKnowledge(builder.base);
+        }
+    }
+
+    // Reuses the computed indexes of the model this model was derived from that don't depend on a changed shape.
+    private void inheritKnowledge(Model base) {
+        Map<Class<?>, ReusableKnowledgeIndex> candidates = new HashMap<>();
+        for (Map.Entry<Class<?>, Object> entry : base.blackboard.entrySet()) {
+            if (entry.getValue() instanceof ReusableKnowledgeIndex) {
+                candidates.put(entry.getKey(), (ReusableKnowledgeIndex) entry.getValue());
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            PersistentShapeMap.diff(base.shapeMap, shapeMap, shape -> {
+                candidates.values().removeIf(index -> index.dependsOn(shape));
+            });
+            blackboard.putAll(candidates);
+        }
     }
 
     /**
@@ -191,6 +230,29 @@ public final class Model implements ToSmithyBuilder<Model> {
         return cache;
     }
 
+    /**
+     * Gets the dense ordinals assigned to each shape in the model.
+     *
+     * <p>Ordinals are computed the first time this method is called and
+     * are stable for a given set of shapes. Knowledge indexes can use
+     * {@link ShapeOrdinalSet} and {@link ShapeOrdinalMap} to store data
+     * about shapes by ordinal.
+     *
+     * @return Returns the shape ordinals.
+     */
+    public ShapeOrdinals getShapeOrdinals() {
+        ShapeOrdinals ordinals = shapeOrdinals;
+        if (ordinals == null) {
+            synchronized (this) {
+                ordinals = shapeOrdinals;
+                if (ordinals == null) {
+                    shapeOrdinals = ordinals = new ShapeOrdinals(shapeMap.values());
+                }
+            }
+        }
+        return ordinals;
+    }
+
     /**
      * Gets the immutable set of {@code ShapeId} in the model.
      *
@@ -883,14 +945,84 @@ public final class Model implements ToSmithyBuilder<Model> {
      * function that accepts a {@link Model}. Computed knowledge indexes are
      * cached and returned on subsequent retrievals.
      *
+     * <p>Each index is only computed once. Threads that request an index
+     * while another thread is computing it wait for that index, but never
+     * for indexes of other types. If the constructor throws, the exception
+     * is thrown to every waiting thread and the index is computed again
+     * the next time it's requested. If waiting for an index would wait on
+     * a thread that's itself waiting for an index computed by the current
+     * thread, an {@link IllegalStateException} is thrown rather than
+     * waiting forever.
+     *
      * @param type Type of knowledge index to retrieve.
      * @param constructor The method used to create {@code type}.
      * @param <T> The type of knowledge index to retrieve.
      * @return Returns the computed knowledge index.
+     * @throws IllegalStateException if the constructor requests the index it's computing, either directly or
+     *   through indexes computed by other threads.
      */
     @SuppressWarnings("unchecked")
     public <T extends KnowledgeIndex> T getKnowledge(Class<T> type, Function<Model, T> constructor) {
-        return (T) blackboard.computeIfAbsent(type.getName(), t -> constructor.apply(this));
+        Object value = blackboard.get(type);
+
+        if (value == null) {
+            KnowledgeTask task = new KnowledgeTask(type, () -> buildKnowledge(type, constructor));
+            value = blackboard.putIfAbsent(type, task);
+            if (value == null) {
+                // Compute the index outside of any map operation so that other types aren't blocked.
+                task.run();
+                KnowledgeIndex result = task.await();
+                blackboard.replace(type, task, result);
+                return (T) result;
+            }
+        }
+
+        return (T) (value instanceof KnowledgeTask ? ((KnowledgeTask) value).await() : value);
+    }
+
+    private <T extends KnowledgeIndex> T buildKnowledge(Class<T> type, Function<Model, T> constructor) {
+        if (!LOGGER.isLoggable(Level.FINE)) {
+            return constructor.apply(this);
+        }
+
+        long start = System.nanoTime();
+        T result = constructor.apply(this);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        LOGGER.fine(() -> String.format("Computed knowledge index %s in %.3f ms", type.getName(), millis));
+        return result;
+    }
+
+    /**
+     * Computes knowledge indexes concurrently and caches them for
+     * subsequent retrieval.
+     *
+     * <p>Each function is typically the {@code of} method of a
+     * {@link KnowledgeIndex}, like {@code TopDownIndex::of}. Computing
+     * the indexes a process is known to need before using the model
+     * from many threads, like when validating a model, prevents those
+     * threads from waiting on one thread to compute each index.
+     *
+     * <p>The time returned for an index includes the time spent waiting
+     * for other indexes it depends on, and it's close to zero if the index
+     * was already computed. Timings are also logged at {@link Level#FINE}
+     * whenever an index is computed.
+     *
+     * @param indexes Functions that compute and cache each index.
+     * @return Returns the time it took to call each function, at the same position as the function.
+     */
+    public List<Duration> precomputeKnowledge(
+            Collection<? extends Function<Model, ? extends KnowledgeIndex>> indexes
+    ) {
+        List<Function<Model, ? extends KnowledgeIndex>> functions = new ArrayList<>(indexes);
+        Duration[] durations = new Duration[functions.size()];
+
+        IntStream.range(0, functions.size()).parallel().forEach(i -> {
+            long start = System.nanoTime();
+            functions.get(i).apply(this);
+            durations[i] = Duration.ofNanos(System.nanoTime() - start);
+        });
+
+        return Collections.unmodifiableList(Arrays.asList(durations));
     }
 
     /**
@@ -898,7 +1030,8 @@ public final class Model implements ToSmithyBuilder<Model> {
      */
     public static final class Builder implements SmithyBuilder<Model> {
         private final BuilderRef<Map<String, Node>> metadata = BuilderRef.forUnorderedMap();
-        private final BuilderRef<Map<ShapeId, Shape>> shapeMap = BuilderRef.forUnorderedMap();
+        private PersistentShapeMap.Editor shapes = PersistentShapeMap.EMPTY.edit();
+        private Model base;
 
         private Builder() {}
 
@@ -938,10 +1071,10 @@ public final class Model implements ToSmithyBuilder<Model> {
         public Builder addShape(Shape shape) {
             // Members must be added by their containing shapes.
             if (!shape.isMemberShape()) {
-                shapeMap.get().put(shape.getId(), shape);
+                shapes.put(shape);
                 // Automatically add members of the shape.
                 for (MemberShape memberShape : shape.members()) {
-                    shapeMap.get().put(memberShape.getId(), memberShape);
+                    shapes.put(memberShape);
                 }
             }
 
@@ -951,11 +1084,24 @@ public final class Model implements ToSmithyBuilder<Model> {
         /**
          * Adds the shapes of another model to the builder.
          *
+         * <p>When the builder is empty, the builder starts from the shapes of
+         * the model without copying them. The built model then shares every
+         * unchanged part of its shape map with the given model, and reuses
+         * each computed {@link ReusableKnowledgeIndex} of the given model that
+         * doesn't depend on a shape that was added, removed, or replaced.
+         *
          * @param model Model to add shapes from.
          * @return Returns the builder.
          */
         public Builder addShapes(Model model) {
-            shapeMap.get().putAll(model.shapeMap);
+            if (shapes.isEmpty()) {
+                shapes = model.shapeMap.edit();
+                base = model;
+            } else {
+                for (Shape shape : model.shapeMap.values()) {
+                    shapes.put(shape);
+                }
+            }
             return this;
         }
 
@@ -996,13 +1142,12 @@ public final class Model implements ToSmithyBuilder<Model> {
          * @return Returns the builder.
          */
         public Builder removeShape(ShapeId shapeId) {
-            if (shapeMap.hasValue() && shapeMap.peek().containsKey(shapeId)) {
-                Shape previous = shapeMap.peek().get(shapeId);
-                shapeMap.get().remove(shapeId);
+            Shape previous = shapes.remove(shapeId);
 
-                // Automatically remove any members contained in the shape.
+            // Automatically remove any members contained in the shape.
+            if (previous != null) {
                 for (MemberShape memberShape : previous.members()) {
-                    shapeMap.get().remove(memberShape.getId());
+                    shapes.remove(memberShape.getId());
                 }
             }
 
@@ -1010,14 +1155,31 @@ public final class Model implements ToSmithyBuilder<Model> {
         }
 
         /**
-         * Gets an immutable view of the current shapes in the builder.
+         * Gets an immutable snapshot of the current shapes in the builder.
          *
-         * <p>The returned view may not be updated as shapes are added to the builder.
+         * <p>The returned map is not updated as shapes are added to or removed
+         * from the builder. Creating the snapshot causes the next changes made
+         * to the builder to copy the parts of the map they modify, so use
+         * {@link #getCurrentShape(ShapeId)} to look up individual shapes.
          *
          * @return Returns the current shapes in the builder.
          */
         public Map<ShapeId, Shape> getCurrentShapes() {
-            return shapeMap.peek();
+            return shapes.toMap();
+        }
+
+        /**
+         * Gets a shape that is currently in the builder by ID.
+         *
+         * <p>Unlike {@link #getCurrentShapes()}, this doesn't create a snapshot
+         * of the builder's shapes.
+         *
+         * @param id ID of the shape to get.
+         * @return Returns the shape, or null if the builder doesn't contain it.
+         */
+        @SmithyInternalApi
+        public Shape getCurrentShape(ShapeId id) {
+            return shapes.get(id);
         }
 
         @Override
@@ -1039,4 +1201,83 @@ public final class Model implements ToSmithyBuilder<Model> {
             }
         }
     }
+
+    /**
+     * Computes a knowledge index exactly once, while other threads wait for it.
+     */
+    private final class KnowledgeTask extends FutureTask<KnowledgeIndex> {
+        private final Class<?> type;
+        // The task is run by the thread that created it, so other threads can see who they wait on right away.
+        private volatile Thread owner = Thread.currentThread();
+
+        KnowledgeTask(Class<?> type, Callable<KnowledgeIndex> callable) {
+            super(callable);
+            this.type = type;
+        }
+
+        @Override
+        public void run() {
+            super.run();
+            owner = null;
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            // Remove the failed task before waiting threads are released, so the index can be computed again.
+            blackboard.remove(type, this);
+            super.setException(t);
+        }
+
+        KnowledgeIndex await() {
+            Thread current = Thread.currentThread();
+            if (owner == current) {
+                throw new IllegalStateException("Knowledge index " + type.getName() + " requested itself while it "
+                                                + "was being computed");
+            }
+
+            // Register before checking for a cycle, so at least one of the threads in a cycle sees it.
+            waitingTasks.put(current, this);
+            boolean interrupted = false;
+            try {
+                checkForCycle(current);
+                while (true) {
+                    try {
+                        return get();
+                    } catch (InterruptedException e) {
+                        // Like other blocking map operations, waiting for an index isn't interruptible.
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        }
+                        throw new RuntimeException(cause);
+                    }
+                }
+            } finally {
+                waitingTasks.remove(current);
+                if (interrupted) {
+                    current.interrupt();
+                }
+            }
+        }
+
+        // Follows the chain of threads computing the awaited tasks and fails if it leads back to the current thread.
+        private void checkForCycle(Thread current) {
+            Set<KnowledgeTask> visited = new HashSet<>();
+            for (KnowledgeTask task = this; task != null && visited.add(task); ) {
+                Thread thread = task.owner;
+                if (thread == null) {
+                    return;
+                } else if (thread == current) {
+                    throw new IllegalStateException("Knowledge index " + type.getName() + " was requested while "
+                                                    + "computing " + task.type.getName() + ", but another thread "
+                                                    + "computing it is waiting for " + task.type.getName());
+                }
+                task = waitingTasks.get(thread);
+            }
+        }
+    }
 }
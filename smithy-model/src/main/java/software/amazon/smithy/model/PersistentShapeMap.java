@@ -0,0 +1,644 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * An immutable map of shape IDs to shapes that shares structure with the
+ * maps it was derived from.
+ *
+ * <p>The map is a hash array mapped trie: each level of the trie consumes
+ * five bits of the hash of a shape ID, and each node stores a bitmap of
+ * the slots it uses followed by a compact array of shapes and child nodes.
+ * Lookups take at most seven array hops, and changing a shape copies only
+ * the nodes on the path to it, so a model derived from another model
+ * shares every untouched part of its shape map.
+ *
+ * <p>Maps are changed using an {@link Editor}. An editor may mutate the
+ * nodes it created in place until the next call to {@link Editor#toMap()},
+ * after which those nodes are never mutated again.
+ */
+final class PersistentShapeMap extends AbstractMap<ShapeId, Shape> {
+
+    static final PersistentShapeMap EMPTY = new PersistentShapeMap(BitmapNode.EMPTY, 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    // Seven levels of bitmap nodes consume every bit of a hash, and a collision node can hang off of the last one.
+    private static final int MAX_DEPTH = 8;
+
+    private final Node root;
+    private final int size;
+
+    private PersistentShapeMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Creates an editor that starts with the shapes of this map.
+     *
+     * @return Returns the created editor.
+     */
+    Editor edit() {
+        return new Editor(root, size);
+    }
+
+    /**
+     * Calls the consumer with every shape that differs between two maps.
+     *
+     * <p>Shapes that are only in one of the maps are reported, and both the
+     * old and new version of a replaced shape are reported. Parts of the
+     * maps that are shared are skipped without being visited, so the cost of
+     * comparing a map to the map it was derived from is proportional to the
+     * number of changes.
+     *
+     * @param left Map to compare.
+     * @param right Map to compare against.
+     * @param consumer Consumer that receives each differing shape.
+     */
+    static void diff(PersistentShapeMap left, PersistentShapeMap right, Consumer<Shape> consumer) {
+        diffEntries(left.root, right.root, 0, consumer);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Shape get(Object key) {
+        if (!(key instanceof ShapeId)) {
+            return null;
+        }
+        ShapeId id = (ShapeId) key;
+        return root.find(hash(id), 0, id);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<ShapeId> keySet() {
+        return new AbstractSet<ShapeId>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public Iterator<ShapeId> iterator() {
+                ShapeIterator shapes = new ShapeIterator(root);
+                return new Iterator<ShapeId>() {
+                    @Override
+                    public boolean hasNext() {
+                        return shapes.hasNext();
+                    }
+
+                    @Override
+                    public ShapeId next() {
+                        return shapes.next().getId();
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public Collection<Shape> values() {
+        return new AbstractCollection<Shape>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Shape && o.equals(get(((Shape) o).getId()));
+            }
+
+            @Override
+            public Iterator<Shape> iterator() {
+                return new ShapeIterator(root);
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<ShapeId, Shape>> entrySet() {
+        return new AbstractSet<Entry<ShapeId, Shape>>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Iterator<Entry<ShapeId, Shape>> iterator() {
+                ShapeIterator shapes = new ShapeIterator(root);
+                return new Iterator<Entry<ShapeId, Shape>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return shapes.hasNext();
+                    }
+
+                    @Override
+                    public Entry<ShapeId, Shape> next() {
+                        Shape shape = shapes.next();
+                        return new SimpleImmutableEntry<>(shape.getId(), shape);
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return (other instanceof PersistentShapeMap && ((PersistentShapeMap) other).root == root)
+               || super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private static int hash(ShapeId id) {
+        int h = id.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int slot(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    private static void diffEntries(Object left, Object right, int shift, Consumer<Shape> consumer) {
+        if (left == right) {
+            return;
+        } else if (left instanceof BitmapNode && right instanceof BitmapNode) {
+            BitmapNode leftNode = (BitmapNode) left;
+            BitmapNode rightNode = (BitmapNode) right;
+            int bitmap = leftNode.bitmap | rightNode.bitmap;
+            while (bitmap != 0) {
+                int bit = Integer.lowestOneBit(bitmap);
+                bitmap &= ~bit;
+                diffEntries(leftNode.entryAt(bit), rightNode.entryAt(bit), shift + BITS, consumer);
+            }
+        } else {
+            // A shape was replaced by a node, a node by a shape, or there are hash collisions: compare shape by shape.
+            reportMissing(left, right, shift, consumer);
+            reportMissing(right, left, shift, consumer);
+        }
+    }
+
+    // Reports the shapes of an entry that aren't identical in the other entry at the same position of the trie.
+    private static void reportMissing(Object entry, Object other, int shift, Consumer<Shape> consumer) {
+        if (entry instanceof Shape) {
+            Shape shape = (Shape) entry;
+            if (findInEntry(other, shape.getId(), shift) != shape) {
+                consumer.accept(shape);
+            }
+        } else if (entry != null) {
+            ShapeIterator iterator = new ShapeIterator((Node) entry);
+            while (iterator.hasNext()) {
+                Shape shape = iterator.next();
+                if (findInEntry(other, shape.getId(), shift) != shape) {
+                    consumer.accept(shape);
+                }
+            }
+        }
+    }
+
+    private static Shape findInEntry(Object entry, ShapeId id, int shift) {
+        if (entry instanceof Shape) {
+            Shape shape = (Shape) entry;
+            return shape.getId().equals(id) ? shape : null;
+        } else if (entry != null) {
+            return ((Node) entry).find(hash(id), shift, id);
+        } else {
+            return null;
+        }
+    }
+
+    // Creates the smallest node that holds two shapes with different IDs.
+    private static Node createNode(Object edit, int shift, Shape a, int hashA, Shape b, int hashB) {
+        if (hashA == hashB) {
+            return new CollisionNode(edit, hashA, new Shape[] {a, b});
+        }
+
+        int slotA = slot(hashA, shift);
+        int slotB = slot(hashB, shift);
+        if (slotA == slotB) {
+            return new BitmapNode(edit, 1 << slotA, new Object[] {createNode(edit, shift + BITS, a, hashA, b, hashB)});
+        } else if (slotA < slotB) {
+            return new BitmapNode(edit, (1 << slotA) | (1 << slotB), new Object[] {a, b});
+        } else {
+            return new BitmapNode(edit, (1 << slotA) | (1 << slotB), new Object[] {b, a});
+        }
+    }
+
+    /**
+     * Creates and modifies shape maps.
+     *
+     * <p>This class is not thread-safe.
+     */
+    static final class Editor {
+        private final Change change = new Change();
+        private Object edit = new Object();
+        private Node root;
+        private int size;
+
+        private Editor(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        Shape get(ShapeId id) {
+            return root.find(hash(id), 0, id);
+        }
+
+        /**
+         * Puts a shape into the map by its ID.
+         *
+         * @param shape Shape to put.
+         * @return Returns the shape that was replaced, or null.
+         */
+        Shape put(Shape shape) {
+            change.reset();
+            root = root.put(edit, hash(shape.getId()), 0, shape, change);
+            if (change.added) {
+                size++;
+            }
+            return change.previous;
+        }
+
+        /**
+         * Removes a shape from the map by ID.
+         *
+         * @param id ID of the shape to remove.
+         * @return Returns the removed shape, or null.
+         */
+        Shape remove(ShapeId id) {
+            change.reset();
+            Node result = root.remove(edit, hash(id), 0, id, change);
+            root = result == null ? BitmapNode.EMPTY : result;
+            if (change.previous != null) {
+                size--;
+            }
+            return change.previous;
+        }
+
+        /**
+         * Creates an immutable map of the current shapes of the editor.
+         *
+         * <p>The editor can continue to be used after calling this method,
+         * but it will copy any node it changes from then on.
+         *
+         * @return Returns the created map.
+         */
+        PersistentShapeMap toMap() {
+            edit = new Object();
+            return size == 0 ? EMPTY : new PersistentShapeMap(root, size);
+        }
+    }
+
+    // Reports the effect of a put or remove.
+    private static final class Change {
+        Shape previous;
+        boolean added;
+
+        void reset() {
+            previous = null;
+            added = false;
+        }
+    }
+
+    private abstract static class Node {
+        // The edit token of the editor that can mutate the node in place, or null.
+        final Object edit;
+
+        Node(Object edit) {
+            this.edit = edit;
+        }
+
+        boolean isEditable(Object edit) {
+            return edit != null && this.edit == edit;
+        }
+
+        abstract Shape find(int hash, int shift, ShapeId id);
+
+        abstract Node put(Object edit, int hash, int shift, Shape shape, Change change);
+
+        // Returns null if the node becomes empty.
+        abstract Node remove(Object edit, int hash, int shift, ShapeId id, Change change);
+
+        // Returns the only shape of the node if it contains only one shape and no child nodes, or null.
+        abstract Shape singleShape();
+
+        abstract Object[] entries();
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        int bitmap;
+        Object[] array;
+
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            super(edit);
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        Object entryAt(int bit) {
+            return (bitmap & bit) == 0 ? null : array[index(bit)];
+        }
+
+        @Override
+        Shape find(int hash, int shift, ShapeId id) {
+            int bit = 1 << slot(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object entry = array[index(bit)];
+            if (entry instanceof Node) {
+                return ((Node) entry).find(hash, shift + BITS, id);
+            }
+            Shape shape = (Shape) entry;
+            return shape.getId().equals(id) ? shape : null;
+        }
+
+        @Override
+        Node put(Object edit, int hash, int shift, Shape shape, Change change) {
+            int bit = 1 << slot(hash, shift);
+            int index = index(bit);
+
+            if ((bitmap & bit) == 0) {
+                change.added = true;
+                Object[] updated = new Object[array.length + 1];
+                System.arraycopy(array, 0, updated, 0, index);
+                updated[index] = shape;
+                System.arraycopy(array, index, updated, index + 1, array.length - index);
+                return update(edit, bitmap | bit, updated);
+            }
+
+            Object entry = array[index];
+            Object replacement;
+            if (entry instanceof Node) {
+                replacement = ((Node) entry).put(edit, hash, shift + BITS, shape, change);
+            } else {
+                Shape existing = (Shape) entry;
+                if (existing.getId().equals(shape.getId())) {
+                    change.previous = existing;
+                    replacement = shape;
+                } else {
+                    change.added = true;
+                    replacement = createNode(edit, shift + BITS, existing, hash(existing.getId()), shape, hash);
+                }
+            }
+
+            return replaceEntry(edit, index, entry, replacement);
+        }
+
+        @Override
+        Node remove(Object edit, int hash, int shift, ShapeId id, Change change) {
+            int bit = 1 << slot(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            int index = index(bit);
+            Object entry = array[index];
+            Object replacement;
+            if (entry instanceof Node) {
+                Node child = ((Node) entry).remove(edit, hash, shift + BITS, id, change);
+                // Collapse children that are left with a single shape so that the trie stays shallow.
+                Shape single = child == null ? null : child.singleShape();
+                replacement = single != null ? single : child;
+            } else if (((Shape) entry).getId().equals(id)) {
+                change.previous = (Shape) entry;
+                replacement = null;
+            } else {
+                return this;
+            }
+
+            if (replacement != null) {
+                return replaceEntry(edit, index, entry, replacement);
+            } else if (array.length == 1) {
+                return null;
+            }
+
+            Object[] updated = new Object[array.length - 1];
+            System.arraycopy(array, 0, updated, 0, index);
+            System.arraycopy(array, index + 1, updated, index, array.length - index - 1);
+            return update(edit, bitmap & ~bit, updated);
+        }
+
+        private Node replaceEntry(Object edit, int index, Object entry, Object replacement) {
+            if (replacement == entry) {
+                return this;
+            } else if (isEditable(edit)) {
+                array[index] = replacement;
+                return this;
+            }
+            Object[] updated = array.clone();
+            updated[index] = replacement;
+            return new BitmapNode(edit, bitmap, updated);
+        }
+
+        private Node update(Object edit, int updatedBitmap, Object[] updatedArray) {
+            if (isEditable(edit)) {
+                bitmap = updatedBitmap;
+                array = updatedArray;
+                return this;
+            }
+            return new BitmapNode(edit, updatedBitmap, updatedArray);
+        }
+
+        @Override
+        Shape singleShape() {
+            return array.length == 1 && array[0] instanceof Shape ? (Shape) array[0] : null;
+        }
+
+        @Override
+        Object[] entries() {
+            return array;
+        }
+    }
+
+    // Holds shapes whose IDs have the same hash.
+    private static final class CollisionNode extends Node {
+        final int hash;
+        Shape[] shapes;
+
+        CollisionNode(Object edit, int hash, Shape[] shapes) {
+            super(edit);
+            this.hash = hash;
+            this.shapes = shapes;
+        }
+
+        private int indexOf(ShapeId id) {
+            for (int i = 0; i < shapes.length; i++) {
+                if (shapes[i].getId().equals(id)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Shape find(int hash, int shift, ShapeId id) {
+            if (hash != this.hash) {
+                return null;
+            }
+            int index = indexOf(id);
+            return index == -1 ? null : shapes[index];
+        }
+
+        @Override
+        Node put(Object edit, int hash, int shift, Shape shape, Change change) {
+            if (hash != this.hash) {
+                // Nest this node in a bitmap node that can also hold the shape with a different hash.
+                BitmapNode parent = new BitmapNode(edit, 1 << slot(this.hash, shift), new Object[] {this});
+                return parent.put(edit, hash, shift, shape, change);
+            }
+
+            int index = indexOf(shape.getId());
+            Shape[] updated;
+            if (index == -1) {
+                change.added = true;
+                updated = new Shape[shapes.length + 1];
+                System.arraycopy(shapes, 0, updated, 0, shapes.length);
+                updated[shapes.length] = shape;
+            } else if (shapes[index] == shape) {
+                change.previous = shape;
+                return this;
+            } else {
+                change.previous = shapes[index];
+                updated = shapes.clone();
+                updated[index] = shape;
+            }
+
+            return update(edit, updated);
+        }
+
+        @Override
+        Node remove(Object edit, int hash, int shift, ShapeId id, Change change) {
+            int index = hash == this.hash ? indexOf(id) : -1;
+            if (index == -1) {
+                return this;
+            }
+
+            change.previous = shapes[index];
+            if (shapes.length == 1) {
+                return null;
+            }
+            Shape[] updated = new Shape[shapes.length - 1];
+            System.arraycopy(shapes, 0, updated, 0, index);
+            System.arraycopy(shapes, index + 1, updated, index, shapes.length - index - 1);
+            return update(edit, updated);
+        }
+
+        private Node update(Object edit, Shape[] updated) {
+            if (isEditable(edit)) {
+                shapes = updated;
+                return this;
+            }
+            return new CollisionNode(edit, hash, updated);
+        }
+
+        @Override
+        Shape singleShape() {
+            return shapes.length == 1 ? shapes[0] : null;
+        }
+
+        @Override
+        Object[] entries() {
+            return shapes;
+        }
+    }
+
+    // Iterates over the shapes of a node depth-first using an explicit stack.
+    private static final class ShapeIterator implements Iterator<Shape> {
+        private final Object[][] stack = new Object[MAX_DEPTH][];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth;
+        private Shape next;
+
+        ShapeIterator(Node root) {
+            stack[0] = root.entries();
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                Object[] entries = stack[depth];
+                if (positions[depth] == entries.length) {
+                    depth--;
+                    continue;
+                }
+                Object entry = entries[positions[depth]++];
+                if (entry instanceof Shape) {
+                    next = (Shape) entry;
+                    return;
+                }
+                depth++;
+                stack[depth] = ((Node) entry).entries();
+                positions[depth] = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Shape next() {
+            Shape result = next;
+            if (result == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ToShapeId;
+
+/**
+ * A mutable map of the shapes of a model to values, stored as an array
+ * indexed by {@link ShapeOrdinals shape ordinal}.
+ *
+ * <p>Unlike a {@code HashMap<ShapeId, V>}, no entry objects are allocated
+ * and shape IDs aren't hashed more than once per lookup. Values can't be
+ * null. Entries are iterated in ordinal order.
+ *
+ * <p>This class is not thread-safe, but it can be safely shared once it's
+ * no longer modified.
+ *
+ * @param <V> Type of value to store.
+ */
+public final class ShapeOrdinalMap<V> {
+
+    private final ShapeOrdinals ordinals;
+    private final Object[] values;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     *
+     * @param ordinals Ordinals of the model the shapes belong to.
+     */
+    public ShapeOrdinalMap(ShapeOrdinals ordinals) {
+        this.ordinals = ordinals;
+        this.values = new Object[ordinals.size()];
+    }
+
+    /**
+     * Creates an empty map of the shapes of a model.
+     *
+     * @param model Model the shapes belong to.
+     * @param <V> Type of value to store.
+     * @return Returns the created map.
+     */
+    public static <V> ShapeOrdinalMap<V> of(Model model) {
+        return new ShapeOrdinalMap<>(model.getShapeOrdinals());
+    }
+
+    /**
+     * Gets the ordinals used by the map.
+     *
+     * @return Returns the shape ordinals.
+     */
+    public ShapeOrdinals getOrdinals() {
+        return ordinals;
+    }
+
+    /**
+     * Gets the value of a shape.
+     *
+     * @param shape Shape to get the value of.
+     * @return Returns the value, or null if the shape has no value.
+     */
+    public V get(ToShapeId shape) {
+        return getByOrdinal(ordinals.getOrdinal(shape));
+    }
+
+    /**
+     * Gets the value of a shape, or a default value if the shape has no value.
+     *
+     * @param shape Shape to get the value of.
+     * @param defaultValue Value to return if the shape has no value.
+     * @return Returns the value or default value.
+     */
+    public V getOrDefault(ToShapeId shape, V defaultValue) {
+        V result = get(shape);
+        return result == null ? defaultValue : result;
+    }
+
+    /**
+     * Gets the value of a shape by ordinal.
+     *
+     * @param ordinal Ordinal of the shape.
+     * @return Returns the value, or null if the shape has no value.
+     */
+    @SuppressWarnings("unchecked")
+    public V getByOrdinal(int ordinal) {
+        return ordinal < 0 || ordinal >= values.length ? null : (V) values[ordinal];
+    }
+
+    /**
+     * Checks if a shape has a value.
+     *
+     * @param shape Shape to check.
+     * @return Returns true if the shape has a value.
+     */
+    public boolean containsKey(ToShapeId shape) {
+        return get(shape) != null;
+    }
+
+    /**
+     * Sets the value of a shape.
+     *
+     * @param shape Shape to set the value of.
+     * @param value Value to set.
+     * @return Returns the previous value, or null if the shape had no value.
+     * @throws IllegalArgumentException if the shape isn't in the model.
+     */
+    public V put(ToShapeId shape, V value) {
+        return putByOrdinal(ordinals.expectOrdinal(shape), value);
+    }
+
+    /**
+     * Sets the value of a shape by ordinal.
+     *
+     * @param ordinal Ordinal of the shape.
+     * @param value Value to set.
+     * @return Returns the previous value, or null if the shape had no value.
+     */
+    public V putByOrdinal(int ordinal, V value) {
+        Objects.requireNonNull(value, "ShapeOrdinalMap values cannot be null");
+        V previous = getByOrdinal(ordinal);
+        values[ordinal] = value;
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Gets the value of a shape, computing and storing it if the shape has no value.
+     *
+     * @param shape Shape to get the value of.
+     * @param mappingFunction Computes the value of the shape.
+     * @return Returns the existing or computed value.
+     * @throws IllegalArgumentException if the shape isn't in the model.
+     */
+    public V computeIfAbsent(ToShapeId shape, Function<? super Shape, ? extends V> mappingFunction) {
+        int ordinal = ordinals.expectOrdinal(shape);
+        V result = getByOrdinal(ordinal);
+        if (result == null) {
+            result = mappingFunction.apply(ordinals.getShape(ordinal));
+            putByOrdinal(ordinal, result);
+        }
+        return result;
+    }
+
+    /**
+     * Removes the value of a shape.
+     *
+     * @param shape Shape to remove the value of.
+     * @return Returns the removed value, or null if the shape had no value.
+     */
+    public V remove(ToShapeId shape) {
+        int ordinal = ordinals.getOrdinal(shape);
+        V previous = getByOrdinal(ordinal);
+        if (previous != null) {
+            values[ordinal] = null;
+            size--;
+        }
+        return previous;
+    }
+
+    /**
+     * Gets the number of shapes that have a value.
+     *
+     * @return Returns the number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the map is empty.
+     *
+     * @return Returns true if no shape has a value.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the set of shapes that have a value.
+     *
+     * @return Returns a new set of the shapes.
+     */
+    public ShapeOrdinalSet keySet() {
+        ShapeOrdinalSet result = new ShapeOrdinalSet(ordinals);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result.addOrdinal(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calls a consumer with each shape and its value in ordinal order.
+     *
+     * @param consumer Consumer that receives each entry.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super Shape, ? super V> consumer) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(ordinals.getShape(i), (V) values[i]);
+            }
+        }
+    }
+}
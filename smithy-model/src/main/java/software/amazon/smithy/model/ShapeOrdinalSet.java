@@ -0,0 +1,297 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ToShapeId;
+
+/**
+ * A mutable set of shapes of a model, stored as a bit set of
+ * {@link ShapeOrdinals shape ordinals}.
+ *
+ * <p>Each shape takes a single bit, and intersections, unions, and
+ * differences of sets of the same model are computed a word at a time.
+ * Shapes are iterated in ordinal order.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class ShapeOrdinalSet implements Iterable<Shape> {
+
+    private final ShapeOrdinals ordinals;
+    private final BitSet bits;
+
+    /**
+     * Creates an empty set of shapes.
+     *
+     * @param ordinals Ordinals of the model the shapes belong to.
+     */
+    public ShapeOrdinalSet(ShapeOrdinals ordinals) {
+        this(ordinals, new BitSet(ordinals.size()));
+    }
+
+    private ShapeOrdinalSet(ShapeOrdinals ordinals, BitSet bits) {
+        this.ordinals = ordinals;
+        this.bits = bits;
+    }
+
+    /**
+     * Creates an empty set of shapes of a model.
+     *
+     * @param model Model the shapes belong to.
+     * @return Returns the created set.
+     */
+    public static ShapeOrdinalSet of(Model model) {
+        return new ShapeOrdinalSet(model.getShapeOrdinals());
+    }
+
+    /**
+     * Creates a set that contains the given shapes of a model.
+     *
+     * @param model Model the shapes belong to.
+     * @param shapes Shapes to add to the set.
+     * @return Returns the created set.
+     * @throws IllegalArgumentException if a shape isn't in the model.
+     */
+    public static ShapeOrdinalSet of(Model model, Iterable<? extends ToShapeId> shapes) {
+        ShapeOrdinalSet result = of(model);
+        for (ToShapeId shape : shapes) {
+            result.add(shape);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the ordinals used by the set.
+     *
+     * @return Returns the shape ordinals.
+     */
+    public ShapeOrdinals getOrdinals() {
+        return ordinals;
+    }
+
+    /**
+     * Adds a shape to the set.
+     *
+     * @param shape Shape to add.
+     * @return Returns true if the shape was not already in the set.
+     * @throws IllegalArgumentException if the shape isn't in the model.
+     */
+    public boolean add(ToShapeId shape) {
+        return addOrdinal(ordinals.expectOrdinal(shape));
+    }
+
+    /**
+     * Adds a shape to the set by ordinal.
+     *
+     * @param ordinal Ordinal of the shape to add.
+     * @return Returns true if the shape was not already in the set.
+     */
+    public boolean addOrdinal(int ordinal) {
+        checkOrdinal(ordinal);
+        if (bits.get(ordinal)) {
+            return false;
+        }
+        bits.set(ordinal);
+        return true;
+    }
+
+    /**
+     * Removes a shape from the set.
+     *
+     * @param shape Shape to remove.
+     * @return Returns true if the shape was in the set.
+     */
+    public boolean remove(ToShapeId shape) {
+        int ordinal = ordinals.getOrdinal(shape);
+        if (ordinal == -1 || !bits.get(ordinal)) {
+            return false;
+        }
+        bits.clear(ordinal);
+        return true;
+    }
+
+    /**
+     * Checks if the set contains a shape.
+     *
+     * @param shape Shape to check.
+     * @return Returns true if the shape is in the set.
+     */
+    public boolean contains(ToShapeId shape) {
+        int ordinal = ordinals.getOrdinal(shape);
+        return ordinal != -1 && bits.get(ordinal);
+    }
+
+    /**
+     * Checks if the set contains a shape by ordinal.
+     *
+     * @param ordinal Ordinal of the shape to check.
+     * @return Returns true if the shape is in the set.
+     */
+    public boolean containsOrdinal(int ordinal) {
+        return ordinal >= 0 && bits.get(ordinal);
+    }
+
+    /**
+     * Gets the number of shapes in the set.
+     *
+     * @return Returns the number of shapes.
+     */
+    public int size() {
+        return bits.cardinality();
+    }
+
+    /**
+     * Checks if the set is empty.
+     *
+     * @return Returns true if the set is empty.
+     */
+    public boolean isEmpty() {
+        return bits.isEmpty();
+    }
+
+    /**
+     * Removes every shape that isn't in the other set.
+     *
+     * @param other Set to intersect with.
+     * @return Returns this set.
+     * @throws IllegalArgumentException if the sets belong to different models.
+     */
+    public ShapeOrdinalSet retainAll(ShapeOrdinalSet other) {
+        bits.and(checkSameModel(other).bits);
+        return this;
+    }
+
+    /**
+     * Adds every shape in the other set.
+     *
+     * @param other Set to union with.
+     * @return Returns this set.
+     * @throws IllegalArgumentException if the sets belong to different models.
+     */
+    public ShapeOrdinalSet addAll(ShapeOrdinalSet other) {
+        bits.or(checkSameModel(other).bits);
+        return this;
+    }
+
+    /**
+     * Removes every shape in the other set.
+     *
+     * @param other Set of shapes to remove.
+     * @return Returns this set.
+     * @throws IllegalArgumentException if the sets belong to different models.
+     */
+    public ShapeOrdinalSet removeAll(ShapeOrdinalSet other) {
+        bits.andNot(checkSameModel(other).bits);
+        return this;
+    }
+
+    /**
+     * Checks if this set contains any shape that's in the other set.
+     *
+     * @param other Set to check.
+     * @return Returns true if the sets intersect.
+     * @throws IllegalArgumentException if the sets belong to different models.
+     */
+    public boolean intersects(ShapeOrdinalSet other) {
+        return bits.intersects(checkSameModel(other).bits);
+    }
+
+    /**
+     * Creates a copy of the set.
+     *
+     * @return Returns the copy.
+     */
+    public ShapeOrdinalSet copy() {
+        return new ShapeOrdinalSet(ordinals, (BitSet) bits.clone());
+    }
+
+    /**
+     * Creates a set of every shape of the model that isn't in this set.
+     *
+     * @return Returns the created set.
+     */
+    public ShapeOrdinalSet complement() {
+        BitSet result = (BitSet) bits.clone();
+        result.flip(0, ordinals.size());
+        return new ShapeOrdinalSet(ordinals, result);
+    }
+
+    /**
+     * Gets the ordinals of the shapes in the set in ascending order.
+     *
+     * @return Returns a stream of ordinals.
+     */
+    public IntStream ordinals() {
+        return bits.stream();
+    }
+
+    @Override
+    public Iterator<Shape> iterator() {
+        return new Iterator<Shape>() {
+            private int next = bits.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return next != -1;
+            }
+
+            @Override
+            public Shape next() {
+                if (next == -1) {
+                    throw new NoSuchElementException();
+                }
+                Shape result = ordinals.getShape(next);
+                next = bits.nextSetBit(next + 1);
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof ShapeOrdinalSet)) {
+            return false;
+        }
+        ShapeOrdinalSet otherSet = (ShapeOrdinalSet) other;
+        return ordinals == otherSet.ordinals && bits.equals(otherSet.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return bits.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        for (Shape shape : this) {
+            if (result.length() > 1) {
+                result.append(", ");
+            }
+            result.append(shape.getId());
+        }
+        return result.append(']').toString();
+    }
+
+    private void checkOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= ordinals.size()) {
+            throw new IndexOutOfBoundsException("Invalid shape ordinal: " + ordinal);
+        }
+    }
+
+    private ShapeOrdinalSet checkSameModel(ShapeOrdinalSet other) {
+        if (other.ordinals != ordinals) {
+            throw new IllegalArgumentException("Cannot combine sets of shapes from different models");
+        }
+        return other;
+    }
+}
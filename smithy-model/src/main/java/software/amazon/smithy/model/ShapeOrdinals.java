@@ -0,0 +1,132 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ToShapeId;
+
+/**
+ * Assigns each shape of a {@link Model} a dense integer ordinal.
+ *
+ * <p>Ordinals range from 0 (inclusive) to {@link #size()} (exclusive) and
+ * are assigned in {@link ShapeId} order, so the same set of shapes always
+ * gets the same ordinals. Ordinals allow indexes to store data about
+ * shapes in arrays and bit sets rather than in maps keyed by shape ID, and
+ * data computed by different indexes of the same model can be joined by
+ * ordinal. See {@link ShapeOrdinalSet} and {@link ShapeOrdinalMap}.
+ *
+ * <p>Looking up the ordinal of a shape ID uses an open-addressing table of
+ * primitive ints, so no objects are allocated.
+ */
+public final class ShapeOrdinals {
+
+    private final Shape[] shapes;
+
+    // Each slot holds an ordinal + 1, or 0 if the slot is empty.
+    private final int[] table;
+    private final int mask;
+
+    ShapeOrdinals(Collection<Shape> shapeCollection) {
+        shapes = shapeCollection.toArray(new Shape[0]);
+        Arrays.sort(shapes, Comparator.comparing(Shape::getId));
+
+        // Keep the table at most half full to keep probe sequences short.
+        int capacity = Integer.highestOneBit(Math.max(2, shapes.length * 2 - 1)) << 1;
+        table = new int[capacity];
+        mask = capacity - 1;
+        for (int ordinal = 0; ordinal < shapes.length; ordinal++) {
+            int slot = slot(shapes[ordinal].getId());
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = ordinal + 1;
+        }
+    }
+
+    private int slot(ShapeId id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Gets the number of shapes, which is one more than the largest ordinal.
+     *
+     * @return Returns the number of shapes.
+     */
+    public int size() {
+        return shapes.length;
+    }
+
+    /**
+     * Gets the ordinal of a shape.
+     *
+     * @param id Shape ID to look up.
+     * @return Returns the ordinal, or -1 if the shape isn't in the model.
+     */
+    public int getOrdinal(ToShapeId id) {
+        ShapeId shapeId = id.toShapeId();
+        int slot = slot(shapeId);
+        int value;
+        while ((value = table[slot]) != 0) {
+            if (shapes[value - 1].getId().equals(shapeId)) {
+                return value - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a shape is in the model.
+     *
+     * @param id Shape ID to check.
+     * @return Returns true if the shape has an ordinal.
+     */
+    public boolean contains(ToShapeId id) {
+        return getOrdinal(id) != -1;
+    }
+
+    /**
+     * Gets the shape with the given ordinal.
+     *
+     * @param ordinal Ordinal of the shape.
+     * @return Returns the shape.
+     * @throws IndexOutOfBoundsException if the ordinal is out of range.
+     */
+    public Shape getShape(int ordinal) {
+        return shapes[ordinal];
+    }
+
+    /**
+     * Gets the ID of the shape with the given ordinal.
+     *
+     * @param ordinal Ordinal of the shape.
+     * @return Returns the shape ID.
+     * @throws IndexOutOfBoundsException if the ordinal is out of range.
+     */
+    public ShapeId getShapeId(int ordinal) {
+        return shapes[ordinal].getId();
+    }
+
+    /**
+     * Gets the ordinal of a shape, or throws if the shape isn't in the model.
+     *
+     * @param id Shape ID to look up.
+     * @return Returns the ordinal.
+     * @throws IllegalArgumentException if the shape isn't in the model.
+     */
+    int expectOrdinal(ToShapeId id) {
+        int ordinal = getOrdinal(id);
+        if (ordinal == -1) {
+            throw new IllegalArgumentException("Shape not found in model: " + id.toShapeId());
+        }
+        return ordinal;
+    }
+}
@@ -67,9 +67,14 @@ public final class HttpBindingIndex implements KnowledgeIndex {
         this.model = new WeakReference<>(model);
         OperationIndex opIndex = OperationIndex.of(model);
 
-        for (OperationShape operation : model.getOperationShapesWithTrait(HttpTrait.class)) {
-            requestBindings.put(operation.getId(), computeRequestBindings(opIndex, operation));
-            responseBindings.put(operation.getId(), computeResponseBindings(opIndex, operation));
+        // Bindings only depend on the operation, so they're computed in parallel for large models.
+        List<OperationShape> operations = new ArrayList<>(model.getOperationShapesWithTrait(HttpTrait.class));
+        List<List<HttpBinding>> requests = ParallelIndexing.map(operations, op -> computeRequestBindings(opIndex, op));
+        List<List<HttpBinding>> responses = ParallelIndexing.map(operations,
+                                                                 op -> computeResponseBindings(opIndex, op));
+        for (int i = 0; i < operations.size(); i++) {
+            requestBindings.put(operations.get(i).getId(), requests.get(i));
+            responseBindings.put(operations.get(i).getId(), responses.get(i));
         }
 
         // Add error structure bindings.
@@ -22,6 +22,10 @@ import software.amazon.smithy.model.neighbor.NeighborProvider;
 
 /**
  * Provides a cache of precomputed neighbors for models.
+ *
+ * <p>Neighbors are stored in compact, array-backed graphs created by
+ * {@link NeighborProvider#compact} rather than as lists of relationship
+ * objects. The reverse providers share the graph of their forward provider.
  */
 public final class NeighborProviderIndex implements KnowledgeIndex {
 
@@ -34,7 +38,7 @@ public final class NeighborProviderIndex implements KnowledgeIndex {
     private volatile NeighborProvider reversedWithTraits;
 
     public NeighborProviderIndex(Model model) {
-        provider = NeighborProvider.precomputed(model);
+        provider = NeighborProvider.compact(model, NeighborProvider.of(model));
 
         // Store a WeakReference to the model since the reversed provider that includes
         // traits is lazily computed.
@@ -67,8 +71,8 @@ public final class NeighborProviderIndex implements KnowledgeIndex {
             synchronized (this) {
                 result = providerWithTraits;
                 if (result == null) {
-                    providerWithTraits = result = NeighborProvider.cached(
-                            NeighborProvider.withTraitRelationships(model, provider));
+                    providerWithTraits = result = NeighborProvider.compact(
+                            model, NeighborProvider.withTraitRelationships(model, provider));
                 }
             }
         }
@@ -89,7 +93,7 @@ public final class NeighborProviderIndex implements KnowledgeIndex {
             synchronized (this) {
                 result = reversed;
                 if (result == null) {
-                    reversed = result = NeighborProvider.reverse(model, provider);
+                    reversed = result = NeighborProvider.compactReverse(model, provider);
                 }
             }
         }
@@ -110,7 +114,7 @@ public final class NeighborProviderIndex implements KnowledgeIndex {
                 result = reversedWithTraits;
                 if (result == null) {
                     NeighborProvider withTraits = getProviderWithTraitRelationships();
-                    reversedWithTraits = result = NeighborProvider.reverse(getOrThrowModel(), withTraits);
+                    reversedWithTraits = result = NeighborProvider.compactReverse(getOrThrowModel(), withTraits);
                 }
             }
         }
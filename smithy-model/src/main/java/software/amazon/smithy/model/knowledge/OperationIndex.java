@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.ShapeOrdinalMap;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.ExpectationNotMetException;
 import software.amazon.smithy.model.shapes.MemberShape;
@@ -49,22 +50,30 @@ import software.amazon.smithy.utils.SetUtils;
  * outputs, and errors may be discarded as if they do not exist.
  */
 public final class OperationIndex implements KnowledgeIndex {
-    private final Map<ShapeId, StructureShape> inputs = new HashMap<>();
-    private final Map<ShapeId, StructureShape> outputs = new HashMap<>();
-    private final Map<ShapeId, List<StructureShape>> errors = new HashMap<>();
-    private final Map<ShapeId, Set<OperationShape>> boundInputOperations = new HashMap<>();
-    private final Map<ShapeId, Set<OperationShape>> boundOutputOperations = new HashMap<>();
+    private final ShapeOrdinalMap<StructureShape> inputs;
+    private final ShapeOrdinalMap<StructureShape> outputs;
+    private final ShapeOrdinalMap<List<StructureShape>> errors;
+    private final ShapeOrdinalMap<Set<OperationShape>> boundInputOperations;
+    private final ShapeOrdinalMap<Set<OperationShape>> boundOutputOperations;
+
+    // Errors can be bound to shapes that aren't in the model, so they can't be stored by ordinal.
     private final Map<ShapeId, Set<Shape>> boundErrorShapes = new HashMap<>();
 
     public OperationIndex(Model model) {
+        inputs = ShapeOrdinalMap.of(model);
+        outputs = ShapeOrdinalMap.of(model);
+        errors = ShapeOrdinalMap.of(model);
+        boundInputOperations = ShapeOrdinalMap.of(model);
+        boundOutputOperations = ShapeOrdinalMap.of(model);
+
         for (OperationShape operation : model.getOperationShapes()) {
             getStructure(model, operation.getInputShape()).ifPresent(shape -> {
                 inputs.put(operation.getId(), shape);
-                boundInputOperations.computeIfAbsent(shape.getId(), id -> new HashSet<>()).add(operation);
+                boundInputOperations.computeIfAbsent(shape, s -> new HashSet<>()).add(operation);
             });
             getStructure(model, operation.getOutputShape()).ifPresent(shape -> {
                 outputs.put(operation.getId(), shape);
-                boundOutputOperations.computeIfAbsent(shape.getId(), id -> new HashSet<>()).add(operation);
+                boundOutputOperations.computeIfAbsent(shape, s -> new HashSet<>()).add(operation);
             });
             addErrorsFromShape(model, operation.getId(), operation.getErrors());
         }
@@ -160,15 +169,7 @@ public final class OperationIndex implements KnowledgeIndex {
             return true;
         }
 
-        ShapeId id = structureId.toShapeId();
-
-        for (StructureShape shape : inputs.values()) {
-            if (shape.getId().equals(id)) {
-                return true;
-            }
-        }
-
-        return false;
+        return boundInputOperations.containsKey(structureId);
     }
 
     /**
@@ -253,15 +254,7 @@ public final class OperationIndex implements KnowledgeIndex {
             return true;
         }
 
-        ShapeId id = structureId.toShapeId();
-
-        for (StructureShape shape : outputs.values()) {
-            if (shape.getId().equals(id)) {
-                return true;
-            }
-        }
-
-        return false;
+        return boundOutputOperations.containsKey(structureId);
     }
 
     /**
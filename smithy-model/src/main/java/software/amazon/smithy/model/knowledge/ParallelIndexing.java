@@ -0,0 +1,40 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Helps knowledge indexes compute the entries of their maps in parallel.
+ *
+ * <p>Entries are computed in parallel and returned in the order of the
+ * given inputs, so the index can populate its maps from a single thread.
+ */
+final class ParallelIndexing {
+
+    /** Walking fewer shapes than this isn't worth the cost of coordinating threads. */
+    static final int PARALLEL_THRESHOLD = 64;
+
+    private ParallelIndexing() {}
+
+    /**
+     * Computes a value for each input, in parallel when there are enough inputs.
+     *
+     * @param inputs Inputs to compute values for.
+     * @param mapper Thread-safe function that computes the value of an input.
+     * @param <I> Type of input.
+     * @param <V> Type of value.
+     * @return Returns the computed values in the same order as the inputs.
+     */
+    static <I, V> List<V> map(Collection<I> inputs, Function<? super I, ? extends V> mapper) {
+        Stream<I> stream = inputs.size() >= PARALLEL_THRESHOLD ? inputs.parallelStream() : inputs.stream();
+        return stream.map(mapper).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * A {@link KnowledgeIndex} that can be reused by models derived from the
+ * model it was computed for.
+ *
+ * <p>When a model is built from another model using {@link Model#toBuilder()},
+ * each computed reusable index of the original model is given to the new
+ * model unless {@link #dependsOn} returns true for a shape that was added,
+ * removed, or replaced. Both the old and new version of a replaced shape are
+ * checked.
+ *
+ * <p>A reusable index must only depend on the shapes it declares, and must
+ * not retain a reference to the model it was computed for. This includes
+ * collections keyed by shape ordinal, like {@code ShapeOrdinalMap}, since
+ * they refer to every shape of that model.
+ */
+public interface ReusableKnowledgeIndex extends KnowledgeIndex {
+    /**
+     * Checks if the index depends on a shape.
+     *
+     * <p>This method is typically implemented by checking the type or the
+     * traits of the shape.
+     *
+     * @param shape Shape that was added, removed, or replaced.
+     * @return Returns true if the index needs to be recomputed when the shape changes.
+     */
+    boolean dependsOn(Shape shape);
+}
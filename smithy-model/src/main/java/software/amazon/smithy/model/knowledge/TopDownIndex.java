@@ -15,9 +15,11 @@
 
 package software.amazon.smithy.model.knowledge;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
@@ -29,7 +31,6 @@ import software.amazon.smithy.model.neighbor.RelationshipType;
 import software.amazon.smithy.model.neighbor.Walker;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ResourceShape;
-import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ToShapeId;
@@ -39,7 +40,7 @@ import software.amazon.smithy.utils.SetUtils;
  * Provides top-down access to all resources and operations contained within a
  * service or resource closure.
  */
-public final class TopDownIndex implements KnowledgeIndex {
+public final class TopDownIndex implements ReusableKnowledgeIndex {
     private final Map<ShapeId, Set<ResourceShape>> resources = new HashMap<>();
     private final Map<ShapeId, Set<OperationShape>> operations = new HashMap<>();
 
@@ -53,12 +54,12 @@ public final class TopDownIndex implements KnowledgeIndex {
             return type == RelationshipType.RESOURCE || type.isOperationBinding();
         };
 
-        for (ResourceShape resource : model.getResourceShapes()) {
-            findContained(resource.getId(), walker.walkShapes(resource, filter));
-        }
-
-        for (ServiceShape service : model.getServiceShapes()) {
-            findContained(service.getId(), walker.walkShapes(service, filter));
+        // Each service and resource closure is walked independently, so they can be walked in parallel.
+        List<Shape> containers = new ArrayList<>(model.getResourceShapes());
+        containers.addAll(model.getServiceShapes());
+        List<Set<Shape>> closures = ParallelIndexing.map(containers, container -> walker.walkShapes(container, filter));
+        for (int i = 0; i < containers.size(); i++) {
+            findContained(containers.get(i).getId(), closures.get(i));
         }
     }
 
@@ -66,6 +67,11 @@ public final class TopDownIndex implements KnowledgeIndex {
         return model.getKnowledge(TopDownIndex.class, TopDownIndex::new);
     }
 
+    @Override
+    public boolean dependsOn(Shape shape) {
+        return shape.isServiceShape() || shape.isResourceShape() || shape.isOperationShape();
+    }
+
     private void findContained(ShapeId container, Collection<Shape> shapes) {
         Set<ResourceShape> containedResources = new TreeSet<>();
         Set<OperationShape> containedOperations = new TreeSet<>();
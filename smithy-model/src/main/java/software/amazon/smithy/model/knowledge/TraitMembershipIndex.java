@@ -0,0 +1,165 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.ShapeOrdinalSet;
+import software.amazon.smithy.model.ShapeOrdinals;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ToShapeId;
+
+/**
+ * Index of each trait applied in a model to a bit set of the
+ * {@link ShapeOrdinals ordinals} of the shapes it's applied to.
+ *
+ * <p>This index answers questions like "which shapes have trait A and
+ * trait B, but not trait C?" by combining bit sets a word at a time
+ * rather than by checking the traits of each shape.
+ *
+ * <p>Every method that returns a {@link ShapeOrdinalSet} returns a new
+ * set that can be freely modified, for example to further combine it
+ * with other sets of the same model.
+ */
+public final class TraitMembershipIndex implements KnowledgeIndex {
+
+    private final ShapeOrdinals ordinals;
+    private final Map<ShapeId, ShapeOrdinalSet> shapesWithTrait = new HashMap<>();
+
+    public TraitMembershipIndex(Model model) {
+        ordinals = model.getShapeOrdinals();
+        for (int i = 0; i < ordinals.size(); i++) {
+            for (ShapeId trait : ordinals.getShape(i).getAllTraits().keySet()) {
+                shapesWithTrait.computeIfAbsent(trait, id -> new ShapeOrdinalSet(ordinals)).addOrdinal(i);
+            }
+        }
+    }
+
+    public static TraitMembershipIndex of(Model model) {
+        return model.getKnowledge(TraitMembershipIndex.class, TraitMembershipIndex::new);
+    }
+
+    /**
+     * Gets the IDs of every trait that is applied to at least one shape.
+     *
+     * @return Returns the applied trait IDs.
+     */
+    public Set<ShapeId> getAppliedTraits() {
+        return Collections.unmodifiableSet(shapesWithTrait.keySet());
+    }
+
+    /**
+     * Checks if a shape of the model has a trait.
+     *
+     * @param shape Shape to check.
+     * @param trait Trait to look for.
+     * @return Returns true if the shape is in the model and has the trait.
+     */
+    public boolean hasTrait(ToShapeId shape, ToShapeId trait) {
+        ShapeOrdinalSet shapes = shapesWithTrait.get(trait.toShapeId());
+        return shapes != null && shapes.contains(shape);
+    }
+
+    /**
+     * Gets the number of shapes that have a trait.
+     *
+     * @param trait Trait to look for.
+     * @return Returns the number of shapes.
+     */
+    public int getShapeCount(ToShapeId trait) {
+        ShapeOrdinalSet shapes = shapesWithTrait.get(trait.toShapeId());
+        return shapes == null ? 0 : shapes.size();
+    }
+
+    /**
+     * Gets the shapes that have a trait.
+     *
+     * @param trait Trait to look for.
+     * @return Returns a new set of the shapes.
+     */
+    public ShapeOrdinalSet getShapesWithTrait(ToShapeId trait) {
+        ShapeOrdinalSet shapes = shapesWithTrait.get(trait.toShapeId());
+        return shapes == null ? new ShapeOrdinalSet(ordinals) : shapes.copy();
+    }
+
+    /**
+     * Gets the shapes that don't have a trait.
+     *
+     * @param trait Trait to look for.
+     * @return Returns a new set of the shapes.
+     */
+    public ShapeOrdinalSet getShapesWithoutTrait(ToShapeId trait) {
+        return getShapesWithTrait(trait).complement();
+    }
+
+    /**
+     * Gets the shapes that have every given trait.
+     *
+     * <p>Every shape in the model is returned if no traits are given.
+     *
+     * @param traits Traits to look for.
+     * @return Returns a new set of the shapes.
+     */
+    public ShapeOrdinalSet getShapesWithAllTraits(Collection<? extends ToShapeId> traits) {
+        ShapeOrdinalSet result = null;
+        for (ToShapeId trait : traits) {
+            ShapeOrdinalSet shapes = shapesWithTrait.get(trait.toShapeId());
+            if (shapes == null) {
+                return new ShapeOrdinalSet(ordinals);
+            } else if (result == null) {
+                result = shapes.copy();
+            } else {
+                result.retainAll(shapes);
+            }
+        }
+        return result == null ? new ShapeOrdinalSet(ordinals).complement() : result;
+    }
+
+    /**
+     * Gets the shapes that have at least one of the given traits.
+     *
+     * @param traits Traits to look for.
+     * @return Returns a new set of the shapes.
+     */
+    public ShapeOrdinalSet getShapesWithAnyTrait(Collection<? extends ToShapeId> traits) {
+        ShapeOrdinalSet result = new ShapeOrdinalSet(ordinals);
+        for (ToShapeId trait : traits) {
+            ShapeOrdinalSet shapes = shapesWithTrait.get(trait.toShapeId());
+            if (shapes != null) {
+                result.addAll(shapes);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the shapes that have every required trait and none of the excluded traits.
+     *
+     * @param required Traits that each shape must have.
+     * @param excluded Traits that each shape must not have.
+     * @return Returns a new set of the shapes.
+     */
+    public ShapeOrdinalSet getShapesWithTraits(
+            Collection<? extends ToShapeId> required,
+            Collection<? extends ToShapeId> excluded
+    ) {
+        ShapeOrdinalSet result = getShapesWithAllTraits(required);
+        for (ToShapeId trait : excluded) {
+            if (result.isEmpty()) {
+                break;
+            }
+            ShapeOrdinalSet shapes = shapesWithTrait.get(trait.toShapeId());
+            if (shapes != null) {
+                result.removeAll(shapes);
+            }
+        }
+        return result;
+    }
+}
@@ -99,6 +99,18 @@ final class AstModelLoader {
         this.model = model;
     }
 
+    /**
+     * Creates a loader that is given the members of the model one at a time.
+     *
+     * @param modelVersion Version of the model.
+     * @param operations Where loader operations are published.
+     * @see StreamingAstModelLoader
+     */
+    AstModelLoader(Version modelVersion, Consumer<LoadOperation> operations) {
+        this(modelVersion, (ObjectNode) null);
+        this.operations = operations;
+    }
+
     void parse(Consumer<LoadOperation> consumer) {
         operations = consumer;
         LoaderUtils.checkForAdditionalProperties(model, null, TOP_LEVEL_PROPERTIES).ifPresent(this::emit);
@@ -113,37 +125,48 @@ final class AstModelLoader {
     }
 
     private void loadMetadata() {
+        model.getMember(METADATA).ifPresent(this::loadMetadata);
+    }
+
+    void loadMetadata(Node metadata) {
         try {
-            model.getObjectMember(METADATA).ifPresent(metadata -> {
-                for (Map.Entry<String, Node> entry : metadata.getStringMap().entrySet()) {
-                    operations.accept(new LoadOperation.PutMetadata(modelVersion, entry.getKey(), entry.getValue()));
-                }
-            });
+            ObjectNode entries = metadata.expectObjectNode("Expected `" + METADATA + "` to be an object; found {type}");
+            for (Map.Entry<String, Node> entry : entries.getStringMap().entrySet()) {
+                putMetadata(entry.getKey(), entry.getValue());
+            }
         } catch (SourceException e) {
             emit(ValidationEvent.fromSourceException(e));
         }
     }
 
+    void putMetadata(String key, Node value) {
+        operations.accept(new LoadOperation.PutMetadata(modelVersion, key, value));
+    }
+
     private void loadShapes() {
         model.getObjectMember(SHAPES).ifPresent(shapes -> {
             for (Map.Entry<StringNode, Node> entry : shapes.getMembers().entrySet()) {
-                ShapeId id = entry.getKey().expectShapeId();
-                ObjectNode definition = entry.getValue().expectObjectNode();
-                String type = definition.expectStringMember(TYPE).getValue();
-                try {
-                    // Note: loadShape() returns null when using apply for traits.
-                    LoadOperation.DefineShape defineShape = loadShape(id, type, definition);
-                    if (defineShape != null) {
-                        operations.accept(defineShape);
-                    }
-                } catch (SourceException e) {
-                    ValidationEvent event = ValidationEvent.fromSourceException(e).toBuilder().shapeId(id).build();
-                    emit(event);
-                }
+                loadShape(entry.getKey(), entry.getValue());
             }
         });
     }
 
+    void loadShape(StringNode key, Node value) {
+        ShapeId id = key.expectShapeId();
+        ObjectNode definition = value.expectObjectNode();
+        String type = definition.expectStringMember(TYPE).getValue();
+        try {
+            // Note: loadShape() returns null when using apply for traits.
+            LoadOperation.DefineShape defineShape = loadShape(id, type, definition);
+            if (defineShape != null) {
+                operations.accept(defineShape);
+            }
+        } catch (SourceException e) {
+            ValidationEvent event = ValidationEvent.fromSourceException(e).toBuilder().shapeId(id).build();
+            emit(event);
+        }
+    }
+
     private LoadOperation.DefineShape loadShape(ShapeId id, String type, ObjectNode value) {
         switch (type) {
             case "blob":
@@ -0,0 +1,97 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A zero-copy {@link CharSequence} view over US-ASCII bytes.
+ *
+ * <p>Every ASCII byte is also a UTF-8 code unit and a UTF-16 code unit,
+ * so the tokenizer can scan ASCII model files directly from the bytes
+ * read from disk. Strings are only created when a slice is converted
+ * to a String (for example, when an identifier is interned).
+ */
+final class ByteCharSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    private ByteCharSequence(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates a CharSequence from the remaining UTF-8 bytes of a buffer.
+     *
+     * <p>ASCII contents are wrapped without copying. Contents that contain
+     * multibyte UTF-8 sequences are decoded into a String since their
+     * character offsets differ from their byte offsets.
+     *
+     * @param buffer Buffer to read. The buffer is not modified.
+     * @return Returns the created CharSequence.
+     */
+    static CharSequence of(ByteBuffer buffer) {
+        int start = buffer.position();
+        int end = buffer.limit();
+
+        if (buffer.hasArray()) {
+            byte[] bytes = buffer.array();
+            int arrayOffset = buffer.arrayOffset();
+            for (int i = start + arrayOffset; i < end + arrayOffset; i++) {
+                if (bytes[i] < 0) {
+                    return new String(bytes, start + arrayOffset, end - start, StandardCharsets.UTF_8);
+                }
+            }
+        } else {
+            for (int i = start; i < end; i++) {
+                if (buffer.get(i) < 0) {
+                    return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+                }
+            }
+        }
+
+        return new ByteCharSequence(buffer, start, end - start);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+        }
+        return (char) buffer.get(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length);
+        }
+        return new ByteCharSequence(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.ISO_8859_1);
+        }
+
+        byte[] bytes = new byte[length];
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset);
+        slice.get(bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,679 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.TraitDefinition;
+import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.IoUtils;
+
+/**
+ * Assembles a model repeatedly from a changing set of model files, reusing
+ * the work done for files that did not change since the previous assembly.
+ *
+ * <p>Each file is tracked by a hash of its contents. When {@link #assemble()}
+ * is called, only files that were added or changed since the previous
+ * assembly are parsed again, along with any file that depends on them. The
+ * shapes defined in every other file are taken from the previously assembled
+ * model rather than being parsed, having mixins applied, and being sorted
+ * again. Files depend on each other through mixins, resource-bound structures,
+ * and traits applied to shapes defined in another file.
+ *
+ * <p>An assembly falls back to loading every file when a change could alter
+ * how unchanged files are interpreted: changes to metadata, to trait
+ * definitions, or to shapes whose names conflict with prelude shapes. Files
+ * that use Smithy IDL 1.0 or that contained errors are always loaded again.
+ *
+ * <p>The assembled model is validated against the previously validated model
+ * using a {@link ValidationBaseline}, so only the shapes affected by the
+ * changes are validated again by validators that support it.
+ *
+ * <pre>
+ * {@code
+ * IncrementalModelAssembler assembler = new IncrementalModelAssembler();
+ * assembler.addImport(Paths.get("model"));
+ * ValidatedResult<Model> first = assembler.assemble();
+ *
+ * // After a file changes, add it again and re-assemble.
+ * assembler.addImport(Paths.get("model/weather.smithy"));
+ * ValidatedResult<Model> second = assembler.assemble();
+ * Set<ShapeId> changed = assembler.getChangedShapes();
+ * }
+ * </pre>
+ *
+ * <p>The {@link ModelAssembler} used for each assembly is created by the
+ * supplier given to the constructor. It is used to configure the assembly,
+ * (for example, to add validators or set properties), and incremental
+ * assembly is disabled if it contains any models, shapes, traits, or
+ * metadata of its own.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class IncrementalModelAssembler {
+
+    private static final Logger LOGGER = Logger.getLogger(IncrementalModelAssembler.class.getName());
+
+    // The ID of the deprecated box trait, used without referring to the deprecated trait class.
+    private static final ShapeId BOX_TRAIT = ShapeId.from("smithy.api#box");
+
+    private final Supplier<ModelAssembler> assemblerSupplier;
+    private final Map<String, SourceFile> files = new LinkedHashMap<>();
+    private Map<String, FileState> states = Collections.emptyMap();
+    private Model model;
+    private ValidatedResult<Model> result;
+    private Set<ShapeId> changedShapes = Collections.emptySet();
+    private Set<String> loadedFiles = Collections.emptySet();
+    private Set<String> preludeNames;
+    private ValidationBaseline baseline;
+    private ValidationBaseline createdBaseline;
+
+    /**
+     * Creates an incremental assembler that uses {@link Model#assembler()} for each assembly.
+     */
+    public IncrementalModelAssembler() {
+        this(Model::assembler);
+    }
+
+    /**
+     * Creates an incremental assembler that uses the given supplier to create the
+     * {@link ModelAssembler} used for each assembly.
+     *
+     * @param assemblerSupplier Supplier used to create configured model assemblers.
+     */
+    public IncrementalModelAssembler(Supplier<ModelAssembler> assemblerSupplier) {
+        this.assemblerSupplier = Objects.requireNonNull(assemblerSupplier);
+    }
+
+    /**
+     * Adds or updates a model file, or every model file in a directory.
+     *
+     * <p>Files are read when this method is called, so it must be called
+     * again for a file after it changes.
+     *
+     * @param importPath File or directory to import.
+     * @return Returns the assembler.
+     * @throws ModelImportException if the file cannot be read.
+     */
+    public IncrementalModelAssembler addImport(Path importPath) {
+        Objects.requireNonNull(importPath, "importPath must not be null");
+
+        if (Files.isDirectory(importPath)) {
+            try (Stream<Path> paths = Files.walk(importPath, FileVisitOption.FOLLOW_LINKS)) {
+                List<Path> modelFiles = paths.filter(Files::isRegularFile)
+                        .filter(p -> p.toString().endsWith(".smithy") || p.toString().endsWith(".json"))
+                        .sorted()
+                        .collect(Collectors.toList());
+                modelFiles.forEach(this::addImport);
+            } catch (IOException e) {
+                throw new ModelImportException("Error loading the contents of " + importPath, e);
+            }
+        } else if (Files.isRegularFile(importPath)) {
+            // Use an absolute path to match the source locations used by ModelAssembler.
+            addUnparsedModel(importPath.toAbsolutePath().toString(), IoUtils.readUtf8File(importPath));
+        } else {
+            throw new ModelImportException("Cannot find import file: " + importPath);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds or updates a string containing an unparsed model.
+     *
+     * <p>The provided {@code sourceLocation} string must end with
+     * ".json" or ".smithy" to be parsed correctly.
+     *
+     * @param sourceLocation Source location to assume for the unparsed content.
+     * @param model Unparsed model source.
+     * @return Returns the assembler.
+     */
+    public IncrementalModelAssembler addUnparsedModel(String sourceLocation, String model) {
+        Objects.requireNonNull(sourceLocation, "sourceLocation must not be null");
+        Objects.requireNonNull(model, "model must not be null");
+        SourceFile existing = files.get(sourceLocation);
+        String hash = hashContents(model);
+        if (existing == null || !existing.hash.equals(hash)) {
+            files.put(sourceLocation, new SourceFile(sourceLocation, model, hash));
+        }
+        return this;
+    }
+
+    /**
+     * Removes a model file that was previously added.
+     *
+     * @param sourceLocation Source location of the model to remove.
+     * @return Returns the assembler.
+     */
+    public IncrementalModelAssembler removeModel(String sourceLocation) {
+        files.remove(sourceLocation);
+        return this;
+    }
+
+    /**
+     * Removes a model file that was previously imported.
+     *
+     * @param importPath Path of the file to remove.
+     * @return Returns the assembler.
+     */
+    public IncrementalModelAssembler removeImport(Path importPath) {
+        return removeModel(importPath.toAbsolutePath().toString());
+    }
+
+    /**
+     * Assembles the model, only loading files that changed since the
+     * previous assembly and the files that depend on them.
+     *
+     * <p>The previous result is returned as-is when no files changed.
+     *
+     * @return Returns the validated result that optionally contains a Model and validation events.
+     */
+    public ValidatedResult<Model> assemble() {
+        Set<String> dirtyFiles = findChangedFiles();
+
+        if (result != null && dirtyFiles.isEmpty()) {
+            changedShapes = Collections.emptySet();
+            loadedFiles = Collections.emptySet();
+            return result;
+        }
+
+        ModelAssembler assembler = assemblerSupplier.get();
+        Assembly assembly = null;
+
+        if (model == null) {
+            LOGGER.fine("Loading every model file because nothing has been assembled yet");
+        } else if (assembler.containsModelSources()) {
+            LOGGER.fine("Loading every model file because the ModelAssembler contains its own models");
+        } else {
+            assembly = createIncrementalAssembly(dirtyFiles);
+            if (assembly != null) {
+                ValidatedResult<Model> incremental = load(assembler, assembly);
+                if (isIncrementalAssemblyValid(assembly)) {
+                    return finish(assembly, incremental);
+                }
+                assembler = assemblerSupplier.get();
+            }
+        }
+
+        assembly = new Assembly(files.keySet(), Collections.emptyMap(), Collections.emptyMap(),
+                                Collections.emptyList());
+        return finish(assembly, load(assembler, assembly));
+    }
+
+    /**
+     * Gets the IDs of shapes that were added, removed, or changed by the most
+     * recent call to {@link #assemble()}.
+     *
+     * <p>Shapes whose definition did not change but that moved to a
+     * different source location are considered changed. Every shape is
+     * considered changed by the first assembly.
+     *
+     * @return Returns the changed shape IDs, including members.
+     */
+    public Set<ShapeId> getChangedShapes() {
+        return changedShapes;
+    }
+
+    /**
+     * Gets the source locations of the model files that were loaded by the
+     * most recent call to {@link #assemble()}.
+     *
+     * @return Returns the loaded files.
+     */
+    public Set<String> getLoadedFiles() {
+        return loadedFiles;
+    }
+
+    private Set<String> findChangedFiles() {
+        Set<String> changed = new LinkedHashSet<>();
+        for (SourceFile file : files.values()) {
+            FileState state = states.get(file.filename);
+            if (state == null || !state.hash.equals(file.hash)) {
+                changed.add(file.filename);
+            }
+        }
+        for (String filename : states.keySet()) {
+            if (!files.containsKey(filename)) {
+                changed.add(filename);
+            }
+        }
+        return changed;
+    }
+
+    // Finds every file that needs to be loaded again and the shapes and operations that can be reused from every
+    // other file. Returns null if every file needs to be loaded.
+    private Assembly createIncrementalAssembly(Set<String> changedFiles) {
+        Map<ShapeId, String> owners = getShapeOwners(states);
+        Set<String> dirty = new HashSet<>(changedFiles);
+
+        for (Map.Entry<String, FileState> entry : states.entrySet()) {
+            if (entry.getValue().version == Version.VERSION_1_0 || entry.getValue().hasErrors()) {
+                dirty.add(entry.getKey());
+            }
+        }
+
+        // Walk the reverse dependencies of dirty files until no more files become dirty.
+        boolean updated = true;
+        while (updated) {
+            updated = false;
+            for (Map.Entry<String, FileState> entry : states.entrySet()) {
+                if (!dirty.contains(entry.getKey()) && dependsOnDirtyFile(entry.getValue(), owners, dirty)) {
+                    dirty.add(entry.getKey());
+                    updated = true;
+                }
+            }
+            for (String filename : new ArrayList<>(dirty)) {
+                FileState state = states.get(filename);
+                if (state != null) {
+                    for (LoadOperation.ApplyTrait apply : state.appliedTraits) {
+                        String owner = owners.get(apply.target.withoutMember());
+                        if (owner != null && dirty.add(owner)) {
+                            updated = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        for (String filename : dirty) {
+            FileState state = states.get(filename);
+            if (state != null && state.hasMetadata) {
+                LOGGER.fine(() -> "Loading every model file because metadata was defined in " + filename);
+                return null;
+            }
+        }
+
+        Set<String> loaded = new LinkedHashSet<>();
+        Set<String> reused = new HashSet<>();
+        for (String filename : files.keySet()) {
+            (dirty.contains(filename) ? loaded : reused).add(filename);
+        }
+
+        if (reused.isEmpty()) {
+            return null;
+        }
+
+        Map<ShapeId, Shape> retainedShapes = new LinkedHashMap<>();
+        List<LoadOperation> replayed = new ArrayList<>();
+        List<ValidationEvent> retainedEvents = new ArrayList<>();
+
+        for (String filename : reused) {
+            FileState state = states.get(filename);
+            for (ShapeId id : state.shapes) {
+                model.getShape(id).ifPresent(shape -> {
+                    retainedShapes.put(id, removeSyntheticBoxTraits(shape, owners, reused));
+                });
+            }
+            // Traits applied to shapes in other reused files are already part of the reused shapes.
+            for (LoadOperation.ApplyTrait apply : state.appliedTraits) {
+                if (!reused.contains(owners.get(apply.target.withoutMember()))) {
+                    replayed.add(apply);
+                }
+            }
+            if (state.version != null) {
+                replayed.add(new LoadOperation.ModelVersion(state.version, state.versionLocation));
+            }
+            retainedEvents.addAll(state.events);
+        }
+
+        Assembly assembly = new Assembly(loaded, retainedShapes, model.getMetadata(), retainedEvents);
+        assembly.replayedOperations.addAll(replayed);
+        return assembly;
+    }
+
+    private static boolean dependsOnDirtyFile(FileState state, Map<ShapeId, String> owners, Set<String> dirty) {
+        for (ShapeId dependency : state.dependencies) {
+            String owner = owners.get(dependency);
+            if (owner == null ? !Prelude.isPreludeShape(dependency) : dirty.contains(owner)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Structure members are given a synthetic box trait based on the shape they target when a model is loaded.
+    // Remove it from members that target shapes that will be loaded again so that it can be recomputed.
+    private static Shape removeSyntheticBoxTraits(Shape shape, Map<ShapeId, String> owners, Set<String> reused) {
+        if (!shape.isStructureShape() || !shape.getMixins().isEmpty()) {
+            return shape;
+        }
+
+        StructureShape.Builder builder = null;
+        for (MemberShape member : shape.members()) {
+            String owner = owners.get(member.getTarget());
+            if (member.hasTrait(BOX_TRAIT) && !reused.contains(owner)) {
+                if (builder == null) {
+                    builder = shape.asStructureShape().get().toBuilder();
+                }
+                builder.addMember(member.toBuilder().removeTrait(BOX_TRAIT).build());
+            }
+        }
+
+        return builder == null ? shape : builder.build();
+    }
+
+    private ValidatedResult<Model> load(ModelAssembler assembler, Assembly assembly) {
+        assembler.incrementalAssembly(assembly);
+        assembly.retainedShapes.values().forEach(assembler::addShape);
+        assembly.retainedMetadata.forEach(assembler::putMetadata);
+
+        for (String filename : assembly.loadedFiles) {
+            SourceFile file = files.get(filename);
+            assembly.states.put(filename, new FileState(file.hash));
+            if (filename.endsWith(".json")) {
+                Node node = file.getParsedNode();
+                if (node != null) {
+                    assembler.addDocumentNode(node);
+                    continue;
+                }
+            }
+            assembler.addUnparsedModel(filename, file.contents);
+        }
+
+        // Only shapes affected by the changes are validated again by validators that support it.
+        createdBaseline = null;
+        assembler.validationBaseline(baseline);
+        assembler.validationBaselineListener(created -> createdBaseline = created);
+        return assembler.assemble();
+    }
+
+    // Some changes can alter how the files that were reused would have been loaded. These are rare enough that
+    // it's simpler to detect them after the fact and then load every file.
+    private boolean isIncrementalAssemblyValid(Assembly assembly) {
+        if (assembly.model == null) {
+            return false;
+        }
+
+        Set<String> replacedFiles = new HashSet<>(assembly.loadedFiles);
+        states.keySet().stream().filter(f -> !files.containsKey(f)).forEach(replacedFiles::add);
+        Set<ShapeId> previousShapes = new HashSet<>();
+        Set<ShapeId> currentShapes = new HashSet<>();
+
+        for (String filename : replacedFiles) {
+            FileState previous = states.get(filename);
+            if (previous != null) {
+                previousShapes.addAll(previous.shapes);
+            }
+            FileState current = assembly.states.get(filename);
+            if (current != null) {
+                if (current.hasMetadata) {
+                    LOGGER.fine(() -> "Loading every model file because metadata was defined in " + filename);
+                    return false;
+                }
+                for (ShapeId id : current.shapes) {
+                    if (assembly.retainedShapes.containsKey(id)) {
+                        LOGGER.fine(() -> "Loading every model file because " + id + " is defined in more than "
+                                          + "one file");
+                        return false;
+                    }
+                    currentShapes.add(id);
+                }
+            }
+        }
+
+        if (!getTraitDefinitions(model, previousShapes).equals(getTraitDefinitions(assembly.model, currentShapes))) {
+            LOGGER.fine("Loading every model file because trait definitions changed");
+            return false;
+        }
+
+        // Relative shape IDs in the IDL resolve to prelude shapes unless the namespace defines a shape with the
+        // same name, so adding or removing a shape with one of these names can change other files.
+        Set<String> preludeNames = getPreludeNames();
+        for (ShapeId id : symmetricDifference(previousShapes, currentShapes)) {
+            if (preludeNames.contains(id.getName())) {
+                LOGGER.fine(() -> "Loading every model file because " + id + " has the name of a prelude shape");
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static Set<Shape> getTraitDefinitions(Model model, Set<ShapeId> ids) {
+        Set<Shape> result = new HashSet<>();
+        for (ShapeId id : ids) {
+            model.getShape(id).filter(shape -> shape.hasTrait(TraitDefinition.ID)).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    private static Set<ShapeId> symmetricDifference(Set<ShapeId> a, Set<ShapeId> b) {
+        Set<ShapeId> result = new HashSet<>();
+        for (ShapeId id : a) {
+            if (!b.contains(id)) {
+                result.add(id);
+            }
+        }
+        for (ShapeId id : b) {
+            if (!a.contains(id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private Set<String> getPreludeNames() {
+        if (preludeNames == null) {
+            preludeNames = Prelude.getPreludeModel().shapes()
+                    .map(shape -> shape.getId().getName())
+                    .collect(Collectors.toSet());
+        }
+        return preludeNames;
+    }
+
+    private ValidatedResult<Model> finish(Assembly assembly, ValidatedResult<Model> assembled) {
+        Map<String, FileState> updatedStates = new LinkedHashMap<>();
+        for (String filename : files.keySet()) {
+            FileState state = assembly.states.get(filename);
+            updatedStates.put(filename, state != null ? state : states.get(filename));
+        }
+
+        Map<ShapeId, String> owners = getShapeOwners(updatedStates);
+        for (Map.Entry<String, FileState> entry : assembly.states.entrySet()) {
+            entry.getValue().finish(entry.getKey(), owners, assembly.loadEvents);
+        }
+
+        Model previous = model;
+        model = assembly.model;
+        states = updatedStates;
+        result = assembled;
+        loadedFiles = Collections.unmodifiableSet(new LinkedHashSet<>(assembly.loadedFiles));
+        Model current = assembled.getResult().orElse(null);
+        changedShapes = Collections.unmodifiableSet(ValidationBaseline.findChangedShapes(previous, current));
+        if (createdBaseline != null) {
+            baseline = createdBaseline;
+        }
+        return assembled;
+    }
+
+    private static Map<ShapeId, String> getShapeOwners(Map<String, FileState> states) {
+        Map<ShapeId, String> owners = new HashMap<>();
+        for (Map.Entry<String, FileState> entry : states.entrySet()) {
+            for (ShapeId id : entry.getValue().shapes) {
+                owners.put(id, entry.getKey());
+            }
+        }
+        return owners;
+    }
+
+    private static String hashContents(String contents) {
+        MessageDigest digest = ModelSnapshot.createDigest();
+        return ModelSnapshot.toHex(digest.digest(contents.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static final class SourceFile {
+        private final String filename;
+        private final String contents;
+        private final String hash;
+        private Node parsedNode;
+        private boolean parseFailed;
+
+        SourceFile(String filename, String contents, String hash) {
+            this.filename = filename;
+            this.contents = contents;
+            this.hash = hash;
+        }
+
+        // JSON files are parsed once and the parsed node is reused by each assembly that loads the file. Syntax
+        // errors are reported by letting the assembler parse the file.
+        Node getParsedNode() {
+            if (parsedNode == null && !parseFailed) {
+                try {
+                    parsedNode = Node.parse(contents, filename);
+                } catch (RuntimeException e) {
+                    parseFailed = true;
+                }
+            }
+            return parsedNode;
+        }
+    }
+
+    /**
+     * The state of a model file as of the assembly that last loaded it.
+     */
+    private static final class FileState implements LoadOperation.Visitor {
+        private final String hash;
+        private final Set<ShapeId> shapes = new LinkedHashSet<>();
+        private Set<ShapeId> dependencies = new LinkedHashSet<>();
+        private List<LoadOperation.DefineShape> definitions = new ArrayList<>();
+        private List<LoadOperation.ApplyTrait> appliedTraits = new ArrayList<>();
+        private List<ValidationEvent> events = Collections.emptyList();
+        private Version version;
+        private SourceLocation versionLocation;
+        private boolean hasMetadata;
+
+        FileState(String hash) {
+            this.hash = hash;
+        }
+
+        boolean hasErrors() {
+            for (ValidationEvent event : events) {
+                if (event.getSeverity() == Severity.ERROR) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Dependencies are resolved while the model is built, so they're collected after the assembly completes.
+        // Only traits applied to shapes defined in other files need to be kept.
+        void finish(String filename, Map<ShapeId, String> owners, List<ValidationEvent> loadEvents) {
+            for (LoadOperation.DefineShape definition : definitions) {
+                dependencies.addAll(definition.dependencies());
+            }
+            definitions = Collections.emptyList();
+            appliedTraits = appliedTraits.stream()
+                    .filter(apply -> !filename.equals(owners.get(apply.target.withoutMember())))
+                    .collect(Collectors.toList());
+            events = loadEvents.stream()
+                    .filter(event -> event.getSourceLocation().getFilename().equals(filename))
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public void putMetadata(LoadOperation.PutMetadata operation) {
+            hasMetadata = true;
+        }
+
+        @Override
+        public void applyTrait(LoadOperation.ApplyTrait operation) {
+            appliedTraits.add(operation);
+        }
+
+        @Override
+        public void defineShape(LoadOperation.DefineShape operation) {
+            shapes.add(operation.toShapeId());
+            definitions.add(operation);
+        }
+
+        @Override
+        public void forwardReference(LoadOperation.ForwardReference operation) {
+        }
+
+        @Override
+        public void event(LoadOperation.Event operation) {
+        }
+
+        @Override
+        public void modelVersion(LoadOperation.ModelVersion operation) {
+            version = operation.version;
+            versionLocation = operation.getSourceLocation();
+        }
+    }
+
+    /**
+     * A single assembly performed by a {@link ModelAssembler} on behalf of an incremental assembler.
+     */
+    static final class Assembly {
+        private final Set<String> loadedFiles;
+        private final Map<ShapeId, Shape> retainedShapes;
+        private final Map<String, Node> retainedMetadata;
+        private final List<ValidationEvent> retainedEvents;
+        private final List<LoadOperation> replayedOperations = new ArrayList<>();
+        private final Map<String, FileState> states = new HashMap<>();
+        private Model model;
+        private List<ValidationEvent> loadEvents = Collections.emptyList();
+
+        private Assembly(
+                Set<String> loadedFiles,
+                Map<ShapeId, Shape> retainedShapes,
+                Map<String, Node> retainedMetadata,
+                List<ValidationEvent> retainedEvents
+        ) {
+            this.loadedFiles = loadedFiles;
+            this.retainedShapes = retainedShapes;
+            this.retainedMetadata = retainedMetadata;
+            this.retainedEvents = retainedEvents;
+        }
+
+        List<LoadOperation> getReplayedOperations() {
+            return replayedOperations;
+        }
+
+        void operationLoaded(String filename, LoadOperation operation) {
+            FileState state = states.get(filename);
+            if (state != null) {
+                operation.accept(state);
+            }
+        }
+
+        List<ValidationEvent> loaded(Model loadedModel, List<ValidationEvent> events) {
+            model = loadedModel;
+            loadEvents = new ArrayList<>(events);
+            // Events from reused files were already decorated and emitted when the file was last loaded.
+            Set<ValidationEvent> merged = new LinkedHashSet<>(retainedEvents);
+            merged.addAll(events);
+            return new ArrayList<>(merged);
+        }
+    }
+}
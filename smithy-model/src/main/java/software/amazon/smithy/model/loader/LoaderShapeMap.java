@@ -173,7 +173,7 @@ final class LoaderShapeMap {
             Model.Builder modelBuilder,
             Function<ShapeId, Map<ShapeId, Trait>> unclaimedTraits
     ) {
-        Function<ShapeId, Shape> createdShapeMap = id -> modelBuilder.getCurrentShapes().get(id);
+        Function<ShapeId, Shape> createdShapeMap = modelBuilder::getCurrentShape;
 
         for (Shape shape : createdShapes.values()) {
             modelBuilder.addShapes(shape);
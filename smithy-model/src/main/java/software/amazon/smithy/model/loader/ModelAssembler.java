@@ -16,11 +16,13 @@
 package software.amazon.smithy.model.loader;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitOption;
@@ -28,6 +30,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -35,8 +38,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceException;
@@ -45,11 +50,13 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationEventDecorator;
 import software.amazon.smithy.model.validation.Validator;
 import software.amazon.smithy.model.validation.ValidatorFactory;
+import software.amazon.smithy.utils.IoUtils;
 import software.amazon.smithy.utils.Pair;
 
 /**
@@ -83,6 +90,17 @@ public final class ModelAssembler {
      */
     public static final String DISABLE_JAR_CACHE = "assembler.disableJarCache";
 
+    /**
+     * Parses model files concurrently rather than one at a time.
+     *
+     * <p>When set to true, each file added to the assembler is tokenized and
+     * parsed on a separate thread into its own buffer of load operations. The
+     * buffers are then replayed in the order the files were added, so the
+     * resulting model, shape conflicts, and validation events are the same as
+     * when files are loaded sequentially.
+     */
+    public static final String PARALLEL_LOAD = "assembler.parallelLoad";
+
     private static final Logger LOGGER = Logger.getLogger(ModelAssembler.class.getName());
 
     private static final Consumer<ValidationEvent> DEFAULT_EVENT_LISTENER = ValidationEvent -> {
@@ -103,6 +121,10 @@ public final class ModelAssembler {
     private boolean disablePrelude;
     private Consumer<ValidationEvent> validationEventListener = DEFAULT_EVENT_LISTENER;
     private StringTable stringTable;
+    private Path snapshotFile;
+    private ValidationBaseline validationBaseline;
+    private Consumer<ValidationBaseline> validationBaselineListener;
+    private IncrementalModelAssembler.Assembly incrementalAssembly;
 
     // Lazy initialization holder class idiom to hold a default trait factory.
     static final class LazyTraitFactoryHolder {
@@ -130,6 +152,9 @@ public final class ModelAssembler {
         assembler.disableValidation = disableValidation;
         assembler.validationEventListener = validationEventListener;
         assembler.stringTable = stringTable;
+        assembler.snapshotFile = snapshotFile;
+        assembler.validationBaseline = validationBaseline;
+        assembler.validationBaselineListener = validationBaselineListener;
         return assembler;
     }
 
@@ -149,6 +174,8 @@ public final class ModelAssembler {
      *     <li>Metadata registered via {@link #putMetadata}</li>
      *     <li>Validation is re-enabled if it was disabled.</li>
      *     <li>Validation event listener via {@link #validationEventListener(Consumer)}</li>
+     *     <li>Validation baseline via {@link #validationBaseline(ValidationBaseline)}</li>
+     *     <li>Validation baseline listener via {@link #validationBaselineListener(Consumer)}</li>
      * </ul>
      *
      * <p>The state of {@link #disablePrelude} is reset such that the prelude
@@ -167,6 +194,8 @@ public final class ModelAssembler {
         disablePrelude = false;
         disableValidation = false;
         validationEventListener = DEFAULT_EVENT_LISTENER;
+        validationBaseline = null;
+        validationBaselineListener = null;
         return this;
     }
 
@@ -268,14 +297,7 @@ public final class ModelAssembler {
             }
         } else if (Files.isRegularFile(importPath)) {
             // Use an absolute path for better de-duping of the same file.
-            inputStreamModels.put(importPath.toAbsolutePath().toString(), () -> {
-                try {
-                    return Files.newInputStream(importPath);
-                } catch (IOException e) {
-                    throw new ModelImportException(
-                            "Unable to import Smithy model from " + importPath + ": " + e.getMessage(), e);
-                }
-            });
+            inputStreamModels.put(importPath.toAbsolutePath().toString(), new ModelFile(importPath));
         } else {
             throw new ModelImportException("Cannot find import file: " + importPath);
         }
@@ -496,6 +518,69 @@ public final class ModelAssembler {
         return this;
     }
 
+    /**
+     * Validates the assembled model incrementally against a previously
+     * validated model.
+     *
+     * <p>Validators that implement {@link IncrementalValidator} only
+     * validate the shapes that are affected by the differences between the
+     * assembled model and the model of the baseline, and the baseline's
+     * events are reused for every other shape. Other validators validate
+     * the entire model. Suppressions and severity overrides are applied to
+     * every event using the assembled model.
+     *
+     * @param baseline Baseline to validate against, or null to validate the entire model.
+     * @return Returns the assembler.
+     * @see #validationBaselineListener(Consumer)
+     */
+    public ModelAssembler validationBaseline(ValidationBaseline baseline) {
+        this.validationBaseline = baseline;
+        return this;
+    }
+
+    /**
+     * Sets a listener that receives a {@link ValidationBaseline} each time
+     * the assembler validates a model.
+     *
+     * <p>The listener is not invoked if validation is disabled or if the
+     * model could not be loaded without errors.
+     *
+     * @param listener Listener that receives the baseline, or null.
+     * @return Returns the assembler.
+     * @see #validationBaseline(ValidationBaseline)
+     */
+    public ModelAssembler validationBaselineListener(Consumer<ValidationBaseline> listener) {
+        this.validationBaselineListener = listener;
+        return this;
+    }
+
+    /**
+     * Uses a {@link ModelSnapshot} file to skip loading and validating the
+     * model when the model files added to the assembler have not changed.
+     *
+     * <p>When the model is assembled, the contents of every model file added
+     * to the assembler are hashed and compared to the hash stored in the
+     * snapshot. If they match, the model and validation events stored in the
+     * snapshot are returned without parsing or validating any files.
+     * Otherwise, the model is assembled normally and a new snapshot is
+     * written to the given file if the model is not broken.
+     *
+     * <p>Snapshots are only used when the assembler contains nothing but
+     * model files and imports. Shapes, traits, models, document nodes,
+     * metadata, and validators added directly to the assembler cause the
+     * snapshot to be ignored, as does a custom {@link #traitFactory} or
+     * {@link #validatorFactory}. The hash also covers the built-in validators
+     * and decorators that are loaded and the class path they're loaded from,
+     * so adding a linter or a trait library invalidates the snapshot.
+     *
+     * @param snapshotFile File used to read and write snapshots, or null to disable snapshots.
+     * @return Returns the assembler.
+     */
+    public ModelAssembler snapshotFile(Path snapshotFile) {
+        this.snapshotFile = snapshotFile;
+        return this;
+    }
+
     /**
      * Assembles the model and returns the validated result.
      *
@@ -511,6 +596,14 @@ public final class ModelAssembler {
             validatorFactory = ModelValidator.defaultValidationFactory();
         }
 
+        if (snapshotFile != null && incrementalAssembly == null) {
+            if (canUseSnapshot()) {
+                return assembleWithSnapshot();
+            }
+            LOGGER.fine(() -> "Ignoring model snapshot because the assembler contains more than model files: "
+                              + snapshotFile);
+        }
+
         // Create a singular, composed event decorator used to modify events.
         ValidationEventDecorator decorator = ValidationEventDecorator.compose(validatorFactory.loadDecorators());
 
@@ -520,6 +613,7 @@ public final class ModelAssembler {
         LoadOperationProcessor processor = new LoadOperationProcessor(
                 traitFactory, prelude, areUnknownTraitsAllowed(), validationEventListener, decorator);
         List<ValidationEvent> events = processor.events();
+        Function<String, Consumer<LoadOperation>> observer = createObserver(processor);
 
         // Register manually added metadata.
         addMetadataToProcessor(metadata, processor);
@@ -537,7 +631,7 @@ public final class ModelAssembler {
         // Load parsed AST nodes and merge them into the processor.
         for (Node node : documentNodes) {
             try {
-                ModelLoader.loadParsedNode(node, processor);
+                ModelLoader.loadParsedNode(node, observer.apply(node.getSourceLocation().getFilename()));
             } catch (SourceException e) {
                 processor.accept(new LoadOperation.Event(ValidationEvent.fromSourceException(e)));
             }
@@ -548,11 +642,11 @@ public final class ModelAssembler {
         }
 
         // Load model files into the processor.
-        for (Map.Entry<String, Supplier<InputStream>> entry : inputStreamModels.entrySet()) {
-            try {
-                ModelLoader.load(traitFactory, properties, entry.getKey(), processor, entry.getValue(), stringTable);
-            } catch (SourceException e) {
-                processor.accept(new LoadOperation.Event(ValidationEvent.fromSourceException(e)));
+        if (isParallelLoadEnabled() && inputStreamModels.size() > 1) {
+            loadInputStreamModelsInParallel(observer);
+        } else {
+            for (Map.Entry<String, Supplier<InputStream>> entry : inputStreamModels.entrySet()) {
+                loadInputStreamModel(entry, observer.apply(entry.getKey()), stringTable);
             }
         }
 
@@ -562,11 +656,20 @@ public final class ModelAssembler {
             processor.accept(LoadOperation.ApplyTrait.from(entry.getKey(), entry.getValue()));
         }
 
+        // Replay operations from files that an incremental assembly did not need to load again.
+        if (incrementalAssembly != null) {
+            incrementalAssembly.getReplayedOperations().forEach(processor);
+        }
+
         Model processedModel = processor.buildModel();
 
         // Do the 1.0 -> 2.0 transform before full-model validation.
         Model transformed = new ModelInteropTransformer(processedModel, events, processor::getShapeVersion).transform();
 
+        if (incrementalAssembly != null) {
+            events = incrementalAssembly.loaded(transformed, events);
+        }
+
         if (disableValidation || LoaderUtils.containsErrorEvents(events)) {
             // All events have been emitted and decorated at this point.
             return new ValidatedResult<>(transformed, events);
@@ -579,6 +682,8 @@ public final class ModelAssembler {
                     .eventListener(validationEventListener)
                     .includeEvents(events)
                     .legacyValidationMode((boolean) properties.getOrDefault("LEGACY_VALIDATION_MODE", false))
+                    .baseline(validationBaseline)
+                    .baselineListener(validationBaselineListener)
                     .build()
                     .validate(transformed);
             return new ValidatedResult<>(transformed, mergedEvents);
@@ -588,6 +693,230 @@ public final class ModelAssembler {
         }
     }
 
+    private boolean canUseSnapshot() {
+        return shapes.isEmpty()
+               && pendingTraits.isEmpty()
+               && mergeModels.isEmpty()
+               && documentNodes.isEmpty()
+               && metadata.isEmpty()
+               && validators.isEmpty()
+               && traitFactory == LazyTraitFactoryHolder.INSTANCE
+               && validatorFactory == ModelValidator.defaultValidationFactory();
+    }
+
+    private ValidatedResult<Model> assembleWithSnapshot() {
+        // Read every source up front so that it can be hashed, and then reuse the bytes if the model is loaded.
+        Map<String, byte[]> sources = new LinkedHashMap<>();
+        sources.put("assembler.settings", createSnapshotSettings().getBytes(StandardCharsets.UTF_8));
+        for (Map.Entry<String, Supplier<InputStream>> entry : inputStreamModels.entrySet()) {
+            try (InputStream inputStream = entry.getValue().get()) {
+                sources.put(entry.getKey(), IoUtils.toByteArray(inputStream));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.fine(() -> "Not using a model snapshot because " + entry.getKey() + " could not be read: "
+                                  + e.getMessage());
+                return copyWithoutSnapshot().assemble();
+            }
+        }
+
+        String sourceHash = ModelSnapshot.hashSources(sources);
+        ValidatedResult<Model> cached = readSnapshot(sourceHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        ModelAssembler assembler = copyWithoutSnapshot();
+        for (Map.Entry<String, byte[]> entry : sources.entrySet()) {
+            assembler.inputStreamModels.computeIfPresent(entry.getKey(), (k, v) -> {
+                byte[] contents = entry.getValue();
+                return () -> new ByteArrayInputStream(contents);
+            });
+        }
+
+        ValidatedResult<Model> result = assembler.assemble();
+        if (result.getResult().isPresent() && !result.isBroken()) {
+            try {
+                ModelSnapshot.of(result.unwrap(), result.getValidationEvents(), sourceHash).write(snapshotFile);
+            } catch (ModelImportException e) {
+                LOGGER.warning(e.getMessage());
+            }
+        }
+
+        return result;
+    }
+
+    // Creates the settings that are hashed along with the sources of a snapshot. The default trait and validator
+    // factories load services from the class loader of this class, so they're identified by the validators and
+    // decorators they load and by the files on that class loader's class path.
+    private String createSnapshotSettings() {
+        StringBuilder result = new StringBuilder();
+        result.append("prelude=").append(!disablePrelude)
+                .append("\nvalidation=").append(!disableValidation)
+                .append("\nallowUnknownTraits=").append(areUnknownTraitsAllowed());
+        for (Validator validator : validatorFactory.loadBuiltinValidators()) {
+            result.append("\nvalidator=").append(validator.getClass().getName());
+        }
+        for (ValidationEventDecorator decorator : validatorFactory.loadDecorators()) {
+            result.append("\ndecorator=").append(decorator.getClass().getName());
+        }
+        for (Path entry : getClassPath(ModelAssembler.class.getClassLoader())) {
+            result.append("\nclasspath=").append(entry);
+            for (Path file : listClassPathFiles(entry)) {
+                try {
+                    result.append('\n').append(file).append(':').append(Files.size(file))
+                            .append(':').append(Files.getLastModifiedTime(file).toMillis());
+                } catch (IOException e) {
+                    result.append('\n').append(file).append(":missing");
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    private static List<Path> getClassPath(ClassLoader classLoader) {
+        List<Path> result = new ArrayList<>();
+        if (classLoader instanceof URLClassLoader) {
+            for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+                if ("file".equals(url.getProtocol())) {
+                    try {
+                        result.add(Paths.get(url.toURI()));
+                    } catch (URISyntaxException | IllegalArgumentException e) {
+                        LOGGER.fine(() -> "Not fingerprinting class path entry " + url + ": " + e.getMessage());
+                    }
+                }
+            }
+        } else {
+            for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+                if (!entry.isEmpty()) {
+                    result.add(Paths.get(entry));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<Path> listClassPathFiles(Path entry) {
+        if (!Files.isDirectory(entry)) {
+            return Collections.singletonList(entry);
+        }
+        try (Stream<Path> files = Files.walk(entry)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            return Collections.singletonList(entry);
+        }
+    }
+
+    private ValidatedResult<Model> readSnapshot(String sourceHash) {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+
+        try (InputStream inputStream = Files.newInputStream(snapshotFile)) {
+            ModelSnapshot snapshot = ModelSnapshot.read(inputStream, traitFactory);
+            if (!snapshot.getSourceHash().equals(sourceHash)) {
+                LOGGER.fine(() -> "Model snapshot is out of date: " + snapshotFile);
+                return null;
+            }
+            Model model = snapshot.getModel();
+            List<ValidationEvent> events = snapshot.getValidationEvents();
+            events.forEach(validationEventListener);
+            LOGGER.fine(() -> "Loaded model from snapshot: " + snapshotFile);
+            return new ValidatedResult<>(model, events);
+        } catch (IOException | ModelImportException e) {
+            LOGGER.warning(() -> "Ignoring invalid model snapshot " + snapshotFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private ModelAssembler copyWithoutSnapshot() {
+        ModelAssembler assembler = copy();
+        assembler.snapshotFile = null;
+        return assembler;
+    }
+
+    private void loadInputStreamModel(
+            Map.Entry<String, Supplier<InputStream>> entry,
+            Consumer<LoadOperation> operationConsumer,
+            Function<CharSequence, String> table
+    ) {
+        try {
+            ModelLoader.load(traitFactory, properties, entry.getKey(), operationConsumer, entry.getValue(), table);
+        } catch (SourceException e) {
+            operationConsumer.accept(new LoadOperation.Event(ValidationEvent.fromSourceException(e)));
+        }
+    }
+
+    // Each file is parsed into its own buffer of operations, and the buffers are replayed into the processor in
+    // the order files were added. StringTable isn't thread-safe, so each thread gets its own table.
+    private void loadInputStreamModelsInParallel(Function<String, Consumer<LoadOperation>> observer) {
+        ThreadLocal<StringTable> tables = ThreadLocal.withInitial(StringTable::new);
+        Function<CharSequence, String> table = chars -> tables.get().apply(chars);
+        List<String> filenames = new ArrayList<>(inputStreamModels.keySet());
+        List<BufferedOperations> buffers = new ArrayList<>(inputStreamModels.entrySet())
+                .parallelStream()
+                .map(entry -> {
+                    BufferedOperations buffer = new BufferedOperations();
+                    loadInputStreamModel(entry, buffer, table);
+                    return buffer;
+                })
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < buffers.size(); i++) {
+            buffers.get(i).replay(observer.apply(filenames.get(i)));
+        }
+    }
+
+    // Creates the consumer used to load each file. Incremental assemblies observe the operations of each file so
+    // that they can be reused by later assemblies.
+    private Function<String, Consumer<LoadOperation>> createObserver(LoadOperationProcessor processor) {
+        if (incrementalAssembly == null) {
+            return filename -> processor;
+        }
+
+        return filename -> operation -> {
+            incrementalAssembly.operationLoaded(filename, operation);
+            processor.accept(operation);
+        };
+    }
+
+    ModelAssembler incrementalAssembly(IncrementalModelAssembler.Assembly incrementalAssembly) {
+        this.incrementalAssembly = incrementalAssembly;
+        return this;
+    }
+
+    boolean containsModelSources() {
+        return !inputStreamModels.isEmpty()
+               || !documentNodes.isEmpty()
+               || !mergeModels.isEmpty()
+               || !shapes.isEmpty()
+               || !pendingTraits.isEmpty()
+               || !metadata.isEmpty();
+    }
+
+    // Loaders can emit operations after parsing completes (for example, traits applied when a forward reference
+    // is resolved), so once the buffered operations are replayed, any further operations go directly to the target.
+    private static final class BufferedOperations implements Consumer<LoadOperation> {
+        private List<LoadOperation> operations = new ArrayList<>();
+        private Consumer<LoadOperation> target;
+
+        @Override
+        public void accept(LoadOperation operation) {
+            if (target != null) {
+                target.accept(operation);
+            } else {
+                operations.add(operation);
+            }
+        }
+
+        void replay(Consumer<LoadOperation> consumer) {
+            List<LoadOperation> buffered = operations;
+            operations = null;
+            target = consumer;
+            for (LoadOperation operation : buffered) {
+                consumer.accept(operation);
+            }
+        }
+    }
+
     private void addMetadataToProcessor(Map<String, Node> metadataMap, LoadOperationProcessor processor) {
         for (Map.Entry<String, Node> entry : metadataMap.entrySet()) {
             processor.accept(new LoadOperation.PutMetadata(Version.UNKNOWN, entry.getKey(), entry.getValue()));
@@ -598,4 +927,9 @@ public final class ModelAssembler {
         Object allowUnknown = properties.get(ModelAssembler.ALLOW_UNKNOWN_TRAITS);
         return allowUnknown != null && (boolean) allowUnknown;
     }
+
+    private boolean isParallelLoadEnabled() {
+        Object parallelLoad = properties.get(ModelAssembler.PARALLEL_LOAD);
+        return parallelLoad != null && (boolean) parallelLoad;
+    }
 }
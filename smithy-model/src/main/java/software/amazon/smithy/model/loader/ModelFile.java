@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+/**
+ * Supplies the contents of a model file imported from the file system.
+ *
+ * <p>IDL files are read with {@link #readContents()} rather than through
+ * an {@code InputStream} so that the tokenizer can scan their bytes in
+ * place instead of decoding the whole file into a String first.
+ */
+final class ModelFile implements Supplier<InputStream> {
+
+    // Mapping a file costs more than reading it when the file is small, and mapped files can't be deleted on
+    // some platforms until the mapping is garbage collected, so only large files are mapped.
+    static final long MAP_THRESHOLD = 1024 * 1024;
+
+    private final Path path;
+
+    ModelFile(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public InputStream get() {
+        try {
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            throw new ModelImportException("Unable to import Smithy model from " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the UTF-8 contents of the file.
+     *
+     * <p>Files larger than {@link #MAP_THRESHOLD} are memory mapped. ASCII
+     * files are returned as a view over the bytes of the file, and other
+     * files are decoded into a String.
+     *
+     * @return Returns the contents of the file.
+     * @throws IOException if the file can't be read.
+     */
+    CharSequence readContents() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Smithy IDL file is too large: " + path);
+            } else if (size >= MAP_THRESHOLD) {
+                return ByteCharSequence.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full or the file ends.
+            }
+            buffer.flip();
+            return ByteCharSequence.of(buffer);
+        }
+    }
+}
@@ -68,10 +68,7 @@ final class ModelLoader {
     ) {
         try {
             if (filename.endsWith(".smithy")) {
-                try (InputStream inputStream = contentSupplier.get()) {
-                    String contents = IoUtils.toUtf8String(inputStream);
-                    new IdlModelLoader(filename, contents, stringTable).parse(operationConsumer);
-                }
+                new IdlModelLoader(filename, readIdl(contentSupplier), stringTable).parse(operationConsumer);
                 return true;
             } else if (filename.endsWith(".jar")) {
                 loadJar(traitFactory, properties, filename, operationConsumer, stringTable);
@@ -79,7 +76,7 @@ final class ModelLoader {
             } else if (filename.endsWith(".json") || filename.equals(SourceLocation.NONE.getFilename())) {
                 try (InputStream inputStream = contentSupplier.get()) {
                     // Assume it's JSON if there's an N/A filename.
-                    return loadParsedNode(Node.parse(inputStream, filename), operationConsumer);
+                    return StreamingAstModelLoader.load(filename, inputStream, operationConsumer);
                 }
             } else {
                 LOGGER.warning(() -> "Ignoring unrecognized Smithy model file: " + filename);
@@ -90,6 +87,17 @@ final class ModelLoader {
         }
     }
 
+    // Files imported from the file system are scanned in place, avoiding a copy of the file into a String.
+    private static CharSequence readIdl(Supplier<InputStream> contentSupplier) throws IOException {
+        if (contentSupplier instanceof ModelFile) {
+            return ((ModelFile) contentSupplier).readContents();
+        }
+
+        try (InputStream inputStream = contentSupplier.get()) {
+            return IoUtils.toUtf8String(inputStream);
+        }
+    }
+
     // Attempts to load a Smithy AST JSON model. JSON files that do not contain a top-level "smithy" key are skipped
     // and false is returned. The "smithy" version is used to delegate loading to different versions of the Smithy
     // JSON AST format.
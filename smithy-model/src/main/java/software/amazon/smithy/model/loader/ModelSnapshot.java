@@ -0,0 +1,298 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * A compact, binary snapshot of an assembled {@link Model} and the
+ * validation events that were emitted while it was assembled.
+ *
+ * <p>Snapshots are used to skip parsing, shape loading, and validation
+ * when the sources used to create a model have not changed. Each snapshot
+ * contains a hash of its sources that can be compared against the current
+ * sources before the model is decoded. Decoding the model is deferred until
+ * {@link #getModel()} or {@link #getValidationEvents()} is first called, so
+ * checking whether a snapshot is stale only requires reading its header.
+ *
+ * <p>The encoded model contains a table of every string and every shape ID
+ * used in the model, followed by each non-prelude shape, its introduced
+ * traits, and its members. Shapes are written so that mixins are always
+ * decoded before the shapes that use them, allowing shapes to be built
+ * directly rather than going through the model loading pipeline.
+ *
+ * <p>The snapshot format is only guaranteed to be readable by the same
+ * version of Smithy that wrote it, and a snapshot must be discarded when
+ * the traits or validators available on the class path change.
+ *
+ * @see ModelAssembler#snapshotFile(Path)
+ */
+public final class ModelSnapshot {
+
+    static final int MAGIC = 0x534d534e;
+    static final int FORMAT_VERSION = 1;
+
+    private static final Logger LOGGER = Logger.getLogger(ModelSnapshot.class.getName());
+
+    private final String sourceHash;
+    private final TraitFactory traitFactory;
+    private byte[] encoded;
+    private Model model;
+    private List<ValidationEvent> events;
+
+    private ModelSnapshot(String sourceHash, Model model, List<ValidationEvent> events) {
+        this.sourceHash = sourceHash;
+        this.model = model;
+        this.events = events;
+        this.traitFactory = null;
+    }
+
+    private ModelSnapshot(String sourceHash, byte[] encoded, TraitFactory traitFactory) {
+        this.sourceHash = sourceHash;
+        this.encoded = encoded;
+        this.traitFactory = traitFactory;
+    }
+
+    /**
+     * Creates a snapshot of a model.
+     *
+     * @param model Model to snapshot.
+     * @param events Validation events to store with the model.
+     * @param sourceHash Hash of the sources used to create the model.
+     * @return Returns the created snapshot.
+     */
+    public static ModelSnapshot of(Model model, Collection<ValidationEvent> events, String sourceHash) {
+        return new ModelSnapshot(Objects.requireNonNull(sourceHash),
+                                 Objects.requireNonNull(model),
+                                 Collections.unmodifiableList(new ArrayList<>(events)));
+    }
+
+    /**
+     * Reads a snapshot from an input stream using the default trait factory.
+     *
+     * <p>The input stream is not closed by this method.
+     *
+     * @param input Input stream to read from.
+     * @return Returns the read snapshot.
+     * @throws ModelImportException if the input is not a valid snapshot.
+     */
+    public static ModelSnapshot read(InputStream input) {
+        return read(input, ModelAssembler.LazyTraitFactoryHolder.INSTANCE);
+    }
+
+    /**
+     * Reads a snapshot from an input stream.
+     *
+     * <p>The input stream is not closed by this method.
+     *
+     * @param input Input stream to read from.
+     * @param traitFactory Trait factory used to create traits when the model is decoded.
+     * @return Returns the read snapshot.
+     * @throws ModelImportException if the input is not a valid snapshot.
+     */
+    public static ModelSnapshot read(InputStream input, TraitFactory traitFactory) {
+        try {
+            DataInputStream data = new DataInputStream(input);
+            if (data.readInt() != MAGIC) {
+                throw new ModelImportException("Invalid model snapshot: missing snapshot header");
+            }
+            int version = data.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new ModelImportException("Unsupported model snapshot format version: " + version);
+            }
+            byte[] hash = new byte[data.readInt()];
+            data.readFully(hash);
+            byte[] encoded = new byte[data.readInt()];
+            data.readFully(encoded);
+            return new ModelSnapshot(new String(hash, StandardCharsets.UTF_8), encoded, traitFactory);
+        } catch (IOException e) {
+            throw new ModelImportException("Unable to read model snapshot: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a snapshot from a file using the default trait factory.
+     *
+     * @param path File to read.
+     * @return Returns the read snapshot.
+     * @throws ModelImportException if the file is not a valid snapshot.
+     */
+    public static ModelSnapshot read(Path path) {
+        try (InputStream input = Files.newInputStream(path)) {
+            return read(input);
+        } catch (IOException e) {
+            throw new ModelImportException("Unable to read model snapshot " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Computes a hash of named model sources that is suitable for use as a
+     * snapshot source hash.
+     *
+     * <p>Both the name and contents of each source contribute to the hash,
+     * and the hash is sensitive to the order of sources.
+     *
+     * @param sources Map of source names to source contents.
+     * @return Returns the computed hash as a hex string.
+     */
+    public static String hashSources(Map<String, byte[]> sources) {
+        MessageDigest digest = createDigest();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(buffer);
+        try {
+            for (Map.Entry<String, byte[]> entry : sources.entrySet()) {
+                byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                data.writeInt(name.length);
+                data.write(name);
+                data.writeInt(entry.getValue().length);
+                data.flush();
+                digest.update(buffer.toByteArray());
+                buffer.reset();
+                digest.update(entry.getValue());
+            }
+        } catch (IOException e) {
+            // Writing to a byte array never fails.
+            throw new IllegalStateException(e);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Gets the hash of the sources used to create the snapshot.
+     *
+     * @return Returns the source hash.
+     */
+    public String getSourceHash() {
+        return sourceHash;
+    }
+
+    /**
+     * Gets the model stored in the snapshot, decoding it if necessary.
+     *
+     * @return Returns the model.
+     * @throws ModelImportException if the snapshot cannot be decoded.
+     */
+    public Model getModel() {
+        decode();
+        return model;
+    }
+
+    /**
+     * Gets the validation events stored in the snapshot, decoding them if necessary.
+     *
+     * @return Returns the validation events.
+     * @throws ModelImportException if the snapshot cannot be decoded.
+     */
+    public List<ValidationEvent> getValidationEvents() {
+        decode();
+        return events;
+    }
+
+    /**
+     * Writes the snapshot to an output stream.
+     *
+     * <p>The output stream is not closed by this method.
+     *
+     * @param output Output stream to write to.
+     */
+    public void write(OutputStream output) {
+        try {
+            byte[] body = encoded != null ? encoded : new ModelSnapshotWriter().write(model, events);
+            byte[] hash = sourceHash.getBytes(StandardCharsets.UTF_8);
+            DataOutputStream data = new DataOutputStream(output);
+            data.writeInt(MAGIC);
+            data.writeInt(FORMAT_VERSION);
+            data.writeInt(hash.length);
+            data.write(hash);
+            data.writeInt(body.length);
+            data.write(body);
+            data.flush();
+        } catch (IOException e) {
+            throw new ModelImportException("Unable to write model snapshot: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the snapshot to a file.
+     *
+     * <p>The snapshot is first written to a temporary file in the same
+     * directory and then moved into place, so concurrent readers never see
+     * a partially written snapshot.
+     *
+     * @param path File to write to.
+     */
+    public void write(Path path) {
+        Path parent = path.toAbsolutePath().getParent();
+        Path temp = null;
+        try {
+            Files.createDirectories(parent);
+            temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                write(output);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ModelImportException("Unable to write model snapshot " + path + ": " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private static void deleteQuietly(Path temp) {
+        if (temp != null) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                LOGGER.fine(() -> "Unable to delete temporary snapshot file " + temp + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void decode() {
+        if (model == null) {
+            ModelSnapshotReader reader = new ModelSnapshotReader(encoded, traitFactory);
+            model = reader.readModel();
+            events = Collections.unmodifiableList(reader.readEvents());
+        }
+    }
+
+    static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.BooleanNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NullNode;
+import software.amazon.smithy.model.node.NumberNode;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.AbstractShapeBuilder;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ResourceShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeType;
+import software.amazon.smithy.model.traits.DynamicTrait;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.traits.synthetic.OriginalShapeIdTrait;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * Decodes the body of a {@link ModelSnapshot} written by {@link ModelSnapshotWriter}.
+ */
+final class ModelSnapshotReader {
+
+    private final byte[] data;
+    private final TraitFactory traitFactory;
+    private final Map<ShapeId, Shape> built = new HashMap<>();
+    private int position;
+    private String[] strings;
+    private ShapeId[] shapeIds;
+
+    ModelSnapshotReader(byte[] data, TraitFactory traitFactory) {
+        this.data = data;
+        this.traitFactory = traitFactory;
+    }
+
+    Model readModel() {
+        try {
+            readTables();
+            Model.Builder builder = Model.builder();
+
+            Model prelude = Prelude.getPreludeModel();
+            for (ShapeId id : readShapeIds()) {
+                prelude.getShape(id).ifPresent(shape -> {
+                    built.put(id, shape);
+                    builder.addShape(shape);
+                });
+            }
+
+            Map<String, Node> metadata = new LinkedHashMap<>();
+            int metadataCount = readVarint();
+            for (int i = 0; i < metadataCount; i++) {
+                metadata.put(readString(), readNode());
+            }
+            builder.metadata(metadata);
+
+            int shapeCount = readVarint();
+            for (int i = 0; i < shapeCount; i++) {
+                Shape shape = readShape();
+                built.put(shape.getId(), shape);
+                builder.addShape(shape);
+            }
+
+            return builder.build();
+        } catch (RuntimeException e) {
+            throw new ModelImportException("Invalid model snapshot: " + e.getMessage(), e);
+        }
+    }
+
+    List<ValidationEvent> readEvents() {
+        try {
+            int count = readVarint();
+            List<ValidationEvent> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                events.add(ValidationEvent.fromNode(readNode()));
+            }
+            return events;
+        } catch (RuntimeException e) {
+            throw new ModelImportException("Invalid model snapshot: " + e.getMessage(), e);
+        }
+    }
+
+    private void readTables() {
+        strings = new String[readVarint()];
+        for (int i = 0; i < strings.length; i++) {
+            int length = readVarint();
+            strings[i] = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+        }
+
+        shapeIds = new ShapeId[readVarint()];
+        for (int i = 0; i < shapeIds.length; i++) {
+            String namespace = readString();
+            String name = readString();
+            int member = readVarint();
+            shapeIds[i] = member == 0
+                    ? ShapeId.fromParts(namespace, name)
+                    : ShapeId.fromParts(namespace, name, strings[member - 1]);
+        }
+    }
+
+    private Shape readShape() {
+        String typeName = readString();
+        ShapeType type = ShapeType.fromString(typeName)
+                .orElseThrow(() -> new IllegalStateException("Unknown shape type: " + typeName));
+        AbstractShapeBuilder<?, ?> builder = type.createBuilderForType();
+        ShapeId id = readShapeId();
+        builder.id(id);
+        builder.source(readSourceLocation());
+
+        // Traits are added before mixins to match the order used by Shape#toBuilder.
+        List<ShapeId> mixins = readShapeIds();
+        builder.addTraits(readTraits(id));
+        for (ShapeId mixin : mixins) {
+            builder.addMixin(expectBuiltShape(mixin));
+        }
+
+        int memberCount = readVarint();
+        for (int i = 0; i < memberCount; i++) {
+            MemberShape.Builder member = MemberShape.builder().id(id.withMember(readString()));
+            member.target(readShapeId());
+            member.source(readSourceLocation());
+            for (ShapeId mixin : readShapeIds()) {
+                Shape container = expectBuiltShape(mixin.withoutMember());
+                String memberName = mixin.getMember().orElse("");
+                member.addMixin(container.getMember(memberName).orElseThrow(
+                        () -> new IllegalStateException("Unknown mixin member: " + mixin)));
+            }
+            member.addTraits(readTraits(member.getId()));
+            builder.addMember(member.build());
+        }
+
+        if (builder instanceof OperationShape.Builder) {
+            OperationShape.Builder operation = (OperationShape.Builder) builder;
+            operation.input(readShapeId());
+            operation.output(readShapeId());
+            operation.errors(readShapeIds());
+        } else if (builder instanceof ServiceShape.Builder) {
+            ServiceShape.Builder service = (ServiceShape.Builder) builder;
+            service.version(readString());
+            service.errors(readShapeIds());
+            int renameCount = readVarint();
+            for (int i = 0; i < renameCount; i++) {
+                service.putRename(readShapeId(), readString());
+            }
+            service.operations(readShapeIds());
+            service.resources(readShapeIds());
+        } else if (builder instanceof ResourceShape.Builder) {
+            ResourceShape.Builder resource = (ResourceShape.Builder) builder;
+            resource.identifiers(readNamedShapeIds());
+            resource.properties(readNamedShapeIds());
+            resource.put(readOptionalShapeId());
+            resource.create(readOptionalShapeId());
+            resource.read(readOptionalShapeId());
+            resource.update(readOptionalShapeId());
+            resource.delete(readOptionalShapeId());
+            resource.list(readOptionalShapeId());
+            for (ShapeId operation : readShapeIds()) {
+                resource.addOperation(operation);
+            }
+            for (ShapeId operation : readShapeIds()) {
+                resource.addCollectionOperation(operation);
+            }
+            for (ShapeId child : readShapeIds()) {
+                resource.addResource(child);
+            }
+        }
+
+        return (Shape) builder.build();
+    }
+
+    private Shape expectBuiltShape(ShapeId id) {
+        Shape shape = built.get(id);
+        if (shape == null) {
+            throw new IllegalStateException("Mixin was not decoded before it was used: " + id);
+        }
+        return shape;
+    }
+
+    private List<Trait> readTraits(ShapeId target) {
+        int count = readVarint();
+        List<Trait> traits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ShapeId traitId = readShapeId();
+            Node value = readNode();
+            if (traitId.equals(OriginalShapeIdTrait.ID)) {
+                traits.add(new OriginalShapeIdTrait(ShapeId.from(value.expectStringNode().getValue())));
+            } else {
+                traits.add(traitFactory.createTrait(traitId, target, value)
+                                   .orElseGet(() -> new DynamicTrait(traitId, value)));
+            }
+        }
+        return traits;
+    }
+
+    private Node readNode() {
+        int tag = data[position++];
+        switch (tag) {
+            case ModelSnapshotWriter.NODE_NULL:
+                return new NullNode(readSourceLocation());
+            case ModelSnapshotWriter.NODE_TRUE:
+                return new BooleanNode(true, readSourceLocation());
+            case ModelSnapshotWriter.NODE_FALSE:
+                return new BooleanNode(false, readSourceLocation());
+            case ModelSnapshotWriter.NODE_STRING:
+                String value = readString();
+                return new StringNode(value, readSourceLocation());
+            case ModelSnapshotWriter.NODE_INTEGER:
+                int intValue = (int) readSignedVarint();
+                return new NumberNode(intValue, readSourceLocation());
+            case ModelSnapshotWriter.NODE_LONG:
+                long longValue = readSignedVarint();
+                return new NumberNode(longValue, readSourceLocation());
+            case ModelSnapshotWriter.NODE_SHORT:
+                short shortValue = (short) readSignedVarint();
+                return new NumberNode(shortValue, readSourceLocation());
+            case ModelSnapshotWriter.NODE_BYTE:
+                byte byteValue = (byte) readSignedVarint();
+                return new NumberNode(byteValue, readSourceLocation());
+            case ModelSnapshotWriter.NODE_DOUBLE:
+                double doubleValue = Double.longBitsToDouble(readLong());
+                return new NumberNode(doubleValue, readSourceLocation());
+            case ModelSnapshotWriter.NODE_FLOAT:
+                float floatValue = Float.intBitsToFloat((int) readLong());
+                return new NumberNode(floatValue, readSourceLocation());
+            case ModelSnapshotWriter.NODE_BIG_DECIMAL:
+                BigDecimal decimal = new BigDecimal(readString());
+                return new NumberNode(decimal, readSourceLocation());
+            case ModelSnapshotWriter.NODE_BIG_INTEGER:
+                BigInteger bigInteger = new BigInteger(readString());
+                return new NumberNode(bigInteger, readSourceLocation());
+            case ModelSnapshotWriter.NODE_ARRAY:
+                int size = readVarint();
+                List<Node> elements = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    elements.add(readNode());
+                }
+                return new ArrayNode(elements, readSourceLocation());
+            case ModelSnapshotWriter.NODE_OBJECT:
+                int memberCount = readVarint();
+                Map<StringNode, Node> members = new LinkedHashMap<>();
+                for (int i = 0; i < memberCount; i++) {
+                    String key = readString();
+                    StringNode keyNode = new StringNode(key, readSourceLocation());
+                    members.put(keyNode, readNode());
+                }
+                return new ObjectNode(members, readSourceLocation());
+            default:
+                throw new IllegalStateException("Unknown node tag: " + tag);
+        }
+    }
+
+    private SourceLocation readSourceLocation() {
+        int filename = readVarint();
+        if (filename == 0) {
+            return SourceLocation.NONE;
+        }
+        int line = readVarint();
+        int column = readVarint();
+        return new SourceLocation(strings[filename - 1], line, column);
+    }
+
+    private Map<String, ShapeId> readNamedShapeIds() {
+        int count = readVarint();
+        Map<String, ShapeId> result = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            result.put(readString(), readShapeId());
+        }
+        return result;
+    }
+
+    private List<ShapeId> readShapeIds() {
+        int count = readVarint();
+        List<ShapeId> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(readShapeId());
+        }
+        return result;
+    }
+
+    private ShapeId readOptionalShapeId() {
+        int index = readVarint();
+        return index == 0 ? null : shapeIds[index - 1];
+    }
+
+    private ShapeId readShapeId() {
+        return shapeIds[readVarint()];
+    }
+
+    private String readString() {
+        return strings[readVarint()];
+    }
+
+    private int readVarint() {
+        return (int) readVarLong();
+    }
+
+    private long readSignedVarint() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readVarLong() {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position++];
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    private long readLong() {
+        long result = 0;
+        for (int i = 0; i < 8; i++) {
+            result = (result << 8) | (data[position++] & 0xFF);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NumberNode;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ResourceShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.synthetic.SyntheticEnumTrait;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * Encodes the body of a {@link ModelSnapshot}.
+ *
+ * <p>The body is written in two passes: shapes, metadata, and events are
+ * first encoded into a buffer while strings and shape IDs are assigned
+ * table indexes, and then the string and shape ID tables are written
+ * ahead of that buffer.
+ */
+final class ModelSnapshotWriter {
+
+    static final int NODE_NULL = 0;
+    static final int NODE_TRUE = 1;
+    static final int NODE_FALSE = 2;
+    static final int NODE_STRING = 3;
+    static final int NODE_INTEGER = 4;
+    static final int NODE_LONG = 5;
+    static final int NODE_DOUBLE = 6;
+    static final int NODE_FLOAT = 7;
+    static final int NODE_SHORT = 8;
+    static final int NODE_BYTE = 9;
+    static final int NODE_BIG_DECIMAL = 10;
+    static final int NODE_BIG_INTEGER = 11;
+    static final int NODE_ARRAY = 12;
+    static final int NODE_OBJECT = 13;
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final Map<ShapeId, Integer> shapeIds = new LinkedHashMap<>();
+    private final Encoder body = new Encoder();
+
+    byte[] write(Model model, Collection<ValidationEvent> events) {
+        // Prelude shapes are referenced by ID and taken from the prelude when decoded.
+        List<ShapeId> preludeShapes = new ArrayList<>();
+        for (Shape shape : model.toSet()) {
+            if (!shape.isMemberShape() && Prelude.isPreludeShape(shape)) {
+                preludeShapes.add(shape.getId());
+            }
+        }
+        writeShapeIds(preludeShapes);
+
+        body.writeVarint(model.getMetadata().size());
+        for (Map.Entry<String, Node> entry : model.getMetadata().entrySet()) {
+            writeString(entry.getKey());
+            writeNode(entry.getValue());
+        }
+
+        List<Shape> shapes = sortMixinsFirst(model);
+        body.writeVarint(shapes.size());
+        for (Shape shape : shapes) {
+            writeShape(shape);
+        }
+
+        body.writeVarint(events.size());
+        for (ValidationEvent event : events) {
+            writeNode(event.toNode());
+        }
+
+        // Write the tables, followed by the already encoded body.
+        Encoder result = new Encoder();
+        result.writeVarint(strings.size());
+        for (String value : strings.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            result.writeVarint(bytes.length);
+            result.write(bytes, 0, bytes.length);
+        }
+        result.writeVarint(shapeIds.size());
+        for (ShapeId id : shapeIds.keySet()) {
+            result.writeVarint(strings.get(id.getNamespace()));
+            result.writeVarint(strings.get(id.getName()));
+            result.writeVarint(id.getMember().map(strings::get).map(i -> i + 1).orElse(0));
+        }
+        result.writeEncoder(body);
+        return result.toByteArray();
+    }
+
+    // Prelude shapes are not written, and mixins are always written before the shapes that use them.
+    private static List<Shape> sortMixinsFirst(Model model) {
+        List<Shape> result = new ArrayList<>();
+        Set<ShapeId> visited = new HashSet<>();
+        for (Shape shape : model.toSet()) {
+            addShapeAfterMixins(model, shape, visited, result);
+        }
+        return result;
+    }
+
+    private static void addShapeAfterMixins(Model model, Shape shape, Set<ShapeId> visited, List<Shape> result) {
+        if (shape.isMemberShape() || Prelude.isPreludeShape(shape) || !visited.add(shape.getId())) {
+            return;
+        }
+        for (ShapeId mixin : shape.getMixins()) {
+            model.getShape(mixin).ifPresent(m -> addShapeAfterMixins(model, m, visited, result));
+        }
+        result.add(shape);
+    }
+
+    private void writeShape(Shape shape) {
+        writeString(shape.getType().toString());
+        writeShapeId(shape.getId());
+        writeSourceLocation(shape.getSourceLocation());
+        writeShapeIds(shape.getMixins());
+        writeTraits(shape.getIntroducedTraits().values());
+
+        // Members inherited from mixins are written too, since they can have their own source location.
+        Collection<MemberShape> members = shape.members();
+        body.writeVarint(members.size());
+        for (MemberShape member : members) {
+            writeString(member.getMemberName());
+            writeShapeId(member.getTarget());
+            writeSourceLocation(member.getSourceLocation());
+            writeShapeIds(member.getMixins());
+            writeTraits(member.getIntroducedTraits().values());
+        }
+
+        if (shape instanceof OperationShape) {
+            OperationShape operation = (OperationShape) shape;
+            writeShapeId(operation.getInputShape());
+            writeShapeId(operation.getOutputShape());
+            writeShapeIds(operation.getIntroducedErrors());
+        } else if (shape instanceof ServiceShape) {
+            ServiceShape service = (ServiceShape) shape;
+            writeString(service.getIntroducedVersion());
+            writeShapeIds(service.getIntroducedErrors());
+            body.writeVarint(service.getIntroducedRename().size());
+            for (Map.Entry<ShapeId, String> entry : service.getIntroducedRename().entrySet()) {
+                writeShapeId(entry.getKey());
+                writeString(entry.getValue());
+            }
+            writeShapeIds(service.getIntroducedOperations());
+            writeShapeIds(service.getIntroducedResources());
+        } else if (shape instanceof ResourceShape) {
+            ResourceShape resource = (ResourceShape) shape;
+            writeNamedShapeIds(resource.getIdentifiers());
+            writeNamedShapeIds(resource.getProperties());
+            writeOptionalShapeId(resource.getPut());
+            writeOptionalShapeId(resource.getCreate());
+            writeOptionalShapeId(resource.getRead());
+            writeOptionalShapeId(resource.getUpdate());
+            writeOptionalShapeId(resource.getDelete());
+            writeOptionalShapeId(resource.getList());
+            writeShapeIds(resource.getOperations());
+            writeShapeIds(resource.getCollectionOperations());
+            writeShapeIds(resource.getResources());
+        }
+    }
+
+    private void writeTraits(Collection<Trait> traits) {
+        List<Trait> written = new ArrayList<>(traits.size());
+        for (Trait trait : traits) {
+            // Enum shapes recompute their synthetic enum trait when they're built.
+            if (!(trait instanceof SyntheticEnumTrait)) {
+                written.add(trait);
+            }
+        }
+        body.writeVarint(written.size());
+        for (Trait trait : written) {
+            writeShapeId(trait.toShapeId());
+            writeNode(trait.toNode());
+        }
+    }
+
+    private void writeNode(Node node) {
+        switch (node.getType()) {
+            case NULL:
+                body.write(NODE_NULL);
+                break;
+            case BOOLEAN:
+                body.write(node.expectBooleanNode().getValue() ? NODE_TRUE : NODE_FALSE);
+                break;
+            case STRING:
+                body.write(NODE_STRING);
+                writeString(node.expectStringNode().getValue());
+                break;
+            case NUMBER:
+                writeNumber(node.expectNumberNode());
+                break;
+            case ARRAY:
+                ArrayNode array = node.expectArrayNode();
+                body.write(NODE_ARRAY);
+                body.writeVarint(array.size());
+                for (Node element : array.getElements()) {
+                    writeNode(element);
+                }
+                break;
+            case OBJECT:
+            default:
+                ObjectNode object = node.expectObjectNode();
+                body.write(NODE_OBJECT);
+                body.writeVarint(object.size());
+                for (Map.Entry<StringNode, Node> entry : object.getMembers().entrySet()) {
+                    writeString(entry.getKey().getValue());
+                    writeSourceLocation(entry.getKey().getSourceLocation());
+                    writeNode(entry.getValue());
+                }
+                break;
+        }
+        writeSourceLocation(node.getSourceLocation());
+    }
+
+    // Numbers retain their boxed type so that decoded nodes are equal to the nodes that were written.
+    private void writeNumber(NumberNode node) {
+        Number value = node.getValue();
+        if (value instanceof Integer) {
+            body.write(NODE_INTEGER);
+            body.writeSignedVarint(value.longValue());
+        } else if (value instanceof Long) {
+            body.write(NODE_LONG);
+            body.writeSignedVarint(value.longValue());
+        } else if (value instanceof Short) {
+            body.write(NODE_SHORT);
+            body.writeSignedVarint(value.longValue());
+        } else if (value instanceof Byte) {
+            body.write(NODE_BYTE);
+            body.writeSignedVarint(value.longValue());
+        } else if (value instanceof Double) {
+            body.write(NODE_DOUBLE);
+            body.writeLong(Double.doubleToRawLongBits(value.doubleValue()));
+        } else if (value instanceof Float) {
+            body.write(NODE_FLOAT);
+            body.writeLong(Float.floatToRawIntBits(value.floatValue()));
+        } else if (value instanceof BigInteger) {
+            body.write(NODE_BIG_INTEGER);
+            writeString(value.toString());
+        } else if (value instanceof BigDecimal) {
+            body.write(NODE_BIG_DECIMAL);
+            writeString(value.toString());
+        } else {
+            body.write(NODE_BIG_DECIMAL);
+            writeString(new BigDecimal(value.toString()).toString());
+        }
+    }
+
+    private void writeSourceLocation(SourceLocation location) {
+        if (location == SourceLocation.NONE || location.equals(SourceLocation.NONE)) {
+            body.writeVarint(0);
+        } else {
+            writeString(location.getFilename(), 1);
+            body.writeVarint(location.getLine());
+            body.writeVarint(location.getColumn());
+        }
+    }
+
+    private void writeNamedShapeIds(Map<String, ShapeId> ids) {
+        body.writeVarint(ids.size());
+        for (Map.Entry<String, ShapeId> entry : ids.entrySet()) {
+            writeString(entry.getKey());
+            writeShapeId(entry.getValue());
+        }
+    }
+
+    private void writeShapeIds(Collection<ShapeId> ids) {
+        body.writeVarint(ids.size());
+        for (ShapeId id : ids) {
+            writeShapeId(id);
+        }
+    }
+
+    private void writeOptionalShapeId(Optional<ShapeId> id) {
+        body.writeVarint(id.map(this::shapeIdIndex).map(i -> i + 1).orElse(0));
+    }
+
+    private void writeShapeId(ShapeId id) {
+        body.writeVarint(shapeIdIndex(id));
+    }
+
+    private int shapeIdIndex(ShapeId id) {
+        Integer index = shapeIds.get(id);
+        if (index == null) {
+            stringIndex(id.getNamespace());
+            stringIndex(id.getName());
+            id.getMember().ifPresent(this::stringIndex);
+            index = shapeIds.size();
+            shapeIds.put(id, index);
+        }
+        return index;
+    }
+
+    private void writeString(String value) {
+        writeString(value, 0);
+    }
+
+    private void writeString(String value, int offset) {
+        body.writeVarint(stringIndex(value) + offset);
+    }
+
+    private int stringIndex(String value) {
+        Integer index = strings.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.put(value, index);
+        }
+        return index;
+    }
+
+    static final class Encoder extends ByteArrayOutputStream {
+        Encoder() {
+            super(8192);
+        }
+
+        void writeEncoder(Encoder other) {
+            write(other.buf, 0, other.count);
+        }
+
+        void writeVarint(int value) {
+            writeVarint(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeLong(long value) {
+            for (int i = 56; i >= 0; i -= 8) {
+                write((int) (value >>> i) & 0xFF);
+            }
+        }
+    }
+}
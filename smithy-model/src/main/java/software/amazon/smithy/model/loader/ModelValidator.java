@@ -18,14 +18,20 @@ package software.amazon.smithy.model.loader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
@@ -82,6 +88,8 @@ final class ModelValidator implements Validator {
     private final ValidationEventDecorator validationEventDecorator;
     private final Consumer<ValidationEvent> eventListener;
     private final boolean legacyValidationMode;
+    private final ValidationBaseline baseline;
+    private final Consumer<ValidationBaseline> baselineListener;
 
     ModelValidator(Builder builder) {
         this.validatorFactory = builder.validatorFactory;
@@ -91,6 +99,8 @@ final class ModelValidator implements Validator {
         this.validators = builder.validators.copy();
         this.criticalValidators = builder.criticalValidators.copy();
         this.legacyValidationMode = builder.legacyValidationMode;
+        this.baseline = builder.baseline;
+        this.baselineListener = builder.baselineListener;
     }
 
     @Override
@@ -115,6 +125,8 @@ final class ModelValidator implements Validator {
         private Consumer<ValidationEvent> eventListener = event -> { };
         private ValidationEventDecorator validationEventDecorator;
         private boolean legacyValidationMode = false;
+        private ValidationBaseline baseline;
+        private Consumer<ValidationBaseline> baselineListener;
 
         private Builder() {}
 
@@ -200,6 +212,31 @@ final class ModelValidator implements Validator {
             return this;
         }
 
+        /**
+         * Validates the model incrementally against a previously validated model.
+         *
+         * <p>{@link IncrementalValidator}s only validate the shapes that are affected by the differences between
+         * the model and the baseline's model, and reuse the baseline's events for every other shape.
+         *
+         * @param baseline Baseline to validate against, or null to validate the entire model.
+         * @return Returns the builder.
+         */
+        public Builder baseline(ValidationBaseline baseline) {
+            this.baseline = baseline;
+            return this;
+        }
+
+        /**
+         * Sets a listener that receives a {@link ValidationBaseline} for the validated model.
+         *
+         * @param baselineListener Listener that receives the created baseline, or null.
+         * @return Returns the builder.
+         */
+        public Builder baselineListener(Consumer<ValidationBaseline> baselineListener) {
+            this.baselineListener = baselineListener;
+            return this;
+        }
+
         @Override
         public ModelValidator build() {
             // Adding built-in validators is deferred to allow for a custom factory to be set on the builder.
@@ -217,6 +254,11 @@ final class ModelValidator implements Validator {
         private final ValidationEventDecorator validationEventDecorator;
         private final Consumer<ValidationEvent> eventListener;
         private final boolean legacyValidationMode;
+        private final ValidationBaseline baseline;
+        private final Set<ShapeId> affectedShapes;
+        private final Consumer<ValidationBaseline> baselineListener;
+        private final Map<Validator, String> validatorKeys = new IdentityHashMap<>();
+        private final Map<String, List<ValidationEvent>> validatorEvents = new ConcurrentHashMap<>();
 
         private LoadedModelValidator(Model model, ModelValidator validator) {
             this.model = model;
@@ -224,6 +266,21 @@ final class ModelValidator implements Validator {
             this.validators = new ArrayList<>(validator.validators);
             this.criticalValidators = Collections.unmodifiableList(validator.criticalValidators);
             this.legacyValidationMode = validator.legacyValidationMode;
+            this.baseline = validator.baseline;
+            this.affectedShapes = baseline == null ? null : baseline.findAffectedShapes(model);
+            this.baselineListener = validator.baselineListener;
+
+            // Validators are identified across models by their class and the order in which they were added.
+            Map<String, Integer> classCounts = new HashMap<>();
+            for (Validator v : CORRECTNESS_VALIDATORS.values()) {
+                assignKey(v, classCounts);
+            }
+            for (Validator v : criticalValidators) {
+                assignKey(v, classCounts);
+            }
+            for (Validator v : validators) {
+                assignKey(v, classCounts);
+            }
 
             // Suppressing and elevating events is handled by composing a given decorator with a
             // ModelBasedEventDecorator.
@@ -261,9 +318,14 @@ final class ModelValidator implements Validator {
             ValidatorFromDefinitionFactory factory = new ValidatorFromDefinitionFactory(validatorFactory);
 
             // Attempt to create the Validator instances and collect errors along the way.
-            for (ValidatorDefinition val : definitions) {
+            for (int i = 0; i < definitions.size(); i++) {
+                ValidatorDefinition val = definitions.get(i);
+                String key = "metadata:" + i + ':' + val.name;
                 ValidatedResult<Validator> result = factory.loadValidator(val);
-                result.getResult().ifPresent(validators::add);
+                result.getResult().ifPresent(v -> {
+                    validators.add(v);
+                    validatorKeys.put(v, key);
+                });
                 pushEvents(result.getValidationEvents());
                 if (result.getValidationEvents().isEmpty() && !result.getResult().isPresent()) {
                     ValidationEvent event = unknownValidatorError(val.name, val.sourceLocation);
@@ -301,11 +363,25 @@ final class ModelValidator implements Validator {
             return event;
         }
 
+        private void assignKey(Validator validator, Map<String, Integer> classCounts) {
+            String className = validator.getClass().getName();
+            int count = classCounts.merge(className, 1, Integer::sum);
+            validatorKeys.put(validator, className + '#' + count);
+        }
+
         private List<ValidationEvent> validate() {
+            runValidators();
+            if (baselineListener != null) {
+                baselineListener.accept(new ValidationBaseline(model, new HashMap<>(validatorEvents)));
+            }
+            return events;
+        }
+
+        private void runValidators() {
             // Perform critical correctness validation before other critical validators.
             events.addAll(streamEvents(CORRECTNESS_VALIDATORS.values().stream()));
             if (LoaderUtils.containsErrorEvents(events)) {
-                return events;
+                return;
             }
 
             // Same thing, but for other critical validators.
@@ -313,21 +389,64 @@ final class ModelValidator implements Validator {
 
             // Only fail early here if legacy validation mode is enabled.
             if (!legacyValidationMode && LoaderUtils.containsErrorEvents(events)) {
-                return events;
+                return;
             }
 
             events.addAll(streamEvents(validators.parallelStream()));
-            return events;
         }
 
         private List<ValidationEvent> streamEvents(Stream<Validator> validators) {
             return validators
-                    .flatMap(validator -> validator.validate(model).stream())
+                    .flatMap(validator -> runValidator(validator).stream())
                     .filter(this::filterPrelude)
                     .map(this::updateAndEmitEvent)
                     .collect(Collectors.toList());
         }
 
+        private List<ValidationEvent> runValidator(Validator validator) {
+            String key = validatorKeys.get(validator);
+            List<ValidationEvent> result = null;
+            if (baseline != null && validator instanceof IncrementalValidator) {
+                result = validateIncrementally((IncrementalValidator) validator, key);
+            }
+            if (result == null) {
+                result = validator.validate(model);
+            }
+            if (baselineListener != null) {
+                validatorEvents.put(key, result);
+            }
+            return result;
+        }
+
+        private List<ValidationEvent> validateIncrementally(IncrementalValidator validator, String key) {
+            List<ValidationEvent> previous = baseline.getEvents(key, model);
+            if (previous == null) {
+                return null;
+            }
+
+            // Reuse events for unaffected shapes. Events of affected shapes, including removed shapes, are dropped.
+            List<ValidationEvent> result = new ArrayList<>();
+            for (ValidationEvent event : previous) {
+                ShapeId id = event.getShapeId().orElse(null);
+                if (id == null) {
+                    // The validator doesn't follow the incremental contract, so validate the entire model.
+                    return null;
+                } else if (!affectedShapes.contains(id)) {
+                    result.add(event);
+                }
+            }
+
+            if (!affectedShapes.isEmpty()) {
+                for (ValidationEvent event : validator.validate(model, affectedShapes)) {
+                    if (event.getShapeId().filter(affectedShapes::contains).isPresent()) {
+                        result.add(event);
+                    }
+                }
+            }
+
+            return result;
+        }
+
         private boolean filterPrelude(ValidationEvent event) {
             // Don't emit any non-error events for prelude shapes and traits.
             // This prevents custom validators from unnecessarily needing to worry about prelude shapes and trait
@@ -0,0 +1,152 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.node.internal.StreamingObjectHandler;
+import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.SetUtils;
+
+/**
+ * Loads a JSON AST model while it's parsed, without building a Node for the entire document.
+ *
+ * <p>Each entry of {@code shapes} and {@code metadata} is loaded as soon
+ * as it's parsed, so only a single shape definition is held in memory at
+ * a time. Shapes and metadata that appear before the {@code smithy}
+ * version are buffered until the version is known.
+ */
+final class StreamingAstModelLoader implements StreamingObjectHandler.Listener {
+
+    private static final Logger LOGGER = Logger.getLogger(StreamingAstModelLoader.class.getName());
+    private static final String SMITHY = "smithy";
+    private static final String SHAPES = "shapes";
+    private static final String METADATA = "metadata";
+    private static final Set<String> STREAMED_MEMBERS = SetUtils.of(SHAPES, METADATA);
+    private static final List<String> TOP_LEVEL_PROPERTIES = ListUtils.of(SMITHY, SHAPES, METADATA);
+
+    private final Consumer<LoadOperation> operations;
+    private final List<Member> pending = new ArrayList<>();
+    private final List<StringNode> additionalProperties = new ArrayList<>();
+    private AstModelLoader loader;
+    private SourceLocation location = SourceLocation.NONE;
+
+    private StreamingAstModelLoader(Consumer<LoadOperation> operations) {
+        this.operations = operations;
+    }
+
+    private static final class Member {
+        final String name;
+        final StringNode key;
+        final Node value;
+
+        Member(String name, StringNode key, Node value) {
+            this.name = name;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Loads a JSON AST model from an input stream.
+     *
+     * @param filename Filename of the model.
+     * @param inputStream UTF-8 JSON to load.
+     * @param operations Where loader operations are published.
+     * @return Returns true if the file was loaded, or false if it isn't a Smithy model.
+     * @throws IOException if the input stream can't be read.
+     */
+    static boolean load(String filename, InputStream inputStream, Consumer<LoadOperation> operations)
+            throws IOException {
+        StreamingAstModelLoader streamingLoader = new StreamingAstModelLoader(operations);
+        InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+
+        if (!StreamingObjectHandler.parse(filename, reader, STREAMED_MEMBERS, streamingLoader)
+                || streamingLoader.loader == null) {
+            LOGGER.info("Ignoring unrecognized JSON file: " + filename);
+            return false;
+        }
+
+        streamingLoader.finish();
+        return true;
+    }
+
+    @Override
+    public void member(StringNode key, Node value) {
+        String name = key.getValue();
+        if (name.equals(SMITHY)) {
+            loadVersion(value.expectStringNode());
+        } else if (!TOP_LEVEL_PROPERTIES.contains(name)) {
+            additionalProperties.add(key);
+        } else {
+            // Shapes and metadata that aren't objects can't be streamed.
+            load(new Member(name, null, value));
+        }
+    }
+
+    @Override
+    public void entry(String member, StringNode key, Node value) {
+        load(new Member(member, key, value));
+    }
+
+    @Override
+    public void end(SourceLocation location) {
+        this.location = location;
+    }
+
+    private void loadVersion(StringNode versionNode) {
+        Version version = Version.fromString(versionNode.getValue());
+        if (version == null) {
+            throw new ModelSyntaxException("Unsupported Smithy version number: " + versionNode.getValue(),
+                                           versionNode);
+        }
+
+        loader = new AstModelLoader(version, operations);
+        operations.accept(new LoadOperation.ModelVersion(version, versionNode.getSourceLocation()));
+        for (Member member : pending) {
+            load(member);
+        }
+        pending.clear();
+    }
+
+    private void load(Member member) {
+        if (loader == null) {
+            pending.add(member);
+        } else if (member.name.equals(SHAPES)) {
+            if (member.key == null) {
+                member.value.expectObjectNode("Expected `" + SHAPES + "` to be an object; found {type}");
+            } else {
+                loader.loadShape(member.key, member.value);
+            }
+        } else if (member.key == null) {
+            loader.loadMetadata(member.value);
+        } else {
+            loader.putMetadata(member.key.getValue(), member.value);
+        }
+    }
+
+    private void finish() {
+        if (!additionalProperties.isEmpty()) {
+            ObjectNode.Builder builder = Node.objectNodeBuilder().sourceLocation(location);
+            for (StringNode key : additionalProperties) {
+                builder.withMember(key, Node.nullNode());
+            }
+            LoaderUtils.checkForAdditionalProperties(builder.build(), null, TOP_LEVEL_PROPERTIES)
+                    .ifPresent(event -> operations.accept(new LoadOperation.Event(event)));
+        }
+    }
+}
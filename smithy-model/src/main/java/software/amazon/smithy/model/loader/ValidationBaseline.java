@@ -0,0 +1,229 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.neighbor.NeighborProvider;
+import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.validation.IncrementalValidator;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * The result of validating a model, used to incrementally validate a model
+ * that is derived from it.
+ *
+ * <p>A baseline contains the events emitted by each validator before they
+ * were suppressed or modified by severity overrides. When a model is
+ * validated against a baseline, each {@link IncrementalValidator} only
+ * validates the shapes that are affected by the differences between the
+ * two models, and the baseline's events are reused for every other shape.
+ * All other validators validate the entire model.
+ *
+ * <p>Baselines are created by a {@link ModelAssembler} that is given a
+ * {@link ModelAssembler#validationBaselineListener listener}, and used by
+ * passing them to {@link ModelAssembler#validationBaseline}. A baseline
+ * should only be used with an assembler that is configured with the same
+ * validators as the assembler that created it.
+ */
+public final class ValidationBaseline {
+
+    private final Model model;
+    private final Map<String, List<ValidationEvent>> events;
+    private volatile Map<ShapeId, Set<ShapeId>> dependents;
+
+    ValidationBaseline(Model model, Map<String, List<ValidationEvent>> events) {
+        this.model = model;
+        this.events = events;
+    }
+
+    /**
+     * Gets the model that was validated.
+     *
+     * @return Returns the validated model.
+     */
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * Finds the shapes of a model whose validation events can differ from
+     * the events of the baseline.
+     *
+     * <p>This includes shapes that were added, removed, or changed,
+     * including changes to source locations, and every shape that directly
+     * or transitively has a relationship to one of those shapes.
+     *
+     * @param updated Model to compare against the baseline.
+     * @return Returns the IDs of the affected shapes.
+     */
+    public Set<ShapeId> findAffectedShapes(Model updated) {
+        Set<ShapeId> changed = findChangedShapes(model, updated);
+        if (changed.isEmpty()) {
+            return changed;
+        }
+
+        Map<ShapeId, Set<ShapeId>> baseDependents = getDependents();
+
+        // Shapes in the baseline can't have idRef relationships to shapes that were added, so find them in the
+        // updated model. Every other relationship of an unchanged shape is the same in both models.
+        Map<ShapeId, Set<ShapeId>> addedDependents = Collections.emptyMap();
+        for (ShapeId id : changed) {
+            if (!model.getShape(id).isPresent()) {
+                addedDependents = computeDependents(updated, NeighborProvider.withIdRefRelationships(
+                        updated, shape -> Collections.emptyList()));
+                break;
+            }
+        }
+
+        Set<ShapeId> affected = new HashSet<>(changed);
+        Deque<ShapeId> queue = new ArrayDeque<>(changed);
+        while (!queue.isEmpty()) {
+            ShapeId id = queue.pop();
+            for (ShapeId dependent : baseDependents.getOrDefault(id, Collections.emptySet())) {
+                if (affected.add(dependent)) {
+                    queue.push(dependent);
+                }
+            }
+            for (ShapeId dependent : addedDependents.getOrDefault(id, Collections.emptySet())) {
+                if (affected.add(dependent)) {
+                    queue.push(dependent);
+                }
+            }
+        }
+
+        return affected;
+    }
+
+    /**
+     * Gets the events of a validator if the validator can reuse them to
+     * validate the given model.
+     *
+     * <p>Metadata can configure validators and how they behave, so events
+     * are only reused when the metadata of both models is the same.
+     *
+     * @param validatorKey Key that identifies the validator.
+     * @param updated Model being validated.
+     * @return Returns the events, or null if the events can't be reused.
+     */
+    List<ValidationEvent> getEvents(String validatorKey, Model updated) {
+        if (!model.getMetadata().equals(updated.getMetadata())) {
+            return null;
+        }
+        return events.get(validatorKey);
+    }
+
+    private Map<ShapeId, Set<ShapeId>> getDependents() {
+        Map<ShapeId, Set<ShapeId>> result = dependents;
+        if (result == null) {
+            NeighborProvider provider = NeighborProviderIndex.of(model).getProviderWithTraitRelationships();
+            result = computeDependents(model, NeighborProvider.withIdRefRelationships(model, provider));
+            dependents = result;
+        }
+        return result;
+    }
+
+    private static Map<ShapeId, Set<ShapeId>> computeDependents(Model model, NeighborProvider provider) {
+        Map<ShapeId, Set<ShapeId>> result = new HashMap<>();
+        for (Shape shape : model.toSet()) {
+            for (Relationship relationship : provider.getNeighbors(shape)) {
+                result.computeIfAbsent(relationship.getNeighborShapeId(), id -> new HashSet<>()).add(shape.getId());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the shapes that were added, removed, or changed between two models.
+     *
+     * <p>Shapes are considered changed if their source location, or the source
+     * location of one of their traits, changed.
+     *
+     * @param previous Previous model, or null.
+     * @param current Current model, or null.
+     * @return Returns the IDs of the changed shapes, including members.
+     */
+    static Set<ShapeId> findChangedShapes(Model previous, Model current) {
+        Set<ShapeId> changed = new HashSet<>();
+        if (previous != null) {
+            for (Shape shape : previous.toSet()) {
+                Shape updated = current == null ? null : current.getShape(shape.getId()).orElse(null);
+                if (updated == null || !isSameDefinition(shape, updated)) {
+                    changed.add(shape.getId());
+                }
+            }
+        }
+        if (current != null) {
+            for (Shape shape : current.toSet()) {
+                if (previous == null || !previous.getShape(shape.getId()).isPresent()) {
+                    changed.add(shape.getId());
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static boolean isSameDefinition(Shape a, Shape b) {
+        if (a == b) {
+            return true;
+        } else if (!a.equals(b) || !a.getSourceLocation().equals(b.getSourceLocation())) {
+            return false;
+        }
+
+        for (Trait trait : a.getAllTraits().values()) {
+            Trait other = b.findTrait(trait.toShapeId()).orElse(null);
+            if (other != trait && (other == null || !hasSameLocations(trait.toNode(), other.toNode()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean hasSameLocations(Node a, Node b) {
+        if (!a.getSourceLocation().equals(b.getSourceLocation())) {
+            return false;
+        } else if (a.isObjectNode() && b.isObjectNode()) {
+            ObjectNode other = b.expectObjectNode();
+            Map<StringNode, StringNode> otherKeys = new HashMap<>();
+            for (StringNode key : other.getMembers().keySet()) {
+                otherKeys.put(key, key);
+            }
+            for (Map.Entry<StringNode, Node> entry : a.expectObjectNode().getMembers().entrySet()) {
+                StringNode otherKey = otherKeys.get(entry.getKey());
+                if (otherKey == null
+                        || !otherKey.getSourceLocation().equals(entry.getKey().getSourceLocation())
+                        || !hasSameLocations(entry.getValue(), other.getMembers().get(otherKey))) {
+                    return false;
+                }
+            }
+        } else if (a.isArrayNode() && b.isArrayNode()) {
+            ArrayNode array = a.expectArrayNode();
+            ArrayNode other = b.expectArrayNode();
+            for (int i = 0; i < array.size(); i++) {
+                if (!hasSameLocations(array.get(i).get(), other.get(i).get())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -17,8 +17,13 @@ package software.amazon.smithy.model.loader;
 
 import static java.lang.String.format;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceException;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
@@ -54,6 +59,23 @@ final class ValidatorFromDefinitionFactory {
     }
 
     private Validator mapValidator(ValidatorDefinition definition, Validator upstream) {
+        // Selectors can match shapes based on any part of the model, so only validators without a
+        // selector can be validated incrementally.
+        if (upstream instanceof IncrementalValidator && definition.selector == null) {
+            IncrementalValidator incremental = (IncrementalValidator) upstream;
+            return new IncrementalValidator() {
+                @Override
+                public List<ValidationEvent> validate(Model model) {
+                    return definition.map(model, incremental.validate(model));
+                }
+
+                @Override
+                public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+                    return definition.map(model, incremental.validate(model, shapes));
+                }
+            };
+        }
+
         return model -> definition.map(model, upstream.validate(model));
     }
 }
@@ -0,0 +1,342 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.neighbor;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.ShapeOrdinals;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * An array-backed graph of the relationships between the shapes of a model.
+ *
+ * <p>Shapes are identified by their {@link ShapeOrdinals ordinal}. Edges are stored
+ * in compressed sparse row form: the edges of the shape with ordinal
+ * {@code i} are stored from {@code offsets[i]} (inclusive) to
+ * {@code offsets[i + 1]} (exclusive) of an int array of neighbor ordinals
+ * and a byte array of {@link RelationshipType} ordinals. Relationships
+ * are only created when they're requested, so the graph uses a few bytes
+ * per edge rather than a {@link Relationship} object per edge.
+ *
+ * <p>Relationships that point to shapes that aren't in the model are
+ * rare, so they're stored in a side table and encoded as negative
+ * neighbor ordinals.
+ */
+final class CompactNeighborGraph {
+
+    private static final RelationshipType[] TYPES = RelationshipType.values();
+
+    private final WeakReference<Model> model;
+    private final ShapeOrdinals ordinals;
+
+    // Neighbors that aren't in the model. Each entry is either a Shape or a ShapeId.
+    private final Object[] external;
+
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final byte[] types;
+
+    private volatile NeighborProvider reverse;
+
+    private CompactNeighborGraph(
+            Model model,
+            ShapeOrdinals ordinals,
+            Object[] external,
+            int[] offsets,
+            int[] neighbors,
+            byte[] types
+    ) {
+        this.model = new WeakReference<>(model);
+        this.ordinals = ordinals;
+        this.external = external;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.types = types;
+    }
+
+    /**
+     * Computes the relationships of every shape in a model.
+     *
+     * @param model Model to compute relationships for.
+     * @param provider Provider used to get the relationships of each shape.
+     * @return Returns the created graph.
+     */
+    static CompactNeighborGraph of(Model model, NeighborProvider provider) {
+        ShapeOrdinals ordinals = model.getShapeOrdinals();
+        int shapeCount = ordinals.size();
+        Map<Object, Integer> externalOrdinals = new HashMap<>();
+        List<Object> external = new ArrayList<>();
+        int[] offsets = new int[shapeCount + 1];
+        int[] neighbors = new int[shapeCount * 2];
+        byte[] types = new byte[neighbors.length];
+        int edges = 0;
+
+        for (int i = 0; i < shapeCount; i++) {
+            offsets[i] = edges;
+            for (Relationship rel : provider.getNeighbors(ordinals.getShape(i))) {
+                if (edges == neighbors.length) {
+                    neighbors = Arrays.copyOf(neighbors, edges * 2);
+                    types = Arrays.copyOf(types, edges * 2);
+                }
+                neighbors[edges] = getNeighborOrdinal(rel, ordinals, externalOrdinals, external);
+                types[edges] = (byte) rel.getRelationshipType().ordinal();
+                edges++;
+            }
+        }
+        offsets[shapeCount] = edges;
+
+        return new CompactNeighborGraph(model, ordinals, external.toArray(),
+                                        offsets, Arrays.copyOf(neighbors, edges), Arrays.copyOf(types, edges));
+    }
+
+    private static int getNeighborOrdinal(
+            Relationship rel,
+            ShapeOrdinals ordinals,
+            Map<Object, Integer> externalOrdinals,
+            List<Object> external
+    ) {
+        Shape neighbor = rel.getNeighborShape().orElse(null);
+        int ordinal = ordinals.getOrdinal(rel.getNeighborShapeId());
+        if (ordinal != -1 && neighbor != null && neighbor.equals(ordinals.getShape(ordinal))) {
+            return ordinal;
+        }
+
+        // The neighbor isn't in the model, or it's a different shape than the one in the model.
+        Object key = neighbor != null ? neighbor : rel.getNeighborShapeId();
+        Integer index = externalOrdinals.get(key);
+        if (index == null) {
+            index = external.size();
+            external.add(key);
+            externalOrdinals.put(key, index);
+        }
+        return -index - 1;
+    }
+
+    /**
+     * Gets the graph of a provider created by {@link #forward()} for the given model.
+     *
+     * @param model Model the graph must have been created for.
+     * @param provider Provider to get the graph of.
+     * @return Returns the graph, or null if the provider isn't backed by a graph of the model.
+     */
+    static CompactNeighborGraph getGraph(Model model, NeighborProvider provider) {
+        if (provider instanceof Forward) {
+            CompactNeighborGraph graph = ((Forward) provider).getGraph();
+            if (graph.model.get() == model) {
+                return graph;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets a provider that returns the relationships of each shape.
+     *
+     * @return Returns the forward provider.
+     */
+    NeighborProvider forward() {
+        return new Forward();
+    }
+
+    /**
+     * Gets a provider that returns the unique relationships that target each shape.
+     *
+     * <p>The reverse graph is computed the first time this method is called.
+     *
+     * @return Returns the reverse provider.
+     */
+    NeighborProvider reverse() {
+        NeighborProvider result = reverse;
+        if (result == null) {
+            synchronized (this) {
+                result = reverse;
+                if (result == null) {
+                    reverse = result = new Reverse();
+                }
+            }
+        }
+        return result;
+    }
+
+    private Relationship createRelationship(Shape shape, int type, int neighbor) {
+        RelationshipType relationshipType = TYPES[type];
+        if (neighbor >= 0) {
+            return Relationship.create(shape, relationshipType, ordinals.getShape(neighbor));
+        }
+
+        Object value = external[-neighbor - 1];
+        return value instanceof Shape
+               ? Relationship.create(shape, relationshipType, (Shape) value)
+               : Relationship.createInvalid(shape, relationshipType, (ShapeId) value);
+    }
+
+    private static int compareEdges(int leftSource, byte leftType, int rightSource, byte rightType) {
+        int result = Integer.compare(leftSource, rightSource);
+        return result != 0 ? result : Byte.compare(leftType, rightType);
+    }
+
+    private final class Forward implements NeighborProvider {
+        CompactNeighborGraph getGraph() {
+            return CompactNeighborGraph.this;
+        }
+
+        @Override
+        public List<Relationship> getNeighbors(Shape shape) {
+            int ordinal = ordinals.getOrdinal(shape);
+            // Only shapes in the model have precomputed relationships.
+            if (ordinal == -1
+                    || !shape.equals(ordinals.getShape(ordinal))
+                    || offsets[ordinal] == offsets[ordinal + 1]) {
+                return Collections.emptyList();
+            }
+
+            Shape source = ordinals.getShape(ordinal);
+            int start = offsets[ordinal];
+            int size = offsets[ordinal + 1] - start;
+            return new RelationshipList(size) {
+                @Override
+                public Relationship get(int index) {
+                    checkIndex(index);
+                    return createRelationship(source, types[start + index], neighbors[start + index]);
+                }
+            };
+        }
+    }
+
+    private final class Reverse implements NeighborProvider {
+        private final int[] reverseOffsets;
+        private final int[] sources;
+        private final byte[] reverseTypes;
+
+        // Relationships that target shapes that aren't in the model.
+        private final Map<ShapeId, List<Relationship>> externalTargets = new HashMap<>();
+
+        Reverse() {
+            // Count the edges that target each shape, then place each edge using a counting sort.
+            int shapeCount = ordinals.size();
+            int[] counts = new int[shapeCount + 1];
+            for (int neighbor : neighbors) {
+                if (neighbor >= 0) {
+                    counts[neighbor + 1]++;
+                }
+            }
+            for (int i = 0; i < shapeCount; i++) {
+                counts[i + 1] += counts[i];
+            }
+
+            int[] positions = Arrays.copyOf(counts, shapeCount);
+            int[] unsortedSources = new int[counts[shapeCount]];
+            byte[] unsortedTypes = new byte[unsortedSources.length];
+            Map<ShapeId, Set<Relationship>> external = new HashMap<>();
+
+            for (int source = 0; source < shapeCount; source++) {
+                for (int edge = offsets[source]; edge < offsets[source + 1]; edge++) {
+                    int neighbor = neighbors[edge];
+                    if (neighbor >= 0) {
+                        int position = positions[neighbor]++;
+                        unsortedSources[position] = source;
+                        unsortedTypes[position] = types[edge];
+                    } else {
+                        Relationship rel = createRelationship(ordinals.getShape(source), types[edge], neighbor);
+                        external.computeIfAbsent(rel.getNeighborShapeId(), id -> new LinkedHashSet<>()).add(rel);
+                    }
+                }
+            }
+
+            for (Map.Entry<ShapeId, Set<Relationship>> entry : external.entrySet()) {
+                externalTargets.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+            }
+
+            // Sources are already in ascending order for each target, so only duplicate edges and
+            // different relationship types from the same source need to be ordered and removed.
+            reverseOffsets = new int[shapeCount + 1];
+            int size = 0;
+            for (int target = 0; target < shapeCount; target++) {
+                reverseOffsets[target] = size;
+                int start = size;
+                for (int i = counts[target]; i < counts[target + 1]; i++) {
+                    int source = unsortedSources[i];
+                    byte type = unsortedTypes[i];
+                    int insert = size;
+                    // Insertion sort into the already placed edges of the same source.
+                    while (insert > start && compareEdges(unsortedSources[insert - 1], unsortedTypes[insert - 1],
+                                                          source, type) > 0) {
+                        insert--;
+                    }
+                    if (insert > start
+                            && unsortedSources[insert - 1] == source
+                            && unsortedTypes[insert - 1] == type) {
+                        continue;
+                    }
+                    System.arraycopy(unsortedSources, insert, unsortedSources, insert + 1, size - insert);
+                    System.arraycopy(unsortedTypes, insert, unsortedTypes, insert + 1, size - insert);
+                    unsortedSources[insert] = source;
+                    unsortedTypes[insert] = type;
+                    size++;
+                }
+            }
+            reverseOffsets[shapeCount] = size;
+            sources = Arrays.copyOf(unsortedSources, size);
+            reverseTypes = Arrays.copyOf(unsortedTypes, size);
+        }
+
+        @Override
+        public List<Relationship> getNeighbors(Shape shape) {
+            int ordinal = ordinals.getOrdinal(shape);
+            if (ordinal == -1) {
+                return externalTargets.getOrDefault(shape.getId(), Collections.emptyList());
+            }
+
+            int start = reverseOffsets[ordinal];
+            int size = reverseOffsets[ordinal + 1] - start;
+            if (size == 0) {
+                return Collections.emptyList();
+            }
+
+            Shape target = ordinals.getShape(ordinal);
+            return new RelationshipList(size) {
+                @Override
+                public Relationship get(int index) {
+                    checkIndex(index);
+                    return Relationship.create(ordinals.getShape(sources[start + index]),
+                                               TYPES[reverseTypes[start + index]],
+                                               target);
+                }
+            };
+        }
+    }
+
+    // Creates relationships on demand rather than holding onto relationship objects.
+    private abstract static class RelationshipList extends AbstractList<Relationship> implements RandomAccess {
+        private final int size;
+
+        RelationshipList(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        void checkIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+    }
+}
@@ -131,6 +131,41 @@ public interface NeighborProvider {
         return shape -> relationships.getOrDefault(shape, ListUtils.of());
     }
 
+    /**
+     * Creates a NeighborProvider that precomputes the neighbors of a model
+     * into a compact, array-backed graph.
+     *
+     * <p>Unlike {@link #precomputed(Model, NeighborProvider)}, relationships
+     * aren't retained. Shapes are numbered, and the neighbors of each shape
+     * are stored as arrays of shape numbers and relationship types, which
+     * uses far less memory for large models. Relationships are created each
+     * time they're requested. Use {@link #compactReverse} to create a reverse
+     * provider that shares the same graph.
+     *
+     * @param model Model to create a neighbor provider for.
+     * @param provider Provider to use when precomputing.
+     * @return Returns the created neighbor provider.
+     */
+    static NeighborProvider compact(Model model, NeighborProvider provider) {
+        return CompactNeighborGraph.of(model, provider).forward();
+    }
+
+    /**
+     * Returns a compact, array-backed NeighborProvider that returns the
+     * unique relationships that point at a given shape.
+     *
+     * <p>If the forward provider was created by {@link #compact} for the same
+     * model, its graph is reused rather than recomputed.
+     *
+     * @param model Model to build reverse relationships from.
+     * @param forwardProvider The forward directed neighbor provider to grab relationships from.
+     * @return Returns the reverse neighbor provider.
+     */
+    static NeighborProvider compactReverse(Model model, NeighborProvider forwardProvider) {
+        CompactNeighborGraph graph = CompactNeighborGraph.getGraph(model, forwardProvider);
+        return graph != null ? graph.reverse() : CompactNeighborGraph.of(model, forwardProvider).reverse();
+    }
+
     /**
      * Returns a NeighborProvider that returns relationships that point at a
      * given shape rather than relationships that the given shape points at.
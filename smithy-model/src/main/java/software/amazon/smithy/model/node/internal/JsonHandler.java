@@ -86,6 +86,10 @@ abstract class JsonHandler<A, O> {
     void endObject(O object, SourceLocation location) {
     }
 
+    // Added by Smithy team to allow handlers to treat values differently based on their key.
+    void startObjectValue(O object, String name) {
+    }
+
     void endObjectValue(O object, String name, SourceLocation keyLocation) {
     }
 }
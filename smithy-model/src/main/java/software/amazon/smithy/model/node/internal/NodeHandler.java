@@ -56,6 +56,10 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
         return writer.toString();
     }
 
+    Node getValue() {
+        return value;
+    }
+
     @Override
     void endNull(SourceLocation location) {
         value = new NullNode(location);
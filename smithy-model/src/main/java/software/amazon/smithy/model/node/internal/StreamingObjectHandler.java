@@ -0,0 +1,177 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.node.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Set;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Parses a JSON object and reports its members to a {@link Listener}
+ * without building a Node for the entire document.
+ *
+ * <p>Each top-level member is materialized as a Node and reported once
+ * it's parsed. Members whose values are objects and whose names are in
+ * the set of streamed members are never materialized as a whole; each
+ * of their entries is reported as soon as it's parsed, and can then be
+ * garbage collected.
+ */
+@SmithyInternalApi
+public final class StreamingObjectHandler extends JsonHandler<ArrayNode.Builder, ObjectNode.Builder> {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final NodeHandler nodes = new NodeHandler();
+    private final Set<String> streamedMembers;
+    private final Listener listener;
+    private int depth;
+    private boolean topLevelObject;
+    private String pendingMember;
+    private String streamedMember;
+
+    private StreamingObjectHandler(Set<String> streamedMembers, Listener listener) {
+        this.streamedMembers = streamedMembers;
+        this.listener = listener;
+    }
+
+    /**
+     * Receives the members of a streamed JSON object.
+     */
+    @SmithyInternalApi
+    public interface Listener {
+        /**
+         * Receives a top-level member that isn't streamed.
+         *
+         * @param key Member name.
+         * @param value Member value.
+         */
+        void member(StringNode key, Node value);
+
+        /**
+         * Receives an entry of a streamed member.
+         *
+         * @param member Name of the top-level member that contains the entry.
+         * @param key Entry key.
+         * @param value Entry value.
+         */
+        void entry(String member, StringNode key, Node value);
+
+        /**
+         * Called when the top-level object has been parsed.
+         *
+         * @param location Location of the top-level object.
+         */
+        void end(SourceLocation location);
+    }
+
+    /**
+     * Parses JSON from a reader and reports its members to a listener.
+     *
+     * @param filename Filename used in source locations.
+     * @param reader Reader to parse. The reader is not closed.
+     * @param streamedMembers Top-level members whose entries are reported one at a time.
+     * @param listener Listener that receives members.
+     * @return Returns true if the JSON value is an object, or false if the value was parsed and ignored.
+     * @throws IOException if the reader can't be read.
+     * @throws software.amazon.smithy.model.loader.ModelSyntaxException if the JSON is invalid.
+     */
+    @SmithyInternalApi
+    public static boolean parse(String filename, Reader reader, Set<String> streamedMembers, Listener listener)
+            throws IOException {
+        StreamingObjectHandler handler = new StreamingObjectHandler(streamedMembers, listener);
+        new JsonParser(filename, handler, false).parse(reader, BUFFER_SIZE);
+        return handler.topLevelObject;
+    }
+
+    @Override
+    void endNull(SourceLocation location) {
+        nodes.endNull(location);
+    }
+
+    @Override
+    void endBoolean(boolean value, SourceLocation location) {
+        nodes.endBoolean(value, location);
+    }
+
+    @Override
+    void endString(String string, SourceLocation location) {
+        nodes.endString(string, location);
+    }
+
+    @Override
+    void endNumber(String string, SourceLocation location) {
+        nodes.endNumber(string, location);
+    }
+
+    @Override
+    ArrayNode.Builder startArray() {
+        depth++;
+        return nodes.startArray();
+    }
+
+    @Override
+    void endArray(ArrayNode.Builder array, SourceLocation location) {
+        nodes.endArray(array, location);
+        depth--;
+    }
+
+    @Override
+    void endArrayValue(ArrayNode.Builder array) {
+        nodes.endArrayValue(array);
+    }
+
+    @Override
+    ObjectNode.Builder startObject() {
+        depth++;
+        if (depth == 1) {
+            topLevelObject = true;
+            return null;
+        } else if (depth == 2 && pendingMember != null) {
+            streamedMember = pendingMember;
+            return null;
+        }
+        return nodes.startObject();
+    }
+
+    @Override
+    void startObjectValue(ObjectNode.Builder object, String name) {
+        if (depth == 1 && topLevelObject) {
+            pendingMember = streamedMembers.contains(name) ? name : null;
+        }
+    }
+
+    @Override
+    void endObjectValue(ObjectNode.Builder object, String name, SourceLocation keyLocation) {
+        if (depth == 1 && topLevelObject) {
+            // Streamed members were already reported entry by entry.
+            if (streamedMember == null) {
+                listener.member(new StringNode(name, keyLocation), nodes.getValue());
+            }
+            pendingMember = null;
+            streamedMember = null;
+        } else if (depth == 2 && streamedMember != null) {
+            listener.entry(streamedMember, new StringNode(name, keyLocation), nodes.getValue());
+        } else {
+            nodes.endObjectValue(object, name, keyLocation);
+        }
+    }
+
+    @Override
+    void endObject(ObjectNode.Builder object, SourceLocation location) {
+        if (depth == 1 && topLevelObject) {
+            listener.end(location);
+        } else if (object != null) {
+            nodes.endObject(object, location);
+        }
+        depth--;
+    }
+}
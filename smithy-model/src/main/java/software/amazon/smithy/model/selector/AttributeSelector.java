@@ -23,6 +23,7 @@ import java.util.function.Function;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIdSyntaxException;
 import software.amazon.smithy.model.traits.Trait;
 
 /**
@@ -34,6 +35,7 @@ final class AttributeSelector implements InternalSelector {
     private final List<AttributeValue> expected;
     private final AttributeComparator comparator;
     private final boolean caseInsensitive;
+    private final ShapeId requiredTrait;
     private final Function<Model, Collection<? extends Shape>> optimizer;
 
     AttributeSelector(
@@ -59,16 +61,9 @@ final class AttributeSelector implements InternalSelector {
         // Optimization for loading shapes with a specific trait.
         // This optimization can only be applied when there's no comparator,
         // and it doesn't matter how deep into the trait the selector descends.
-        if (comparator == null
-                && path.size() >= 2
-                && path.get(0).equals("trait")     // only match on traits
-                && !path.get(1).startsWith("(")) { // don't match projections
-            optimizer = model -> {
-                // The trait name might be relative to the prelude, so ensure it's absolute.
-                String absoluteShapeId = Trait.makeAbsoluteName(path.get(1));
-                ShapeId trait = ShapeId.from(absoluteShapeId);
-                return model.getShapesWithTrait(trait);
-            };
+        requiredTrait = findRequiredTrait(path, comparator);
+        if (requiredTrait != null) {
+            optimizer = model -> model.getShapesWithTrait(requiredTrait);
         } else {
             optimizer = Model::toSet;
         }
@@ -78,6 +73,44 @@ final class AttributeSelector implements InternalSelector {
         return new AttributeSelector(path, null, null, false);
     }
 
+    private static ShapeId findRequiredTrait(List<String> path, AttributeComparator comparator) {
+        if (comparator != null
+                || path.size() < 2
+                || !path.get(0).equals("trait")     // only match on traits
+                || path.get(1).startsWith("(")) {   // don't match projections
+            return null;
+        }
+
+        try {
+            // The trait name might be relative to the prelude, so ensure it's absolute.
+            return ShapeId.from(Trait.makeAbsoluteName(path.get(1)));
+        } catch (ShapeIdSyntaxException e) {
+            // An invalid trait name can't be indexed, and it will never match a shape.
+            return null;
+        }
+    }
+
+    /**
+     * Gets the trait that every matching shape must have.
+     *
+     * @return Returns the required trait, or null if the selector doesn't only check for the presence of a trait.
+     */
+    ShapeId getRequiredTrait() {
+        return requiredTrait;
+    }
+
+    /**
+     * Checks if the selector only checks for the presence of its required trait.
+     *
+     * <p>Note that a trait with a null value, like {@code @default(null)},
+     * is not considered present.
+     *
+     * @return Returns true if the selector doesn't descend into the value of the required trait.
+     */
+    boolean isTraitPresenceCheck() {
+        return requiredTrait != null && path.size() == 2;
+    }
+
     @Override
     public Collection<? extends Shape> getStartingShapes(Model model) {
         return optimizer.apply(model);
@@ -93,6 +126,11 @@ final class AttributeSelector implements InternalSelector {
     }
 
     private boolean matchesAttribute(Shape shape, Context stack) {
+        // Avoid creating attribute values for shapes that don't have the required trait.
+        if (requiredTrait != null && !shape.hasTrait(requiredTrait)) {
+            return false;
+        }
+
         AttributeValue lhs = AttributeValue.shape(shape, stack.getVars()).getPath(path);
 
         if (comparator == null) {
@@ -28,6 +28,10 @@ final class NotSelector implements InternalSelector {
         this.selector = selector;
     }
 
+    InternalSelector getSelector() {
+        return selector;
+    }
+
     @Override
     public Response push(Context context, Shape shape, Receiver next) {
         if (!context.receivedShapes(shape, selector)) {
@@ -0,0 +1,128 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * Pushes starting shapes through a selector in parallel.
+ *
+ * <p>Starting shapes are split into contiguous chunks that are evaluated
+ * on a {@link ForkJoinPool}. Each chunk uses its own {@link Context} so
+ * that variables set while evaluating one shape are never seen by another
+ * thread. Results are returned in the same order a sequential evaluation
+ * would produce them.
+ */
+final class ParallelEvaluator<T> {
+
+    // Create enough chunks to balance work across threads without making each chunk too small to be worth forking.
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    private final InternalSelector selector;
+    private final Supplier<Context> contextFactory;
+    private final BiFunction<Context, Shape, T> mapper;
+
+    /**
+     * @param selector Selector to push shapes through.
+     * @param contextFactory Creates a context for each chunk.
+     * @param mapper Converts each matching shape into a result using the context of the match.
+     */
+    ParallelEvaluator(
+            InternalSelector selector,
+            Supplier<Context> contextFactory,
+            BiFunction<Context, Shape, T> mapper
+    ) {
+        this.selector = selector;
+        this.contextFactory = contextFactory;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Evaluates the selector against each starting shape.
+     *
+     * @param pool Pool used to evaluate chunks.
+     * @param startingShapes Shapes to push through the selector.
+     * @return Returns the results in starting shape order.
+     */
+    List<T> evaluate(ForkJoinPool pool, Collection<? extends Shape> startingShapes) {
+        if (startingShapes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<? extends Shape> shapes = startingShapes instanceof List
+                ? (List<? extends Shape>) startingShapes
+                : new ArrayList<>(startingShapes);
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, shapes.size() / (pool.getParallelism() * CHUNKS_PER_THREAD) + 1);
+        int chunkCount = (shapes.size() + chunkSize - 1) / chunkSize;
+        List<List<T>> chunkResults = new ArrayList<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            chunkResults.add(null);
+        }
+
+        pool.invoke(new ChunkTask(shapes, chunkResults, chunkSize, 0, chunkCount));
+
+        // Merge chunks in order so that results are deterministic.
+        List<T> result = new ArrayList<>();
+        for (List<T> chunk : chunkResults) {
+            result.addAll(chunk);
+        }
+        return result;
+    }
+
+    private final class ChunkTask extends RecursiveAction {
+        private final List<? extends Shape> shapes;
+        private final List<List<T>> chunkResults;
+        private final int chunkSize;
+        private final int firstChunk;
+        private final int endChunk;
+
+        ChunkTask(
+                List<? extends Shape> shapes,
+                List<List<T>> chunkResults,
+                int chunkSize,
+                int firstChunk,
+                int endChunk
+        ) {
+            this.shapes = shapes;
+            this.chunkResults = chunkResults;
+            this.chunkSize = chunkSize;
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (endChunk - firstChunk > 1) {
+                int middle = (firstChunk + endChunk) >>> 1;
+                invokeAll(new ChunkTask(shapes, chunkResults, chunkSize, firstChunk, middle),
+                          new ChunkTask(shapes, chunkResults, chunkSize, middle, endChunk));
+                return;
+            }
+
+            int start = firstChunk * chunkSize;
+            int end = Math.min(start + chunkSize, shapes.size());
+            Context context = contextFactory.get();
+            List<T> result = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                context.getVars().clear();
+                selector.push(context, shapes.get(i), (ctx, s) -> {
+                    result.add(mapper.apply(ctx, s));
+                    return InternalSelector.Response.CONTINUE;
+                });
+            }
+            // Each task writes to a distinct index, and invoke/join make the writes visible to the caller.
+            chunkResults.set(firstChunk, result);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -46,6 +47,7 @@ public interface Selector {
 
         // If necessary, it's possible that we could also support predefined selector variables too.
         private final Collection<? extends Shape> startingShapes;
+        private final ForkJoinPool parallelPool;
 
         /**
          * Create a StartingContext that sends all shapes in a Model through the Selector.
@@ -58,7 +60,12 @@ public interface Selector {
          * @param startingShapes A specific set of shapes to send through the Selector rather than all Model shapes.
          */
         public StartingContext(Collection<? extends Shape> startingShapes) {
+            this(startingShapes, null);
+        }
+
+        private StartingContext(Collection<? extends Shape> startingShapes, ForkJoinPool parallelPool) {
             this.startingShapes = startingShapes;
+            this.parallelPool = parallelPool;
         }
 
         /**
@@ -69,11 +76,42 @@ public interface Selector {
         public Collection<? extends Shape> getStartingShapes() {
             return startingShapes;
         }
+
+        /**
+         * Creates a copy of the context that evaluates the selector in parallel.
+         *
+         * <p>Starting shapes are split into chunks that are evaluated on the
+         * given pool, and the results of each chunk are merged in starting
+         * shape order. Shape matches are still given to consumers one at a
+         * time on the calling thread, but they're buffered until every chunk
+         * has been evaluated. Without a pool, selectors are only evaluated in
+         * parallel on the common pool when there are a large number of
+         * starting shapes, and {@link #consumeMatches} is never evaluated in
+         * parallel so that matches aren't buffered.
+         *
+         * @param pool Pool used to evaluate the selector.
+         * @return Returns the created context.
+         */
+        public StartingContext withParallelPool(ForkJoinPool pool) {
+            return new StartingContext(startingShapes, Objects.requireNonNull(pool));
+        }
+
+        /**
+         * Get the potentially null pool used to evaluate the selector in parallel.
+         *
+         * @return Returns the pool set with {@link #withParallelPool}.
+         */
+        public ForkJoinPool getParallelPool() {
+            return parallelPool;
+        }
     }
 
     /**
      * Parses a selector expression.
      *
+     * <p>Parsed selectors are cached by expression in the process-wide
+     * {@link SelectorCache}.
+     *
      * @param expression Expression to parse.
      * @return Returns the parsed {@link Selector}.
      */
@@ -81,7 +119,7 @@ public interface Selector {
         if (expression.equals("*")) {
             return IDENTITY;
         } else {
-            return SelectorParser.parse(expression);
+            return SelectorCache.getInstance().parse(expression);
         }
     }
 
@@ -197,6 +235,22 @@ public interface Selector {
         throw new UnsupportedOperationException("matches(model, context) is not implemented");
     }
 
+    /**
+     * Describes how the selector is evaluated against a model.
+     *
+     * <p>The description is meant to help people write faster selectors.
+     * It includes the shapes that are sent through the selector and the
+     * order in which parts of the selector are evaluated. The format of
+     * the description is not stable and should not be parsed.
+     *
+     * @param model Model the selector would be evaluated against.
+     * @return Returns a human-readable description of the selector's evaluation.
+     */
+    default String explain(Model model) {
+        return "Selector: " + this + System.lineSeparator()
+               + "Starting shapes: all " + model.getShapeIds().size() + " shapes" + System.lineSeparator();
+    }
+
     /**
      * Represents a selector match found in the model.
      *
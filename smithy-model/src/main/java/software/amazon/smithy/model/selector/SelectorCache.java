@@ -0,0 +1,211 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * A bounded, thread-safe, least-recently used cache of parsed selectors
+ * keyed by their expression text.
+ *
+ * <p>The same selector expressions are parsed many times while loading
+ * and building models, for example by trait definitions, validators
+ * defined in metadata, and build transforms. {@link Selector#parse}
+ * uses the process-wide cache returned by {@link #getInstance()}, so each
+ * distinct expression is parsed and planned once. The maximum size of the
+ * process-wide cache defaults to {@value #DEFAULT_MAXIMUM_SIZE} and can be
+ * set using the {@value #MAXIMUM_SIZE_PROPERTY} system property or
+ * {@link #setMaximumSize}. A maximum size of 0 disables caching.
+ *
+ * <p>Selectors that fail to parse are not cached.
+ */
+public final class SelectorCache {
+
+    /** System property used to set the maximum size of the process-wide cache. */
+    public static final String MAXIMUM_SIZE_PROPERTY = "smithy.selectorCacheSize";
+
+    /** The default maximum size of the process-wide cache. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private static final Logger LOGGER = Logger.getLogger(SelectorCache.class.getName());
+    private static final SelectorCache INSTANCE = new SelectorCache(getConfiguredMaximumSize());
+
+    // An access-ordered LinkedHashMap is used as an LRU cache. All access is guarded by "this".
+    private final LinkedHashMap<String, Selector> selectors = new LinkedHashMap<>(16, .75F, true);
+    private int maximumSize;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache separate from the process-wide cache.
+     *
+     * @param maximumSize Maximum number of selectors to cache.
+     * @throws IllegalArgumentException if the maximum size is negative.
+     */
+    public SelectorCache(int maximumSize) {
+        setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Gets the process-wide cache used by {@link Selector#parse}.
+     *
+     * @return Returns the process-wide cache.
+     */
+    public static SelectorCache getInstance() {
+        return INSTANCE;
+    }
+
+    private static int getConfiguredMaximumSize() {
+        String value = System.getProperty(MAXIMUM_SIZE_PROPERTY);
+        if (value != null) {
+            try {
+                int size = Integer.parseInt(value.trim());
+                if (size >= 0) {
+                    return size;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the warning.
+            }
+            LOGGER.warning(String.format("Invalid value for `%s`: `%s`. Using the default of %d",
+                                         MAXIMUM_SIZE_PROPERTY, value, DEFAULT_MAXIMUM_SIZE));
+        }
+        return DEFAULT_MAXIMUM_SIZE;
+    }
+
+    /**
+     * Gets a parsed selector from the cache, parsing and caching the
+     * expression if it isn't already cached.
+     *
+     * @param expression Selector expression to parse.
+     * @return Returns the parsed selector.
+     * @throws SelectorSyntaxException if the expression is invalid.
+     */
+    public Selector parse(String expression) {
+        synchronized (this) {
+            Selector cached = selectors.get(expression);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        // Parse outside the lock so that other threads aren't blocked. Two threads
+        // might parse the same expression at the same time, but the result is the same.
+        Selector selector = SelectorParser.parse(expression);
+
+        synchronized (this) {
+            if (maximumSize > 0) {
+                Selector existing = selectors.putIfAbsent(expression, selector);
+                if (existing != null) {
+                    return existing;
+                }
+                evictExcessEntries();
+            }
+        }
+
+        return selector;
+    }
+
+    /**
+     * Gets the maximum number of selectors that are cached.
+     *
+     * @return Returns the maximum size.
+     */
+    public synchronized int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of selectors that are cached, evicting the
+     * least recently used selectors if the cache is too large.
+     *
+     * @param maximumSize Maximum number of selectors to cache. Set to 0 to disable caching.
+     * @throws IllegalArgumentException if the maximum size is negative.
+     */
+    public synchronized void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Selector cache maximum size must be >= 0: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        evictExcessEntries();
+    }
+
+    private void evictExcessEntries() {
+        Iterator<Map.Entry<String, Selector>> iterator = selectors.entrySet().iterator();
+        while (selectors.size() > maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Gets the number of selectors that are currently cached.
+     *
+     * @return Returns the number of cached selectors.
+     */
+    public synchronized int size() {
+        return selectors.size();
+    }
+
+    /**
+     * Removes all cached selectors and resets the counters of the cache.
+     */
+    public synchronized void clear() {
+        selectors.clear();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Gets the number of times a parsed selector was found in the cache.
+     *
+     * @return Returns the number of cache hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of times an expression had to be parsed.
+     *
+     * @return Returns the number of cache misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of selectors that were evicted because the cache was full.
+     *
+     * @return Returns the number of evictions.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the ratio of cache hits to the total number of lookups.
+     *
+     * @return Returns a number from 0 to 1, or 0 if nothing has been looked up.
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("SelectorCache{size=%d, maximumSize=%d, hits=%d, misses=%d, evictions=%d}",
+                             selectors.size(), maximumSize, hits, misses, evictions);
+    }
+}
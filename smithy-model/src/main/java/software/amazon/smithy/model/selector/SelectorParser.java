@@ -39,6 +39,7 @@ final class SelectorParser extends SimpleParser {
     private static final Set<Character> BREAK_TOKENS = SetUtils.of(',', ']', ')');
     private static final Set<String> REL_TYPES = new HashSet<>();
     private final List<InternalSelector> roots = new ArrayList<>();
+    private int variableStores;
 
     static {
         // Adds selector relationship labels for warnings when unknown relationship names are used.
@@ -53,12 +54,27 @@ final class SelectorParser extends SimpleParser {
 
     static Selector parse(String selector) {
         SelectorParser parser = new SelectorParser(selector);
-        List<InternalSelector> result = parser.parse();
-        return new WrappedSelector(selector, result, parser.roots);
+        List<SelectorPlan.Step> steps = parser.parseSteps();
+        return new WrappedSelector(selector, SelectorPlan.create(steps, parser.roots.size()), parser.roots);
     }
 
-    List<InternalSelector> parse() {
-        return recursiveParse();
+    // Parses the top-level selectors of an expression along with the information needed to plan them.
+    private List<SelectorPlan.Step> parseSteps() {
+        List<SelectorPlan.Step> steps = new ArrayList<>();
+
+        do {
+            ws();
+            int start = position();
+            int storesBefore = variableStores;
+            InternalSelector selector = createSelector();
+            if (selector != InternalSelector.IDENTITY) {
+                boolean setsVariables = variableStores != storesBefore;
+                steps.add(new SelectorPlan.Step(selector, sliceFrom(start), steps.size(), setsVariables));
+            }
+            ws();
+        } while (!eof() && !BREAK_TOKENS.contains(peek()));
+
+        return steps;
     }
 
     private List<InternalSelector> recursiveParse() {
@@ -176,6 +192,7 @@ final class SelectorParser extends SimpleParser {
         ws();
         expect('(');
         ws();
+        variableStores++;
         InternalSelector selector = AndSelector.of(recursiveParse());
         ws();
         expect(')');
@@ -0,0 +1,311 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.ShapeOrdinalSet;
+import software.amazon.smithy.model.knowledge.TraitMembershipIndex;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * Decides the order in which the top-level selectors of an expression are
+ * evaluated and which shapes are sent through them.
+ *
+ * <p>Selectors that only filter the shape they're given, without changing
+ * variables, are commutative. Each run of adjacent filters is reordered so
+ * that cheaper and typically more selective filters run first. Any shape
+ * that matches a selector must pass every filter at the start of the
+ * expression, so the smallest index-backed set of shapes of those filters
+ * is used as the starting shapes. When several of those filters check for
+ * the presence or absence of traits, the shapes that pass all of them are
+ * found by combining the bit sets of the {@link TraitMembershipIndex}.
+ * Every filter in the expression has to be passed by some shape, so if any
+ * filter requires a trait that no shape in the model has, no shapes are
+ * sent through the selector at all.
+ */
+final class SelectorPlan {
+
+    private static final int NOT_A_FILTER = -1;
+    private static final int TYPE_COST = 0;
+    private static final int TRAIT_COST = 1;
+    private static final int ATTRIBUTE_COST = 2;
+    private static final int NESTED_SELECTOR_COST = 3;
+
+    private final List<Step> steps;
+    private final InternalSelector selector;
+    private final int leadingFilters;
+    private final int rootCount;
+
+    private SelectorPlan(List<Step> steps, int rootCount) {
+        this.steps = steps;
+        this.rootCount = rootCount;
+
+        List<InternalSelector> selectors = new ArrayList<>(steps.size());
+        int leading = 0;
+        for (Step step : steps) {
+            selectors.add(step.selector);
+            if (leading == selectors.size() - 1 && step.isFilter()) {
+                leading++;
+            }
+        }
+
+        this.selector = AndSelector.of(selectors);
+        this.leadingFilters = leading;
+    }
+
+    /**
+     * A top-level selector of an expression.
+     */
+    static final class Step {
+        private final InternalSelector selector;
+        private final String text;
+        private final int position;
+        private final int cost;
+
+        /**
+         * @param selector Selector to evaluate.
+         * @param text Expression text of the selector.
+         * @param position Position of the selector in the expression.
+         * @param setsVariables Whether the selector or any of its nested selectors set variables.
+         */
+        Step(InternalSelector selector, String text, int position, boolean setsVariables) {
+            this.selector = selector;
+            this.text = text;
+            this.position = position;
+            this.cost = setsVariables ? NOT_A_FILTER : computeCost(selector);
+        }
+
+        private static int computeCost(InternalSelector selector) {
+            if (selector instanceof ShapeTypeSelector || selector instanceof ShapeTypeCategorySelector) {
+                return TYPE_COST;
+            } else if (selector instanceof AttributeSelector) {
+                return ((AttributeSelector) selector).getRequiredTrait() != null ? TRAIT_COST : ATTRIBUTE_COST;
+            } else if (selector instanceof ScopedAttributeSelector) {
+                return ATTRIBUTE_COST;
+            } else if (selector instanceof TestSelector
+                       || selector instanceof NotSelector
+                       || selector instanceof InSelector) {
+                return NESTED_SELECTOR_COST;
+            } else {
+                return NOT_A_FILTER;
+            }
+        }
+
+        private boolean isFilter() {
+            return cost != NOT_A_FILTER;
+        }
+
+        // Only some filters can provide a subset of shapes more efficiently than checking every shape.
+        private boolean isIndexed() {
+            return cost == TYPE_COST || cost == TRAIT_COST;
+        }
+
+        private ShapeId getRequiredTrait() {
+            return cost == TRAIT_COST ? ((AttributeSelector) selector).getRequiredTrait() : null;
+        }
+
+        // Only the negation of a trait presence check, like :not([trait|foo]), excludes every shape with a trait.
+        private ShapeId getExcludedTrait() {
+            if (cost == NESTED_SELECTOR_COST && selector instanceof NotSelector) {
+                InternalSelector negated = ((NotSelector) selector).getSelector();
+                if (negated instanceof AttributeSelector && ((AttributeSelector) negated).isTraitPresenceCheck()) {
+                    return ((AttributeSelector) negated).getRequiredTrait();
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Shapes to send through the selector and the filters that provided them.
+     */
+    private static final class Start {
+        private final List<Step> steps;
+        private final Collection<? extends Shape> shapes;
+
+        Start(List<Step> steps, Collection<? extends Shape> shapes) {
+            this.steps = steps;
+            this.shapes = shapes;
+        }
+    }
+
+    /**
+     * Creates a plan for the top-level selectors of an expression.
+     *
+     * @param steps Top-level selectors in the order they appear in the expression.
+     * @param rootCount Number of root subexpressions that are evaluated before the selector.
+     * @return Returns the created plan.
+     */
+    static SelectorPlan create(List<Step> steps, int rootCount) {
+        List<Step> ordered = new ArrayList<>(steps.size());
+        List<Step> run = new ArrayList<>();
+        for (Step step : steps) {
+            if (step.isFilter()) {
+                run.add(step);
+            } else {
+                addRun(ordered, run);
+                ordered.add(step);
+            }
+        }
+        addRun(ordered, run);
+        return new SelectorPlan(ordered, rootCount);
+    }
+
+    private static void addRun(List<Step> ordered, List<Step> run) {
+        // The sort is stable, so filters of the same cost keep their order.
+        run.sort(Comparator.comparingInt(step -> step.cost));
+        ordered.addAll(run);
+        run.clear();
+    }
+
+    /**
+     * Gets the selector to evaluate.
+     *
+     * @return Returns the selector with reordered filters.
+     */
+    InternalSelector getSelector() {
+        return selector;
+    }
+
+    /**
+     * Gets the shapes to send through the selector.
+     *
+     * @param model Model to select shapes from.
+     * @return Returns the starting shapes.
+     */
+    Collection<? extends Shape> getStartingShapes(Model model) {
+        if (findMissingTrait(model) != null) {
+            return Collections.emptySet();
+        }
+
+        Start best = findBestStart(model);
+        return best != null ? best.shapes : selector.getStartingShapes(model);
+    }
+
+    private ShapeId findMissingTrait(Model model) {
+        for (Step step : steps) {
+            ShapeId trait = step.getRequiredTrait();
+            if (trait != null && model.getShapesWithTrait(trait).isEmpty()) {
+                return trait;
+            }
+        }
+        return null;
+    }
+
+    private Start findBestStart(Model model) {
+        Start best = null;
+        List<Step> traitSteps = new ArrayList<>();
+        List<ShapeId> required = new ArrayList<>();
+        List<ShapeId> excluded = new ArrayList<>();
+
+        for (int i = 0; i < leadingFilters; i++) {
+            Step step = steps.get(i);
+            if (step.isIndexed()) {
+                Collection<? extends Shape> shapes = step.selector.getStartingShapes(model);
+                if (best == null || shapes.size() < best.shapes.size()) {
+                    best = new Start(Collections.singletonList(step), shapes);
+                }
+            }
+            if (step.getRequiredTrait() != null) {
+                traitSteps.add(step);
+                required.add(step.getRequiredTrait());
+            } else if (step.getExcludedTrait() != null) {
+                traitSteps.add(step);
+                excluded.add(step.getExcludedTrait());
+            }
+        }
+
+        // Combining traits is only useful when there's more than one trait filter, and at least one of them is
+        // a required trait. Otherwise, the complement of a trait could be much larger than the other filters.
+        if (!required.isEmpty() && traitSteps.size() > 1) {
+            ShapeOrdinalSet combined = combineTraits(model, required, excluded);
+            if (combined.size() < best.shapes.size()) {
+                List<Shape> shapes = new ArrayList<>(combined.size());
+                for (Shape shape : combined) {
+                    shapes.add(shape);
+                }
+                best = new Start(traitSteps, shapes);
+            }
+        }
+
+        return best;
+    }
+
+    private static ShapeOrdinalSet combineTraits(Model model, List<ShapeId> required, List<ShapeId> excluded) {
+        TraitMembershipIndex index = TraitMembershipIndex.of(model);
+        ShapeOrdinalSet result = index.getShapesWithAllTraits(required);
+        for (ShapeId trait : excluded) {
+            ShapeOrdinalSet withTrait = index.getShapesWithTrait(trait).retainAll(result);
+            // A trait with a null value, like @default(null), doesn't match an attribute selector, so
+            // shapes with a null value still pass the :not filter.
+            for (int ordinal : withTrait.ordinals().toArray()) {
+                Shape shape = model.getShapeOrdinals().getShape(ordinal);
+                if (shape.findTrait(trait).filter(t -> t.toNode().isNullNode()).isPresent()) {
+                    withTrait.remove(shape);
+                }
+            }
+            result.removeAll(withTrait);
+        }
+        return result;
+    }
+
+    /**
+     * Describes how the selector is evaluated against a model.
+     *
+     * @param model Model to evaluate against.
+     * @return Returns the description.
+     */
+    String explain(Model model) {
+        String ls = System.lineSeparator();
+        StringBuilder result = new StringBuilder();
+
+        if (rootCount > 0) {
+            result.append("Root subexpressions: ").append(rootCount)
+                    .append(" evaluated once against every shape before the selector").append(ls);
+        }
+
+        ShapeId missingTrait = findMissingTrait(model);
+        Start best = findBestStart(model);
+        result.append("Starting shapes: ");
+        if (missingTrait != null) {
+            result.append("none, because no shape has the required trait `").append(missingTrait).append('`');
+        } else if (best != null) {
+            result.append(best.shapes.size()).append(" shapes matching ");
+            for (int i = 0; i < best.steps.size(); i++) {
+                if (i > 0) {
+                    result.append(" and ");
+                }
+                result.append('`').append(best.steps.get(i).text).append('`');
+            }
+            result.append(" (of ").append(model.getShapeIds().size()).append(" shapes)");
+        } else {
+            result.append("all ").append(model.getShapeIds().size()).append(" shapes");
+        }
+        result.append(ls);
+
+        result.append("Steps:").append(ls);
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            result.append("  ").append(i + 1).append(". ").append(step.text);
+            if (step.isFilter()) {
+                result.append(" (filter");
+                if (step.position != i) {
+                    result.append(", moved from position ").append(step.position + 1);
+                }
+                result.append(')');
+            }
+            result.append(ls);
+        }
+
+        return result.toString();
+    }
+}
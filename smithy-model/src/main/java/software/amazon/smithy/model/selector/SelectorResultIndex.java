@@ -0,0 +1,133 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.traits.TraitDefinition;
+
+/**
+ * Memoizes the shapes that selectors match in a model.
+ *
+ * <p>Selectors created with {@link Selector#parse} are pure functions of
+ * the model they're evaluated against, so the shapes they select can be
+ * computed once per model and shared by every validator that evaluates
+ * the same selector. Results of other {@link Selector} implementations are
+ * never memoized.
+ *
+ * <p>The results of selectors used by trait definitions in the model are
+ * always kept, since there are only as many of them as the model defines.
+ * Other selectors, like those found in trait values, can be arbitrary, so
+ * only the results of the most recently used ones are kept.
+ *
+ * <p>This index is thread-safe.
+ */
+public final class SelectorResultIndex implements KnowledgeIndex {
+
+    private static final int MAX_OTHER_RESULTS = 50;
+
+    private final WeakReference<Model> model;
+    private final Set<Selector> traitSelectors = new HashSet<>();
+    private final Map<Selector, Set<Shape>> traitResults = new ConcurrentHashMap<>();
+    private final Map<Selector, Set<Shape>> otherResults = new LinkedHashMap<Selector, Set<Shape>>(
+            MAX_OTHER_RESULTS + 1, .75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Selector, Set<Shape>> eldest) {
+            return size() > MAX_OTHER_RESULTS;
+        }
+    };
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SelectorResultIndex(Model model) {
+        this.model = new WeakReference<>(model);
+        for (Shape shape : model.getShapesWithTrait(TraitDefinition.class)) {
+            traitSelectors.add(shape.expectTrait(TraitDefinition.class).getSelector());
+        }
+    }
+
+    public static SelectorResultIndex of(Model model) {
+        return model.getKnowledge(SelectorResultIndex.class, SelectorResultIndex::new);
+    }
+
+    /**
+     * Selects the shapes that match a selector, using memoized results
+     * when the selector was already evaluated against the model.
+     *
+     * @param selector Selector to evaluate.
+     * @return Returns the unmodifiable set of matching shapes.
+     */
+    public Set<Shape> select(Selector selector) {
+        if (!isPure(selector)) {
+            misses.increment();
+            return Collections.unmodifiableSet(selector.select(getModel()));
+        }
+
+        if (traitSelectors.contains(selector)) {
+            // computeIfAbsent isn't used so that selectors aren't evaluated while holding a lock.
+            Set<Shape> result = traitResults.get(selector);
+            if (result != null) {
+                hits.increment();
+                return result;
+            }
+            misses.increment();
+            result = Collections.unmodifiableSet(selector.select(getModel()));
+            Set<Shape> previous = traitResults.putIfAbsent(selector, result);
+            return previous != null ? previous : result;
+        }
+
+        Set<Shape> result;
+        synchronized (otherResults) {
+            result = otherResults.get(selector);
+        }
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        result = Collections.unmodifiableSet(selector.select(getModel()));
+        synchronized (otherResults) {
+            Set<Shape> previous = otherResults.putIfAbsent(selector, result);
+            return previous != null ? previous : result;
+        }
+    }
+
+    private static boolean isPure(Selector selector) {
+        return selector instanceof WrappedSelector || selector == Selector.IDENTITY;
+    }
+
+    private Model getModel() {
+        return Objects.requireNonNull(model.get(), "The dereferenced WeakReference<Model> is null");
+    }
+
+    /**
+     * Gets the number of times memoized results were returned.
+     *
+     * @return Returns the number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of times a selector had to be evaluated.
+     *
+     * @return Returns the number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+}
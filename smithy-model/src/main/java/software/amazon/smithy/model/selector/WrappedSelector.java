@@ -21,8 +21,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
@@ -33,17 +34,19 @@ import software.amazon.smithy.model.shapes.Shape;
  */
 final class WrappedSelector implements Selector {
 
-    /** Uses parallel streams when the model size exceeds this number. */
+    /** Evaluates selectors in parallel when the number of starting shapes exceeds this number. */
     private static final int PARALLEL_THRESHOLD = 10000;
 
     private final String expression;
+    private final SelectorPlan plan;
     private final InternalSelector delegate;
     private final List<InternalSelector> roots;
 
-    WrappedSelector(String expression, List<InternalSelector> selectors, List<InternalSelector> roots) {
+    WrappedSelector(String expression, SelectorPlan plan, List<InternalSelector> roots) {
         this.expression = expression;
+        this.plan = plan;
         this.roots = roots;
-        this.delegate = AndSelector.of(selectors);
+        this.delegate = plan.getSelector();
     }
 
     @Override
@@ -61,6 +64,11 @@ final class WrappedSelector implements Selector {
         return expression.hashCode();
     }
 
+    @Override
+    public String explain(Model model) {
+        return "Selector: " + expression + System.lineSeparator() + plan.explain(model);
+    }
+
     @Override
     public Set<Shape> select(Model model) {
         return select(model, StartingContext.DEFAULT);
@@ -69,9 +77,10 @@ final class WrappedSelector implements Selector {
     @Override
     public Set<Shape> select(Model model, StartingContext startingContext) {
         Collection<? extends Shape> startingShapes = getStartingShapes(model, startingContext);
+        ForkJoinPool pool = getParallelPool(startingContext, startingShapes);
 
-        if (isParallel(startingShapes)) {
-            return shapes(model).collect(Collectors.toSet());
+        if (pool != null) {
+            return new HashSet<>(evaluateInParallel(model, pool, startingShapes, (ctx, s) -> s));
         } else {
             // This is more optimized than using shapes() for smaller models that aren't parallelized.
             Set<Shape> result = new HashSet<>();
@@ -85,11 +94,28 @@ final class WrappedSelector implements Selector {
 
     private Collection<? extends Shape> getStartingShapes(Model model, StartingContext startingContext) {
         Collection<? extends Shape> startingShapes = startingContext.getStartingShapes();
-        return startingShapes == null ? delegate.getStartingShapes(model) : startingShapes;
+        return startingShapes == null ? plan.getStartingShapes(model) : startingShapes;
     }
 
-    private boolean isParallel(Collection<? extends Shape> startingShapes) {
-        return startingShapes.size() >= PARALLEL_THRESHOLD;
+    // Returns the pool to evaluate the selector with, or null to evaluate it on the current thread.
+    private ForkJoinPool getParallelPool(StartingContext startingContext, Collection<? extends Shape> startingShapes) {
+        ForkJoinPool pool = startingContext.getParallelPool();
+        if (pool != null) {
+            return pool;
+        }
+        return startingShapes.size() >= PARALLEL_THRESHOLD ? ForkJoinPool.commonPool() : null;
+    }
+
+    private <T> List<T> evaluateInParallel(
+            Model model,
+            ForkJoinPool pool,
+            Collection<? extends Shape> startingShapes,
+            BiFunction<Context, Shape, T> mapper
+    ) {
+        NeighborProviderIndex index = NeighborProviderIndex.of(model);
+        List<Set<Shape>> computedRoots = computeRoots(model);
+        return new ParallelEvaluator<>(delegate, () -> new Context(model, index, computedRoots), mapper)
+                .evaluate(pool, startingShapes);
     }
 
     @Override
@@ -99,22 +125,38 @@ final class WrappedSelector implements Selector {
 
     @Override
     public void consumeMatches(Model model, StartingContext context, Consumer<ShapeMatch> shapeMatchConsumer) {
-        // This is more optimized than using matches() and collecting to a Set
-        // because it avoids creating streams and buffering the result of
-        // pushing each shape into internal selectors.
         Collection<? extends Shape> startingShapes = getStartingShapes(model, context);
-        pushShapes(model, startingShapes, (ctx, s) -> {
-            shapeMatchConsumer.accept(new ShapeMatch(s, ctx.getVars()));
-            return InternalSelector.Response.CONTINUE;
-        });
+        // Parallel evaluation buffers every match, so it's only used when a pool is explicitly requested
+        // rather than based on the number of starting shapes.
+        ForkJoinPool pool = context.getParallelPool();
+
+        if (pool != null) {
+            // Matches are found in parallel, but the consumer receives them in order on this thread.
+            evaluateInParallel(model, pool, startingShapes, (ctx, s) -> new ShapeMatch(s, ctx.getVars()))
+                    .forEach(shapeMatchConsumer);
+        } else {
+            // This is more optimized than using matches() and collecting to a Set
+            // because it avoids creating streams and buffering the result of
+            // pushing each shape into internal selectors.
+            pushShapes(model, startingShapes, (ctx, s) -> {
+                shapeMatchConsumer.accept(new ShapeMatch(s, ctx.getVars()));
+                return InternalSelector.Response.CONTINUE;
+            });
+        }
     }
 
     @Override
     public Stream<Shape> shapes(Model model, StartingContext startingContext) {
         Collection<? extends Shape> startingShapes = getStartingShapes(model, startingContext);
+        ForkJoinPool pool = getParallelPool(startingContext, startingShapes);
+
+        if (pool != null) {
+            return evaluateInParallel(model, pool, startingShapes, (ctx, s) -> s).stream();
+        }
+
         NeighborProviderIndex index = NeighborProviderIndex.of(model);
         List<Set<Shape>> computedRoots = computeRoots(model);
-        return streamStartingShapes(startingShapes).flatMap(shape -> {
+        return startingShapes.stream().flatMap(shape -> {
             Context context = new Context(model, index, computedRoots);
             return delegate.pushResultsToCollection(context, shape, new ArrayList<>()).stream();
         });
@@ -123,9 +165,16 @@ final class WrappedSelector implements Selector {
     @Override
     public Stream<ShapeMatch> matches(Model model, StartingContext startingContext) {
         Collection<? extends Shape> startingShapes = getStartingShapes(model, startingContext);
+        ForkJoinPool pool = getParallelPool(startingContext, startingShapes);
+
+        if (pool != null) {
+            return evaluateInParallel(model, pool, startingShapes, (ctx, s) -> new ShapeMatch(s, ctx.getVars()))
+                    .stream();
+        }
+
         NeighborProviderIndex index = NeighborProviderIndex.of(model);
         List<Set<Shape>> computedRoots = computeRoots(model);
-        return streamStartingShapes(startingShapes).flatMap(shape -> {
+        return startingShapes.stream().flatMap(shape -> {
             List<ShapeMatch> result = new ArrayList<>();
             delegate.push(new Context(model, index, computedRoots), shape, (ctx, s) -> {
                 result.add(new ShapeMatch(s, ctx.getVars()));
@@ -135,10 +184,6 @@ final class WrappedSelector implements Selector {
         });
     }
 
-    private Stream<? extends Shape> streamStartingShapes(Collection<? extends Shape> startingShapes) {
-        return isParallel(startingShapes) ? startingShapes.parallelStream() : startingShapes.stream();
-    }
-
     // Eagerly compute roots over all model shapes before evaluating shapes one at a time.
     private List<Set<Shape>> computeRoots(Model model) {
         NeighborProviderIndex index = NeighborProviderIndex.of(model);
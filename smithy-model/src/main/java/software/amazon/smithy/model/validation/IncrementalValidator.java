@@ -0,0 +1,125 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.Trait;
+
+/**
+ * A {@link Validator} that can validate a subset of the shapes in a model.
+ *
+ * <p>When a model is validated against a previously validated model, the
+ * events of an incremental validator are only recomputed for shapes that
+ * changed and for the shapes that depend on them. Events previously emitted
+ * for every other shape are reused. Validators that do not implement this
+ * interface always validate the entire model.
+ *
+ * <p>Implementations must adhere to the following contract:
+ *
+ * <ul>
+ *     <li>Every emitted event is associated with a shape.</li>
+ *     <li>The events emitted for a shape depend only on that shape and the
+ *     shapes it can reach through its relationships, including members,
+ *     the containers of members, and the definitions of applied traits.</li>
+ *     <li>{@link #validate(Model, Set)} returns the same events that
+ *     {@link #validate(Model)} returns for the given shapes.</li>
+ * </ul>
+ */
+public interface IncrementalValidator extends Validator {
+    /**
+     * Validates only the given shapes of a model.
+     *
+     * <p>The entire model is available to the validator, but only events
+     * for the given shapes are used. Events emitted for other shapes are
+     * ignored. The given shapes always include the members of every given
+     * shape and the container of every given member.
+     *
+     * @param model Model to validate.
+     * @param shapes IDs of the shapes to validate. Shapes that are not in the model are ignored.
+     * @return List of validation events.
+     */
+    List<ValidationEvent> validate(Model model, Set<ShapeId> shapes);
+
+    /**
+     * Gets the shapes of a model that have one of the given shape IDs.
+     *
+     * @param model Model to query.
+     * @param ids Shape IDs to get.
+     * @return Returns the shapes that are in the model.
+     */
+    static List<Shape> getShapes(Model model, Collection<ShapeId> ids) {
+        List<Shape> result = new ArrayList<>();
+        for (ShapeId id : ids) {
+            model.getShape(id).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the shapes of a specific type that have one of the given shape IDs.
+     *
+     * @param model Model to query.
+     * @param ids Shape IDs to get.
+     * @param type Type of shape to get.
+     * @param <T> Type of shape to get.
+     * @return Returns the shapes that are in the model and are of the given type.
+     */
+    static <T extends Shape> List<T> getShapes(Model model, Collection<ShapeId> ids, Class<T> type) {
+        List<T> result = new ArrayList<>();
+        for (ShapeId id : ids) {
+            model.getShape(id).filter(type::isInstance).map(type::cast).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the shapes with a specific trait that have one of the given shape IDs.
+     *
+     * @param model Model to query.
+     * @param ids Shape IDs to get.
+     * @param trait Trait the shapes must have.
+     * @return Returns the shapes that are in the model and have the trait.
+     */
+    static List<Shape> getShapesWithTrait(Model model, Collection<ShapeId> ids, Class<? extends Trait> trait) {
+        List<Shape> result = new ArrayList<>();
+        for (ShapeId id : ids) {
+            model.getShape(id).filter(shape -> shape.hasTrait(trait)).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the shapes of a specific type with a specific trait that have one
+     * of the given shape IDs.
+     *
+     * @param model Model to query.
+     * @param ids Shape IDs to get.
+     * @param type Type of shape to get.
+     * @param trait Trait the shapes must have.
+     * @param <T> Type of shape to get.
+     * @return Returns the shapes that are in the model, are of the given type, and have the trait.
+     */
+    static <T extends Shape> List<T> getShapesWithTrait(
+            Model model,
+            Collection<ShapeId> ids,
+            Class<T> type,
+            Class<? extends Trait> trait
+    ) {
+        List<T> result = new ArrayList<>();
+        for (T shape : getShapes(model, ids, type)) {
+            if (shape.hasTrait(trait)) {
+                result.add(shape);
+            }
+        }
+        return result;
+    }
+}
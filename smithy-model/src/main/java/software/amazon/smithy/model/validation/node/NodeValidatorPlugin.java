@@ -16,15 +16,14 @@
 package software.amazon.smithy.model.validation.node;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import software.amazon.smithy.model.FromSourceLocation;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorResultIndex;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.validation.NodeValidationVisitor;
@@ -77,16 +76,6 @@ public interface NodeValidatorPlugin {
         private final Set<NodeValidationVisitor.Feature> features;
         private MemberShape referringMember;
 
-        // Use an LRU cache to ensure the Selector cache doesn't grow too large
-        // when given bad inputs.
-        private final Map<Selector, Set<Shape>> selectorResults = new LinkedHashMap<Selector, Set<Shape>>(
-                50 + 1, .75F, true) {
-            @Override
-            public boolean removeEldestEntry(Map.Entry<Selector, Set<Shape>> eldest) {
-                return size() > 50;
-            }
-        };
-
         /**
          * @param model Model being evaluated.
          */
@@ -111,15 +100,14 @@ public interface NodeValidatorPlugin {
         /**
          * Select and memoize shapes from the model using a Selector.
          *
-         * <p>The cache used by this method is not thread-safe, though that's
-         * fine because NodeValidatorPlugins using the same Context all run
-         * within the same thread.
+         * <p>Results are memoized for the model using {@link SelectorResultIndex},
+         * so they're shared with every other Context of the same model.
          *
          * @param selector Selector to evaluate.
          * @return Returns the matching shapes.
          */
         public Set<Shape> select(Selector selector) {
-            return selectorResults.computeIfAbsent(selector, s -> s.select(model));
+            return SelectorResultIndex.of(model).select(selector);
         }
 
         public boolean hasFeature(NodeValidationVisitor.Feature feature) {
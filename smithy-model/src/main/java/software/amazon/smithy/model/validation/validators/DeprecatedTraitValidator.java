@@ -28,13 +28,14 @@ import software.amazon.smithy.model.traits.DeprecatedTrait;
 import software.amazon.smithy.model.traits.EnumTrait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.SetUtils;
 
 /**
  * Emits a validation event if a model contains shapes that are bound to deprecated traits.
  */
-public final class DeprecatedTraitValidator extends AbstractValidator {
+public final class DeprecatedTraitValidator extends AbstractValidator implements IncrementalValidator {
 
     // The set of trait shape IDs where deprecation warnings are emitted elsewhere.
     // For example, enum trait deprecation warnings are only emitted when loading 2.0 models.
@@ -42,6 +43,15 @@ public final class DeprecatedTraitValidator extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, null);
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, shapes);
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Set<ShapeId> scope) {
         List<ValidationEvent> events = new ArrayList<>();
 
         for (Shape trait : model.getShapesWithTrait(TraitDefinition.class)) {
@@ -59,7 +69,7 @@ public final class DeprecatedTraitValidator extends AbstractValidator {
                     }
                     for (Shape shape : shapesWithTrait) {
                         // Ignore the use of @box on prelude shapes.
-                        if (!Prelude.isPreludeShape(shape)) {
+                        if (!Prelude.isPreludeShape(shape) && (scope == null || scope.contains(shape.getId()))) {
                             events.add(warning(shape, shape.findTrait(trait.getId()).get(), format(
                                     "This shape applies a trait that is deprecated: %s", traitMessage)));
                         }
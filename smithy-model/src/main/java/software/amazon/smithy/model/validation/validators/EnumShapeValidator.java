@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -29,8 +30,10 @@ import software.amazon.smithy.model.shapes.EnumShape;
 import software.amazon.smithy.model.shapes.IntEnumShape;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.EnumValueTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
@@ -41,18 +44,28 @@ import software.amazon.smithy.model.validation.ValidationEvent;
  * <p>Additionally, emits warning events when enum member names don't follow the recommended
  * naming convention of all upper case letters separated by underscores.
  */
-public final class EnumShapeValidator extends AbstractValidator {
+public final class EnumShapeValidator extends AbstractValidator implements IncrementalValidator {
     private static final Pattern RECOMMENDED_NAME_PATTERN = Pattern.compile("^[A-Z]+[A-Z_0-9]*$");
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model.getEnumShapes(), model.getIntEnumShapes());
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(IncrementalValidator.getShapes(model, shapes, EnumShape.class),
+                              IncrementalValidator.getShapes(model, shapes, IntEnumShape.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Collection<EnumShape> enums, Collection<IntEnumShape> intEnums) {
         List<ValidationEvent> events = new ArrayList<>();
 
-        for (EnumShape shape : model.getEnumShapes()) {
+        for (EnumShape shape : enums) {
             validateEnumShape(events, shape);
         }
 
-        for (IntEnumShape shape : model.getIntEnumShapes()) {
+        for (IntEnumShape shape : intEnums) {
             validateIntEnumShape(events, shape);
         }
 
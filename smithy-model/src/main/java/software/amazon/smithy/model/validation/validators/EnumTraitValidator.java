@@ -16,15 +16,18 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.EnumDefinition;
 import software.amazon.smithy.model.traits.EnumTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
@@ -34,14 +37,24 @@ import software.amazon.smithy.model.validation.ValidationEvent;
  * a name. All enum values and names must be unique across the list of
  * definitions.
  */
-public final class EnumTraitValidator extends AbstractValidator {
+public final class EnumTraitValidator extends AbstractValidator implements IncrementalValidator {
     private static final Pattern RECOMMENDED_NAME_PATTERN = Pattern.compile("^[A-Z]+[A-Z_0-9]*$");
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getShapesWithTrait(EnumTrait.class));
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapesWithTrait(model, shapes, EnumTrait.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
 
-        for (Shape shape : model.getShapesWithTrait(EnumTrait.class)) {
+        for (Shape shape : shapes) {
             events.addAll(validateEnumTrait(shape, shape.expectTrait(EnumTrait.class)));
         }
 
@@ -16,16 +16,20 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.EventHeaderTrait;
 import software.amazon.smithy.model.traits.EventPayloadTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 import software.amazon.smithy.utils.FunctionalUtils;
@@ -37,11 +41,21 @@ import software.amazon.smithy.utils.FunctionalUtils;
  * <p>Only a single member can be marked with the eventPayload trait, and
  * this is validated using {@link ExclusiveStructureMemberTraitValidator}.
  */
-public final class EventPayloadTraitValidator extends AbstractValidator {
+public final class EventPayloadTraitValidator extends AbstractValidator implements IncrementalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getMemberShapesWithTrait(EventPayloadTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapesWithTrait(
+                model, shapes, MemberShape.class, EventPayloadTrait.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends MemberShape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (MemberShape member : model.getMemberShapesWithTrait(EventPayloadTrait.class)) {
+        for (MemberShape member : shapes) {
             model.getShape(member.getContainer())
                     .flatMap(Shape::asStructureShape)
                     .flatMap(structure -> validateEvent(structure, member))
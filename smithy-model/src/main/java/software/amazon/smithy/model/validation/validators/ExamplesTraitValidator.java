@@ -16,26 +16,40 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.ExamplesTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.NodeValidationVisitor;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Validates that examples traits are valid for their operations.
  */
-public final class ExamplesTraitValidator extends AbstractValidator {
+public final class ExamplesTraitValidator extends AbstractValidator implements IncrementalValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getOperationShapesWithTrait(ExamplesTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapesWithTrait(
+                model, shapes, OperationShape.class, ExamplesTrait.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends OperationShape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (OperationShape operation : model.getOperationShapesWithTrait(ExamplesTrait.class)) {
+        for (OperationShape operation : shapes) {
             events.addAll(validateExamples(model, operation, operation.expectTrait(ExamplesTrait.class)));
         }
 
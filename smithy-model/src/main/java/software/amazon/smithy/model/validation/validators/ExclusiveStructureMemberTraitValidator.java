@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -23,19 +24,30 @@ import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 
 /**
  * Validates traits that can only be applied to a single structure member.
  */
-public final class ExclusiveStructureMemberTraitValidator extends AbstractValidator {
+public final class ExclusiveStructureMemberTraitValidator extends AbstractValidator implements IncrementalValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getStructureShapes());
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapes(model, shapes, StructureShape.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
         // Find all traits that are exclusive by member and target.
         Set<ShapeId> exclusiveMemberTraits = new HashSet<>();
         Set<ShapeId> exclusiveTargetTraits = new HashSet<>();
@@ -50,7 +62,7 @@ public final class ExclusiveStructureMemberTraitValidator extends AbstractValida
         }
 
         List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getStructureShapes()) {
+        for (Shape shape : shapes) {
             validateExclusiveMembers(shape, exclusiveMemberTraits, events);
             validateExclusiveTargets(model, shape, exclusiveTargetTraits, events);
         }
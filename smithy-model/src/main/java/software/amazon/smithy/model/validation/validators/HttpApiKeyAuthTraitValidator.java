@@ -16,12 +16,15 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.HttpApiKeyAuthTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
@@ -29,13 +32,22 @@ import software.amazon.smithy.model.validation.ValidationEvent;
  * the 'in' field must specify "header". Scheme should only be used with the
  * "Authorization" http header.
  */
-public final class HttpApiKeyAuthTraitValidator extends AbstractValidator {
+public final class HttpApiKeyAuthTraitValidator extends AbstractValidator implements IncrementalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
-        Set<ServiceShape> serviceShapesWithTrait = model.getServiceShapesWithTrait(HttpApiKeyAuthTrait.class);
+        return validateShapes(model, model.getServiceShapesWithTrait(HttpApiKeyAuthTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapesWithTrait(
+                model, shapes, ServiceShape.class, HttpApiKeyAuthTrait.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends ServiceShape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
 
-        for (ServiceShape serviceShape : serviceShapesWithTrait) {
+        for (ServiceShape serviceShape : shapes) {
             HttpApiKeyAuthTrait trait = serviceShape.expectTrait(HttpApiKeyAuthTrait.class);
             trait.getScheme().ifPresent(scheme -> {
                 if (trait.getIn() != HttpApiKeyAuthTrait.Location.HEADER) {
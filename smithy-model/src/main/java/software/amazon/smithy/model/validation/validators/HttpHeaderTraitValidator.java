@@ -20,6 +20,7 @@ import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -27,9 +28,11 @@ import java.util.Optional;
 import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.HttpHeaderTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 import software.amazon.smithy.utils.SetUtils;
@@ -37,7 +40,7 @@ import software.amazon.smithy.utils.SetUtils;
 /**
  * Validates that httpHeader traits are case-insensitively unique.
  */
-public final class HttpHeaderTraitValidator extends AbstractValidator {
+public final class HttpHeaderTraitValidator extends AbstractValidator implements IncrementalValidator {
 
     /** Gather the allowed characters for HTTP headers (tchar from RFC 7230). **/
     private static final Set<Character> TCHAR = SetUtils.of(
@@ -76,13 +79,31 @@ public final class HttpHeaderTraitValidator extends AbstractValidator {
             return Collections.emptyList();
         }
 
+        return validateShapes(model.getStructureShapes(), model.getMemberShapesWithTrait(HttpHeaderTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        if (!model.isTraitApplied(HttpHeaderTrait.class)) {
+            return Collections.emptyList();
+        }
+
+        return validateShapes(
+                IncrementalValidator.getShapes(model, shapes, StructureShape.class),
+                IncrementalValidator.getShapesWithTrait(model, shapes, MemberShape.class, HttpHeaderTrait.class));
+    }
+
+    private List<ValidationEvent> validateShapes(
+            Collection<StructureShape> structures,
+            Collection<MemberShape> members
+    ) {
         List<ValidationEvent> events = new ArrayList<>();
 
-        for (StructureShape structure : model.getStructureShapes()) {
+        for (StructureShape structure : structures) {
             events.addAll(validateStructure(structure));
         }
 
-        for (MemberShape member : model.getMemberShapesWithTrait(HttpHeaderTrait.class)) {
+        for (MemberShape member : members) {
             HttpHeaderTrait httpHeaderTrait = member.expectTrait(HttpHeaderTrait.class);
             validateHeader(member, httpHeaderTrait).ifPresent(events::add);
         }
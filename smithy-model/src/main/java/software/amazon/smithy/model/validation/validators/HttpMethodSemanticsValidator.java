@@ -16,18 +16,22 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.HttpBinding;
 import software.amazon.smithy.model.knowledge.HttpBindingIndex;
 import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.traits.IdempotentTrait;
 import software.amazon.smithy.model.traits.ReadonlyTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 import software.amazon.smithy.utils.ListUtils;
@@ -37,7 +41,7 @@ import software.amazon.smithy.utils.MapUtils;
  * Validates that `http` traits applied to operation shapes use the most
  * semantically appropriate HTTP method according to RFC 7231.
  */
-public final class HttpMethodSemanticsValidator extends AbstractValidator {
+public final class HttpMethodSemanticsValidator extends AbstractValidator implements IncrementalValidator {
     /**
      * Provides the configuration for each HTTP method name:
      *
@@ -76,13 +80,23 @@ public final class HttpMethodSemanticsValidator extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getOperationShapesWithTrait(HttpTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapesWithTrait(
+                model, shapes, OperationShape.class, HttpTrait.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends OperationShape> shapes) {
         if (!model.isTraitApplied(HttpTrait.class)) {
             return Collections.emptyList();
         }
 
         HttpBindingIndex bindingIndex = HttpBindingIndex.of(model);
         List<ValidationEvent> events = new ArrayList<>();
-        for (OperationShape operation : model.getOperationShapesWithTrait(HttpTrait.class)) {
+        for (OperationShape operation : shapes) {
             events.addAll(validateOperation(bindingIndex, operation, operation.expectTrait(HttpTrait.class)));
         }
 
@@ -16,27 +16,41 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.HttpHeaderTrait;
 import software.amazon.smithy.model.traits.HttpPrefixHeadersTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Validates that httpHeader traits do not case-insensitively start with an
  * httpPrefixHeader on the same structure.
  */
-public final class HttpPrefixHeadersTraitValidator extends AbstractValidator {
+public final class HttpPrefixHeadersTraitValidator extends AbstractValidator implements IncrementalValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getMemberShapesWithTrait(HttpPrefixHeadersTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapesWithTrait(
+                model, shapes, MemberShape.class, HttpPrefixHeadersTrait.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends MemberShape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (MemberShape member : model.getMemberShapesWithTrait(HttpPrefixHeadersTrait.class)) {
+        for (MemberShape member : shapes) {
             model.getShape(member.getContainer()).flatMap(Shape::asStructureShape).ifPresent(structure -> {
                 events.addAll(validateMember(structure, member, member.expectTrait(HttpPrefixHeadersTrait.class)));
             });
@@ -16,16 +16,20 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.HttpQueryParamsTrait;
 import software.amazon.smithy.model.traits.HttpQueryTrait;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 
@@ -33,20 +37,26 @@ import software.amazon.smithy.model.validation.ValidationUtils;
  * When the `httpQueryParams` trait is used, this validator emits a NOTE when another member of the container shape
  * applies the `httpQuery` trait which may result in a conflict within the query string.
  */
-public final class HttpQueryParamsTraitValidator extends AbstractValidator {
+public final class HttpQueryParamsTraitValidator extends AbstractValidator implements IncrementalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
         if (!model.isTraitApplied(HttpQueryParamsTrait.class)) {
             return Collections.emptyList();
         } else {
-            return validateQueryTraitUsage(model);
+            return validateQueryTraitUsage(model, model.getMemberShapesWithTrait(HttpQueryParamsTrait.class));
         }
     }
 
-    private List<ValidationEvent> validateQueryTraitUsage(Model model) {
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateQueryTraitUsage(model, IncrementalValidator.getShapesWithTrait(
+                model, shapes, MemberShape.class, HttpQueryParamsTrait.class));
+    }
+
+    private List<ValidationEvent> validateQueryTraitUsage(Model model, Collection<MemberShape> members) {
         List<ValidationEvent> events = new ArrayList<>();
 
-        for (MemberShape member : model.getMemberShapesWithTrait(HttpQueryParamsTrait.class)) {
+        for (MemberShape member : members) {
             model.getShape(member.getContainer())
                     .flatMap(Shape::asStructureShape)
                     .ifPresent(structure -> {
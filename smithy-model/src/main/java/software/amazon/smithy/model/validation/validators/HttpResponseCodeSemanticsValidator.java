@@ -16,34 +16,57 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.HttpBindingIndex;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.ErrorTrait;
 import software.amazon.smithy.model.traits.HttpErrorTrait;
 import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Ensures that HTTP response codes are appropriate for operations and errors.
  */
-public final class HttpResponseCodeSemanticsValidator extends AbstractValidator {
+public final class HttpResponseCodeSemanticsValidator extends AbstractValidator implements IncrementalValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model,
+                              model.getOperationShapesWithTrait(HttpTrait.class),
+                              model.getStructureShapesWithTrait(ErrorTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model,
+                              IncrementalValidator.getShapesWithTrait(
+                                      model, shapes, OperationShape.class, HttpTrait.class),
+                              IncrementalValidator.getShapesWithTrait(
+                                      model, shapes, StructureShape.class, ErrorTrait.class));
+    }
+
+    private List<ValidationEvent> validateShapes(
+            Model model,
+            Collection<OperationShape> operations,
+            Collection<StructureShape> errors
+    ) {
         List<ValidationEvent> events = new ArrayList<>();
 
-        for (OperationShape operation : model.getOperationShapesWithTrait(HttpTrait.class)) {
+        for (OperationShape operation : operations) {
             validateOperationsWithHttpTrait(model, operation).ifPresent(events::add);
         }
 
-        for (StructureShape structure : model.getStructureShapesWithTrait(ErrorTrait.class)) {
+        for (StructureShape structure : errors) {
             validateError(structure, structure.expectTrait(ErrorTrait.class)).ifPresent(events::add);
         }
 
@@ -18,20 +18,33 @@ package software.amazon.smithy.model.validation.validators;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
-public final class HttpUriFormatValidator extends AbstractValidator {
+public final class HttpUriFormatValidator extends AbstractValidator implements IncrementalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getShapesWithTrait(HttpTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapesWithTrait(model, shapes, HttpTrait.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends Shape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
         CharsetEncoder encoder = StandardCharsets.US_ASCII.newEncoder();
 
-        for (Shape shape : model.getShapesWithTrait(HttpTrait.class)) {
+        for (Shape shape : shapes) {
             HttpTrait trait = shape.expectTrait(HttpTrait.class);
             String uri = trait.getUri().toString();
             if (!encoder.canEncode(uri)) {
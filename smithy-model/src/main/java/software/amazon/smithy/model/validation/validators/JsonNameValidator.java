@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -29,17 +30,28 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.JsonNameTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
-public final class JsonNameValidator extends AbstractValidator {
+public final class JsonNameValidator extends AbstractValidator implements IncrementalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getMemberShapesWithTrait(JsonNameTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapesWithTrait(
+                model, shapes, MemberShape.class, JsonNameTrait.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends MemberShape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
         Set<ShapeId> visitedContainers = new HashSet<>();
 
         // Find every member marked with a jsonName trait. The containing shapes of these members are
         // the only structure/union shapes that need to be validated.
-        for (MemberShape member : model.getMemberShapesWithTrait(JsonNameTrait.class)) {
+        for (MemberShape member : shapes) {
             // If the container hasn't been visited yet, then validate it's members.
             if (visitedContainers.add(member.getContainer())) {
                 validateMembersOfContainer(model.expectShape(member.getContainer()), events);
@@ -16,7 +16,9 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.OperationShape;
@@ -27,6 +29,7 @@ import software.amazon.smithy.model.traits.RequestCompressionTrait;
 import software.amazon.smithy.model.traits.RequiresLengthTrait;
 import software.amazon.smithy.model.traits.StreamingTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 
@@ -38,11 +41,21 @@ import software.amazon.smithy.model.validation.ValidationUtils;
  * - Validate encodings has at least one compression algorithm
  * - Validate encodings are all supported compression algorithms
  */
-public final class RequestCompressionTraitValidator extends AbstractValidator {
+public final class RequestCompressionTraitValidator extends AbstractValidator implements IncrementalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getOperationShapesWithTrait(RequestCompressionTrait.class));
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapesWithTrait(
+                model, shapes, OperationShape.class, RequestCompressionTrait.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends OperationShape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (OperationShape shape : model.getOperationShapesWithTrait(RequestCompressionTrait.class)) {
+        for (OperationShape shape : shapes) {
             validateOperationInput(model, shape, events);
             validateEncodings(model, shape, events);
         }
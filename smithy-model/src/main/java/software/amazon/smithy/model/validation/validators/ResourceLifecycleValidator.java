@@ -20,20 +20,23 @@ import static java.lang.String.format;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ResourceShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.IdempotentTrait;
 import software.amazon.smithy.model.traits.ReadonlyTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Validates that resource are applied appropriately to resources.
  */
-public final class ResourceLifecycleValidator extends AbstractValidator {
+public final class ResourceLifecycleValidator extends AbstractValidator implements IncrementalValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
@@ -42,6 +45,15 @@ public final class ResourceLifecycleValidator extends AbstractValidator {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        List<ValidationEvent> events = new ArrayList<>();
+        for (ResourceShape resource : IncrementalValidator.getShapes(model, shapes, ResourceShape.class)) {
+            events.addAll(validateResource(model, resource));
+        }
+        return events;
+    }
+
     private List<ValidationEvent> validateResource(Model model, ResourceShape resource) {
         List<ValidationEvent> events = new ArrayList<>();
 
@@ -16,26 +16,39 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.ServiceIndex;
 import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.AuthTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Validates the @authDefinition traits applied to service shapes.
  */
-public class ServiceAuthDefinitionsValidator extends AbstractValidator {
+public class ServiceAuthDefinitionsValidator extends AbstractValidator implements IncrementalValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getServiceShapes());
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapes(model, shapes, ServiceShape.class));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends ServiceShape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
         ServiceIndex index = ServiceIndex.of(model);
 
-        List<ServiceShape> services = model.getServiceShapes().stream()
+        List<ServiceShape> services = shapes.stream()
                 .filter(serviceShape -> !serviceShape.hasTrait(AuthTrait.ID))
                 .filter(serviceShape -> index.getAuthSchemes(serviceShape).size() > 1)
                 .collect(Collectors.toList());
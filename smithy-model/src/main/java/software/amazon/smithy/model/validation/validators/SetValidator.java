@@ -16,20 +16,35 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.SetShape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
 @SmithyInternalApi
-public final class SetValidator extends AbstractValidator {
+public final class SetValidator extends AbstractValidator implements IncrementalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.getSetShapes());
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapes(model, shapes, SetShape.class));
+    }
+
+    @SuppressWarnings("deprecation")
+    private List<ValidationEvent> validateShapes(Model model, Collection<? extends SetShape> shapes) {
         List<ValidationEvent> events = new ArrayList<>();
-        for (SetShape set : model.getSetShapes()) {
+        for (SetShape set : shapes) {
             ValidationEvent event = ValidationEvent.builder()
                     .id(AbstractValidator.MODEL_DEPRECATION)
                     .severity(Severity.WARNING)
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
@@ -28,22 +29,32 @@ import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Validates that traits do not conflict.
  */
-public final class TraitConflictValidator extends AbstractValidator {
+public final class TraitConflictValidator extends AbstractValidator implements IncrementalValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, null);
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, shapes);
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Set<ShapeId> scope) {
         // Find all trait definitions and collect conflicting traits into a map.
         Map<Shape, Map<ShapeId, List<ShapeId>>> shapeToTraitConflicts = new HashMap<>();
         for (Shape shape : model.getShapesWithTrait(TraitDefinition.class)) {
             TraitDefinition trait = shape.expectTrait(TraitDefinition.class);
             // Only look at trait definitions that define conflicting traits.
             if (!trait.getConflicts().isEmpty()) {
-                findAndCollectConflicts(model, shape.getId(), trait.getConflicts(), shapeToTraitConflicts);
+                findAndCollectConflicts(model, scope, shape.getId(), trait.getConflicts(), shapeToTraitConflicts);
             }
         }
 
@@ -62,11 +73,15 @@ public final class TraitConflictValidator extends AbstractValidator {
     // Find shapes that use this trait and also apply conflicting traits.
     private void findAndCollectConflicts(
             Model model,
+            Set<ShapeId> scope,
             ShapeId trait,
             List<ShapeId> conflicts,
             Map<Shape, Map<ShapeId, List<ShapeId>>> shapeToTraitConflicts
     ) {
         for (Shape shape : model.getShapesWithTrait(trait)) {
+            if (scope != null && !scope.contains(shape.getId())) {
+                continue;
+            }
             for (ShapeId conflict : conflicts) {
                 if (shape.hasTrait(conflict)) {
                     shapeToTraitConflicts
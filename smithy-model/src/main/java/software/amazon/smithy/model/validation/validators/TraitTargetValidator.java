@@ -23,6 +23,7 @@ import java.util.Set;
 import java.util.regex.Pattern;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorResultIndex;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.MixinTrait;
@@ -93,7 +94,7 @@ public final class TraitTargetValidator extends AbstractValidator {
             Selector selector,
             List<ShapeId> traits
     ) {
-        Set<Shape> matches = selector.select(model);
+        Set<Shape> matches = SelectorResultIndex.of(model).select(selector);
 
         for (ShapeId traitId : traits) {
             // Find all shapes that have the used trait applied to it.
@@ -16,28 +16,39 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.NodeValidationVisitor;
 import software.amazon.smithy.model.validation.ValidationEvent;
-import software.amazon.smithy.model.validation.Validator;
 import software.amazon.smithy.utils.ListUtils;
 
 /**
  * Validates that trait values are valid for their trait definitions.
  */
-public final class TraitValueValidator implements Validator {
+public final class TraitValueValidator implements IncrementalValidator {
 
     public static final String VALIDATE_PRELUDE = "__validatePrelude__";
     private static final String NAME = "TraitValue";
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, model.toSet());
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, IncrementalValidator.getShapes(model, shapes));
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Collection<Shape> shapes) {
         // Create a reusable validation visitor so that the
         // selector cache is shared for each trait.
         NodeValidationVisitor validator = NodeValidationVisitor.builder()
@@ -48,7 +59,7 @@ public final class TraitValueValidator implements Validator {
 
         List<ValidationEvent> events = new ArrayList<>();
         boolean validatePrelude = model.getMetadataProperty(VALIDATE_PRELUDE).isPresent();
-        for (Shape shape : model.toSet()) {
+        for (Shape shape : shapes) {
             for (Trait trait : shape.getAllTraits().values()) {
                 events.addAll(validateTrait(model, validator, shape, trait, validatePrelude));
             }
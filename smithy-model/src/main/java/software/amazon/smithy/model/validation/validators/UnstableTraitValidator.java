@@ -19,22 +19,37 @@ import static java.lang.String.format;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.UnstableTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Emits a validation event if a model contains shapes that are bound to unstable traits.
  */
-public final class UnstableTraitValidator extends AbstractValidator {
+public final class UnstableTraitValidator extends AbstractValidator implements IncrementalValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(model, null);
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+        return validateShapes(model, shapes);
+    }
+
+    private List<ValidationEvent> validateShapes(Model model, Set<ShapeId> scope) {
         List<ValidationEvent> events = new ArrayList<>(0);
 
         for (Shape trait : model.getShapesWithTrait(UnstableTrait.class)) {
             for (Shape appliedTo : model.getShapesWithTrait(trait)) {
+                if (scope != null && !scope.contains(appliedTo.getId())) {
+                    continue;
+                }
                 events.add(warning(
                         appliedTo,
                         appliedTo.findTrait(trait.getId()).get(), // point to the applied trait which for sure exists.
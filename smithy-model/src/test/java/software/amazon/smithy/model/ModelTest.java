@@ -21,30 +21,55 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.knowledge.HttpBindingIndex;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.OperationIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.node.ExpectationNotMetException;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
 import software.amazon.smithy.model.shapes.*;
+import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.model.traits.ExamplesTrait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.traits.synthetic.OriginalShapeIdTrait;
+import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.utils.ListUtils;
 
 public class ModelTest {
 
@@ -289,12 +314,288 @@ public class ModelTest {
         model.getKnowledge(TopDownIndex.class);
     }
 
+    @Test
+    public void precomputesKnowledgeIndexes() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("knowledge/http-index.json"))
+                .assemble()
+                .unwrap();
+        // Requesting the same index more than once still reports a time for each request.
+        List<Function<Model, ? extends KnowledgeIndex>> indexes = ListUtils.of(
+                TopDownIndex::of, HttpBindingIndex::of, OperationIndex::of, TopDownIndex::of);
+        List<Duration> timings = model.precomputeKnowledge(indexes);
+
+        assertThat(timings, hasSize(4));
+        assertThat(timings, not(hasItem(nullValue())));
+        assertThat(TopDownIndex.of(model), sameInstance(TopDownIndex.of(model)));
+        assertThat(model.getKnowledge(OperationIndex.class, m -> {
+            throw new IllegalStateException("The index should already be computed");
+        }), notNullValue());
+    }
+
+    @Test
+    public void computesKnowledgeIndexOnceWhenContended() throws Exception {
+        Model model = Model.builder().build();
+        AtomicInteger constructed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Bar>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return model.getKnowledge(Bar.class, m -> {
+                        constructed.incrementAndGet();
+                        sleep(50);
+                        return new Bar(m);
+                    });
+                }));
+            }
+            start.countDown();
+
+            Bar first = futures.get(0).get();
+            for (Future<Bar> future : futures) {
+                assertThat(future.get(), sameInstance(first));
+            }
+            assertThat(constructed.get(), equalTo(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void doesNotBlockUnrelatedKnowledgeIndexes() throws Exception {
+        Model model = Model.builder().build();
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Bar> slow = executor.submit(() -> model.getKnowledge(Bar.class, m -> {
+                building.countDown();
+                await(release);
+                return new Bar(m);
+            }));
+            building.await();
+
+            // The other index is computed while the first one is still being computed.
+            assertThat(model.getKnowledge(Qux.class, Qux::new), notNullValue());
+            assertFalse(slow.isDone());
+
+            release.countDown();
+            assertThat(slow.get(), notNullValue());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void recomputesKnowledgeIndexAfterFailure() {
+        Model model = Model.builder().build();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> model.getKnowledge(Bar.class, m -> {
+            throw new IllegalArgumentException("failed");
+        }));
+        assertThat(model.getKnowledge(Bar.class, Bar::new), notNullValue());
+    }
+
+    @Test
+    public void detectsKnowledgeIndexThatRequiresItself() {
+        Model model = Model.builder().build();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> model.getKnowledge(Bar.class, m -> {
+            m.getKnowledge(Bar.class, Bar::new);
+            return new Bar(m);
+        }));
+    }
+
+    @Test
+    public void detectsKnowledgeIndexesThatWaitOnEachOtherAcrossThreads() throws Exception {
+        Model model = Model.builder().build();
+        CountDownLatch barStarted = new CountDownLatch(1);
+        CountDownLatch quxStarted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<Bar> bar = executor.submit(() -> model.getKnowledge(Bar.class, m -> {
+                barStarted.countDown();
+                await(quxStarted);
+                m.getKnowledge(Qux.class, Qux::new);
+                return new Bar(m);
+            }));
+            Future<Qux> qux = executor.submit(() -> model.getKnowledge(Qux.class, m -> {
+                quxStarted.countDown();
+                await(barStarted);
+                m.getKnowledge(Bar.class, Bar::new);
+                return new Qux(m);
+            }));
+
+            // One thread detects the cycle and fails, which in turn fails the index the other thread waits on.
+            for (Future<?> future : Arrays.asList(bar, qux)) {
+                ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                                                               () -> future.get(10, TimeUnit.SECONDS));
+                assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Test
     public void doesNotDeadlockWhenReenteringBlackboard() {
         Model model = Model.builder().build();
         model.getKnowledge(FooFooFoo.class, FooFooFoo::new);
     }
 
+    @Test
+    public void reusesKnowledgeIndexesThatDoNotDependOnChangedShapes() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("knowledge/http-index.json"))
+                .assemble()
+                .unwrap();
+        TopDownIndex topDown = TopDownIndex.of(model);
+        OperationIndex operations = OperationIndex.of(model);
+        HttpBindingIndex bindings = HttpBindingIndex.of(model);
+
+        Model derived = model.toBuilder()
+                .addShape(StringShape.builder().id("ns.foo#Unrelated").build())
+                .build();
+
+        assertThat(TopDownIndex.of(derived), sameInstance(topDown));
+        // OperationIndex stores its data by shape ordinal, so reusing it would keep every shape of the model.
+        assertThat(OperationIndex.of(derived), not(sameInstance(operations)));
+        assertThat(HttpBindingIndex.of(derived), not(sameInstance(bindings)));
+        assertThat(OperationIndex.of(derived).getInputShape(ShapeId.from("ns.foo#ServiceOperationExplicitBody")),
+                   equalTo(operations.getInputShape(ShapeId.from("ns.foo#ServiceOperationExplicitBody"))));
+    }
+
+    @Test
+    public void inheritedKnowledgeIndexesDoNotReachRemovedShapes() throws Exception {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("knowledge/http-index.json"))
+                .assemble()
+                .unwrap();
+        Shape removed = model.expectShape(ShapeId.from("ns.foo#String"));
+        List<KnowledgeIndex> indexes = ListUtils.of(TopDownIndex.of(model), OperationIndex.of(model));
+
+        Model derived = model.toBuilder().removeShape(removed.getId()).build();
+
+        for (KnowledgeIndex index : ListUtils.of(TopDownIndex.of(derived), OperationIndex.of(derived))) {
+            assertFalse(reaches(index, removed, Collections.newSetFromMap(new IdentityHashMap<>())),
+                        index.getClass().getSimpleName());
+        }
+        assertThat(TopDownIndex.of(derived), sameInstance(indexes.get(0)));
+    }
+
+    // Walks collections, maps, arrays, and the fields of Smithy classes to find the target.
+    private static boolean reaches(Object value, Object target, Set<Object> visited) throws IllegalAccessException {
+        if (value == target) {
+            return true;
+        } else if (value == null || !visited.add(value)) {
+            return false;
+        } else if (value instanceof Map) {
+            return reaches(((Map<?, ?>) value).keySet(), target, visited)
+                   || reaches(((Map<?, ?>) value).values(), target, visited);
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (reaches(element, target, visited)) {
+                    return true;
+                }
+            }
+        } else if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                if (reaches(element, target, visited)) {
+                    return true;
+                }
+            }
+        } else {
+            for (Class<?> c = value.getClass(); isSmithyClass(c); c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                        field.setAccessible(true);
+                        if (reaches(field.get(value), target, visited)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSmithyClass(Class<?> c) {
+        return c != null && c.getName().startsWith("software.amazon.smithy.");
+    }
+
+    @Test
+    public void recomputesKnowledgeIndexesThatDependOnChangedShapes() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("knowledge/http-index.json"))
+                .assemble()
+                .unwrap();
+        ShapeId service = ShapeId.from("ns.foo#MyService");
+        TopDownIndex topDown = TopDownIndex.of(model);
+        OperationIndex operations = OperationIndex.of(model);
+        OperationShape operation = topDown.getContainedOperations(service).iterator().next();
+
+        Model derived = ModelTransformer.create().replaceShapes(model, ListUtils.of(operation.toBuilder()
+                .addTrait(new DocumentationTrait("Updated"))
+                .build()));
+
+        assertThat(TopDownIndex.of(derived), not(sameInstance(topDown)));
+        assertThat(OperationIndex.of(derived), not(sameInstance(operations)));
+        assertThat(TopDownIndex.of(derived).getContainedOperations(service),
+                   hasItem(derived.expectShape(operation.getId())));
+        assertThat(derived.expectShape(operation.getId()).hasTrait(DocumentationTrait.class), is(true));
+    }
+
+    @Test
+    public void sharesShapesWithModelsItWasDerivedFrom() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("knowledge/http-index.json"))
+                .assemble()
+                .unwrap();
+        ShapeId removed = ShapeId.from("ns.foo#MyService");
+        Model derived = model.toBuilder().removeShape(removed).build();
+
+        assertThat(derived.getShapeIds(), not(hasItem(removed)));
+        assertThat(derived.getShapeIds(), hasSize(model.getShapeIds().size() - 1));
+        assertThat(derived.toBuilder().addShape(model.expectShape(removed)).build(), equalTo(model));
+        assertThat(model.toBuilder().build(), equalTo(model));
+        assertThat(model.toBuilder().build().hashCode(), equalTo(model.hashCode()));
+    }
+
+    @Test
+    public void currentShapesAreSnapshotsOfTheBuilder() {
+        StringShape a = StringShape.builder().id("smithy.example#A").build();
+        StringShape b = StringShape.builder().id("smithy.example#B").build();
+        Model.Builder builder = Model.builder().addShape(a);
+        Map<ShapeId, Shape> snapshot = builder.getCurrentShapes();
+        builder.addShape(b);
+
+        assertThat(snapshot.keySet(), contains(a.getId()));
+        assertThat(builder.getCurrentShapes().keySet(), containsInAnyOrder(a.getId(), b.getId()));
+        assertThat(builder.getCurrentShape(b.getId()), equalTo(b));
+        assertThat(builder.getCurrentShape(ShapeId.from("smithy.example#C")), is((Shape) null));
+    }
+
     private static final class FooFooFoo implements KnowledgeIndex {
         public FooFooFoo(Model model) {
             model.getKnowledge(Baz.class, Baz::new);
@@ -0,0 +1,147 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+
+public class PersistentShapeMapTest {
+
+    private static Shape shape(String name) {
+        return StringShape.builder().id(ShapeId.fromParts("smithy.example", name)).build();
+    }
+
+    @Test
+    public void putsAndRemovesShapes() {
+        PersistentShapeMap.Editor editor = PersistentShapeMap.EMPTY.edit();
+        Shape a = shape("A");
+        Shape b = shape("B");
+
+        assertNull(editor.put(a));
+        assertNull(editor.put(b));
+        assertThat(editor.put(a), sameInstance(a));
+        PersistentShapeMap map = editor.toMap();
+
+        assertThat(map.size(), equalTo(2));
+        assertThat(map.get(a.getId()), sameInstance(a));
+        assertTrue(map.containsKey(b.getId()));
+        assertFalse(map.containsKey(ShapeId.from("smithy.example#C")));
+        assertNull(map.get("smithy.example#A"));
+        assertThat(map.keySet(), containsInAnyOrder(a.getId(), b.getId()));
+        assertThat(map.values(), containsInAnyOrder(a, b));
+
+        assertThat(editor.remove(a.getId()), sameInstance(a));
+        assertNull(editor.remove(a.getId()));
+
+        // Maps that were already created are not affected by later edits.
+        assertThat(map.size(), equalTo(2));
+        assertThat(editor.toMap().keySet(), containsInAnyOrder(b.getId()));
+    }
+
+    @Test
+    public void behavesLikeHashMapForManyShapes() {
+        PersistentShapeMap.Editor editor = PersistentShapeMap.EMPTY.edit();
+        Map<ShapeId, Shape> expected = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            Shape shape = shape("S" + i);
+            editor.put(shape);
+            expected.put(shape.getId(), shape);
+        }
+        PersistentShapeMap full = editor.toMap();
+
+        for (int i = 0; i < 5000; i += 3) {
+            ShapeId id = ShapeId.fromParts("smithy.example", "S" + i);
+            editor.remove(id);
+            expected.remove(id);
+        }
+        PersistentShapeMap partial = editor.toMap();
+
+        assertThat(full.size(), equalTo(5000));
+        assertEquals(expected, partial);
+        assertEquals(partial, expected);
+        assertThat(partial.hashCode(), equalTo(expected.hashCode()));
+        assertThat(new HashMap<>(partial), equalTo(expected));
+
+        for (ShapeId id : new ArrayList<>(expected.keySet())) {
+            editor.remove(id);
+        }
+        assertTrue(editor.toMap().isEmpty());
+        assertThat(editor.toMap().values(), empty());
+    }
+
+    @Test
+    public void storesShapesWithCollidingHashes() {
+        // "Aa" and "BB" have the same String hash code, so these IDs collide.
+        Shape aa = shape("AaAa");
+        Shape bb = shape("BBBB");
+        Shape ab = shape("AaBB");
+        assertThat(aa.getId().hashCode(), equalTo(bb.getId().hashCode()));
+
+        PersistentShapeMap.Editor editor = PersistentShapeMap.EMPTY.edit();
+        editor.put(aa);
+        editor.put(bb);
+        editor.put(ab);
+        editor.put(shape("Other"));
+        PersistentShapeMap map = editor.toMap();
+
+        assertThat(map.size(), equalTo(4));
+        assertThat(map.get(bb.getId()), sameInstance(bb));
+        assertThat(editor.remove(aa.getId()), sameInstance(aa));
+        assertThat(editor.remove(ab.getId()), sameInstance(ab));
+        assertThat(editor.toMap().get(bb.getId()), sameInstance(bb));
+        assertNull(editor.toMap().get(aa.getId()));
+        assertThat(map.get(aa.getId()), sameInstance(aa));
+    }
+
+    @Test
+    public void diffsOnlyChangedShapes() {
+        PersistentShapeMap.Editor editor = PersistentShapeMap.EMPTY.edit();
+        for (int i = 0; i < 1000; i++) {
+            editor.put(shape("S" + i));
+        }
+        PersistentShapeMap before = editor.toMap();
+
+        Shape replaced = before.get(ShapeId.from("smithy.example#S1"));
+        Shape replacement = replaced.asStringShape().get().toBuilder()
+                .addTrait(new DocumentationTrait("docs"))
+                .build();
+        Shape removed = before.get(ShapeId.from("smithy.example#S2"));
+        Shape added = shape("New");
+        Shape unchanged = before.get(ShapeId.from("smithy.example#S3"));
+
+        editor.put(replacement);
+        editor.remove(removed.getId());
+        editor.put(added);
+        editor.put(unchanged);
+        PersistentShapeMap after = editor.toMap();
+
+        List<Shape> changes = new ArrayList<>();
+        PersistentShapeMap.diff(before, after, changes::add);
+
+        assertThat(changes, containsInAnyOrder(replaced, replacement, removed, added));
+
+        changes.clear();
+        PersistentShapeMap.diff(after, after, changes::add);
+        assertThat(changes, empty());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.utils.ListUtils;
+
+public class ShapeOrdinalsTest {
+
+    private static final ShapeId A = ShapeId.from("smithy.example#A");
+    private static final ShapeId B = ShapeId.from("smithy.example#B");
+    private static final ShapeId C = ShapeId.from("smithy.example#C");
+    private static final ShapeId MISSING = ShapeId.from("smithy.example#Missing");
+
+    private static Model createModel() {
+        return Model.builder()
+                .addShape(StringShape.builder().id(C).build())
+                .addShape(StringShape.builder().id(A).build())
+                .addShape(StringShape.builder().id(B).build())
+                .build();
+    }
+
+    @Test
+    public void assignsDenseOrdinalsInShapeIdOrder() {
+        Model model = createModel();
+        ShapeOrdinals ordinals = model.getShapeOrdinals();
+
+        assertThat(model.getShapeOrdinals(), sameInstance(ordinals));
+        assertThat(ordinals.size(), equalTo(3));
+        assertThat(ordinals.getOrdinal(A), equalTo(0));
+        assertThat(ordinals.getOrdinal(B), equalTo(1));
+        assertThat(ordinals.getOrdinal(C), equalTo(2));
+        assertThat(ordinals.getOrdinal(MISSING), equalTo(-1));
+        assertThat(ordinals.getShapeId(1), equalTo(B));
+        assertThat(ordinals.getShape(2), equalTo(model.expectShape(C)));
+        assertTrue(ordinals.contains(A));
+        assertFalse(ordinals.contains(MISSING));
+    }
+
+    @Test
+    public void findsEveryShapeOfLargeModels() {
+        Model.Builder builder = Model.builder();
+        for (int i = 0; i < 5000; i++) {
+            builder.addShape(StringShape.builder().id("smithy.example#S" + i).build());
+        }
+        Model model = builder.build();
+        ShapeOrdinals ordinals = model.getShapeOrdinals();
+
+        assertThat(ordinals.size(), equalTo(5000));
+        for (Shape shape : model.toSet()) {
+            assertThat(ordinals.getShape(ordinals.getOrdinal(shape)), equalTo(shape));
+        }
+        assertThat(ordinals.getOrdinal(MISSING), equalTo(-1));
+    }
+
+    @Test
+    public void handlesEmptyModels() {
+        ShapeOrdinals ordinals = Model.builder().build().getShapeOrdinals();
+
+        assertThat(ordinals.size(), equalTo(0));
+        assertThat(ordinals.getOrdinal(A), equalTo(-1));
+    }
+
+    @Test
+    public void performsSetOperations() {
+        Model model = createModel();
+        ShapeOrdinalSet ab = ShapeOrdinalSet.of(model, ListUtils.of(A, B));
+        ShapeOrdinalSet bc = ShapeOrdinalSet.of(model, ListUtils.of(C, B));
+
+        assertTrue(ab.contains(A));
+        assertFalse(ab.contains(C));
+        assertFalse(ab.contains(MISSING));
+        assertTrue(ab.intersects(bc));
+        assertThat(ab.copy().retainAll(bc), contains(model.expectShape(B)));
+        assertThat(ab.copy().addAll(bc).size(), equalTo(3));
+        assertThat(ab.copy().removeAll(bc), contains(model.expectShape(A)));
+        assertThat(bc.ordinals().boxed().collect(Collectors.toList()), contains(1, 2));
+        assertThat(bc.toString(), equalTo("[smithy.example#B, smithy.example#C]"));
+
+        assertFalse(ab.add(A));
+        assertTrue(ab.remove(A));
+        assertFalse(ab.remove(MISSING));
+        assertThat(ab, contains(model.expectShape(B)));
+        assertThat(ab.copy().removeAll(ab).isEmpty(), equalTo(true));
+        assertEquals(ab, ShapeOrdinalSet.of(model, ListUtils.of(B)));
+    }
+
+    @Test
+    public void rejectsShapesAndSetsOfOtherModels() {
+        Model model = createModel();
+        ShapeOrdinalSet set = ShapeOrdinalSet.of(model);
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(MISSING));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.addOrdinal(3));
+        assertThrows(IllegalArgumentException.class, () -> set.addAll(ShapeOrdinalSet.of(createModel())));
+    }
+
+    @Test
+    public void storesValuesByOrdinal() {
+        Model model = createModel();
+        ShapeOrdinalMap<String> map = ShapeOrdinalMap.of(model);
+
+        assertTrue(map.isEmpty());
+        assertNull(map.put(C, "c"));
+        assertThat(map.put(C, "c2"), equalTo("c"));
+        map.put(A, "a");
+        assertThat(map.computeIfAbsent(B, Shape::toString), equalTo("(string: `smithy.example#B`)"));
+        assertThat(map.computeIfAbsent(B, shape -> "ignored"), equalTo("(string: `smithy.example#B`)"));
+
+        assertThat(map.size(), equalTo(3));
+        assertThat(map.get(A), equalTo("a"));
+        assertThat(map.getByOrdinal(2), equalTo("c2"));
+        assertNull(map.get(MISSING));
+        assertThat(map.getOrDefault(MISSING, "x"), equalTo("x"));
+        assertFalse(map.containsKey(MISSING));
+
+        assertThat(map.remove(A), equalTo("a"));
+        assertNull(map.remove(A));
+        assertFalse(map.containsKey(A));
+        assertThat(map.keySet(), contains(model.expectShape(B), model.expectShape(C)));
+
+        List<String> entries = new ArrayList<>();
+        map.forEach((shape, value) -> entries.add(shape.getId().getName() + "=" + value));
+        assertThat(entries, contains("B=(string: `smithy.example#B`)", "C=c2"));
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(MISSING, "x"));
+        assertThrows(NullPointerException.class, () -> map.put(A, null));
+    }
+}
@@ -78,4 +78,31 @@ public class TopDownIndexTest {
 
         assertThat(childIndex.getContainedResources(ShapeId.from("ns.foo#NotThere")), empty());
     }
+
+    @Test
+    public void findsChildrenOfManyServicesInParallel() {
+        Model.Builder builder = Model.builder();
+        for (int i = 0; i < ParallelIndexing.PARALLEL_THRESHOLD * 2; i++) {
+            builder.addShape(ServiceShape.builder()
+                                     .id("ns.foo#Service" + i)
+                                     .version("1")
+                                     .addResource("ns.foo#Resource" + i)
+                                     .build());
+            builder.addShape(ResourceShape.builder()
+                                     .id("ns.foo#Resource" + i)
+                                     .addOperation("ns.foo#Operation" + i)
+                                     .build());
+            builder.addShape(OperationShape.builder().id("ns.foo#Operation" + i).build());
+        }
+        Model model = builder.build();
+        TopDownIndex index = TopDownIndex.of(model);
+
+        for (int i = 0; i < ParallelIndexing.PARALLEL_THRESHOLD * 2; i++) {
+            OperationShape operation = model.expectShape(ShapeId.from("ns.foo#Operation" + i), OperationShape.class);
+            ResourceShape resource = model.expectShape(ShapeId.from("ns.foo#Resource" + i), ResourceShape.class);
+            assertThat(index.getContainedOperations(ShapeId.from("ns.foo#Service" + i)), contains(operation));
+            assertThat(index.getContainedResources(ShapeId.from("ns.foo#Service" + i)), contains(resource));
+            assertThat(index.getContainedOperations(resource), contains(operation));
+        }
+    }
 }
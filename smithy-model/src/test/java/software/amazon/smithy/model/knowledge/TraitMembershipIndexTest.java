@@ -0,0 +1,95 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.ShapeOrdinalSet;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.DeprecatedTrait;
+import software.amazon.smithy.model.traits.InternalTrait;
+import software.amazon.smithy.model.traits.RequiredTrait;
+import software.amazon.smithy.utils.ListUtils;
+
+public class TraitMembershipIndexTest {
+
+    private static final ShapeId A = ShapeId.from("smithy.example#A$a");
+    private static final ShapeId B = ShapeId.from("smithy.example#A$b");
+    private static final ShapeId C = ShapeId.from("smithy.example#A$c");
+    private static final ShapeId D = ShapeId.from("smithy.example#A$d");
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addUnparsedModel("traits.smithy", "$version: \"2.0\"\n"
+                                                   + "namespace smithy.example\n"
+                                                   + "structure A {\n"
+                                                   + "    @required @internal a: String\n"
+                                                   + "    @required @internal @deprecated b: String\n"
+                                                   + "    @required c: String\n"
+                                                   + "    @internal d: String\n"
+                                                   + "}\n")
+                .assemble()
+                .unwrap();
+    }
+
+    private static List<ShapeId> ids(ShapeOrdinalSet shapes) {
+        return StreamSupport.stream(shapes.spliterator(), false)
+                .map(shape -> shape.getId())
+                .filter(id -> id.getNamespace().equals("smithy.example"))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void findsShapesWithTrait() {
+        TraitMembershipIndex index = TraitMembershipIndex.of(model);
+
+        assertThat(ids(index.getShapesWithTrait(InternalTrait.ID)), contains(A, B, D));
+        assertThat(index.getShapeCount(DeprecatedTrait.ID),
+                   equalTo(model.getShapesWithTrait(DeprecatedTrait.ID).size()));
+        assertThat(index.hasTrait(B, DeprecatedTrait.ID), equalTo(true));
+        assertThat(index.hasTrait(C, InternalTrait.ID), equalTo(false));
+        assertThat(index.getAppliedTraits(), hasItem(RequiredTrait.ID));
+        assertThat(index.getAppliedTraits(), not(hasItem(ShapeId.from("smithy.example#missing"))));
+    }
+
+    @Test
+    public void combinesTraits() {
+        TraitMembershipIndex index = TraitMembershipIndex.of(model);
+        List<ShapeId> requiredAndInternal = ListUtils.of(RequiredTrait.ID, InternalTrait.ID);
+
+        assertThat(ids(index.getShapesWithAllTraits(requiredAndInternal)), contains(A, B));
+        assertThat(ids(index.getShapesWithAnyTrait(requiredAndInternal)), contains(A, B, C, D));
+        assertThat(ids(index.getShapesWithTraits(requiredAndInternal, ListUtils.of(DeprecatedTrait.ID))),
+                   contains(A));
+        assertThat(ids(index.getShapesWithoutTrait(InternalTrait.ID)),
+                   containsInAnyOrder(ShapeId.from("smithy.example#A"), C));
+        assertThat(index.getShapesWithAllTraits(ListUtils.of()).size(), equalTo(model.getShapeIds().size()));
+        assertThat(index.getShapesWithAllTraits(ListUtils.of(ShapeId.from("smithy.example#missing"))).isEmpty(),
+                   equalTo(true));
+    }
+
+    @Test
+    public void returnsSetsThatCanBeModified() {
+        TraitMembershipIndex index = TraitMembershipIndex.of(model);
+        index.getShapesWithTrait(InternalTrait.ID).removeAll(index.getShapesWithTrait(InternalTrait.ID));
+
+        assertThat(ids(index.getShapesWithTrait(InternalTrait.ID)), contains(A, B, D));
+    }
+}
@@ -16,12 +16,25 @@
 package software.amazon.smithy.model.loader;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.utils.IoUtils;
 
 public class AstModelLoaderTest {
     @Test
@@ -106,4 +119,63 @@ public class AstModelLoaderTest {
         assertEquals(0, model.getValidationEvents(Severity.WARNING).size());
         assertEquals(0, model.getValidationEvents(Severity.ERROR).size());
     }
+
+    @Test
+    public void streamingLoaderLoadsSameModelsAsNodeLoader() throws IOException, URISyntaxException {
+        Path valid = Paths.get(getClass().getResource("valid").toURI());
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(valid)) {
+            files = paths.filter(p -> p.toString().endsWith(".json")).collect(Collectors.toList());
+        }
+
+        for (Path file : files) {
+            ValidatedResult<Model> streamed = Model.assembler().addImport(file).assemble();
+            ValidatedResult<Model> parsed = Model.assembler()
+                    .addDocumentNode(Node.parse(IoUtils.readUtf8File(file), file.toAbsolutePath().toString()))
+                    .assemble();
+
+            assertEquals(parsed.getResult(), streamed.getResult(), file.toString());
+            assertEquals(new HashSet<>(parsed.getValidationEvents()),
+                         new HashSet<>(streamed.getValidationEvents()),
+                         file.toString());
+        }
+    }
+
+    @Test
+    public void loadsShapesDefinedBeforeVersion() {
+        String json = "{\"shapes\": {\"smithy.example#Foo\": {\"type\": \"string\"}},"
+                      + "\"metadata\": {\"foo\": \"bar\"}, \"smithy\": \"2.0\"}";
+        Model model = Model.assembler().addUnparsedModel("test.json", json).assemble().unwrap();
+
+        assertTrue(model.getShape(ShapeId.from("smithy.example#Foo")).isPresent());
+        assertEquals(Node.from("bar"), model.getMetadata().get("foo"));
+    }
+
+    @Test
+    public void ignoresJsonWithoutVersion() {
+        String json = "{\"shapes\": {\"smithy.example#Foo\": {\"type\": \"string\"}}}";
+        Model model = Model.assembler().addUnparsedModel("test.json", json).assemble().unwrap();
+
+        assertFalse(model.getShape(ShapeId.from("smithy.example#Foo")).isPresent());
+    }
+
+    @Test
+    public void warnsOnAdditionalTopLevelProperties() {
+        String json = "{\"smithy\": \"2.0\", \"foo\": {\"a\": [1, 2]}, \"bar\": true}";
+        ValidatedResult<Model> result = Model.assembler().addUnparsedModel("test.json", json).assemble();
+
+        assertEquals(1, result.getValidationEvents(Severity.WARNING).size());
+        assertTrue(result.getValidationEvents(Severity.WARNING).get(0).getMessage()
+            .contains("found additional properties: `bar`, `foo`"));
+    }
+
+    @Test
+    public void emitsErrorForInvalidMetadata() {
+        String json = "{\"smithy\": \"2.0\", \"metadata\": [\"foo\"]}";
+        ValidatedResult<Model> result = Model.assembler().addUnparsedModel("test.json", json).assemble();
+
+        assertEquals(1, result.getValidationEvents(Severity.ERROR).size());
+        assertTrue(result.getValidationEvents(Severity.ERROR).get(0).getMessage()
+            .contains("Expected `metadata` to be an object"));
+    }
 }
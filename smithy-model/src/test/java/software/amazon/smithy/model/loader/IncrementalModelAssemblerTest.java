@@ -0,0 +1,218 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.validation.ValidatedResult;
+
+public class IncrementalModelAssemblerTest {
+
+    private final Map<String, String> files = new LinkedHashMap<>();
+    private IncrementalModelAssembler assembler;
+
+    @BeforeEach
+    public void before() {
+        assembler = new IncrementalModelAssembler();
+        files.clear();
+        files.put("a.smithy", "$version: \"2.0\"\n"
+                              + "namespace smithy.example\n"
+                              + "@mixin\n"
+                              + "structure Mixin {\n"
+                              + "    mixed: String\n"
+                              + "}\n"
+                              + "integer Count\n"
+                              + "resource Resource {\n"
+                              + "    identifiers: { id: String }\n"
+                              + "}\n");
+        files.put("b.smithy", "$version: \"2.0\"\n"
+                              + "namespace smithy.example\n"
+                              + "structure UsesMixin with [Mixin] {\n"
+                              + "    count: Count\n"
+                              + "}\n"
+                              + "structure ForResource for Resource {\n"
+                              + "    $id\n"
+                              + "}\n");
+        files.put("c.smithy", "$version: \"2.0\"\n"
+                              + "namespace smithy.example\n"
+                              + "/// Docs\n"
+                              + "structure Container {\n"
+                              + "    @required\n"
+                              + "    usesMixin: UsesMixin\n"
+                              + "    count: Count\n"
+                              + "}\n"
+                              + "apply UsesMixin @documentation(\"Applied\")\n");
+        files.put("d.json", "{\"smithy\": \"2.0\", \"shapes\": {\"smithy.example#Json\": {\"type\": \"structure\", "
+                            + "\"members\": {\"container\": {\"target\": \"smithy.example#Container\"}}}}}");
+        files.put("e.smithy", "$version: \"2.0\"\n"
+                              + "namespace smithy.example\n"
+                              + "string Leaf\n");
+    }
+
+    @Test
+    public void returnsPreviousResultWhenNothingChanges() {
+        ValidatedResult<Model> first = assemble();
+        ValidatedResult<Model> second = assemble();
+
+        assertThat(second, sameInstance(first));
+        assertThat(assembler.getLoadedFiles(), empty());
+        assertThat(assembler.getChangedShapes(), empty());
+    }
+
+    @Test
+    public void onlyLoadsChangedFiles() {
+        assemble();
+        files.put("e.smithy", files.get("e.smithy") + "string OtherLeaf\n");
+        assertMatchesFullAssembly(assemble());
+
+        assertThat(assembler.getLoadedFiles(), contains("e.smithy"));
+        assertThat(assembler.getChangedShapes(), contains(ShapeId.from("smithy.example#OtherLeaf")));
+    }
+
+    @Test
+    public void loadsFilesThatDependOnChangedMixinsAndResources() {
+        assemble();
+        files.put("a.smithy", files.get("a.smithy").replace("mixed: String", "mixed: String\n    other: String"));
+        assertMatchesFullAssembly(assemble());
+
+        assertThat(assembler.getLoadedFiles(), contains("a.smithy", "b.smithy"));
+    }
+
+    @Test
+    public void reappliesTraitsAppliedFromUnchangedFiles() {
+        assemble();
+        files.put("b.smithy", files.get("b.smithy") + "string Other\n");
+        ValidatedResult<Model> result = assemble();
+        assertMatchesFullAssembly(result);
+
+        assertThat(assembler.getLoadedFiles(), contains("b.smithy"));
+        assertThat(result.unwrap().expectShape(ShapeId.from("smithy.example#UsesMixin"))
+                           .getTrait(DocumentationTrait.class)
+                           .get().getValue(), equalTo("Applied"));
+    }
+
+    @Test
+    public void loadsFilesWithTraitsAppliedFromChangedFiles() {
+        assemble();
+        files.put("c.smithy", files.get("c.smithy").replace("Applied", "Updated"));
+        assertMatchesFullAssembly(assemble());
+
+        assertThat(assembler.getLoadedFiles(), contains("b.smithy", "c.smithy"));
+    }
+
+    @Test
+    public void recomputesBoxTraitsOfMembersThatTargetChangedShapes() {
+        assemble();
+        files.put("a.smithy", files.get("a.smithy").replace("integer Count", "@default(0)\ninteger Count"));
+        assertMatchesFullAssembly(assemble());
+        files.put("a.smithy", files.get("a.smithy").replace("@default(0)\ninteger Count", "long Count"));
+        assertMatchesFullAssembly(assemble());
+    }
+
+    @Test
+    public void reusesParsedJsonFiles() {
+        assemble();
+        String leafMember = "\"leaf\": {\"target\": \"smithy.example#Leaf\"}, \"container\"";
+        files.put("d.json", files.get("d.json").replace("\"container\"", leafMember));
+        assertMatchesFullAssembly(assemble());
+
+        assertThat(assembler.getLoadedFiles(), contains("d.json"));
+    }
+
+    @Test
+    public void removesFiles() {
+        assemble();
+        files.remove("e.smithy");
+        assembler.removeModel("e.smithy");
+        assertMatchesFullAssembly(assemble());
+
+        assertThat(assembler.getLoadedFiles(), empty());
+        assertThat(assembler.getChangedShapes(), contains(ShapeId.from("smithy.example#Leaf")));
+    }
+
+    @Test
+    public void reportsErrorsFromBrokenTargets() {
+        assemble();
+        files.put("e.smithy", files.get("e.smithy").replace("Leaf", "Renamed"));
+        files.put("d.json", files.get("d.json").replace("Container", "Leaf"));
+        ValidatedResult<Model> result = assemble();
+        assertMatchesFullAssembly(result);
+
+        assertThat(result.isBroken(), equalTo(true));
+    }
+
+    @Test
+    public void loadsEveryFileWhenChangesAffectOtherFiles() {
+        assemble();
+        files.put("e.smithy", files.get("e.smithy").replace("namespace", "metadata foo = [1]\nnamespace"));
+        assertMatchesFullAssembly(assemble());
+        assertThat(assembler.getLoadedFiles(), containsInAnyOrder(files.keySet().toArray()));
+
+        files.put("e.smithy", files.get("e.smithy") + "string String\n");
+        assertMatchesFullAssembly(assemble());
+        assertThat(assembler.getLoadedFiles(), containsInAnyOrder(files.keySet().toArray()));
+
+        files.put("f.smithy", "$version: \"2.0\"\nnamespace smithy.example\n@trait\nstring myTrait\n");
+        assertMatchesFullAssembly(assemble());
+        assertThat(assembler.getLoadedFiles(), containsInAnyOrder(files.keySet().toArray()));
+    }
+
+    @Test
+    public void reportsConflictsWithUnchangedFiles() {
+        assemble();
+        files.put("e.smithy", files.get("e.smithy") + "structure Container {}\n");
+        ValidatedResult<Model> result = assemble();
+        assertMatchesFullAssembly(result);
+
+        assertThat(result.isBroken(), equalTo(true));
+    }
+
+    @Test
+    public void reloadsFilesThatHadErrors() {
+        assemble();
+        files.put("e.smithy", files.get("e.smithy") + "string Broken {\n");
+        assertMatchesFullAssembly(assemble());
+        files.put("e.smithy", files.get("e.smithy").replace("string Broken {\n", ""));
+        assertMatchesFullAssembly(assemble());
+        files.put("d.json", files.get("d.json").replace("Container", "Leaf"));
+        assertMatchesFullAssembly(assemble());
+
+        assertThat(assembler.getLoadedFiles(), contains("d.json"));
+    }
+
+    private ValidatedResult<Model> assemble() {
+        files.forEach(assembler::addUnparsedModel);
+        return assembler.assemble();
+    }
+
+    private void assertMatchesFullAssembly(ValidatedResult<Model> result) {
+        ModelAssembler full = Model.assembler();
+        files.forEach(full::addUnparsedModel);
+        ValidatedResult<Model> expected = full.assemble();
+
+        assertThat(result.getResult(), equalTo(expected.getResult()));
+        assertThat(new HashSet<>(result.getValidationEvents()),
+                   equalTo(new HashSet<>(expected.getValidationEvents())));
+        for (Shape shape : expected.getResult().get().toSet()) {
+            assertThat(result.getResult().get().expectShape(shape.getId()).getSourceLocation(),
+                       equalTo(shape.getSourceLocation()));
+        }
+    }
+}
@@ -1391,4 +1391,22 @@ public class ModelAssemblerTest {
         String actualPattern = shape.expectTrait(PatternTrait.class).getValue();
         assertThat(actualPattern, equalTo("baz"));
     }
+
+    @Test
+    public void parallelLoadProducesSameModelAndEventsAsSequentialLoad() {
+        ModelAssembler assembler = Model.assembler()
+                .addImport(getClass().getResource("mixins/mixed-member.smithy"))
+                .addImport(getClass().getResource("mixins/member-apply-other-namespace.smithy"))
+                .addImport(getClass().getResource("first-namespace.smithy"))
+                .addImport(getClass().getResource("second-namespace.smithy"))
+                .addImport(getClass().getResource("main.json"))
+                .addUnparsedModel("conflict.smithy", "$version: \"2\"\nnamespace smithy.example\nstring Foo\n")
+                .addUnparsedModel("conflict2.smithy", "$version: \"2\"\nnamespace smithy.example\ninteger Foo\n");
+
+        ValidatedResult<Model> sequential = assembler.copy().assemble();
+        ValidatedResult<Model> parallel = assembler.copy().putProperty(ModelAssembler.PARALLEL_LOAD, true).assemble();
+
+        assertThat(parallel.getResult(), equalTo(sequential.getResult()));
+        assertThat(parallel.getValidationEvents(), equalTo(sequential.getValidationEvents()));
+    }
 }
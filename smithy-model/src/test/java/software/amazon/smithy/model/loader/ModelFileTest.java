@@ -0,0 +1,142 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.DefaultTrait;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.utils.IoUtils;
+
+public class ModelFileTest {
+
+    private Path dir;
+
+    @BeforeEach
+    public void before() throws IOException {
+        dir = Files.createTempDirectory(getClass().getName());
+    }
+
+    @AfterEach
+    public void after() {
+        IoUtils.rmdir(dir);
+    }
+
+    @Test
+    public void wrapsAsciiBytesWithoutCopying() {
+        ByteBuffer buffer = ByteBuffer.wrap("xxhello worldxx".getBytes(StandardCharsets.UTF_8), 2, 11);
+        CharSequence sequence = ByteCharSequence.of(buffer);
+
+        assertThat(sequence, instanceOf(ByteCharSequence.class));
+        assertThat(sequence.length(), equalTo(11));
+        assertThat(sequence.charAt(6), equalTo('w'));
+        assertThat(sequence.subSequence(6, 11).toString(), equalTo("world"));
+        assertThat(sequence.subSequence(6, 11).subSequence(1, 3).toString(), equalTo("or"));
+        assertThat(sequence.toString(), equalTo("hello world"));
+    }
+
+    @Test
+    public void wrapsDirectBuffers() {
+        byte[] bytes = "hello world".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        CharSequence sequence = ByteCharSequence.of(buffer);
+
+        assertThat(sequence, instanceOf(ByteCharSequence.class));
+        assertThat(sequence.subSequence(0, 5).toString(), equalTo("hello"));
+        assertThat(buffer.remaining(), equalTo(bytes.length));
+    }
+
+    @Test
+    public void decodesMultibyteUtf8() {
+        String text = "caf\u00e9 \u2603";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        direct.flip();
+
+        assertThat(ByteCharSequence.of(ByteBuffer.wrap(bytes)), equalTo(text));
+        assertThat(ByteCharSequence.of(direct), equalTo(text));
+    }
+
+    @Test
+    public void validatesBounds() {
+        CharSequence sequence = ByteCharSequence.of(ByteBuffer.wrap("abc".getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> sequence.charAt(3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> sequence.subSequence(2, 4));
+    }
+
+    @Test
+    public void loadsSmallAndMappedFilesLikeStrings() throws IOException {
+        String small = createModel("smithy.small", 10);
+        String large = createModel("smithy.large", 10000);
+        assertThat(large.length() >= ModelFile.MAP_THRESHOLD, equalTo(true));
+        Files.write(dir.resolve("small.smithy"), small.getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("large.smithy"), large.getBytes(StandardCharsets.UTF_8));
+
+        Model fromFiles = Model.assembler().addImport(dir).assemble().unwrap();
+        Model fromStrings = Model.assembler()
+                .addUnparsedModel("small.smithy", small)
+                .addUnparsedModel("large.smithy", large)
+                .assemble()
+                .unwrap();
+
+        assertThat(fromFiles, equalTo(fromStrings));
+        assertThat(fromFiles.expectShape(ShapeId.from("smithy.large#Struct9999"))
+                           .expectTrait(DocumentationTrait.class).getValue(),
+                   equalTo("Docs for 9999"));
+        assertThat(fromFiles.expectShape(ShapeId.from("smithy.large#Struct9999$description"))
+                           .expectTrait(DefaultTrait.class).toNode().expectStringNode().getValue(),
+                   equalTo("value 9999 \u2014 \u00e9"));
+    }
+
+    @Test
+    public void loadsNonAsciiFiles() throws IOException {
+        String model = "$version: \"2.0\"\nnamespace smithy.example\n\n/// Caf\u00e9\nstring Foo\n";
+        Path file = dir.resolve("model.smithy");
+        Files.write(file, model.getBytes(StandardCharsets.UTF_8));
+
+        Model result = Model.assembler().addImport(file).assemble().unwrap();
+
+        assertThat(result.expectShape(ShapeId.from("smithy.example#Foo"))
+                           .expectTrait(DocumentationTrait.class).getValue(),
+                   equalTo("Caf\u00e9"));
+        assertThat(result.expectShape(ShapeId.from("smithy.example#Foo")).getSourceLocation().getLine(),
+                   equalTo(5));
+    }
+
+    private static String createModel(String namespace, int structures) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("$version: \"2.0\"\n\nnamespace ").append(namespace).append("\n\n");
+        for (int i = 0; i < structures; i++) {
+            builder.append("/// Docs for ").append(i).append('\n');
+            builder.append("structure Struct").append(i).append(" {\n");
+            builder.append("    @required\n    @length(min: 1, max: 100)\n    name: String\n");
+            builder.append("    count: Integer = ").append(i).append('\n');
+            builder.append("    tags: Tags\n");
+            // Escapes keep the file ASCII so that it can be scanned in place.
+            builder.append("    description: String = \"value ").append(i).append(" \\u2014 \\u00e9\"\n");
+            builder.append("}\n\n");
+        }
+        builder.append("list Tags {\n    member: String\n}\n");
+        return builder.toString();
+    }
+}
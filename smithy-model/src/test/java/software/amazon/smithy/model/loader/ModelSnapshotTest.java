@@ -0,0 +1,158 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.model.validation.Validator;
+import software.amazon.smithy.model.validation.ValidatorFactory;
+import software.amazon.smithy.utils.IoUtils;
+
+public class ModelSnapshotTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    public void before() throws IOException {
+        tempDir = Files.createTempDirectory(getClass().getName());
+    }
+
+    @AfterEach
+    public void after() {
+        IoUtils.rmdir(tempDir);
+    }
+
+    @Test
+    public void roundTripsModelsAndEvents() {
+        ValidatedResult<Model> result = Model.assembler()
+                .addImport(getClass().getResource("valid/mixins/loads-mixins.smithy"))
+                .addImport(getClass().getResource("main.json"))
+                .assemble();
+        ModelSnapshot snapshot = roundTrip(ModelSnapshot.of(result.unwrap(), result.getValidationEvents(), "abc"));
+
+        assertThat(snapshot.getSourceHash(), equalTo("abc"));
+        assertThat(snapshot.getModel(), equalTo(result.unwrap()));
+        assertThat(snapshot.getValidationEvents(), equalTo(result.getValidationEvents()));
+        for (Shape shape : result.unwrap().toSet()) {
+            Shape decoded = snapshot.getModel().expectShape(shape.getId());
+            assertThat(decoded.getSourceLocation(), equalTo(shape.getSourceLocation()));
+        }
+    }
+
+    @Test
+    public void roundTripsServicesResourcesAndOperations() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("valid/mixins/services.smithy"))
+                .addImport(getClass().getResource("../shapes/idl-serialization/cases/service-shapes.smithy"))
+                .assemble()
+                .unwrap();
+
+        assertThat(roundTrip(ModelSnapshot.of(model, Collections.emptyList(), "")).getModel(), equalTo(model));
+    }
+
+    @Test
+    public void rejectsInvalidSnapshots() {
+        byte[] bytes = "not a snapshot".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(ModelImportException.class, () -> ModelSnapshot.read(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    public void sourceHashDependsOnNamesAndContents() {
+        Map<String, byte[]> a = new LinkedHashMap<>();
+        a.put("a.smithy", "foo".getBytes(StandardCharsets.UTF_8));
+        Map<String, byte[]> b = new LinkedHashMap<>();
+        b.put("b.smithy", "foo".getBytes(StandardCharsets.UTF_8));
+        Map<String, byte[]> c = new LinkedHashMap<>();
+        c.put("a.smithy", "bar".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(ModelSnapshot.hashSources(a), equalTo(ModelSnapshot.hashSources(a)));
+        assertThat(ModelSnapshot.hashSources(a), not(equalTo(ModelSnapshot.hashSources(b))));
+        assertThat(ModelSnapshot.hashSources(a), not(equalTo(ModelSnapshot.hashSources(c))));
+    }
+
+    @Test
+    public void assemblerWritesAndReusesSnapshots() throws IOException {
+        Path modelFile = tempDir.resolve("model.smithy");
+        Path snapshotFile = tempDir.resolve("snapshots").resolve("model.snapshot");
+        Files.write(modelFile, "$version: \"2\"\nnamespace smithy.example\nstring Foo\n".getBytes());
+
+        Model first = Model.assembler().addImport(modelFile).snapshotFile(snapshotFile).assemble().unwrap();
+        assertTrue(Files.isRegularFile(snapshotFile));
+        String hash = ModelSnapshot.read(snapshotFile).getSourceHash();
+
+        Model second = Model.assembler().addImport(modelFile).snapshotFile(snapshotFile).assemble().unwrap();
+        assertThat(second, equalTo(first));
+        assertThat(ModelSnapshot.read(snapshotFile).getSourceHash(), equalTo(hash));
+
+        Files.write(modelFile, "$version: \"2\"\nnamespace smithy.example\ninteger Foo\n".getBytes());
+        Model third = Model.assembler().addImport(modelFile).snapshotFile(snapshotFile).assemble().unwrap();
+        assertTrue(third.expectShape(ShapeId.from("smithy.example#Foo")).isIntegerShape());
+        assertThat(ModelSnapshot.read(snapshotFile).getSourceHash(), not(equalTo(hash)));
+    }
+
+    @Test
+    public void assemblerIgnoresSnapshotsWithCustomFactories() throws IOException {
+        Path modelFile = tempDir.resolve("model.smithy");
+        Path snapshotFile = tempDir.resolve("model.snapshot");
+        Files.write(modelFile, "$version: \"2\"\nnamespace smithy.example\nstring Foo\n".getBytes());
+
+        Model.assembler()
+                .addImport(modelFile)
+                .traitFactory(TraitFactory.createServiceFactory())
+                .snapshotFile(snapshotFile)
+                .assemble()
+                .unwrap();
+        assertFalse(Files.exists(snapshotFile));
+
+        Model.assembler().addImport(modelFile).snapshotFile(snapshotFile).assemble().unwrap();
+        assertTrue(Files.isRegularFile(snapshotFile));
+
+        // A snapshot written with the default validators must not hide events from a custom validator factory.
+        Validator validator = model -> Collections.singletonList(ValidationEvent.builder()
+                .id("Custom")
+                .severity(Severity.WARNING)
+                .message("custom")
+                .build());
+        ValidatedResult<Model> result = Model.assembler()
+                .addImport(modelFile)
+                .validatorFactory(ValidatorFactory.createServiceFactory(
+                        Collections.singletonList(validator), Collections.emptyList()))
+                .snapshotFile(snapshotFile)
+                .assemble();
+        assertTrue(result.getValidationEvents().stream().anyMatch(event -> event.getId().equals("Custom")));
+    }
+
+    private static ModelSnapshot roundTrip(ModelSnapshot snapshot) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        snapshot.write(output);
+        return ModelSnapshot.read(new ByteArrayInputStream(output.toByteArray()));
+    }
+}
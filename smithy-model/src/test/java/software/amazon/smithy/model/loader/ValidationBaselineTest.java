@@ -0,0 +1,179 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.loader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.IncrementalValidator;
+import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+public class ValidationBaselineTest {
+
+    private static final String MODEL = "$version: \"2.0\"\n"
+                                        + "metadata suppressions = [{id: \"UnreferencedShape\", namespace: \"*\"}]\n"
+                                        + "namespace smithy.example\n"
+                                        + "structure Container {\n"
+                                        + "    @length(min: 5, max: 1)\n"
+                                        + "    leaf: Leaf\n"
+                                        + "}\n"
+                                        + "@range(min: 10, max: 1)\n"
+                                        + "integer Count\n"
+                                        + "string Leaf\n"
+                                        + "string Other\n";
+
+    @Test
+    public void findsChangedShapesAndTheirDependents() {
+        ValidationBaseline baseline = validate(MODEL, null, null).baseline;
+        Model updated = assemble(MODEL + "apply Leaf @pattern(\"^[a-z]$\")\n", null).getResult().get();
+
+        assertThat(baseline.findAffectedShapes(updated), containsInAnyOrder(
+                ShapeId.from("smithy.example#Leaf"),
+                ShapeId.from("smithy.example#Container$leaf"),
+                ShapeId.from("smithy.example#Container")));
+    }
+
+    @Test
+    public void findsNoAffectedShapesWhenNothingChanges() {
+        ValidationBaseline baseline = validate(MODEL, null, null).baseline;
+
+        assertThat(baseline.findAffectedShapes(baseline.getModel()), empty());
+    }
+
+    @Test
+    public void onlyValidatesAffectedShapes() {
+        RecordingValidator validator = new RecordingValidator();
+        ValidationBaseline baseline = validate(MODEL, validator, null).baseline;
+        validator.validated.clear();
+
+        String updated = MODEL.replace("string Other", "string Other\nstring Added");
+        Result result = validate(updated, validator, baseline);
+
+        assertThat(validator.fullRuns, equalTo(1));
+        assertThat(validator.validated, containsInAnyOrder(ShapeId.from("smithy.example#Added")));
+        assertMatchesFullValidation(updated, validator, result.result);
+    }
+
+    @Test
+    public void reusesEventsOfUnaffectedShapes() {
+        ValidationBaseline baseline = validate(MODEL, null, null).baseline;
+        String updated = MODEL.replace("@range(min: 10, max: 1)", "@range(min: 11, max: 1)")
+                .replace("string Other", "@length(min: 3, max: 2)\nstring Other");
+        Result result = validate(updated, null, baseline);
+
+        assertMatchesFullValidation(updated, null, result.result);
+        assertThat(result.baseline, notNullValue());
+        assertThat(result.baseline.getModel(), equalTo(result.result.getResult().get()));
+    }
+
+    @Test
+    public void dropsEventsOfRemovedShapes() {
+        ValidationBaseline baseline = validate(MODEL, null, null).baseline;
+        String updated = MODEL.replace("@range(min: 10, max: 1)\ninteger Count\n", "");
+        Result result = validate(updated, null, baseline);
+
+        assertMatchesFullValidation(updated, null, result.result);
+        for (ValidationEvent event : result.result.getValidationEvents()) {
+            assertThat(event.getShapeId().orElse(null), not(equalTo(ShapeId.from("smithy.example#Count"))));
+        }
+    }
+
+    @Test
+    public void validatesEverythingWhenMetadataChanges() {
+        RecordingValidator validator = new RecordingValidator();
+        ValidationBaseline baseline = validate(MODEL, validator, null).baseline;
+        validator.validated.clear();
+
+        String updated = MODEL.replace("namespace smithy.example", "metadata foo = \"bar\"\nnamespace smithy.example");
+        Result result = validate(updated, validator, baseline);
+
+        assertThat(validator.fullRuns, equalTo(2));
+        assertThat(validator.validated, empty());
+        assertMatchesFullValidation(updated, validator, result.result);
+    }
+
+    private static void assertMatchesFullValidation(
+            String model,
+            IncrementalValidator validator,
+            ValidatedResult<Model> result
+    ) {
+        ValidatedResult<Model> expected = assemble(model, validator);
+
+        assertThat(result.getResult(), equalTo(expected.getResult()));
+        assertThat(new HashSet<>(result.getValidationEvents()),
+                   equalTo(new HashSet<>(expected.getValidationEvents())));
+    }
+
+    private static Result validate(String model, IncrementalValidator validator, ValidationBaseline baseline) {
+        AtomicReference<ValidationBaseline> created = new AtomicReference<>();
+        ModelAssembler assembler = Model.assembler()
+                .addUnparsedModel("main.smithy", model)
+                .validationBaseline(baseline)
+                .validationBaselineListener(created::set);
+        if (validator != null) {
+            assembler.addValidator(validator);
+        }
+        Result result = new Result();
+        result.result = assembler.assemble();
+        result.baseline = created.get();
+        return result;
+    }
+
+    private static ValidatedResult<Model> assemble(String model, IncrementalValidator validator) {
+        ModelAssembler assembler = Model.assembler().addUnparsedModel("main.smithy", model);
+        if (validator != null) {
+            assembler.addValidator(validator);
+        }
+        return assembler.assemble();
+    }
+
+    private static final class Result {
+        ValidatedResult<Model> result;
+        ValidationBaseline baseline;
+    }
+
+    private static final class RecordingValidator extends AbstractValidator implements IncrementalValidator {
+        private final Set<ShapeId> validated = new HashSet<>();
+        private int fullRuns;
+
+        @Override
+        public List<ValidationEvent> validate(Model model) {
+            fullRuns++;
+            return validateShapes(model.toSet());
+        }
+
+        @Override
+        public List<ValidationEvent> validate(Model model, Set<ShapeId> shapes) {
+            validated.addAll(shapes);
+            return validateShapes(IncrementalValidator.getShapes(model, shapes));
+        }
+
+        private List<ValidationEvent> validateShapes(Iterable<Shape> shapes) {
+            List<ValidationEvent> events = new ArrayList<>();
+            for (Shape shape : shapes) {
+                if (shape.getId().getNamespace().equals("smithy.example") && shape.isStringShape()) {
+                    events.add(note(shape, "Found a string"));
+                }
+            }
+            return events;
+        }
+    }
+}
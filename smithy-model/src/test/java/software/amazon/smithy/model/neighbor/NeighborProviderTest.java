@@ -1,20 +1,24 @@
 package software.amazon.smithy.model.neighbor;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.SensitiveTrait;
 
 public class NeighborProviderTest {
@@ -130,4 +134,56 @@ public class NeighborProviderTest {
         assertThat(relationships, containsInAnyOrder(Relationship.create(shape, RelationshipType.ID_REF, ref)));
         assertThat(relationships1, containsInAnyOrder(Relationship.create(shape1, RelationshipType.ID_REF, ref1)));
     }
+
+    @Test
+    public void compactProviderReturnsSameRelationships() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("idref-neighbors.smithy"))
+                .assemble()
+                .unwrap();
+        NeighborProvider expected = NeighborProvider.withTraitRelationships(model, NeighborProvider.of(model));
+        NeighborProvider expectedReverse = NeighborProvider.reverse(model, expected);
+        NeighborProvider compact = NeighborProvider.compact(model, expected);
+        NeighborProvider compactReverse = NeighborProvider.compactReverse(model, compact);
+
+        for (Shape shape : model.toSet()) {
+            assertThat(compact.getNeighbors(shape), equalTo(expected.getNeighbors(shape)));
+            List<Relationship> reverse = compactReverse.getNeighbors(shape);
+            assertThat(new HashSet<>(reverse), equalTo(new HashSet<>(expectedReverse.getNeighbors(shape))));
+            assertThat(reverse, hasSize(new HashSet<>(reverse).size()));
+        }
+    }
+
+    @Test
+    public void compactProviderRetainsRelationshipsToMissingShapes() {
+        ShapeId missing = ShapeId.from("smithy.example#Missing");
+        StructureShape struct = StructureShape.builder()
+                .id("smithy.example#Struct")
+                .addMember("foo", missing)
+                .build();
+        MemberShape member = struct.getMember("foo").get();
+        Model model = Model.builder().addShape(struct).build();
+        NeighborProvider compact = NeighborProvider.compact(model, NeighborProvider.of(model));
+        NeighborProvider reverse = NeighborProvider.compactReverse(model, compact);
+
+        assertThat(compact.getNeighbors(member), containsInAnyOrder(
+                Relationship.create(member, RelationshipType.MEMBER_CONTAINER, struct),
+                Relationship.createInvalid(member, RelationshipType.MEMBER_TARGET, missing)));
+        assertThat(reverse.getNeighbors(StringShape.builder().id(missing).build()), contains(
+                Relationship.createInvalid(member, RelationshipType.MEMBER_TARGET, missing)));
+        assertThat(reverse.getNeighbors(struct), contains(
+                Relationship.create(member, RelationshipType.MEMBER_CONTAINER, struct)));
+    }
+
+    @Test
+    public void compactProviderIgnoresShapesOutsideOfModel() {
+        StringShape inModel = StringShape.builder().id("smithy.example#Foo").build();
+        StringShape changed = inModel.toBuilder().addTrait(new SensitiveTrait()).build();
+        Model model = Model.builder().addShape(inModel).build();
+        NeighborProvider compact = NeighborProvider.compact(
+                model, NeighborProvider.withTraitRelationships(model, NeighborProvider.of(model)));
+
+        assertThat(compact.getNeighbors(inModel), empty());
+        assertThat(compact.getNeighbors(changed), empty());
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SelectorCacheTest {
+    @Test
+    public void returnsCachedSelectorsAndCountsHits() {
+        SelectorCache cache = new SelectorCache(10);
+        Selector a = cache.parse("string");
+        Selector b = cache.parse("string");
+        Selector c = cache.parse("integer");
+
+        assertThat(a, sameInstance(b));
+        assertThat(a, not(sameInstance(c)));
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.getHits(), equalTo(1L));
+        assertThat(cache.getMisses(), equalTo(2L));
+        assertThat(cache.getHitRate(), equalTo(1.0 / 3));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedSelectors() {
+        SelectorCache cache = new SelectorCache(2);
+        Selector string = cache.parse("string");
+        cache.parse("integer");
+        cache.parse("string");
+        cache.parse("long");
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.getEvictions(), equalTo(1L));
+        assertThat(cache.parse("string"), sameInstance(string));
+        assertThat(cache.getMisses(), equalTo(3L));
+
+        cache.setMaximumSize(1);
+
+        assertThat(cache.size(), equalTo(1));
+        assertThat(cache.getEvictions(), equalTo(2L));
+    }
+
+    @Test
+    public void canDisableCaching() {
+        SelectorCache cache = new SelectorCache(0);
+
+        assertThat(cache.parse("string"), not(sameInstance(cache.parse("string"))));
+        assertThat(cache.size(), equalTo(0));
+        assertThat(cache.getMisses(), equalTo(2L));
+    }
+
+    @Test
+    public void doesNotCacheInvalidSelectors() {
+        SelectorCache cache = new SelectorCache(10);
+
+        Assertions.assertThrows(SelectorSyntaxException.class, () -> cache.parse("foo!"));
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    public void clearsSelectorsAndCounters() {
+        SelectorCache cache = new SelectorCache(10);
+        cache.parse("string");
+        cache.parse("string");
+        cache.clear();
+
+        assertThat(cache.size(), equalTo(0));
+        assertThat(cache.getHits(), equalTo(0L));
+        assertThat(cache.getMisses(), equalTo(0L));
+        assertThat(cache.getHitRate(), equalTo(0.0));
+    }
+
+    @Test
+    public void rejectsNegativeMaximumSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SelectorCache(-1));
+    }
+
+    @Test
+    public void parseUsesProcessWideCache() {
+        assertThat(Selector.parse("[id|name = SelectorCacheTest]"),
+                   sameInstance(Selector.parse("[id|name = SelectorCacheTest]")));
+    }
+}
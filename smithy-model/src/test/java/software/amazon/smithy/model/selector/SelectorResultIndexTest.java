@@ -0,0 +1,81 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.TraitDefinition;
+
+public class SelectorResultIndexTest {
+    @Test
+    public void memoizesResultsOfParsedSelectors() {
+        Model model = Model.builder().addShape(StringShape.builder().id("smithy.example#A").build()).build();
+        SelectorResultIndex index = SelectorResultIndex.of(model);
+        Selector selector = Selector.parse("string");
+        Set<Shape> result = index.select(selector);
+
+        assertThat(result, equalTo(selector.select(model)));
+        assertThat(index.select(selector), sameInstance(result));
+        assertThat(index.getHits(), equalTo(1L));
+        assertThat(index.getMisses(), equalTo(1L));
+        Assertions.assertThrows(UnsupportedOperationException.class, result::clear);
+    }
+
+    @Test
+    public void doesNotMemoizeOtherSelectors() {
+        Model model = Model.builder().addShape(StringShape.builder().id("smithy.example#A").build()).build();
+        SelectorResultIndex index = SelectorResultIndex.of(model);
+        Selector selector = new Selector() {
+            @Override
+            public Stream<ShapeMatch> matches(Model model, StartingContext startingContext) {
+                return model.shapes().map(shape -> new ShapeMatch(shape, Collections.emptyMap()));
+            }
+        };
+
+        index.select(selector);
+        index.select(selector);
+
+        assertThat(index.getHits(), equalTo(0L));
+        assertThat(index.getMisses(), equalTo(2L));
+    }
+
+    @Test
+    public void boundsResultsOfSelectorsNotUsedByTraitDefinitions() {
+        Model model = Model.builder()
+                .addShape(StringShape.builder().id("smithy.example#A").build())
+                .addShape(StructureShape.builder()
+                        .id("smithy.example#myTrait")
+                        .addTrait(TraitDefinition.builder().selector(Selector.parse("integer")).build())
+                        .build())
+                .build();
+        SelectorResultIndex index = SelectorResultIndex.of(model);
+        Selector traitSelector = Selector.parse("integer");
+        Selector first = Selector.parse("[id = smithy.example#A0]");
+
+        index.select(traitSelector);
+        index.select(first);
+        for (int i = 1; i <= 50; i++) {
+            index.select(Selector.parse("[id = smithy.example#A" + i + "]"));
+        }
+        index.select(traitSelector);
+        index.select(first);
+
+        // The trait definition selector is still memoized, while the first selector was evicted.
+        assertThat(index.getHits(), equalTo(1L));
+        assertThat(index.getMisses(), equalTo(53L));
+    }
+}
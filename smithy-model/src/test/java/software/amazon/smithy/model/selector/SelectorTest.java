@@ -31,6 +31,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -1166,4 +1167,139 @@ public class SelectorTest {
     public void rootRequiresOneSelector() {
         Assertions.assertThrows(SelectorSyntaxException.class, () -> Selector.parse(":root()"));
     }
+
+    @Test
+    public void evaluatesInParallelInStartingShapeOrder() {
+        StringBuilder idl = new StringBuilder("$version: \"2.0\"\nnamespace smithy.example\n");
+        for (int i = 0; i < 200; i++) {
+            idl.append("structure S").append(i).append(" { a: S").append((i + 1) % 200)
+                    .append(", @required b: String }\n");
+        }
+        Model model = Model.assembler().addUnparsedModel("large.smithy", idl.toString()).assemble().unwrap();
+        Selector selector = Selector.parse("$s(structure) ~> member [trait|required]");
+        List<Shape> startingShapes = model.getStructureShapes().stream()
+                .filter(shape -> shape.getId().getNamespace().equals("smithy.example"))
+                .sorted()
+                .collect(Collectors.toList());
+        Selector.StartingContext sequential = new Selector.StartingContext(startingShapes);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            Selector.StartingContext parallel = sequential.withParallelPool(pool);
+            List<Selector.ShapeMatch> expected = new ArrayList<>();
+            List<Selector.ShapeMatch> actual = new ArrayList<>();
+            selector.consumeMatches(model, sequential, expected::add);
+            selector.consumeMatches(model, parallel, actual::add);
+
+            assertThat(actual.size(), equalTo(200 * 200));
+            assertThat(actual, equalTo(expected));
+            assertThat(actual.stream().map(Selector.ShapeMatch::getShape).collect(Collectors.toList()),
+                       equalTo(expected.stream().map(Selector.ShapeMatch::getShape).collect(Collectors.toList())));
+            assertThat(selector.select(model, parallel), equalTo(selector.select(model, sequential)));
+            assertThat(selector.shapes(model, parallel).collect(Collectors.toList()),
+                       equalTo(selector.shapes(model, sequential).collect(Collectors.toList())));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void reorderedFiltersMatchTheSameShapes() {
+        Model model = Model.assembler()
+                .addUnparsedModel("planned.smithy", "$version: \"2.0\"\n"
+                                                    + "namespace smithy.example\n"
+                                                    + "structure A { @required a: String, b: String }\n"
+                                                    + "structure B { @required c: Integer }\n")
+                .assemble()
+                .unwrap();
+        Set<Shape> expected = SetUtils.of(model.expectShape(ShapeId.from("smithy.example#A$a")));
+
+        assertThat(Selector.parse("[id|namespace = 'smithy.example'] :not(> integer) member [trait|required]")
+                           .select(model), equalTo(expected));
+        assertThat(Selector.parse("member [trait|required] :not(> integer) [id|namespace = 'smithy.example']")
+                           .select(model), equalTo(expected));
+        assertThat(Selector.parse("structure > member [trait|required] :test(> string) [id|namespace ^= smithy.ex]")
+                           .select(model), equalTo(expected));
+        assertThat(Selector.parse("$m(member) [trait|required] ${m} :not(> integer) [id|name = A]").select(model),
+                   equalTo(expected));
+    }
+
+    @Test
+    public void explainsSelectorPlan() {
+        Model model = Model.assembler()
+                .addUnparsedModel("planned.smithy", "$version: \"2.0\"\n"
+                                                    + "namespace smithy.example\n"
+                                                    + "structure A { @required a: String, b: String }\n")
+                .assemble()
+                .unwrap();
+        Selector selector = Selector.parse("[id|namespace = 'smithy.example'] member [trait|required]");
+        String explanation = selector.explain(model);
+
+        assertThat(explanation, containsString("Selector: [id|namespace = 'smithy.example'] member [trait|required]"));
+        assertThat(explanation, containsString("shapes matching `[trait|required]`"));
+        assertThat(explanation, containsString("1. member (filter, moved from position 2)"));
+        assertThat(explanation, containsString("2. [trait|required] (filter, moved from position 3)"));
+        assertThat(explanation, containsString("3. [id|namespace = 'smithy.example'] (filter, moved from position 1)"));
+    }
+
+    @Test
+    public void doesNotReorderFiltersAcrossVariables() {
+        Selector selector = Selector.parse("[trait|required] $m(member) structure");
+        String explanation = selector.explain(traitModel);
+
+        assertThat(explanation, containsString("1. [trait|required] (filter)"));
+        assertThat(explanation, containsString("2. $m(member)" + System.lineSeparator()));
+        assertThat(explanation, containsString("3. structure (filter)"));
+    }
+
+    @Test
+    public void selectsNothingWhenNoShapeHasRequiredTrait() {
+        Selector selector = Selector.parse("operation -[input]-> structure [trait|streaming]");
+
+        assertThat(selector.select(httpModel), empty());
+        assertThat(selector.explain(httpModel), containsString(
+                "Starting shapes: none, because no shape has the required trait `smithy.api#streaming`"));
+    }
+
+    @Test
+    public void explainsIdentitySelector() {
+        assertThat(Selector.IDENTITY.explain(traitModel), containsString("Starting shapes: all "));
+    }
+
+    @Test
+    public void combinesTraitFiltersUsingBitSets() {
+        Model model = Model.assembler()
+                .addUnparsedModel("traits.smithy", "$version: \"2.0\"\n"
+                                                   + "namespace smithy.example\n"
+                                                   + "structure A {\n"
+                                                   + "    @required @internal a: String\n"
+                                                   + "    @required @internal @deprecated b: String\n"
+                                                   + "    @required c: String\n"
+                                                   + "    @internal d: String\n"
+                                                   + "}\n")
+                .assemble()
+                .unwrap();
+        String expression = "[trait|required] [trait|internal] :not([trait|deprecated])";
+
+        assertThat(ids(model, expression), contains("smithy.example#A$a"));
+        assertThat(Selector.parse(expression).explain(model), containsString(
+                "1 shapes matching `[trait|required]` and `[trait|internal]` and `:not([trait|deprecated])`"));
+    }
+
+    @Test
+    public void negatedTraitFilterKeepsShapesWithNullTraitValues() {
+        Model model = Model.assembler()
+                .addUnparsedModel("defaults.smithy", "$version: \"2.0\"\n"
+                                                     + "namespace smithy.example\n"
+                                                     + "structure A {\n"
+                                                     + "    @required @default(null) a: String\n"
+                                                     + "    @required @default(\"b\") b: String\n"
+                                                     + "    @required c: String\n"
+                                                     + "}\n")
+                .assemble()
+                .unwrap();
+        String expression = "[id|namespace = 'smithy.example'] [trait|required] :not([trait|default])";
+
+        assertThat(ids(model, expression), containsInAnyOrder("smithy.example#A$a", "smithy.example#A$c"));
+    }
 }
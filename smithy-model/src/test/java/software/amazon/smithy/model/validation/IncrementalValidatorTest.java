@@ -0,0 +1,103 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.model.validation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class IncrementalValidatorTest {
+
+    public static Stream<Path> models() {
+        try {
+            Path errorFiles = Paths.get(IncrementalValidatorTest.class
+                    .getResource("/software/amazon/smithy/model/errorfiles")
+                    .toURI());
+            return Files.walk(errorFiles)
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith(".smithy") || path.toString().endsWith(".json"))
+                    .sorted()
+                    .collect(Collectors.toList())
+                    .stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("models")
+    public void validatesSubsetsOfShapesLikeFullValidation(Path path) {
+        Model model = Model.assembler().addImport(path).disableValidation().assemble().getResult().orElse(null);
+        if (model == null) {
+            return;
+        }
+
+        Set<ShapeId> subset = createSubset(model);
+        for (Validator validator : ServiceLoader.load(Validator.class, getClass().getClassLoader())) {
+            if (validator instanceof IncrementalValidator) {
+                List<String> expected;
+                try {
+                    expected = filter(validator.validate(model), subset);
+                } catch (RuntimeException e) {
+                    // Validators may fail on models that are invalid in ways other validators report.
+                    continue;
+                }
+                List<String> actual = filter(((IncrementalValidator) validator).validate(model, subset), subset);
+                assertThat(validator.getClass().getSimpleName() + " " + path, actual, equalTo(expected));
+            }
+        }
+    }
+
+    // Takes every other non-member shape along with its members, like the sets given to incremental validators.
+    private static Set<ShapeId> createSubset(Model model) {
+        Set<ShapeId> subset = new HashSet<>();
+        boolean include = true;
+        for (Shape shape : model.toSet().stream().sorted().collect(Collectors.toList())) {
+            if (!(shape instanceof MemberShape)) {
+                if (include) {
+                    subset.add(shape.getId());
+                    for (MemberShape member : shape.members()) {
+                        subset.add(member.getId());
+                    }
+                }
+                include = !include;
+            }
+        }
+        return subset;
+    }
+
+    private static List<String> filter(List<ValidationEvent> events, Set<ShapeId> subset) {
+        List<String> result = new ArrayList<>();
+        for (ValidationEvent event : events) {
+            if (event.getShapeId().filter(subset::contains).isPresent()) {
+                result.add(event.toString());
+            }
+        }
+        result.sort(String::compareTo);
+        return result;
+    }
+}
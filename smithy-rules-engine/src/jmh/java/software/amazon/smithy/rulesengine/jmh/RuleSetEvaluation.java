@@ -0,0 +1,178 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.rulesengine.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.rulesengine.analysis.DecisionDiagram;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.CompiledRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.RuleEvaluator;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.utils.MapUtils;
+
+/**
+ * Compares evaluating an endpoint rule-set with {@link RuleEvaluator}, a
+ * {@link CompiledRuleSet}, and a {@link DecisionDiagram}.
+ *
+ * <p>The rule-set is generated to resemble the large AWS service rule-sets:
+ * a custom endpoint rule followed by a tree of rules for each region prefix,
+ * each of which checks FIPS and dual-stack settings and validates the
+ * bucket name. The evaluated region matches the last tree, so every tree
+ * before it is visited.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class RuleSetEvaluation {
+
+    @State(Scope.Benchmark)
+    public static class RuleSetState {
+        @Param({"10", "100"})
+        public int prefixes;
+
+        public EndpointRuleSet ruleSet;
+        public CompiledRuleSet compiled;
+        public DecisionDiagram diagram;
+        public Map<Identifier, Value> parameters;
+
+        @Setup
+        public void prepare() {
+            ruleSet = EndpointRuleSet.fromNode(createRuleSet(prefixes));
+            compiled = CompiledRuleSet.compile(ruleSet);
+            diagram = new DecisionDiagram(ruleSet);
+            parameters = MapUtils.of(
+                    Identifier.of("Region"), Value.stringValue(String.format("r%02d-west-2", prefixes - 1)),
+                    Identifier.of("UseFIPS"), Value.booleanValue(true),
+                    Identifier.of("Bucket"), Value.stringValue("my-bucket"));
+        }
+    }
+
+    @Benchmark
+    public Value ruleEvaluator(RuleSetState state) {
+        return RuleEvaluator.evaluate(state.ruleSet, state.parameters);
+    }
+
+    @Benchmark
+    public Value compiledRuleSet(RuleSetState state) {
+        return state.compiled.evaluate(state.parameters);
+    }
+
+    @Benchmark
+    public Value decisionDiagram(RuleSetState state) {
+        return state.diagram.evaluate(state.parameters);
+    }
+
+    @Benchmark
+    public CompiledRuleSet compile(RuleSetState state) {
+        return CompiledRuleSet.compile(state.ruleSet);
+    }
+
+    private static Node createRuleSet(int prefixes) {
+        List<Node> rules = new ArrayList<>();
+        rules.add(endpointRule("{Endpoint}", condition("isSet", null, ref("Endpoint"))));
+        for (int i = 0; i < prefixes; i++) {
+            List<Node> children = new ArrayList<>();
+            children.add(endpointRule("https://{Bucket}.s3-fips.dualstack.{Region}.example.com",
+                    condition("booleanEquals", null, ref("UseFIPS"), Node.from(true)),
+                    condition("booleanEquals", null, ref("UseDualStack"), Node.from(true)),
+                    condition("isValidHostLabel", null, ref("Bucket"), Node.from(false))));
+            children.add(endpointRule("https://{Bucket}.s3-fips.{Region}.example.com",
+                    condition("booleanEquals", null, ref("UseFIPS"), Node.from(true)),
+                    condition("isValidHostLabel", null, ref("Bucket"), Node.from(false))));
+            children.add(endpointRule("https://{Bucket}.s3.{Region}.example.com",
+                    condition("isValidHostLabel", null, ref("Bucket"), Node.from(false))));
+            children.add(Node.objectNodeBuilder()
+                    .withMember("type", "error")
+                    .withMember("conditions", Node.arrayNode())
+                    .withMember("error", "Invalid bucket name {Bucket}")
+                    .build());
+
+            rules.add(Node.objectNodeBuilder()
+                    .withMember("type", "tree")
+                    .withMember("conditions", Node.fromNodes(
+                            condition("substring", "Prefix", ref("Region"), Node.from(0), Node.from(3),
+                                      Node.from(false)),
+                            condition("stringEquals", null, ref("Prefix"), Node.from(String.format("r%02d", i)))))
+                    .withMember("rules", Node.fromNodes(children))
+                    .build());
+        }
+        rules.add(Node.objectNodeBuilder()
+                .withMember("type", "error")
+                .withMember("conditions", Node.arrayNode())
+                .withMember("error", "Unknown region {Region}")
+                .build());
+
+        return Node.objectNodeBuilder()
+                .withMember("version", "1.3")
+                .withMember("parameters", Node.objectNodeBuilder()
+                        .withMember("Region", parameter("String", null))
+                        .withMember("UseFIPS", parameter("Boolean", Node.from(false)))
+                        .withMember("UseDualStack", parameter("Boolean", Node.from(false)))
+                        .withMember("Bucket", parameter("String", null))
+                        .withMember("Endpoint", Node.objectNode().withMember("type", "String"))
+                        .build())
+                .withMember("rules", Node.fromNodes(rules))
+                .build();
+    }
+
+    private static Node parameter(String type, Node defaultValue) {
+        ObjectNode.Builder builder = Node.objectNodeBuilder()
+                .withMember("type", type)
+                .withMember("required", true);
+        if (defaultValue != null) {
+            builder.withMember("default", defaultValue);
+        }
+        return builder.build();
+    }
+
+    private static Node endpointRule(String url, Node... conditions) {
+        return Node.objectNodeBuilder()
+                .withMember("type", "endpoint")
+                .withMember("conditions", Node.fromNodes(conditions))
+                .withMember("endpoint", Node.objectNodeBuilder()
+                        .withMember("url", url)
+                        .withMember("properties", Node.objectNode()
+                                .withMember("authSchemes", Node.fromNodes(Node.objectNodeBuilder()
+                                        .withMember("name", "sigv4")
+                                        .withMember("signingRegion", "{Region}")
+                                        .build())))
+                        .build())
+                .build();
+    }
+
+    private static Node condition(String fn, String assign, Node... argv) {
+        ObjectNode.Builder builder = Node.objectNodeBuilder()
+                .withMember("fn", fn)
+                .withMember("argv", Node.fromNodes(argv));
+        if (assign != null) {
+            builder.withMember("assign", assign);
+        }
+        return builder.build();
+    }
+
+    private static Node ref(String name) {
+        return Node.objectNode().withMember("ref", name);
+    }
+}
@@ -5,11 +5,14 @@
 
 package software.amazon.smithy.rulesengine.analysis;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
@@ -27,12 +30,11 @@ import software.amazon.smithy.utils.SmithyUnstableApi;
  */
 @SmithyUnstableApi
 public final class CoverageChecker {
-    private final CoverageCheckerCore checkerCore;
+    private final Map<Condition, ConditionCounts> results = new ConcurrentHashMap<>();
     private final EndpointRuleSet ruleSet;
 
     public CoverageChecker(EndpointRuleSet ruleSet) {
         this.ruleSet = ruleSet;
-        checkerCore = new CoverageCheckerCore();
     }
 
     /**
@@ -41,7 +43,7 @@ public final class CoverageChecker {
      * @param input the map parameters and inputs to test coverage.
      */
     public void evaluateInput(Map<Identifier, Value> input) {
-        checkerCore.evaluateRuleSet(ruleSet, input);
+        new CoverageCheckerCore(results).evaluateRuleSet(ruleSet, input);
     }
 
     /**
@@ -54,7 +56,16 @@ public final class CoverageChecker {
         for (Map.Entry<String, Node> entry : testCase.getParams().getStringMap().entrySet()) {
             map.put(Identifier.of(entry.getKey()), Value.fromNode(entry.getValue()));
         }
-        checkerCore.evaluateRuleSet(ruleSet, map);
+        evaluateInput(map);
+    }
+
+    /**
+     * Evaluate the rule-set using each of the given test cases in parallel to determine rule coverage.
+     *
+     * @param testCases the test cases to evaluate.
+     */
+    public void evaluateTestCases(Collection<EndpointTestCase> testCases) {
+        testCases.parallelStream().forEach(this::evaluateTestCase);
     }
 
     /**
@@ -67,7 +78,7 @@ public final class CoverageChecker {
     }
 
     private Stream<CoverageResult> getConditionCoverage(Condition condition) {
-        Set<Boolean> conditionResults = checkerCore.getResult(condition);
+        Set<Boolean> conditionResults = getResult(condition);
         if (conditionResults.size() == 1) {
             return Stream.of(new CoverageResult(condition, !conditionResults.iterator().next()));
         }
@@ -77,13 +88,30 @@ public final class CoverageChecker {
         return Stream.empty();
     }
 
+    // Sets are used to contain results, as coverage is only concerned with both
+    // having coverage or no happening at all for the condition in question.
+    private Set<Boolean> getResult(Condition condition) {
+        ConditionCounts counts = results.get(condition);
+        if (counts == null) {
+            return SetUtils.of();
+        }
+        Set<Boolean> result = new HashSet<>();
+        if (counts.trueCount.sum() > 0) {
+            result.add(true);
+        }
+        if (counts.falseCount.sum() > 0) {
+            result.add(false);
+        }
+        return result;
+    }
+
+    // Evaluators hold the scope of the rule being evaluated, so a new one is used for each
+    // evaluation while the counts of each condition's results are shared between threads.
     private static class CoverageCheckerCore extends RuleEvaluator {
-        // Sets are used to contain results, as coverage is only concerned with both
-        // having coverage or no happening at all for the condition in question.
-        private final Map<Condition, Set<Boolean>> results = new LinkedHashMap<>();
+        private final Map<Condition, ConditionCounts> results;
 
-        private Set<Boolean> getResult(Condition condition) {
-            return results.getOrDefault(condition, SetUtils.of());
+        CoverageCheckerCore(Map<Condition, ConditionCounts> results) {
+            this.results = results;
         }
 
         @Override
@@ -93,14 +121,18 @@ public final class CoverageChecker {
             Value conditionResult = super.evaluateCondition(condition);
             boolean result = !(conditionResult.isEmpty() || conditionResult.equals(Value.booleanValue(false)));
 
-            Set<Boolean> resultSet = results.getOrDefault(condition, new HashSet<>());
-            resultSet.add(result);
-            results.put(condition, resultSet);
+            ConditionCounts counts = results.computeIfAbsent(condition, c -> new ConditionCounts());
+            (result ? counts.trueCount : counts.falseCount).increment();
 
             return conditionResult;
         }
     }
 
+    private static final class ConditionCounts {
+        private final LongAdder trueCount = new LongAdder();
+        private final LongAdder falseCount = new LongAdder();
+    }
+
     private static class CollectConditions extends TraversingVisitor<Condition> {
         @Override
         public Stream<Condition> visitConditions(List<Condition> conditions) {
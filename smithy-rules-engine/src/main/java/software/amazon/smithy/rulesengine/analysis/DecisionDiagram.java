@@ -0,0 +1,660 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.rulesengine.analysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import software.amazon.smithy.rulesengine.language.Endpoint;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.RuleEvaluator;
+import software.amazon.smithy.rulesengine.language.evaluation.value.EndpointValue;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.ExpressionVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Reference;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.TemplateVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.GetAttr;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.Literal;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.LiteralVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
+import software.amazon.smithy.rulesengine.language.syntax.rule.RuleValueVisitor;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * Converts a rule-set into a reduced decision diagram of its conditions.
+ *
+ * <p>Conditions that compute the same function over the same inputs are
+ * shared, even when they appear in different rules, so each condition is
+ * evaluated at most once when evaluating the diagram. Identical sub-diagrams
+ * are merged, and conditions that can't change the result are removed.
+ * Conditions are tested in the order they appear in the rules, so a
+ * condition is never tested before the conditions that guard it.
+ *
+ * <p>The diagram is made of decision nodes and results. Both are referred to
+ * by an integer reference: decision nodes have a reference of zero or more,
+ * and results have a negative reference, see {@link #isResult(int)}.
+ *
+ * <p>Error rules whose error isn't a literal are also tested as a condition,
+ * since an error that evaluates to an empty value falls through to the next
+ * rule rather than producing a result.
+ */
+@SmithyUnstableApi
+public final class DecisionDiagram {
+    private static final int INPUT = -1;
+    private static final byte UNKNOWN = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+
+    private final EndpointRuleSet ruleSet;
+    private final List<Condition> conditions = new ArrayList<>();
+    private final List<Map<Identifier, Integer>> conditionBindings = new ArrayList<>();
+    private final Map<List<Object>, Integer> conditionIds = new HashMap<>();
+    private final List<Result> candidateResults = new ArrayList<>();
+    private final Map<List<Object>, Integer> resultIds = new HashMap<>();
+    private final List<Result> results = new ArrayList<>();
+    private final Map<Integer, Integer> resultReferences = new HashMap<>();
+    private final List<int[]> paths = new ArrayList<>();
+    private final List<Integer> pathResults = new ArrayList<>();
+
+    private final List<Integer> nodeConditions = new ArrayList<>();
+    private final List<Integer> trueBranches = new ArrayList<>();
+    private final List<Integer> falseBranches = new ArrayList<>();
+    private final Map<List<Integer>, Integer> uniqueNodes = new HashMap<>();
+    private final int root;
+    private final int maxConditionsEvaluated;
+
+    public DecisionDiagram(EndpointRuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+
+        Deque<Map<Identifier, Integer>> scopes = new ArrayDeque<>();
+        flattenRules(ruleSet.getRules(), null, Collections.emptyList(), scopes);
+
+        // The conditions that can still be tested by each path or a path after it.
+        BitSet[] live = new BitSet[paths.size()];
+        BitSet remaining = new BitSet();
+        for (int i = paths.size() - 1; i >= 0; i--) {
+            for (int condition : paths.get(i)) {
+                remaining.set(condition);
+            }
+            live[i] = (BitSet) remaining.clone();
+        }
+
+        root = build(0, new byte[conditions.size()], live, new HashMap<>());
+
+        int[] depths = new int[nodeConditions.size()];
+        for (int node = 0; node < depths.length; node++) {
+            depths[node] = 1 + Math.max(depth(depths, trueBranches.get(node)),
+                                        depth(depths, falseBranches.get(node)));
+        }
+        maxConditionsEvaluated = depth(depths, root);
+    }
+
+    /**
+     * Checks if a reference refers to a result rather than a decision node.
+     *
+     * @param reference the reference to check.
+     * @return returns true if the reference refers to a result.
+     */
+    public static boolean isResult(int reference) {
+        return reference < 0;
+    }
+
+    /**
+     * Gets the rule-set the diagram was created from.
+     *
+     * @return returns the rule-set.
+     */
+    public EndpointRuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * Gets the distinct conditions of the rule-set, in the order they first appear.
+     *
+     * <p>This includes a condition for each distinct error that isn't a literal.
+     *
+     * @return returns the conditions.
+     */
+    public List<Condition> getConditions() {
+        return Collections.unmodifiableList(conditions);
+    }
+
+    /**
+     * Gets the reference to the first node or result of the diagram.
+     *
+     * @return returns the reference to the root.
+     */
+    public int getRoot() {
+        return root;
+    }
+
+    /**
+     * Gets the number of decision nodes in the diagram.
+     *
+     * @return returns the number of decision nodes.
+     */
+    public int getNodeCount() {
+        return nodeConditions.size();
+    }
+
+    /**
+     * Gets the number of distinct results in the diagram.
+     *
+     * @return returns the number of results.
+     */
+    public int getResultCount() {
+        return results.size();
+    }
+
+    /**
+     * Gets the largest number of conditions evaluated to reach a result.
+     *
+     * @return returns the worst-case number of evaluated conditions.
+     */
+    public int getMaxConditionsEvaluated() {
+        return maxConditionsEvaluated;
+    }
+
+    /**
+     * Gets the index of the condition tested by a decision node.
+     *
+     * @param node the reference to the decision node.
+     * @return returns an index into {@link #getConditions()}.
+     */
+    public int getConditionIndex(int node) {
+        return nodeConditions.get(node);
+    }
+
+    /**
+     * Gets the reference to follow when the condition of a node is matched.
+     *
+     * @param node the reference to the decision node.
+     * @return returns the reference to the next node or result.
+     */
+    public int getTrueBranch(int node) {
+        return trueBranches.get(node);
+    }
+
+    /**
+     * Gets the reference to follow when the condition of a node is not matched.
+     *
+     * @param node the reference to the decision node.
+     * @return returns the reference to the next node or result.
+     */
+    public int getFalseBranch(int node) {
+        return falseBranches.get(node);
+    }
+
+    /**
+     * Gets the result referred to by a reference.
+     *
+     * @param reference a reference for which {@link #isResult(int)} is true.
+     * @return returns the result.
+     */
+    public Result getResult(int reference) {
+        return results.get(-1 - reference);
+    }
+
+    /**
+     * Evaluates the diagram with the given parameter arguments, producing the
+     * same result as {@link RuleEvaluator#evaluate}.
+     *
+     * @param parameterArguments The rule-set parameter identifiers and
+     *                           values to evaluate the diagram against.
+     * @return The resulting value from the matched rule.
+     */
+    public Value evaluate(Map<Identifier, Value> parameterArguments) {
+        Map<Identifier, Value> inputs = new HashMap<>();
+        for (Parameter parameter : ruleSet.getParameters()) {
+            parameter.getDefault().ifPresent(value -> inputs.put(parameter.getName(), value));
+        }
+        inputs.putAll(parameterArguments);
+
+        DiagramEvaluator evaluator = new DiagramEvaluator(inputs, new Value[conditions.size()]);
+        int reference = root;
+        while (!isResult(reference)) {
+            int condition = nodeConditions.get(reference);
+            evaluator.bindings = conditionBindings.get(condition);
+            Value value = conditions.get(condition).getFunction().accept(evaluator);
+            if (value.isEmpty() || value.equals(Value.booleanValue(false))) {
+                reference = falseBranches.get(reference);
+            } else {
+                evaluator.values[condition] = value;
+                reference = trueBranches.get(reference);
+            }
+        }
+
+        Result result = getResult(reference);
+        evaluator.bindings = result.bindings;
+        return result.evaluate(evaluator);
+    }
+
+    private static int depth(int[] depths, int reference) {
+        return isResult(reference) ? 0 : depths[reference];
+    }
+
+    // Each path is the list of conditions that need to match for a rule to be selected,
+    // in the order the rules are evaluated.
+    private void flattenRules(
+            List<Rule> rules,
+            Rule parent,
+            List<Integer> prefix,
+            Deque<Map<Identifier, Integer>> scopes
+    ) {
+        for (Rule rule : rules) {
+            List<Integer> path = new ArrayList<>(prefix);
+            Map<Identifier, Integer> scope = new HashMap<>();
+            scopes.push(scope);
+
+            for (Condition condition : rule.getConditions()) {
+                int id = internCondition(condition, scopes);
+                path.add(id);
+                condition.getResult().ifPresent(name -> scope.put(name, id));
+            }
+
+            rule.accept(new RuleValueVisitor<Void>() {
+                @Override
+                public Void visitTreeRule(List<Rule> rules) {
+                    flattenRules(rules, rule, path, scopes);
+                    return null;
+                }
+
+                @Override
+                public Void visitErrorRule(Expression error) {
+                    // Like RuleEvaluator, an error that evaluates to an empty value falls through to the
+                    // next rule, so the error is tested as the last condition of its path. String literals
+                    // can't be empty, so they're always a result.
+                    List<Integer> errorPath = path;
+                    if (!(error instanceof Literal)) {
+                        errorPath = new ArrayList<>(path);
+                        errorPath.add(internCondition(Condition.builder().fn(error).build(), scopes));
+                    }
+                    Set<Identifier> names = collectReferences(Collections.singletonList(error));
+                    addPath(errorPath, internResult(new Result(rule, null, error), names, scopes));
+                    return null;
+                }
+
+                @Override
+                public Void visitEndpointRule(Endpoint endpoint) {
+                    List<Expression> expressions = new ArrayList<>();
+                    expressions.add(endpoint.getUrl());
+                    expressions.addAll(endpoint.getProperties().values());
+                    endpoint.getHeaders().values().forEach(expressions::addAll);
+                    addPath(path, internResult(new Result(rule, endpoint, null), collectReferences(expressions),
+                                               scopes));
+                    return null;
+                }
+            });
+
+            scopes.pop();
+        }
+
+        // Reaching the end of a list of rules fails rather than trying the rules after the parent.
+        addPath(prefix, internResult(new Result(parent, null, null), Collections.emptySet(), scopes));
+    }
+
+    private void addPath(List<Integer> path, int result) {
+        int[] conditionIds = new int[path.size()];
+        for (int i = 0; i < conditionIds.length; i++) {
+            conditionIds[i] = path.get(i);
+        }
+        paths.add(conditionIds);
+        pathResults.add(result);
+    }
+
+    // Conditions are the same if they compute the same function over the same bindings.
+    private int internCondition(Condition condition, Deque<Map<Identifier, Integer>> scopes) {
+        Map<Identifier, Integer> bindings = resolve(
+                collectReferences(Collections.singletonList(condition.getFunction())), scopes);
+        List<Object> key = Arrays.asList(condition.getFunction(), bindings);
+        Integer existing = conditionIds.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        int id = conditions.size();
+        conditions.add(condition);
+        conditionBindings.add(bindings);
+        conditionIds.put(key, id);
+        return id;
+    }
+
+    private int internResult(Result result, Set<Identifier> names, Deque<Map<Identifier, Integer>> scopes) {
+        result.bindings = resolve(names, scopes);
+        List<Object> key = result.endpoint != null
+                ? Arrays.asList(result.endpoint, result.bindings)
+                : result.error != null
+                ? Arrays.asList(result.error, result.bindings)
+                : Arrays.asList(result.rule, Boolean.FALSE);
+        Integer existing = resultIds.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        int id = candidateResults.size();
+        candidateResults.add(result);
+        resultIds.put(key, id);
+        return id;
+    }
+
+    private static Map<Identifier, Integer> resolve(Set<Identifier> names, Deque<Map<Identifier, Integer>> scopes) {
+        Map<Identifier, Integer> bindings = new HashMap<>();
+        for (Identifier name : names) {
+            bindings.put(name, INPUT);
+            for (Map<Identifier, Integer> scope : scopes) {
+                Integer id = scope.get(name);
+                if (id != null) {
+                    bindings.put(name, id);
+                    break;
+                }
+            }
+        }
+        return bindings;
+    }
+
+    private int build(int pathIndex, byte[] known, BitSet[] live, Map<List<Object>, Integer> memo) {
+        int condition = firstUnknownCondition(paths.get(pathIndex), known);
+        while (condition < 0) {
+            if (condition == -1) {
+                return resultReference(pathResults.get(pathIndex));
+            }
+            condition = firstUnknownCondition(paths.get(++pathIndex), known);
+        }
+
+        // Only the conditions that this path and later paths can test affect the rest of the diagram.
+        byte[] state = new byte[known.length];
+        for (int id = live[pathIndex].nextSetBit(0); id >= 0; id = live[pathIndex].nextSetBit(id + 1)) {
+            state[id] = known[id];
+        }
+        List<Object> key = Arrays.asList(pathIndex, new StateKey(state.clone()));
+        Integer existing = memo.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        state[condition] = TRUE;
+        int whenTrue = build(pathIndex, state.clone(), live, memo);
+        state[condition] = FALSE;
+        int whenFalse = build(pathIndex, state, live, memo);
+        int node = createNode(condition, whenTrue, whenFalse);
+        memo.put(key, node);
+        return node;
+    }
+
+    // Results are only added to the diagram once they're reached, since later rules can be unreachable.
+    private int resultReference(int candidate) {
+        return resultReferences.computeIfAbsent(candidate, c -> {
+            results.add(candidateResults.get(c));
+            return -results.size();
+        });
+    }
+
+    // Returns the first condition of the path that isn't known, -1 if the path matched,
+    // or -2 if the path can't match.
+    private static int firstUnknownCondition(int[] path, byte[] known) {
+        for (int id : path) {
+            if (known[id] == FALSE) {
+                return -2;
+            } else if (known[id] == UNKNOWN) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    private int createNode(int condition, int whenTrue, int whenFalse) {
+        if (whenTrue == whenFalse) {
+            return whenTrue;
+        }
+
+        return uniqueNodes.computeIfAbsent(Arrays.asList(condition, whenTrue, whenFalse), key -> {
+            nodeConditions.add(condition);
+            trueBranches.add(whenTrue);
+            falseBranches.add(whenFalse);
+            return nodeConditions.size() - 1;
+        });
+    }
+
+    private static Set<Identifier> collectReferences(List<? extends Expression> expressions) {
+        Set<Identifier> names = new LinkedHashSet<>();
+        ReferenceCollector collector = new ReferenceCollector(names);
+        for (Expression expression : expressions) {
+            expression.accept(collector);
+        }
+        return names;
+    }
+
+    private static final class StateKey {
+        private final byte[] state;
+        private final int hash;
+
+        private StateKey(byte[] state) {
+            this.state = state;
+            this.hash = Arrays.hashCode(state);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StateKey && Arrays.equals(state, ((StateKey) o).state);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A result of the decision diagram.
+     */
+    public static final class Result {
+        private final Rule rule;
+        private final Endpoint endpoint;
+        private final Expression error;
+        private Map<Identifier, Integer> bindings;
+
+        private Result(Rule rule, Endpoint endpoint, Expression error) {
+            this.rule = rule;
+            this.endpoint = endpoint;
+            this.error = error;
+        }
+
+        /**
+         * Gets the rule that produces the result.
+         *
+         * <p>For a result where no rules matched, this is the tree rule none
+         * of whose rules matched, or empty if no rule of the rule-set matched.
+         *
+         * @return returns the rule.
+         */
+        public Optional<Rule> getRule() {
+            return Optional.ofNullable(rule);
+        }
+
+        /**
+         * Gets if the result is a failure to match any rule.
+         *
+         * @return returns true if no rules matched.
+         */
+        public boolean isNoMatch() {
+            return endpoint == null && error == null;
+        }
+
+        private Value evaluate(RuleEvaluator evaluator) {
+            if (error != null) {
+                return error.accept(evaluator);
+            } else if (endpoint == null) {
+                if (rule == null) {
+                    throw new RuntimeException("No rules in ruleset matched");
+                }
+                throw new RuntimeException(
+                        String.format("no rules inside of tree rule matched—invalid rules (%s)", rule));
+            }
+
+            EndpointValue.Builder builder = EndpointValue.builder()
+                    .sourceLocation(endpoint)
+                    .url(endpoint.getUrl().accept(evaluator).expectStringValue().getValue());
+            for (Map.Entry<Identifier, Literal> entry : endpoint.getProperties().entrySet()) {
+                builder.putProperty(entry.getKey().toString(), entry.getValue().accept(evaluator));
+            }
+            for (Map.Entry<String, List<Expression>> entry : endpoint.getHeaders().entrySet()) {
+                List<String> values = new ArrayList<>();
+                for (Expression expression : entry.getValue()) {
+                    values.add(expression.accept(evaluator).expectStringValue().getValue());
+                }
+                builder.putHeader(entry.getKey(), values);
+            }
+            return builder.build();
+        }
+    }
+
+    // Resolves references using the bindings of the condition or result being evaluated.
+    private static final class DiagramEvaluator extends RuleEvaluator {
+        private final Map<Identifier, Value> inputs;
+        private final Value[] values;
+        private Map<Identifier, Integer> bindings;
+
+        private DiagramEvaluator(Map<Identifier, Value> inputs, Value[] values) {
+            this.inputs = inputs;
+            this.values = values;
+        }
+
+        @Override
+        public Value visitRef(Reference reference) {
+            int binding = bindings.getOrDefault(reference.getName(), INPUT);
+            Value value = binding == INPUT ? inputs.get(reference.getName()) : values[binding];
+            return value == null ? Value.emptyValue() : value;
+        }
+    }
+
+    private static final class ReferenceCollector implements ExpressionVisitor<Void> {
+        private final Set<Identifier> names;
+
+        private ReferenceCollector(Set<Identifier> names) {
+            this.names = names;
+        }
+
+        @Override
+        public Void visitLiteral(Literal literal) {
+            ReferenceCollector collector = this;
+            return literal.accept(new LiteralVisitor<Void>() {
+                @Override
+                public Void visitBoolean(boolean b) {
+                    return null;
+                }
+
+                @Override
+                public Void visitString(Template value) {
+                    for (Template.Part part : value.getParts()) {
+                        part.accept(new TemplateVisitor<Void>() {
+                            @Override
+                            public Void visitStaticTemplate(String value) {
+                                return null;
+                            }
+
+                            @Override
+                            public Void visitSingleDynamicTemplate(Expression value) {
+                                return value.accept(collector);
+                            }
+
+                            @Override
+                            public Void visitStaticElement(String value) {
+                                return null;
+                            }
+
+                            @Override
+                            public Void visitDynamicElement(Expression value) {
+                                return value.accept(collector);
+                            }
+
+                            @Override
+                            public Void startMultipartTemplate() {
+                                return null;
+                            }
+
+                            @Override
+                            public Void finishMultipartTemplate() {
+                                return null;
+                            }
+                        });
+                    }
+                    return null;
+                }
+
+                @Override
+                public Void visitRecord(Map<Identifier, Literal> members) {
+                    members.values().forEach(member -> member.accept(collector));
+                    return null;
+                }
+
+                @Override
+                public Void visitTuple(List<Literal> members) {
+                    members.forEach(member -> member.accept(collector));
+                    return null;
+                }
+
+                @Override
+                public Void visitInteger(int value) {
+                    return null;
+                }
+            });
+        }
+
+        @Override
+        public Void visitRef(Reference reference) {
+            names.add(reference.getName());
+            return null;
+        }
+
+        @Override
+        public Void visitGetAttr(GetAttr getAttr) {
+            return getAttr.getTarget().accept(this);
+        }
+
+        @Override
+        public Void visitIsSet(Expression fn) {
+            return fn.accept(this);
+        }
+
+        @Override
+        public Void visitNot(Expression not) {
+            return not.accept(this);
+        }
+
+        @Override
+        public Void visitBoolEquals(Expression left, Expression right) {
+            left.accept(this);
+            return right.accept(this);
+        }
+
+        @Override
+        public Void visitStringEquals(Expression left, Expression right) {
+            left.accept(this);
+            return right.accept(this);
+        }
+
+        @Override
+        public Void visitLibraryFunction(FunctionDefinition fn, List<Expression> args) {
+            args.forEach(arg -> arg.accept(this));
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * Evaluates many test cases against a single endpoint rule-set in parallel.
+ *
+ * <p>The rule-set is compiled once into a {@link CompiledRuleSet} that's
+ * shared by every test case, and test cases are evaluated on the common
+ * fork-join pool. Test cases are checked the same way as
+ * {@link TestEvaluator#evaluate(EndpointRuleSet, EndpointTestCase)}, but
+ * failures are captured in the returned results rather than thrown.
+ */
+@SmithyUnstableApi
+public final class BatchTestEvaluator {
+    private final CompiledRuleSet ruleSet;
+
+    /**
+     * Creates a batch evaluator for the given rule-set.
+     *
+     * @param ruleSet The rule-set to be tested.
+     */
+    public BatchTestEvaluator(EndpointRuleSet ruleSet) {
+        this.ruleSet = CompiledRuleSet.compile(ruleSet);
+    }
+
+    /**
+     * Evaluates each of the given test cases.
+     *
+     * @param testCases The test cases to evaluate.
+     * @return Returns a result for each test case, in the same order as the test cases.
+     */
+    public List<TestResult> evaluate(List<EndpointTestCase> testCases) {
+        return IntStream.range(0, testCases.size())
+                .parallel()
+                .mapToObj(i -> evaluateTestCase(testCases.get(i)))
+                .collect(Collectors.toList());
+    }
+
+    private TestResult evaluateTestCase(EndpointTestCase testCase) {
+        long start = System.nanoTime();
+        RuntimeException failure = null;
+        try {
+            TestEvaluator.evaluate(ruleSet, testCase);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        return new TestResult(testCase, failure, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * The result of evaluating a single test case.
+     */
+    public static final class TestResult {
+        private final EndpointTestCase testCase;
+        private final RuntimeException failure;
+        private final Duration duration;
+
+        private TestResult(EndpointTestCase testCase, RuntimeException failure, Duration duration) {
+            this.testCase = testCase;
+            this.failure = failure;
+            this.duration = duration;
+        }
+
+        /**
+         * Gets the test case that was evaluated.
+         *
+         * @return returns the test case.
+         */
+        public EndpointTestCase getTestCase() {
+            return testCase;
+        }
+
+        /**
+         * Gets if the test case passed.
+         *
+         * @return returns true if the test case passed, false otherwise.
+         */
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+
+        /**
+         * Gets the exception that caused the test case to fail, if it failed.
+         *
+         * @return returns the optional failure.
+         */
+        public Optional<RuntimeException> getFailure() {
+            return Optional.ofNullable(failure);
+        }
+
+        /**
+         * Gets how long it took to evaluate the test case and check its expectation.
+         *
+         * @return returns the evaluation time.
+         */
+        public Duration getDuration() {
+            return duration;
+        }
+    }
+}
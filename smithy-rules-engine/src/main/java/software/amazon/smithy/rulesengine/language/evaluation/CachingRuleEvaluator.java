@@ -0,0 +1,336 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.TraversingVisitor;
+import software.amazon.smithy.rulesengine.language.evaluation.value.BooleanValue;
+import software.amazon.smithy.rulesengine.language.evaluation.value.StringValue;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.GetAttr;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * Evaluates a rule-set, caching the results for the most recently used
+ * parameter arguments.
+ *
+ * <p>Parameter arguments are cached by the value of each parameter of the
+ * rule-set after applying parameter defaults, so arguments that only differ
+ * by passing the default value of a parameter share a cache entry. Arguments
+ * that aren't parameters of the rule-set are part of the cache key too, since
+ * they can still be referenced by the rule-set. Results
+ * are computed using a {@link CompiledRuleSet}, and evaluations that throw
+ * are not cached. Cached values are shared between callers and must not be
+ * modified.
+ *
+ * <p>The cache is split into stripes that are locked independently, and each
+ * stripe evicts its least recently used entry when it's full. Rule-sets that
+ * use a function that isn't {@link FunctionDefinition#isDeterministic()
+ * deterministic} can't be cached. The {@link FunctionDefinition#getStateVersion()
+ * state version} of each function is part of the cache key, so results aren't
+ * reused after the data used by a function changes, for example when
+ * overriding the partitions used by {@code aws.partition}.
+ */
+@SmithyUnstableApi
+public final class CachingRuleEvaluator {
+    private static final int MAX_STRIPES = 16;
+    private static final int MIN_STRIPE_ENTRIES = 8;
+    private static final Object EMPTY = new Object();
+
+    private final CompiledRuleSet compiled;
+    private final Identifier[] parameterNames;
+    private final Set<Identifier> parameterNameSet;
+    private final Value[] parameterDefaults;
+    private final FunctionDefinition[] functions;
+    private final Stripe[] stripes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a caching evaluator for a rule-set.
+     *
+     * @param ruleSet The endpoint rule-set to evaluate.
+     * @param maxEntries The maximum number of results to cache.
+     * @throws IllegalArgumentException if the rule-set uses a non-deterministic function,
+     *                                  or if {@code maxEntries} is less than 1.
+     */
+    public CachingRuleEvaluator(EndpointRuleSet ruleSet, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0, but found " + maxEntries);
+        }
+
+        functions = new FunctionCollector().visitRuleset(ruleSet).distinct().toArray(FunctionDefinition[]::new);
+        for (FunctionDefinition definition : functions) {
+            if (!definition.isDeterministic()) {
+                throw new IllegalArgumentException(String.format(
+                        "Cannot cache the results of a rule-set that uses the non-deterministic function `%s`",
+                        definition.getId()));
+            }
+        }
+
+        compiled = CompiledRuleSet.compile(ruleSet);
+        List<Parameter> parameters = new ArrayList<>();
+        ruleSet.getParameters().forEach(parameters::add);
+        parameterNames = new Identifier[parameters.size()];
+        parameterDefaults = new Value[parameters.size()];
+        for (int i = 0; i < parameterNames.length; i++) {
+            parameterNames[i] = parameters.get(i).getName();
+            parameterDefaults[i] = parameters.get(i).getDefault().orElse(null);
+        }
+        parameterNameSet = new HashSet<>(Arrays.asList(parameterNames));
+
+        // The stripe count is a power of two that leaves each stripe with enough entries to not thrash, and the
+        // remainder is spread across stripes so that their capacities add up to exactly maxEntries.
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, maxEntries / MIN_STRIPE_ENTRIES)));
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            int capacity = maxEntries / stripeCount + (i < maxEntries % stripeCount ? 1 : 0);
+            stripes[i] = new Stripe(capacity, evictions);
+        }
+    }
+
+    /**
+     * Evaluates the rule-set with the provided parameter arguments, returning
+     * a cached result if one exists.
+     *
+     * @param parameterArguments The rule-set parameter identifiers and
+     *                           values to evaluate the rule-set against.
+     * @return The resulting value from the final matched rule.
+     * @see RuleEvaluator#evaluateRuleSet
+     */
+    public Value evaluate(Map<Identifier, Value> parameterArguments) {
+        Key key = createKey(parameterArguments);
+        Stripe stripe = stripes[spread(key.hash) & (stripes.length - 1)];
+
+        Value result;
+        synchronized (stripe) {
+            result = stripe.get(key);
+        }
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+
+        // Evaluate without holding the lock so other keys in the stripe aren't blocked. If another
+        // thread cached a result for the same key in the meantime, that result is returned instead.
+        misses.increment();
+        result = compiled.evaluate(parameterArguments);
+        synchronized (stripe) {
+            Value existing = stripe.putIfAbsent(key, result);
+            return existing == null ? result : existing;
+        }
+    }
+
+    /**
+     * Gets the number of evaluations that returned a cached result.
+     *
+     * @return returns the number of cache hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of evaluations that didn't find a cached result.
+     *
+     * @return returns the number of cache misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of results that were evicted from the cache.
+     *
+     * @return returns the number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return returns the number of cached results.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    private Key createKey(Map<Identifier, Value> parameterArguments) {
+        // After the parameters comes any arguments that aren't parameters, keyed by name so their order doesn't
+        // matter, and then the state version of each function.
+        Object[] values = new Object[parameterNames.length + 2];
+        for (int i = 0; i < parameterNames.length; i++) {
+            Value value = parameterArguments.get(parameterNames[i]);
+            if (value == null) {
+                value = parameterDefaults[i];
+            }
+            values[i] = canonicalize(value);
+        }
+
+        Map<Identifier, Object> undeclared = null;
+        for (Map.Entry<Identifier, Value> entry : parameterArguments.entrySet()) {
+            if (!parameterNameSet.contains(entry.getKey())) {
+                if (undeclared == null) {
+                    undeclared = new HashMap<>();
+                }
+                undeclared.put(entry.getKey(), canonicalize(entry.getValue()));
+            }
+        }
+        values[parameterNames.length] = undeclared;
+
+        // Versions are read before evaluating, so results cached under the current versions were computed
+        // from the current state, as long as functions change their state before their version.
+        if (functions.length > 0) {
+            long[] versions = new long[functions.length];
+            for (int i = 0; i < versions.length; i++) {
+                versions[i] = functions[i].getStateVersion();
+            }
+            values[parameterNames.length + 1] = new StateVersions(versions);
+        }
+
+        return new Key(values);
+    }
+
+    // Not every kind of value implements equals, so values other than the common
+    // string and boolean parameters are compared using their node representation.
+    private static Object canonicalize(Value value) {
+        if (value == null || value instanceof StringValue || value instanceof BooleanValue) {
+            return value;
+        } else if (value.isEmpty()) {
+            return EMPTY;
+        } else {
+            return value.toNode();
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Key {
+        private final Object[] values;
+        private final int hash;
+
+        private Key(Object[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && hash == ((Key) o).hash && Arrays.equals(values, ((Key) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class StateVersions {
+        private final long[] versions;
+
+        private StateVersions(long[] versions) {
+            this.versions = versions;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StateVersions && Arrays.equals(versions, ((StateVersions) o).versions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(versions);
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<Key, Value> {
+        private final int maxEntries;
+        private final LongAdder evictions;
+
+        private Stripe(int maxEntries, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Value> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class FunctionCollector extends TraversingVisitor<FunctionDefinition> {
+        @Override
+        public Stream<FunctionDefinition> visitGetAttr(GetAttr getAttr) {
+            return getAttr.getTarget().accept(this);
+        }
+
+        @Override
+        public Stream<FunctionDefinition> visitIsSet(Expression fn) {
+            return fn.accept(this);
+        }
+
+        @Override
+        public Stream<FunctionDefinition> visitNot(Expression not) {
+            return not.accept(this);
+        }
+
+        @Override
+        public Stream<FunctionDefinition> visitBoolEquals(Expression left, Expression right) {
+            return Stream.concat(left.accept(this), right.accept(this));
+        }
+
+        @Override
+        public Stream<FunctionDefinition> visitStringEquals(Expression left, Expression right) {
+            return Stream.concat(left.accept(this), right.accept(this));
+        }
+
+        @Override
+        public Stream<FunctionDefinition> visitLibraryFunction(FunctionDefinition fn, List<Expression> args) {
+            return Stream.concat(Stream.of(fn), args.stream().flatMap(arg -> arg.accept(this)));
+        }
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.rulesengine.language.Endpoint;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.value.BooleanValue;
+import software.amazon.smithy.rulesengine.language.evaluation.value.EndpointValue;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Expression;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.ExpressionVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Reference;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.Template;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.TemplateVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.GetAttr;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.Literal;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.literal.LiteralVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameter;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
+import software.amazon.smithy.rulesengine.language.syntax.rule.RuleValueVisitor;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * An endpoint rule-set that has been compiled into a flat program of
+ * instructions, evaluating to the same result as {@link RuleEvaluator}.
+ *
+ * <p>References to parameters and to the results of conditions are resolved
+ * to slots of an array when the rule-set is compiled, so evaluating the
+ * program doesn't create a scope for each rule. Templates are split into
+ * their static and dynamic parts ahead of time, and library functions are
+ * invoked directly through their {@link FunctionDefinition}.
+ *
+ * <p>A compiled rule-set is immutable and can be evaluated concurrently.
+ */
+@SmithyUnstableApi
+public final class CompiledRuleSet {
+    private static final int CONDITION = 0;
+    private static final int ENDPOINT = 1;
+    private static final int ERROR = 2;
+    private static final int FAIL = 3;
+    private static final int NO_SLOT = -1;
+
+    private static final BooleanValue TRUE = Value.booleanValue(true);
+    private static final BooleanValue FALSE = Value.booleanValue(false);
+
+    private final int[] opcodes;
+    private final CompiledExpression[] expressions;
+    private final int[] slots;
+    private final int[] jumps;
+    private final Object[] operands;
+    private final Map<Identifier, Integer> parameterSlots;
+    private final Value[] initialSlots;
+
+    private CompiledRuleSet(Compiler compiler) {
+        int size = compiler.opcodes.size();
+        opcodes = new int[size];
+        slots = new int[size];
+        jumps = new int[size];
+        for (int i = 0; i < size; i++) {
+            opcodes[i] = compiler.opcodes.get(i);
+            slots[i] = compiler.slots.get(i);
+            jumps[i] = compiler.jumps.get(i);
+        }
+        expressions = compiler.expressions.toArray(new CompiledExpression[0]);
+        operands = compiler.operands.toArray();
+        parameterSlots = compiler.parameterSlots;
+        initialSlots = Arrays.copyOf(compiler.defaults, compiler.maxSlots);
+    }
+
+    /**
+     * Compiles the given rule-set.
+     *
+     * @param ruleset The endpoint rule-set to compile.
+     * @return the compiled rule-set.
+     */
+    public static CompiledRuleSet compile(EndpointRuleSet ruleset) {
+        return new CompiledRuleSet(new Compiler(ruleset));
+    }
+
+    /**
+     * Evaluates the compiled rule-set with the provided parameter arguments.
+     *
+     * @param parameterArguments The rule-set parameter identifiers and
+     *                           values to evaluate the rule-set against.
+     * @return The resulting value from the final matched rule.
+     * @see RuleEvaluator#evaluateRuleSet
+     */
+    public Value evaluate(Map<Identifier, Value> parameterArguments) {
+        Value[] frame = initialSlots.clone();
+        for (Map.Entry<Identifier, Value> entry : parameterArguments.entrySet()) {
+            Integer slot = parameterSlots.get(entry.getKey());
+            if (slot != null) {
+                frame[slot] = entry.getValue();
+            }
+        }
+
+        int pc = 0;
+        while (true) {
+            switch (opcodes[pc]) {
+                case CONDITION: {
+                    Value value = expressions[pc].evaluate(frame, parameterArguments);
+                    if (value.isEmpty() || FALSE.equals(value)) {
+                        pc = jumps[pc];
+                    } else {
+                        if (slots[pc] != NO_SLOT) {
+                            frame[slots[pc]] = value;
+                        }
+                        pc++;
+                    }
+                    break;
+                }
+                case ENDPOINT:
+                    return ((CompiledEndpoint) operands[pc]).evaluate(frame, parameterArguments);
+                case ERROR: {
+                    Value value = expressions[pc].evaluate(frame, parameterArguments);
+                    if (!value.isEmpty()) {
+                        return value;
+                    }
+                    pc = jumps[pc];
+                    break;
+                }
+                default:
+                    if (operands[pc] == null) {
+                        throw new RuntimeException("No rules in ruleset matched");
+                    }
+                    throw new RuntimeException(String.format(
+                            "no rules inside of tree rule matched—invalid rules (%s)", operands[pc]));
+            }
+        }
+    }
+
+    private static Value read(Value[] frame, int slot) {
+        Value value = frame[slot];
+        return value == null ? Value.emptyValue() : value;
+    }
+
+    @FunctionalInterface
+    private interface CompiledExpression {
+        Value evaluate(Value[] frame, Map<Identifier, Value> arguments);
+    }
+
+    private static final class CompiledEndpoint {
+        private final Endpoint endpoint;
+        private final CompiledExpression url;
+        private final String[] propertyNames;
+        private final CompiledExpression[] propertyValues;
+        private final String[] headerNames;
+        private final CompiledExpression[][] headerValues;
+
+        private CompiledEndpoint(Endpoint endpoint, Compiler compiler) {
+            this.endpoint = endpoint;
+            url = endpoint.getUrl().accept(compiler);
+
+            int i = 0;
+            propertyNames = new String[endpoint.getProperties().size()];
+            propertyValues = new CompiledExpression[propertyNames.length];
+            for (Map.Entry<Identifier, Literal> entry : endpoint.getProperties().entrySet()) {
+                propertyNames[i] = entry.getKey().toString();
+                propertyValues[i++] = entry.getValue().accept(compiler);
+            }
+
+            i = 0;
+            headerNames = new String[endpoint.getHeaders().size()];
+            headerValues = new CompiledExpression[headerNames.length][];
+            for (Map.Entry<String, List<Expression>> entry : endpoint.getHeaders().entrySet()) {
+                headerNames[i] = entry.getKey();
+                headerValues[i++] = compiler.compileAll(entry.getValue());
+            }
+        }
+
+        private EndpointValue evaluate(Value[] frame, Map<Identifier, Value> arguments) {
+            EndpointValue.Builder builder = EndpointValue.builder()
+                    .sourceLocation(endpoint)
+                    .url(url.evaluate(frame, arguments).expectStringValue().getValue());
+
+            for (int i = 0; i < propertyNames.length; i++) {
+                builder.putProperty(propertyNames[i], propertyValues[i].evaluate(frame, arguments));
+            }
+
+            for (int i = 0; i < headerNames.length; i++) {
+                List<String> values = new ArrayList<>(headerValues[i].length);
+                for (CompiledExpression expression : headerValues[i]) {
+                    values.add(expression.evaluate(frame, arguments).expectStringValue().getValue());
+                }
+                builder.putHeader(headerNames[i], values);
+            }
+            return builder.build();
+        }
+    }
+
+    private static final class Compiler implements ExpressionVisitor<CompiledExpression> {
+        private final List<Integer> opcodes = new ArrayList<>();
+        private final List<CompiledExpression> expressions = new ArrayList<>();
+        private final List<Integer> slots = new ArrayList<>();
+        private final List<Integer> jumps = new ArrayList<>();
+        private final List<Object> operands = new ArrayList<>();
+        private final Deque<Map<Identifier, Integer>> scopes = new ArrayDeque<>();
+        private final Map<Identifier, Integer> parameterSlots = new HashMap<>();
+        private final Value[] defaults;
+        private int nextSlot;
+        private int maxSlots;
+
+        private Compiler(EndpointRuleSet ruleset) {
+            List<Value> parameterDefaults = new ArrayList<>();
+            for (Parameter parameter : ruleset.getParameters()) {
+                parameterSlots.put(parameter.getName(), nextSlot++);
+                parameterDefaults.add(parameter.getDefault().orElse(null));
+            }
+            defaults = parameterDefaults.toArray(new Value[0]);
+            maxSlots = nextSlot;
+            scopes.push(parameterSlots);
+            compileRules(ruleset.getRules(), null);
+        }
+
+        // Emits the rules one after the other, followed by an instruction that fails
+        // if none of them matched. A rule that doesn't match jumps to the next rule.
+        private void compileRules(List<Rule> rules, Rule parent) {
+            for (Rule rule : rules) {
+                List<Integer> exits = compileRule(rule);
+                for (int exit : exits) {
+                    jumps.set(exit, opcodes.size());
+                }
+            }
+            emit(FAIL, null, NO_SLOT, parent);
+        }
+
+        private List<Integer> compileRule(Rule rule) {
+            int savedSlot = nextSlot;
+            List<Integer> exits = new ArrayList<>();
+            scopes.push(new HashMap<>());
+
+            for (Condition condition : rule.getConditions()) {
+                // Compile the function before binding its result, since it can't refer to itself.
+                CompiledExpression function = condition.getFunction().accept(this);
+                int slot = NO_SLOT;
+                if (condition.getResult().isPresent()) {
+                    slot = nextSlot++;
+                    maxSlots = Math.max(maxSlots, nextSlot);
+                    scopes.peek().put(condition.getResult().get(), slot);
+                }
+                exits.add(emit(CONDITION, function, slot, null));
+            }
+
+            rule.accept(new RuleValueVisitor<Void>() {
+                @Override
+                public Void visitTreeRule(List<Rule> rules) {
+                    compileRules(rules, rule);
+                    return null;
+                }
+
+                @Override
+                public Void visitErrorRule(Expression error) {
+                    exits.add(emit(ERROR, error.accept(Compiler.this), NO_SLOT, null));
+                    return null;
+                }
+
+                @Override
+                public Void visitEndpointRule(Endpoint endpoint) {
+                    emit(ENDPOINT, null, NO_SLOT, new CompiledEndpoint(endpoint, Compiler.this));
+                    return null;
+                }
+            });
+
+            scopes.pop();
+            nextSlot = savedSlot;
+            return exits;
+        }
+
+        private int emit(int opcode, CompiledExpression expression, int slot, Object operand) {
+            opcodes.add(opcode);
+            expressions.add(expression);
+            slots.add(slot);
+            jumps.add(-1);
+            operands.add(operand);
+            return opcodes.size() - 1;
+        }
+
+        private CompiledExpression[] compileAll(List<? extends Expression> expressions) {
+            CompiledExpression[] result = new CompiledExpression[expressions.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = expressions.get(i).accept(this);
+            }
+            return result;
+        }
+
+        @Override
+        public CompiledExpression visitLiteral(Literal literal) {
+            return literal.accept(new LiteralVisitor<CompiledExpression>() {
+                @Override
+                public CompiledExpression visitBoolean(boolean b) {
+                    Value value = b ? TRUE : FALSE;
+                    return (frame, arguments) -> value;
+                }
+
+                @Override
+                public CompiledExpression visitString(Template value) {
+                    return compileTemplate(value);
+                }
+
+                @Override
+                public CompiledExpression visitRecord(Map<Identifier, Literal> members) {
+                    // Records and tuples expose mutable collections, so a new value is created each time.
+                    Identifier[] keys = members.keySet().toArray(new Identifier[0]);
+                    CompiledExpression[] values = compileAll(new ArrayList<>(members.values()));
+                    return (frame, arguments) -> {
+                        Map<Identifier, Value> record = new HashMap<>();
+                        for (int i = 0; i < keys.length; i++) {
+                            record.put(keys[i], values[i].evaluate(frame, arguments));
+                        }
+                        return Value.recordValue(record);
+                    };
+                }
+
+                @Override
+                public CompiledExpression visitTuple(List<Literal> members) {
+                    CompiledExpression[] values = compileAll(members);
+                    return (frame, arguments) -> {
+                        List<Value> tuple = new ArrayList<>(values.length);
+                        for (CompiledExpression element : values) {
+                            tuple.add(element.evaluate(frame, arguments));
+                        }
+                        return Value.arrayValue(tuple);
+                    };
+                }
+
+                @Override
+                public CompiledExpression visitInteger(int value) {
+                    Value result = Value.integerValue(value);
+                    return (frame, arguments) -> result;
+                }
+            });
+        }
+
+        private CompiledExpression compileTemplate(Template template) {
+            if (template.isStatic()) {
+                Value result = Value.stringValue(template.expectLiteral());
+                return (frame, arguments) -> result;
+            }
+
+            List<Object> parts = new ArrayList<>();
+            template.accept(new TemplateVisitor<Object>() {
+                @Override
+                public Object visitStaticTemplate(String value) {
+                    return parts.add(value);
+                }
+
+                @Override
+                public Object visitSingleDynamicTemplate(Expression value) {
+                    return parts.add(value.accept(Compiler.this));
+                }
+
+                @Override
+                public Object visitStaticElement(String value) {
+                    return parts.add(value);
+                }
+
+                @Override
+                public Object visitDynamicElement(Expression value) {
+                    return parts.add(value.accept(Compiler.this));
+                }
+
+                @Override
+                public Object startMultipartTemplate() {
+                    return null;
+                }
+
+                @Override
+                public Object finishMultipartTemplate() {
+                    return null;
+                }
+            }).forEach(ignored -> { });
+
+            if (parts.size() == 1) {
+                CompiledExpression expression = (CompiledExpression) parts.get(0);
+                return (frame, arguments) -> expression.evaluate(frame, arguments).expectStringValue();
+            }
+
+            Object[] segments = parts.toArray();
+            return (frame, arguments) -> {
+                StringBuilder result = new StringBuilder();
+                for (Object segment : segments) {
+                    if (segment instanceof String) {
+                        result.append((String) segment);
+                    } else {
+                        result.append(((CompiledExpression) segment).evaluate(frame, arguments)
+                                .expectStringValue()
+                                .getValue());
+                    }
+                }
+                return Value.stringValue(result.toString());
+            };
+        }
+
+        @Override
+        public CompiledExpression visitRef(Reference reference) {
+            Identifier name = reference.getName();
+            for (Map<Identifier, Integer> scope : scopes) {
+                Integer slot = scope.get(name);
+                if (slot != null) {
+                    int index = slot;
+                    return (frame, arguments) -> read(frame, index);
+                }
+            }
+
+            // Arguments that aren't parameters of the rule-set are still in scope for the interpreter.
+            return (frame, arguments) -> {
+                Value value = arguments.get(name);
+                return value == null ? Value.emptyValue() : value;
+            };
+        }
+
+        @Override
+        public CompiledExpression visitGetAttr(GetAttr getAttr) {
+            CompiledExpression target = getAttr.getTarget().accept(this);
+            return (frame, arguments) -> getAttr.evaluate(target.evaluate(frame, arguments));
+        }
+
+        @Override
+        public CompiledExpression visitIsSet(Expression fn) {
+            CompiledExpression target = fn.accept(this);
+            return (frame, arguments) -> target.evaluate(frame, arguments).isEmpty() ? FALSE : TRUE;
+        }
+
+        @Override
+        public CompiledExpression visitNot(Expression not) {
+            CompiledExpression target = not.accept(this);
+            return (frame, arguments) -> target.evaluate(frame, arguments).expectBooleanValue().getValue()
+                    ? FALSE
+                    : TRUE;
+        }
+
+        @Override
+        public CompiledExpression visitBoolEquals(Expression left, Expression right) {
+            CompiledExpression l = left.accept(this);
+            CompiledExpression r = right.accept(this);
+            return (frame, arguments) -> l.evaluate(frame, arguments).expectBooleanValue()
+                    .equals(r.evaluate(frame, arguments).expectBooleanValue()) ? TRUE : FALSE;
+        }
+
+        @Override
+        public CompiledExpression visitStringEquals(Expression left, Expression right) {
+            CompiledExpression l = left.accept(this);
+            CompiledExpression r = right.accept(this);
+            return (frame, arguments) -> l.evaluate(frame, arguments).expectStringValue()
+                    .equals(r.evaluate(frame, arguments).expectStringValue()) ? TRUE : FALSE;
+        }
+
+        @Override
+        public CompiledExpression visitLibraryFunction(FunctionDefinition definition, List<Expression> arguments) {
+            CompiledExpression[] compiled = compileAll(arguments);
+            return (frame, args) -> {
+                Value[] values = new Value[compiled.length];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = compiled[i].evaluate(frame, args);
+                }
+                return definition.evaluate(Arrays.asList(values));
+            };
+        }
+    }
+}
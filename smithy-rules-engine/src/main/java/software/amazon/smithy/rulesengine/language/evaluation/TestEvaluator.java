@@ -35,12 +35,29 @@ public final class TestEvaluator {
      * @param testCase The test case.
      */
     public static void evaluate(EndpointRuleSet ruleset, EndpointTestCase testCase) {
+        checkResult(testCase, RuleEvaluator.evaluate(ruleset, createParameters(testCase)));
+    }
+
+    /**
+     * Evaluate the given compiled rule-set and test case. Throws an exception in
+     * the event the test case does not pass.
+     *
+     * @param ruleset  The compiled rule-set to be tested.
+     * @param testCase The test case.
+     */
+    public static void evaluate(CompiledRuleSet ruleset, EndpointTestCase testCase) {
+        checkResult(testCase, ruleset.evaluate(createParameters(testCase)));
+    }
+
+    private static Map<Identifier, Value> createParameters(EndpointTestCase testCase) {
         Map<Identifier, Value> parameters = new LinkedHashMap<>();
         for (Map.Entry<StringNode, Node> entry : testCase.getParams().getMembers().entrySet()) {
             parameters.put(Identifier.of(entry.getKey()), Value.fromNode(entry.getValue()));
         }
-        Value result = RuleEvaluator.evaluate(ruleset, parameters);
+        return parameters;
+    }
 
+    private static void checkResult(EndpointTestCase testCase, Value result) {
         StringBuilder messageBuilder = new StringBuilder("while executing test case");
         if (testCase.getDocumentation().isPresent()) {
             messageBuilder.append(" ").append(testCase.getDocumentation().get());
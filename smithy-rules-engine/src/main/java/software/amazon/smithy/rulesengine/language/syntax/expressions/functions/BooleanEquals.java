@@ -83,6 +83,11 @@ public final class BooleanEquals extends LibraryFunction {
             return Type.booleanType();
         }
 
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+
         @Override
         public Value evaluate(List<Value> arguments) {
             // Specialized in the ExpressionVisitor, so this doesn't need an implementation.
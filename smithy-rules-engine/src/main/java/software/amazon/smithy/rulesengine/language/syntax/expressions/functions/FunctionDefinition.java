@@ -39,6 +39,30 @@ public interface FunctionDefinition {
      */
     Value evaluate(List<Value> arguments);
 
+    /**
+     * Gets if the function always returns the same result when evaluated with the same arguments.
+     *
+     * <p>The results of rule-sets that use non-deterministic functions can't be cached. Functions
+     * are assumed to be non-deterministic unless they override this method.
+     *
+     * @return returns true if the function is deterministic.
+     */
+    default boolean isDeterministic() {
+        return false;
+    }
+
+    /**
+     * Gets the version of any state other than its arguments that a deterministic function reads.
+     *
+     * <p>Functions that read data that can change, like configuration, return a different version
+     * whenever that data changes, so that cached results computed from the old data aren't reused.
+     *
+     * @return returns the version of the state read by the function.
+     */
+    default long getStateVersion() {
+        return 0;
+    }
+
     /**
      * Creates a {@link LibraryFunction} implementation from the given {@link FunctionNode}.
      *
@@ -226,6 +226,11 @@ public final class GetAttr extends LibraryFunction {
             return Type.anyType();
         }
 
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+
         @Override
         public Value evaluate(List<Value> arguments) {
             // Specialized in the ExpressionVisitor, so this doesn't need an implementation.
@@ -83,6 +83,11 @@ public final class IsValidHostLabel extends LibraryFunction {
             return Type.booleanType();
         }
 
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+
         @Override
         public Value evaluate(List<Value> arguments) {
             String hostLabel = arguments.get(0).expectStringValue().getValue();
@@ -77,6 +77,11 @@ public final class Not extends LibraryFunction {
             return Type.booleanType();
         }
 
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+
         @Override
         public Value evaluate(List<Value> arguments) {
             // Specialized in the ExpressionVisitor, so this doesn't need an implementation.
@@ -91,6 +91,11 @@ public final class ParseUrl extends LibraryFunction {
             return returnType;
         }
 
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+
         @Override
         public Value evaluate(List<Value> arguments) {
             String url = arguments.get(0).expectStringValue().getValue();
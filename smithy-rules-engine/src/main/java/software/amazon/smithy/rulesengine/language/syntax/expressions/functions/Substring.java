@@ -92,6 +92,11 @@ public final class Substring extends LibraryFunction {
             return Type.optionalType(Type.stringType());
         }
 
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+
         @Override
         public Value evaluate(List<Value> arguments) {
             String str = arguments.get(0).expectStringValue().getValue();
@@ -80,6 +80,11 @@ public final class UriEncode extends LibraryFunction {
             return Type.stringType();
         }
 
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+
         @Override
         public Value evaluate(List<Value> arguments) {
             String url = arguments.get(0).expectStringValue().getValue();
@@ -12,9 +12,9 @@ import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.validation.AbstractValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
-import software.amazon.smithy.rulesengine.language.evaluation.TestEvaluator;
+import software.amazon.smithy.rulesengine.language.evaluation.BatchTestEvaluator;
+import software.amazon.smithy.rulesengine.language.evaluation.BatchTestEvaluator.TestResult;
 import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
-import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
 import software.amazon.smithy.rulesengine.traits.EndpointTestsTrait;
 
 /**
@@ -31,12 +31,9 @@ public class RuleSetTestCaseValidator extends AbstractValidator {
 
                 // Test/Rule evaluation throws RuntimeExceptions when evaluating, wrap these
                 // up into ValidationEvents for automatic validation.
-                for (EndpointTestCase endpointTestCase : testsTrait.getTestCases()) {
-                    try {
-                        TestEvaluator.evaluate(ruleSet, endpointTestCase);
-                    } catch (RuntimeException e) {
-                        events.add(error(serviceShape, endpointTestCase, e.getMessage()));
-                    }
+                for (TestResult result : new BatchTestEvaluator(ruleSet).evaluate(testsTrait.getTestCases())) {
+                    result.getFailure()
+                            .ifPresent(e -> events.add(error(serviceShape, result.getTestCase(), e.getMessage())));
                 }
             }
         }
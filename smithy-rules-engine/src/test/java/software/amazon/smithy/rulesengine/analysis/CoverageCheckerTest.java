@@ -2,6 +2,8 @@ package software.amazon.smithy.rulesengine.analysis;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
@@ -32,4 +34,23 @@ public class CoverageCheckerTest {
         }
         assertEquals(0, checker.checkCoverage().count());
     }
+
+    @Test
+    public void checkCoverageInParallel() {
+        EndpointRuleSet endpointRuleSet = EndpointRuleSet.fromNode(Node.parse(IoUtils.readUtf8Resource(
+                CoverageCheckerTest.class, "local-region-override.json")));
+        EndpointTestsTrait endpointTestsTrait = EndpointTestsTrait.fromNode(Node.parse(IoUtils.readUtf8Resource(
+                CoverageCheckerTest.class, "local-region-override-tests.json")));
+        CoverageChecker checker = new CoverageChecker(endpointRuleSet);
+
+        checker.evaluateTestCases(endpointTestsTrait.getTestCases().subList(0, 1));
+        assertEquals(1, checker.checkCoverage().count());
+
+        List<EndpointTestCase> testCases = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            testCases.addAll(endpointTestsTrait.getTestCases());
+        }
+        checker.evaluateTestCases(testCases);
+        assertEquals(0, checker.checkCoverage().count());
+    }
 }
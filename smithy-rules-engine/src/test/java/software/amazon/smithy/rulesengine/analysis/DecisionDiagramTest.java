@@ -0,0 +1,136 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.rulesengine.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.CompiledRuleSetTest;
+import software.amazon.smithy.rulesengine.language.evaluation.RuleEvaluator;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.utils.IoUtils;
+import software.amazon.smithy.utils.Pair;
+
+public class DecisionDiagramTest {
+    public static List<Pair<EndpointRuleSet, EndpointTestCase>> validTestCases() throws Exception {
+        return CompiledRuleSetTest.validTestCases();
+    }
+
+    @ParameterizedTest
+    @MethodSource("validTestCases")
+    public void evaluatesTestCasesLikeRuleEvaluator(Pair<EndpointRuleSet, EndpointTestCase> testCase) {
+        Map<Identifier, Value> parameters = new LinkedHashMap<>();
+        for (Map.Entry<StringNode, Node> entry : testCase.getRight().getParams().getMembers().entrySet()) {
+            parameters.put(Identifier.of(entry.getKey()), Value.fromNode(entry.getValue()));
+        }
+
+        assertEquals(RuleEvaluator.evaluate(testCase.getLeft(), parameters),
+                     new DecisionDiagram(testCase.getLeft()).evaluate(parameters));
+    }
+
+    @Test
+    public void sharesRepeatedConditions() {
+        DecisionDiagram diagram = new DecisionDiagram(getRepeatedConditionsRuleSet());
+
+        // isSet(Endpoint), booleanEquals(UseFIPS, true), and the assigned parseURL(Endpoint).
+        assertEquals(3, diagram.getConditions().size());
+        assertEquals(4, diagram.getNodeCount());
+        // The rule-set evaluates 4 conditions to use a custom endpoint, since isSet(Endpoint) is repeated.
+        assertEquals(3, diagram.getMaxConditionsEvaluated());
+        assertFalse(DecisionDiagram.isResult(diagram.getRoot()));
+        assertEquals(0, diagram.getConditionIndex(diagram.getRoot()));
+    }
+
+    @Test
+    public void evaluatesLikeRuleEvaluator() {
+        EndpointRuleSet ruleSet = getRepeatedConditionsRuleSet();
+        DecisionDiagram diagram = new DecisionDiagram(ruleSet);
+
+        for (String endpoint : new String[] {null, "https://example.com", "not a url"}) {
+            for (boolean fips : new boolean[] {true, false}) {
+                Map<Identifier, Value> parameters = new HashMap<>();
+                parameters.put(Identifier.of("UseFIPS"), Value.booleanValue(fips));
+                if (endpoint != null) {
+                    parameters.put(Identifier.of("Endpoint"), Value.stringValue(endpoint));
+                }
+                assertEquals(evaluate(() -> RuleEvaluator.evaluate(ruleSet, parameters)),
+                             evaluate(() -> diagram.evaluate(parameters)));
+            }
+        }
+    }
+
+    @Test
+    public void onlyReportsReachableResults() {
+        DecisionDiagram diagram = new DecisionDiagram(getRepeatedConditionsRuleSet());
+
+        // The rule-set ends with a default endpoint, so only the tree rule can fail to match.
+        assertEquals(5, diagram.getResultCount());
+        int noMatch = 0;
+        for (int i = 0; i < diagram.getResultCount(); i++) {
+            DecisionDiagram.Result result = diagram.getResult(-1 - i);
+            if (result.isNoMatch()) {
+                noMatch++;
+                assertTrue(result.getRule().isPresent());
+            }
+        }
+        assertEquals(1, noMatch);
+    }
+
+    @Test
+    public void fallsThroughErrorsThatAreEmpty() {
+        EndpointRuleSet ruleSet = EndpointRuleSet.fromNode(Node.parse("{\n"
+                + "  \"version\": \"1.3\",\n"
+                + "  \"parameters\": {\n"
+                + "    \"Message\": {\"type\": \"String\", \"required\": true},\n"
+                + "    \"Region\": {\"type\": \"String\", \"required\": true}\n"
+                + "  },\n"
+                + "  \"rules\": [\n"
+                + "    {\"type\": \"error\", \"conditions\": [], \"error\": {\"ref\": \"Message\"}},\n"
+                + "    {\"type\": \"endpoint\", \"conditions\": [],\n"
+                + "     \"endpoint\": {\"url\": \"https://{Region}.example.com\"}}\n"
+                + "  ]\n"
+                + "}"));
+        DecisionDiagram diagram = new DecisionDiagram(ruleSet);
+
+        // The required Message parameter isn't set, so the error is empty and the endpoint rule is used.
+        Map<Identifier, Value> parameters = new HashMap<>();
+        parameters.put(Identifier.of("Region"), Value.stringValue("us-east-1"));
+        Value endpoint = RuleEvaluator.evaluate(ruleSet, parameters);
+        assertTrue(endpoint.expectEndpointValue().getUrl().startsWith("https://us-east-1"));
+        assertEquals(endpoint, diagram.evaluate(parameters));
+
+        parameters.put(Identifier.of("Message"), Value.stringValue("failed"));
+        assertEquals(Value.stringValue("failed"), RuleEvaluator.evaluate(ruleSet, parameters));
+        assertEquals(Value.stringValue("failed"), diagram.evaluate(parameters));
+    }
+
+    private static EndpointRuleSet getRepeatedConditionsRuleSet() {
+        return EndpointRuleSet.fromNode(Node.parse(IoUtils.readUtf8Resource(
+                DecisionDiagramTest.class, "repeated-conditions.json")));
+    }
+
+    private static Object evaluate(Supplier<Value> evaluator) {
+        try {
+            return evaluator.get();
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.rulesengine.traits.EndpointTestExpectation;
+import software.amazon.smithy.rulesengine.traits.ExpectedEndpoint;
+import software.amazon.smithy.utils.Pair;
+
+public class BatchTestEvaluatorTest {
+    private static final String RULESET = "{\n"
+            + "  \"version\": \"1.3\",\n"
+            + "  \"parameters\": {\n"
+            + "    \"Region\": {\"type\": \"String\", \"required\": true}\n"
+            + "  },\n"
+            + "  \"rules\": [\n"
+            + "    {\n"
+            + "      \"type\": \"error\",\n"
+            + "      \"conditions\": [\n"
+            + "        {\"fn\": \"stringEquals\", \"argv\": [{\"ref\": \"Region\"}, \"invalid\"]}\n"
+            + "      ],\n"
+            + "      \"error\": \"Invalid region\"\n"
+            + "    },\n"
+            + "    {\n"
+            + "      \"type\": \"endpoint\",\n"
+            + "      \"conditions\": [],\n"
+            + "      \"endpoint\": {\"url\": \"https://{Region}.example.com\"}\n"
+            + "    }\n"
+            + "  ]\n"
+            + "}\n";
+
+    public static List<Pair<EndpointRuleSet, EndpointTestCase>> validTestCases() throws Exception {
+        return CompiledRuleSetTest.validTestCases();
+    }
+
+    @ParameterizedTest
+    @MethodSource("validTestCases")
+    public void passesValidTestCases(Pair<EndpointRuleSet, EndpointTestCase> testCase) {
+        List<BatchTestEvaluator.TestResult> results = new BatchTestEvaluator(testCase.getLeft())
+                .evaluate(Collections.singletonList(testCase.getRight()));
+
+        assertEquals(1, results.size());
+        assertEquals(Optional.empty(), results.get(0).getFailure());
+        assertTrue(results.get(0).isSuccessful());
+    }
+
+    @Test
+    public void reportsResultsInTestCaseOrder() {
+        EndpointRuleSet ruleSet = EndpointRuleSet.fromNode(Node.parse(RULESET));
+        List<EndpointTestCase> testCases = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String region = "region-" + i;
+            // Every seventh test case expects the wrong endpoint.
+            String url = i % 7 == 0 ? "https://wrong.example.com" : "https://" + region + ".example.com";
+            testCases.add(endpointTestCase(region, url));
+        }
+        testCases.add(errorTestCase("invalid", "Invalid region"));
+        testCases.add(errorTestCase("invalid", "Wrong error"));
+
+        List<BatchTestEvaluator.TestResult> results = new BatchTestEvaluator(ruleSet).evaluate(testCases);
+
+        assertEquals(testCases.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            BatchTestEvaluator.TestResult result = results.get(i);
+            assertSame(testCases.get(i), result.getTestCase());
+            assertFalse(result.getDuration().isNegative());
+            boolean expectSuccess = i < 500 ? i % 7 != 0 : i == 500;
+            assertEquals(expectSuccess, result.isSuccessful());
+            if (!expectSuccess) {
+                EndpointTestCase testCase = testCases.get(i);
+                RuntimeException expected = assertThrows(RuntimeException.class,
+                                                         () -> TestEvaluator.evaluate(ruleSet, testCase));
+                assertEquals(expected.getMessage(), result.getFailure().get().getMessage());
+            }
+        }
+    }
+
+    private static EndpointTestCase endpointTestCase(String region, String url) {
+        return EndpointTestCase.builder()
+                .params(ObjectNode.builder().withMember("Region", region).build())
+                .expect(EndpointTestExpectation.builder()
+                        .endpoint(ExpectedEndpoint.builder().url(url).build())
+                        .build())
+                .build();
+    }
+
+    private static EndpointTestCase errorTestCase(String region, String error) {
+        return EndpointTestCase.builder()
+                .params(ObjectNode.builder().withMember("Region", region).build())
+                .expect(EndpointTestExpectation.builder().error(error).build())
+                .build();
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.evaluation.type.Type;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.ExpressionVisitor;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionDefinition;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.FunctionNode;
+import software.amazon.smithy.rulesengine.language.syntax.expressions.functions.LibraryFunction;
+import software.amazon.smithy.rulesengine.language.syntax.parameters.Parameters;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Condition;
+import software.amazon.smithy.rulesengine.language.syntax.rule.ErrorRule;
+import software.amazon.smithy.rulesengine.language.syntax.rule.Rule;
+import software.amazon.smithy.utils.MapUtils;
+
+public class CachingRuleEvaluatorTest {
+    private static final String RULESET = "{\n"
+            + "  \"version\": \"1.3\",\n"
+            + "  \"parameters\": {\n"
+            + "    \"Region\": {\"type\": \"String\", \"required\": true},\n"
+            + "    \"UseFIPS\": {\"type\": \"Boolean\", \"required\": true, \"default\": false}\n"
+            + "  },\n"
+            + "  \"rules\": [\n"
+            + "    {\n"
+            + "      \"type\": \"endpoint\",\n"
+            + "      \"conditions\": [\n"
+            + "        {\"fn\": \"booleanEquals\", \"argv\": [{\"ref\": \"UseFIPS\"}, true]}\n"
+            + "      ],\n"
+            + "      \"endpoint\": {\"url\": \"https://fips.{Region}.example.com\"}\n"
+            + "    },\n"
+            + "    {\n"
+            + "      \"type\": \"endpoint\",\n"
+            + "      \"conditions\": [],\n"
+            + "      \"endpoint\": {\"url\": \"https://{Region}.example.com\"}\n"
+            + "    }\n"
+            + "  ]\n"
+            + "}\n";
+
+    private static EndpointRuleSet ruleSet() {
+        return EndpointRuleSet.fromNode(Node.parse(RULESET));
+    }
+
+    private static Map<Identifier, Value> region(String region) {
+        return MapUtils.of(Identifier.of("Region"), Value.stringValue(region));
+    }
+
+    @Test
+    public void cachesResults() {
+        EndpointRuleSet ruleSet = ruleSet();
+        CachingRuleEvaluator evaluator = new CachingRuleEvaluator(ruleSet, 16);
+
+        Value first = evaluator.evaluate(region("us-east-1"));
+        Value second = evaluator.evaluate(region("us-east-1"));
+        evaluator.evaluate(region("us-west-2"));
+
+        assertEquals(RuleEvaluator.evaluate(ruleSet, region("us-east-1")), first);
+        assertSame(first, second);
+        assertEquals(1, evaluator.getHitCount());
+        assertEquals(2, evaluator.getMissCount());
+        assertEquals(0, evaluator.getEvictionCount());
+        assertEquals(2, evaluator.size());
+
+        evaluator.clear();
+        assertEquals(0, evaluator.size());
+    }
+
+    @Test
+    public void sharesEntriesForDefaultValues() {
+        CachingRuleEvaluator evaluator = new CachingRuleEvaluator(ruleSet(), 16);
+
+        Value implicit = evaluator.evaluate(region("us-east-1"));
+        Value explicit = evaluator.evaluate(MapUtils.of(
+                Identifier.of("Region"), Value.stringValue("us-east-1"),
+                Identifier.of("UseFIPS"), Value.booleanValue(false)));
+        Value fips = evaluator.evaluate(MapUtils.of(
+                Identifier.of("Region"), Value.stringValue("us-east-1"),
+                Identifier.of("UseFIPS"), Value.booleanValue(true)));
+
+        assertSame(implicit, explicit);
+        assertEquals("https://fips.us-east-1.example.com", fips.expectEndpointValue().getUrl());
+        assertEquals(1, evaluator.getHitCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntries() {
+        CachingRuleEvaluator evaluator = new CachingRuleEvaluator(ruleSet(), 1);
+
+        evaluator.evaluate(region("us-east-1"));
+        evaluator.evaluate(region("us-west-2"));
+        evaluator.evaluate(region("us-east-1"));
+
+        assertEquals(0, evaluator.getHitCount());
+        assertEquals(3, evaluator.getMissCount());
+        assertEquals(2, evaluator.getEvictionCount());
+        assertEquals(1, evaluator.size());
+    }
+
+    @Test
+    public void usesEveryEntryOfTheCache() {
+        for (int maxEntries = 1; maxEntries <= 40; maxEntries++) {
+            CachingRuleEvaluator evaluator = new CachingRuleEvaluator(ruleSet(), maxEntries);
+            for (int i = 0; i < 1000; i++) {
+                evaluator.evaluate(region("region-" + i));
+            }
+
+            assertEquals(maxEntries, evaluator.size());
+        }
+    }
+
+    @Test
+    public void keysIncludeArgumentsThatAreNotParameters() {
+        CachingRuleEvaluator evaluator = new CachingRuleEvaluator(ruleSet(), 16);
+        Map<Identifier, Value> first = MapUtils.of(Identifier.of("Region"), Value.stringValue("us-east-1"),
+                                                   Identifier.of("Extra"), Value.stringValue("a"));
+        Map<Identifier, Value> second = MapUtils.of(Identifier.of("Region"), Value.stringValue("us-east-1"),
+                                                    Identifier.of("Extra"), Value.stringValue("b"));
+
+        evaluator.evaluate(first);
+        evaluator.evaluate(second);
+        evaluator.evaluate(region("us-east-1"));
+        assertEquals(0, evaluator.getHitCount());
+        assertEquals(3, evaluator.size());
+
+        evaluator.evaluate(second);
+        assertEquals(1, evaluator.getHitCount());
+    }
+
+    @Test
+    public void evaluatesConcurrently() throws Exception {
+        EndpointRuleSet ruleSet = ruleSet();
+        CachingRuleEvaluator evaluator = new CachingRuleEvaluator(ruleSet, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        Map<Identifier, Value> parameters = region("region-" + (i % 20));
+                        assertEquals(RuleEvaluator.evaluate(ruleSet, parameters), evaluator.evaluate(parameters));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(2000, evaluator.getHitCount() + evaluator.getMissCount());
+        // Threads that miss on the same key at the same time each count a miss, but only one result is cached.
+        assertThat(evaluator.getEvictionCount(), lessThanOrEqualTo(evaluator.getMissCount() - evaluator.size()));
+        assertThat((long) evaluator.size(), lessThanOrEqualTo(8L));
+    }
+
+    @Test
+    public void refusesNonDeterministicFunctions() {
+        Rule rule = Rule.builder()
+                .condition(Condition.builder().fn(CoinFlip.DEFINITION.createFunction(
+                        FunctionNode.ofExpressions(CoinFlip.ID))).build())
+                .error("heads");
+        EndpointRuleSet ruleSet = EndpointRuleSet.builder()
+                .version("1.3")
+                .parameters(Parameters.builder().build())
+                .addRule(rule)
+                .build();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                                                  () -> new CachingRuleEvaluator(ruleSet, 16));
+        assertThat(e.getMessage(), containsString("test.coinFlip"));
+    }
+
+    @Test
+    public void reevaluatesWhenFunctionStateChanges() {
+        EndpointRuleSet ruleSet = EndpointRuleSet.builder()
+                .version("1.3")
+                .parameters(Parameters.builder().build())
+                .addRule(new ErrorRule(Rule.builder(), Lookup.DEFINITION.createFunction(
+                        FunctionNode.ofExpressions(Lookup.ID))))
+                .build();
+        CachingRuleEvaluator evaluator = new CachingRuleEvaluator(ruleSet, 16);
+
+        Lookup.update("first");
+        assertEquals(Value.stringValue("first"), evaluator.evaluate(Collections.emptyMap()));
+        assertEquals(Value.stringValue("first"), evaluator.evaluate(Collections.emptyMap()));
+        Lookup.update("second");
+        assertEquals(Value.stringValue("second"), evaluator.evaluate(Collections.emptyMap()));
+        assertEquals(1, evaluator.getHitCount());
+        assertEquals(2, evaluator.getMissCount());
+    }
+
+    @Test
+    public void requiresPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingRuleEvaluator(ruleSet(), 0));
+    }
+
+    private static final class Lookup extends LibraryFunction {
+        private static final String ID = "test.lookup";
+        private static final Definition DEFINITION = new Definition();
+        private static volatile String value = "";
+        private static final AtomicLong VERSION = new AtomicLong();
+
+        private Lookup(FunctionNode functionNode) {
+            super(DEFINITION, functionNode);
+        }
+
+        private static void update(String newValue) {
+            value = newValue;
+            VERSION.incrementAndGet();
+        }
+
+        @Override
+        public <T> T accept(ExpressionVisitor<T> visitor) {
+            return visitor.visitLibraryFunction(DEFINITION, getArguments());
+        }
+
+        private static final class Definition implements FunctionDefinition {
+            @Override
+            public String getId() {
+                return ID;
+            }
+
+            @Override
+            public List<Type> getArguments() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public Type getReturnType() {
+                return Type.stringType();
+            }
+
+            @Override
+            public Value evaluate(List<Value> arguments) {
+                return Value.stringValue(value);
+            }
+
+            @Override
+            public boolean isDeterministic() {
+                return true;
+            }
+
+            @Override
+            public long getStateVersion() {
+                return VERSION.get();
+            }
+
+            @Override
+            public Lookup createFunction(FunctionNode functionNode) {
+                return new Lookup(functionNode);
+            }
+        }
+    }
+
+    private static final class CoinFlip extends LibraryFunction {
+        private static final String ID = "test.coinFlip";
+        private static final Definition DEFINITION = new Definition();
+
+        private CoinFlip(FunctionNode functionNode) {
+            super(DEFINITION, functionNode);
+        }
+
+        @Override
+        public <T> T accept(ExpressionVisitor<T> visitor) {
+            return visitor.visitLibraryFunction(DEFINITION, getArguments());
+        }
+
+        // Doesn't override isDeterministic, since functions are non-deterministic by default.
+        private static final class Definition implements FunctionDefinition {
+            @Override
+            public String getId() {
+                return ID;
+            }
+
+            @Override
+            public List<Type> getArguments() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public Type getReturnType() {
+                return Type.booleanType();
+            }
+
+            @Override
+            public Value evaluate(List<Value> arguments) {
+                return Value.booleanValue(Math.random() < 0.5);
+            }
+
+            @Override
+            public CoinFlip createFunction(FunctionNode functionNode) {
+                return new CoinFlip(functionNode);
+            }
+        }
+    }
+}
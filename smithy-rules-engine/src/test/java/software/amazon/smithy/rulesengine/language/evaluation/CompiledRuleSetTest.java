@@ -0,0 +1,149 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.rulesengine.language.evaluation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.rulesengine.language.EndpointRuleSet;
+import software.amazon.smithy.rulesengine.language.IntegrationTest;
+import software.amazon.smithy.rulesengine.language.TestRunnerTest;
+import software.amazon.smithy.rulesengine.language.evaluation.value.Value;
+import software.amazon.smithy.rulesengine.language.syntax.Identifier;
+import software.amazon.smithy.rulesengine.traits.EndpointRuleSetTrait;
+import software.amazon.smithy.rulesengine.traits.EndpointTestCase;
+import software.amazon.smithy.rulesengine.traits.EndpointTestsTrait;
+import software.amazon.smithy.utils.MapUtils;
+import software.amazon.smithy.utils.Pair;
+
+public class CompiledRuleSetTest {
+    private static final String TREE_RULESET = "{\n"
+            + "  \"version\": \"1.3\",\n"
+            + "  \"parameters\": {\n"
+            + "    \"Region\": {\"type\": \"String\", \"required\": true},\n"
+            + "    \"Fips\": {\"type\": \"Boolean\", \"required\": true, \"default\": false}\n"
+            + "  },\n"
+            + "  \"rules\": [\n"
+            + "    {\n"
+            + "      \"type\": \"tree\",\n"
+            + "      \"conditions\": [\n"
+            + "        {\"fn\": \"substring\", \"argv\": [\"{Region}\", 0, 3, false], \"assign\": \"Prefix\"}\n"
+            + "      ],\n"
+            + "      \"rules\": [\n"
+            + "        {\n"
+            + "          \"type\": \"endpoint\",\n"
+            + "          \"conditions\": [\n"
+            + "            {\"fn\": \"booleanEquals\", \"argv\": [{\"ref\": \"Fips\"}, true]}\n"
+            + "          ],\n"
+            + "          \"endpoint\": {\"url\": \"https://fips.{Prefix}.{Region}.example.com\"}\n"
+            + "        },\n"
+            + "        {\n"
+            + "          \"type\": \"error\",\n"
+            + "          \"conditions\": [\n"
+            + "            {\"fn\": \"stringEquals\", \"argv\": [{\"ref\": \"Prefix\"}, \"bad\"]}\n"
+            + "          ],\n"
+            + "          \"error\": \"Invalid region {Region}\"\n"
+            + "        }\n"
+            + "      ]\n"
+            + "    },\n"
+            + "    {\n"
+            + "      \"type\": \"endpoint\",\n"
+            + "      \"conditions\": [\n"
+            + "        {\"fn\": \"stringEquals\", \"argv\": [{\"ref\": \"Region\"}, \"x\"]}\n"
+            + "      ],\n"
+            + "      \"endpoint\": {\"url\": \"https://short.example.com\", \"headers\": {\"a\": [\"{Region}\"]}}\n"
+            + "    }\n"
+            + "  ]\n"
+            + "}\n";
+
+    public static List<Pair<EndpointRuleSet, EndpointTestCase>> validTestCases() throws Exception {
+        List<Pair<EndpointRuleSet, EndpointTestCase>> result = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(
+                Paths.get(IntegrationTest.class.getResource("errorfiles/valid/").toURI()))
+        ) {
+            List<Model> models = paths.filter(path -> path.toString().endsWith(".smithy"))
+                    .map(path -> Model.assembler().discoverModels().addImport(path).assemble().unwrap())
+                    .collect(Collectors.toList());
+            for (Model model : models) {
+                for (ServiceShape service : model.getServiceShapesWithTrait(EndpointTestsTrait.class)) {
+                    EndpointRuleSet ruleSet = service.expectTrait(EndpointRuleSetTrait.class).getEndpointRuleSet();
+                    for (EndpointTestCase testCase : service.expectTrait(EndpointTestsTrait.class).getTestCases()) {
+                        result.add(Pair.of(ruleSet, testCase));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @ParameterizedTest
+    @MethodSource("validTestCases")
+    public void evaluatesTestCasesLikeRuleEvaluator(Pair<EndpointRuleSet, EndpointTestCase> testCase) {
+        Map<Identifier, Value> parameters = new LinkedHashMap<>();
+        for (Map.Entry<StringNode, Node> entry : testCase.getRight().getParams().getMembers().entrySet()) {
+            parameters.put(Identifier.of(entry.getKey()), Value.fromNode(entry.getValue()));
+        }
+
+        assertEquals(RuleEvaluator.evaluate(testCase.getLeft(), parameters),
+                     CompiledRuleSet.compile(testCase.getLeft()).evaluate(parameters));
+    }
+
+    @Test
+    public void evaluatesMinimalRuleSet() {
+        EndpointRuleSet ruleSet = TestRunnerTest.getMinimalEndpointRuleSet();
+        Map<Identifier, Value> parameters = MapUtils.of(Identifier.of("Region"), Value.stringValue("us-east-1"));
+
+        assertEquals(RuleEvaluator.evaluate(ruleSet, parameters),
+                     CompiledRuleSet.compile(ruleSet).evaluate(parameters));
+    }
+
+    @Test
+    public void evaluatesTreeRules() {
+        EndpointRuleSet ruleSet = EndpointRuleSet.fromNode(Node.parse(TREE_RULESET));
+        CompiledRuleSet compiled = CompiledRuleSet.compile(ruleSet);
+
+        for (String region : new String[] {"bad-region", "x"}) {
+            Map<Identifier, Value> parameters = MapUtils.of(Identifier.of("Region"), Value.stringValue(region));
+            assertEquals(RuleEvaluator.evaluate(ruleSet, parameters), compiled.evaluate(parameters));
+        }
+
+        Map<Identifier, Value> fips = MapUtils.of(
+                Identifier.of("Region"), Value.stringValue("us-west-2"),
+                Identifier.of("Fips"), Value.booleanValue(true));
+        assertEquals(RuleEvaluator.evaluate(ruleSet, fips), compiled.evaluate(fips));
+        assertEquals("https://fips.us-.us-west-2.example.com",
+                     compiled.evaluate(fips).expectEndpointValue().getUrl());
+    }
+
+    @Test
+    public void failsLikeRuleEvaluatorWhenNoRulesMatch() {
+        EndpointRuleSet ruleSet = EndpointRuleSet.fromNode(Node.parse(TREE_RULESET));
+        CompiledRuleSet compiled = CompiledRuleSet.compile(ruleSet);
+        Map<Identifier, Value> inTree = MapUtils.of(Identifier.of("Region"), Value.stringValue("us-west-2"));
+        Map<Identifier, Value> none = MapUtils.of(Identifier.of("Region"), Value.stringValue("y"));
+
+        assertEquals(assertThrows(RuntimeException.class, () -> RuleEvaluator.evaluate(ruleSet, inTree)).getMessage(),
+                     assertThrows(RuntimeException.class, () -> compiled.evaluate(inTree)).getMessage());
+        assertEquals("No rules in ruleset matched",
+                     assertThrows(RuntimeException.class, () -> compiled.evaluate(none)).getMessage());
+    }
+}